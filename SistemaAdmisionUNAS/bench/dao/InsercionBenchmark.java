@@ -0,0 +1,86 @@
+package dao;
+
+import model.Postulante;
+import util.DatabaseConnection;
+import util.DatosBenchmark;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserción de postulantes en una H2 embebida en memoria:
+ * PostulanteDAO.guardar fila por fila frente a guardarLote
+ * Cada invocación parte de la tabla vacía
+ * @author joe-696
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dadmision.db.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"})
+@State(Scope.Benchmark)
+public class InsercionBenchmark {
+    
+    @Param({"1000"})
+    public int filas;
+    
+    @Param({"100", "500", "2000"})
+    public int tamanoLote;
+    
+    private final PostulanteDAO dao = new PostulanteDAO();
+    private List<Postulante> postulantes;
+    private PrintStream consola;
+    
+    @Setup(Level.Trial)
+    public void prepararBase() {
+        postulantes = DatosBenchmark.postulantes(filas);
+        consola = DatosBenchmark.silenciarConsola();
+        if (!DatabaseConnection.probarConexion()) {
+            throw new IllegalStateException("No se pudo abrir la base H2 del benchmark");
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void vaciarTabla() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM postulantes");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void cerrarBase() {
+        DatabaseConnection.cerrarConexion();
+        System.setOut(consola);
+    }
+    
+    @Benchmark
+    public int guardarFilaPorFila() {
+        int guardados = 0;
+        for (Postulante p : postulantes) {
+            if (dao.guardar(p)) guardados++;
+        }
+        return guardados;
+    }
+    
+    @Benchmark
+    public PostulanteDAO.ResultadoLote guardarLote() {
+        return dao.guardarLote(postulantes, tamanoLote);
+    }
+}
@@ -0,0 +1,68 @@
+package util;
+
+import model.Carrera;
+import model.Postulante;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Proceso de admisión completo (AlgoritmoAdmision.procesarAdmision) con
+ * poblaciones de distinto tamaño, en modo secuencial y paralelo
+ * @author joe-696
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AdmisionBenchmark {
+    
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamanio;
+    
+    @Param({"1", "4"})
+    public int paralelismo;
+    
+    private List<Postulante> postulantes;
+    private List<Carrera> carreras;
+    private PrintStream consola;
+    
+    @Setup(Level.Trial)
+    public void generarDatos() {
+        postulantes = DatosBenchmark.postulantes(tamanio);
+        consola = DatosBenchmark.silenciarConsola();
+    }
+    
+    /**
+     * Cada proceso ocupa vacantes, así que las carreras se crean de nuevo
+     */
+    @Setup(Level.Invocation)
+    public void crearCarreras() {
+        carreras = DatosBenchmark.carreras(tamanio);
+    }
+    
+    @TearDown(Level.Trial)
+    public void restaurarConsola() {
+        System.setOut(consola);
+    }
+    
+    @Benchmark
+    public AlgoritmoAdmision.ResultadoAdmision procesarAdmision() {
+        return new AlgoritmoAdmision(carreras).procesarAdmision(postulantes, paralelismo);
+    }
+}
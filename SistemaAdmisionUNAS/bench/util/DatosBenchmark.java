@@ -0,0 +1,75 @@
+package util;
+
+import model.Carrera;
+import model.Postulante;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos reproducibles para los benchmarks JMH
+ * - Los postulantes salen de ExcelUtils.importarPostulantesSimulado con una
+ *   semilla fija, así cada corrida mide exactamente los mismos datos
+ * - Las carreras son las de UNAS con las vacantes escaladas al tamaño de la
+ *   población, para que los pasos de curva y alumnos libres tengan trabajo
+ * @author joe-696
+ */
+public class DatosBenchmark {
+    
+    public static final long SEMILLA = 2025L;
+    
+    // Postulantes por cada vacante "real" de UNAS al escalar las carreras
+    private static final int POSTULANTES_POR_VACANTE = 1_000;
+    
+    private DatosBenchmark() {
+    }
+    
+    /**
+     * Postulantes simulados (siempre los mismos para el mismo tamaño)
+     */
+    public static List<Postulante> postulantes(int cantidad) {
+        PrintStream consola = silenciarConsola();
+        try {
+            return ExcelUtils.importarPostulantesSimulado(cantidad, SEMILLA);
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    /**
+     * Carreras de UNAS con vacantes proporcionales a la cantidad de postulantes
+     */
+    public static List<Carrera> carreras(int cantidadPostulantes) {
+        int factor = Math.max(1, cantidadPostulantes / POSTULANTES_POR_VACANTE);
+        List<Carrera> carreras = new ArrayList<>();
+        for (Carrera base : AlgoritmoAdmision.carrerasPorDefecto()) {
+            Carrera carrera = new Carrera(base.getCodigo(), base.getNombre(), base.getFacultad(),
+                base.getVacantesDisponibles() * factor);
+            carrera.setCurvaAplicada(base.getCurvaAplicada());
+            carreras.add(carrera);
+        }
+        return carreras;
+    }
+    
+    /**
+     * Líneas CSV con las 28 columnas del formato UNAS que lee parsearLineaExcel
+     */
+    public static String[] lineasCSV(List<Postulante> postulantes) {
+        String[] lineas = new String[postulantes.size()];
+        for (int i = 0; i < lineas.length; i++) {
+            lineas[i] = GeneradorPostulantes.lineaCSV(postulantes.get(i));
+        }
+        return lineas;
+    }
+    
+    /**
+     * Descartar lo que se imprime en System.out (los mensajes de progreso
+     * distorsionan las mediciones); devuelve la consola original para restaurarla
+     */
+    public static PrintStream silenciarConsola() {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return consola;
+    }
+}
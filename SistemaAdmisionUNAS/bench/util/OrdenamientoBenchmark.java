@@ -0,0 +1,57 @@
+package util;
+
+import model.Postulante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ordenamiento por mérito: List.sort con compararPostulantes frente a
+ * OrdenadorPostulantes (claves primitivas)
+ * @author joe-696
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class OrdenamientoBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    public int tamanio;
+    
+    private List<Postulante> postulantes;
+    
+    @Setup
+    public void generarDatos() {
+        postulantes = DatosBenchmark.postulantes(tamanio);
+        // El puntaje final es el que usa el comparador
+        for (Postulante p : postulantes) {
+            p.setPuntajeFinal(p.getNotaAC() + p.getNotaCO());
+        }
+    }
+    
+    @Benchmark
+    public List<Postulante> compararPostulantes() {
+        List<Postulante> copia = new ArrayList<>(postulantes);
+        copia.sort(AlgoritmoAdmision::compararPostulantes);
+        return copia;
+    }
+    
+    @Benchmark
+    public Postulante[] ordenadorPorClaves() {
+        return OrdenadorPostulantes.ordenar(postulantes);
+    }
+}
@@ -0,0 +1,207 @@
+package util;
+
+import model.Postulante;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Copia del parseo de líneas que usaba ExcelUtils antes de TokenizadorCSV
+ * (String.split + limpiarCampo con regex + SimpleDateFormat por formato),
+ * solo como referencia para ParseoLineaBenchmark
+ * @author joe-696
+ */
+final class ParseoLineaAnterior {
+    
+    private ParseoLineaAnterior() {
+    }
+    
+    /**
+     * Parsear una línea del Excel/CSV según el formato UNAS
+     */
+    static Postulante parsearLineaExcel(String linea, int numeroLinea) {
+        try {
+            // Detectar separador automáticamente
+            String separador = detectarSeparador(linea);
+            String[] campos = linea.split(separador, -1); // -1 mantiene campos vacíos al final
+            
+            // Expandir array si es necesario (asegurar mínimo 30 campos)
+            String[] camposExpandidos = new String[Math.max(30, campos.length)];
+            System.arraycopy(campos, 0, camposExpandidos, 0, campos.length);
+            for (int i = campos.length; i < camposExpandidos.length; i++) {
+                camposExpandidos[i] = ""; // Rellenar con vacíos
+            }
+            campos = camposExpandidos;
+            
+            // Validar campos mínimos requeridos
+            String codigo = limpiarCampo(campos[0]);
+            String nombres = limpiarCampo(campos[1]);
+            
+            if (codigo.isEmpty() && nombres.isEmpty()) {
+                return null;
+            }
+            if (codigo.isEmpty()) {
+                codigo = "AUTO" + String.format("%04d", numeroLinea);
+            }
+            if (nombres.isEmpty()) {
+                nombres = "POSTULANTE " + codigo;
+            }
+            
+            Postulante postulante = new Postulante();
+            postulante.setCodigo(codigo);
+            postulante.setApellidosNombres(nombres);
+            
+            postulante.setOpcion1(limpiarCampoConDefault(campos[2], "SIN ESPECIFICAR"));
+            postulante.setOpcion2(limpiarCampoConDefault(campos[3], ""));
+            postulante.setModalidad(limpiarCampoConDefault(campos[4], "ORDINARIO"));
+            postulante.setDni(limpiarCampoConDefault(campos[5], generarDniTemporal()));
+            
+            postulante.setCodSede(parsearEnteroSeguro(campos[6], 1));
+            postulante.setInscripcion(parsearFechaSegura(campos[7]));
+            postulante.setUbigeoProcedencia(limpiarCampo(campos[8]));
+            postulante.setCodColegio(limpiarCampo(campos[9]));
+            postulante.setFechaEgresoColegio(parsearFechaSegura(campos[10]));
+            postulante.setTipoColegio(parsearEnteroSeguro(campos[11], 1));
+            postulante.setUbigeoColegio(limpiarCampo(campos[12]));
+            postulante.setEstadoCivil(limpiarCampoConDefault(campos[13], "SOLTERO"));
+            postulante.setEncuesta(limpiarCampo(campos[14]));
+            postulante.setIngreso(parsearEnteroSeguro(campos[15], 0));
+            postulante.setIngresoA(limpiarCampo(campos[16]));
+            postulante.setSexo(normalizarSexo(limpiarCampo(campos[17])));
+            postulante.setNombreColegio(limpiarCampoConDefault(campos[18], "SIN ESPECIFICAR"));
+            postulante.setIdiomaMat(limpiarCampo(campos[19]));
+            postulante.setTelCelular(limpiarCampo(campos[20]));
+            postulante.setDireccion(limpiarCampo(campos[21]));
+            postulante.setUbigeo(limpiarCampo(campos[22]));
+            postulante.setFecNac(parsearFechaSegura(campos[23]));
+            
+            postulante.setNotaAC(parsearDoubleSeguro(campos[24]));
+            postulante.setNotaCO(parsearDoubleSeguro(campos[25]));
+            
+            postulante.setRespuesta(limpiarCampo(campos[26]));
+            postulante.setEstadoAcademico(limpiarCampoConDefault(campos[27], "POSTULANTE"));
+            
+            if (postulante.getInscripcion() == null) {
+                postulante.setInscripcion(new Date());
+            }
+            if (postulante.getFecNac() == null) {
+                Calendar cal = Calendar.getInstance();
+                cal.add(Calendar.YEAR, -18);
+                postulante.setFecNac(cal.getTime());
+            }
+            
+            postulante.calcularPuntajeFinal();
+            return postulante;
+        
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    private static String detectarSeparador(String linea) {
+        int comas = (int) linea.chars().filter(ch -> ch == ',').count();
+        int tabs = (int) linea.chars().filter(ch -> ch == '\t').count();
+        int puntoComas = (int) linea.chars().filter(ch -> ch == ';').count();
+        
+        if (tabs > comas && tabs > puntoComas) {
+            return "\t";
+        } else if (puntoComas > comas) {
+            return ";";
+        } else {
+            return ",";
+        }
+    }
+    
+    private static String normalizarSexo(String sexo) {
+        if (sexo == null || sexo.trim().isEmpty()) return "";
+        
+        String sexoNorm = sexo.trim().toUpperCase();
+        if (sexoNorm.startsWith("M") || sexoNorm.equals("MASCULINO") || sexoNorm.equals("HOMBRE")) {
+            return "M";
+        } else if (sexoNorm.startsWith("F") || sexoNorm.equals("FEMENINO") || sexoNorm.equals("MUJER")) {
+            return "F";
+        }
+        return sexo;
+    }
+    
+    private static String limpiarCampo(String campo) {
+        if (campo == null) return "";
+        String limpio = campo.trim().replaceAll("\"", "").replaceAll("'", "");
+        limpio = limpio.replaceAll("\\s+", " ").trim();
+        return limpio;
+    }
+    
+    private static String limpiarCampoConDefault(String campo, String valorDefault) {
+        String limpio = limpiarCampo(campo);
+        return limpio.isEmpty() ? valorDefault : limpio;
+    }
+    
+    private static int parsearEnteroSeguro(String campo, int valorDefault) {
+        try {
+            String limpio = limpiarCampo(campo);
+            if (limpio.isEmpty()) return valorDefault;
+            
+            if (limpio.contains(".")) {
+                limpio = limpio.substring(0, limpio.indexOf("."));
+            }
+            return Integer.parseInt(limpio);
+        } catch (NumberFormatException e) {
+            return valorDefault;
+        }
+    }
+    
+    private static double parsearDoubleSeguro(String campo) {
+        try {
+            String limpio = limpiarCampo(campo);
+            if (limpio.isEmpty()) return 0.0;
+            
+            limpio = limpio.replace(",", ".");
+            double valor = Double.parseDouble(limpio);
+            if (valor < 0) valor = 0.0;
+            if (valor > 20) valor = 20.0;
+            
+            return Math.round(valor * 100.0) / 100.0;
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+    
+    private static Date parsearFechaSegura(String campo) {
+        try {
+            String limpio = limpiarCampo(campo);
+            if (limpio.isEmpty()) return new Date();
+            
+            String[] formatos = {
+                "dd/MM/yyyy", "dd-MM-yyyy", "yyyy-MM-dd",
+                "MM/dd/yyyy", "dd.MM.yyyy", "yyyy/MM/dd",
+                "dd/MM/yy", "dd-MM-yy", "yy-MM-dd"
+            };
+            
+            for (String formato : formatos) {
+                try {
+                    SimpleDateFormat sdf = new SimpleDateFormat(formato);
+                    sdf.setLenient(false);
+                    Date fecha = sdf.parse(limpio);
+                    
+                    Calendar cal = Calendar.getInstance();
+                    cal.setTime(fecha);
+                    int anio = cal.get(Calendar.YEAR);
+                    if (anio >= 1900 && anio <= 2030) {
+                        return fecha;
+                    }
+                } catch (ParseException ignored) {
+                    // Continuar con siguiente formato
+                }
+            }
+            return new Date();
+        
+        } catch (Exception e) {
+            return new Date();
+        }
+    }
+    
+    private static String generarDniTemporal() {
+        return String.format("TEMP%04d", (int) (Math.random() * 10000));
+    }
+}
@@ -0,0 +1,55 @@
+package util;
+
+import model.Postulante;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ExcelUtils.parsearLineaExcel sobre líneas CSV realistas, comparado con el
+ * parseo anterior (split + regex, ParseoLineaAnterior) sobre las mismas líneas
+ * (está en el paquete util porque el método es de paquete)
+ * @author joe-696
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseoLineaBenchmark {
+    
+    private static final int LINEAS = 4_096;
+    // parsearRegistro imprime información de depuración en las primeras 5 líneas
+    private static final int PRIMERA_LINEA = 10;
+    
+    private String[] lineas;
+    private int siguiente;
+    
+    @Setup
+    public void generarLineas() {
+        lineas = DatosBenchmark.lineasCSV(DatosBenchmark.postulantes(LINEAS));
+    }
+    
+    @Benchmark
+    public Postulante parsearLineaExcel() {
+        int i = siguiente;
+        siguiente = (i + 1) % lineas.length;
+        return ExcelUtils.parsearLineaExcel(lineas[i], PRIMERA_LINEA + i);
+    }
+    
+    @Benchmark
+    public Postulante parsearLineaSplit() {
+        int i = siguiente;
+        siguiente = (i + 1) % lineas.length;
+        return ParseoLineaAnterior.parsearLineaExcel(lineas[i], PRIMERA_LINEA + i);
+    }
+}
@@ -1,9 +1,14 @@
 package dao;
 
+import model.Catalogo;
 import util.DatabaseConnection;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO para gestión de carreras
@@ -13,6 +18,8 @@ public class CarreraDAO {
     
     /**
      * Obtener todas las carreras activas
+     * Los nombres quedan registrados en Catalogo.CARRERAS (ids y String compartidos
+     * con los postulantes)
      */
     public List<String> obtenerTodasLasCarreras() {
         List<String> carreras = new ArrayList<>();
@@ -23,7 +30,7 @@ public class CarreraDAO {
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                carreras.add(rs.getString("nombre"));
+                carreras.add(Catalogo.CARRERAS.canonico(rs.getString("nombre")));
             }
             
         } catch (SQLException e) {
@@ -70,10 +77,11 @@ public class CarreraDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, nombreCarrera.toUpperCase().trim());
-            ResultSet rs = pstmt.executeQuery();
             
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
             }
             
         } catch (SQLException e) {
@@ -107,35 +115,131 @@ public class CarreraDAO {
     }
     
     /**
-     * Obtener carreras con estadísticas
+     * Obtener carreras con estadísticas (texto para mostrar en listas)
      */
     public List<String> obtenerCarrerasConEstadisticas() {
+        List<EstadisticaCarrera> estadisticas = obtenerEstadisticasDemanda();
+        if (estadisticas == null) {
+            // Fallback a lista simple
+            return obtenerTodasLasCarreras();
+        }
+        
         List<String> carreras = new ArrayList<>();
-        String sql = """
-            SELECT c.nombre, COUNT(p.codigo) as total_postulantes
-            FROM carreras c
-            LEFT JOIN postulantes p ON (c.nombre = p.opcion1 OR c.nombre = p.opcion2)
-            WHERE c.activa = TRUE
-            GROUP BY c.nombre
-            ORDER BY total_postulantes DESC, c.nombre
+        for (EstadisticaCarrera estadistica : estadisticas) {
+            carreras.add(estadistica.getCarrera() + " (" + estadistica.getTotalPostulantes() + " postulantes)");
+        }
+        return carreras;
+    }
+    
+    /**
+     * Demanda de cada carrera activa, de la más a la menos solicitada
+     * Un GROUP BY por cada opción (UNION ALL), sin JOIN con OR (que recorría
+     * todos los postulantes por cada carrera) ni grupos por par de opciones:
+     * - Segunda opción: solo cuenta, H2 la resuelve con idx_postulantes_opcion2
+     * - Primera opción: también suma notas, así que lee la tabla una vez desde
+     *   una subconsulta; agrupando directo sobre idx_postulantes_opcion1, H2
+     *   buscaba cada fila por el índice y tardaba el doble
+     * @return estadísticas por carrera, o null si falla la consulta
+     */
+    public List<EstadisticaCarrera> obtenerEstadisticasDemanda() {
+        String sqlCarreras = "SELECT nombre FROM carreras WHERE activa = TRUE";
+        String sqlDemanda = """
+            SELECT 1 AS opcion, opcion1 AS carrera, COUNT(*) AS postulantes,
+                   COUNT(*) FILTER (WHERE estado_academico = 'ALUMNO_LIBRE') AS alumnos_libres,
+                   SUM(nota_final) AS suma_notas,
+                   COUNT(*) FILTER (WHERE opcion2 = opcion1) AS ambas_opciones
+            FROM (SELECT opcion1, opcion2, estado_academico, nota_final FROM postulantes) p
+            GROUP BY opcion1
+            UNION ALL
+            SELECT 2, opcion2, COUNT(*), 0, NULL, 0
+            FROM postulantes
+            GROUP BY opcion2
             """;
         
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
+             Statement stmt = conn.createStatement()) {
             
-            while (rs.next()) {
-                String carrera = rs.getString("nombre");
-                int totalPostulantes = rs.getInt("total_postulantes");
-                carreras.add(carrera + " (" + totalPostulantes + " postulantes)");
+            Map<String, EstadisticaCarrera> porCarrera = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery(sqlCarreras)) {
+                while (rs.next()) {
+                    String nombre = rs.getString("nombre");
+                    porCarrera.put(nombre, new EstadisticaCarrera(nombre));
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery(sqlDemanda)) {
+                while (rs.next()) {
+                    String carrera = rs.getString("carrera");
+                    EstadisticaCarrera estadistica = carrera != null ? porCarrera.get(carrera) : null;
+                    if (estadistica == null) {
+                        continue;
+                    }
+                    
+                    if (rs.getInt("opcion") == 1) {
+                        estadistica.primeraOpcion = rs.getInt("postulantes");
+                        estadistica.alumnosLibres = rs.getInt("alumnos_libres");
+                        estadistica.ambasOpciones = rs.getInt("ambas_opciones");
+                        BigDecimal suma = rs.getBigDecimal("suma_notas");
+                        if (suma != null) {
+                            estadistica.sumaNotas = suma.doubleValue();
+                        }
+                    } else {
+                        estadistica.segundaOpcion = rs.getInt("postulantes");
+                    }
+                }
             }
             
+            List<EstadisticaCarrera> estadisticas = new ArrayList<>(porCarrera.values());
+            estadisticas.sort(Comparator.comparingInt(EstadisticaCarrera::getTotalPostulantes).reversed()
+                .thenComparing(EstadisticaCarrera::getCarrera));
+            return estadisticas;
+        
         } catch (SQLException e) {
-            System.err.println("❌ Error obteniendo carreras con estadísticas: " + e.getMessage());
-            // Fallback a lista simple
-            return obtenerTodasLasCarreras();
+            System.err.println("❌ Error obteniendo estadísticas de carreras: " + e.getMessage());
+            return null;
         }
+    }
+    
+    /**
+     * Demanda de una carrera
+     * - primeraOpcion / segundaOpcion: postulantes que la eligieron en cada opción
+     * - ambasOpciones: los que la eligieron en las dos (se cuentan una vez en el total)
+     * - alumnosLibres y notaPromedio: de los postulantes en primera opción
+     */
+    public static class EstadisticaCarrera {
+        private final String carrera;
+        private int primeraOpcion;
+        private int segundaOpcion;
+        private int ambasOpciones;
+        private int alumnosLibres;
+        private double sumaNotas;
         
-        return carreras;
+        EstadisticaCarrera(String carrera) {
+            this.carrera = carrera;
+        }
+        
+        public String getCarrera() { return carrera; }
+        public int getPrimeraOpcion() { return primeraOpcion; }
+        public int getSegundaOpcion() { return segundaOpcion; }
+        public int getAmbasOpciones() { return ambasOpciones; }
+        public int getAlumnosLibres() { return alumnosLibres; }
+        public double getSumaNotas() { return sumaNotas; }
+        
+        /**
+         * Postulantes distintos que eligieron la carrera en alguna opción
+         */
+        public int getTotalPostulantes() {
+            return primeraOpcion + segundaOpcion - ambasOpciones;
+        }
+        
+        public double getNotaPromedio() {
+            return primeraOpcion > 0 ? sumaNotas / primeraOpcion : 0.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s: %d en 1ra, %d en 2da, %d alumnos libres, promedio %.2f",
+                carrera, primeraOpcion, segundaOpcion, alumnosLibres, getNotaPromedio());
+        }
     }
 }
@@ -1,10 +1,23 @@
 package dao;
 
+import model.Fechas;
 import model.Postulante;
+import util.ColumnasPostulantes;
 import util.DatabaseConnection;
+import java.math.BigDecimal;
 import java.sql.*;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
 
 /**
  * DAO para operaciones con Postulantes
@@ -13,6 +26,45 @@ import java.util.List;
  */
 public class PostulanteDAO {
     
+    /**
+     * Tamaño de lote por defecto para inserciones masivas
+     */
+    public static final int TAMANO_LOTE_DEFECTO = 500;
+    
+    // Columnas que muestra la tabla de registro
+    private static final String SQL_COLUMNAS_BUSQUEDA =
+        "SELECT codigo, apellidos_nombres, dni, opcion1, opcion2, modalidad, estado_academico, sexo, inscripcion FROM postulantes";
+    
+    private static final String SQL_INSERTAR = """
+        INSERT INTO postulantes (
+            codigo, apellidos_nombres, opcion1, opcion2, modalidad, dni, 
+            cod_sede, inscripcion, ubigeo_procedencia, cod_colegio, 
+            fecha_egreso_colegio, tipo_colegio, ubigeo_colegio, estado_civil,
+            encuesta, ingreso, ingreso_a, sexo, nombre_colegio, idioma_mat,
+            tel_celular, direccion, ubigeo, fec_nac, nota_ac, nota_co,
+            nota_final, estado_academico, respuesta
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    // Columnas de SQL_INSERTAR en el mismo orden; al combinar, la columna i
+    // ocupa el bit i de la máscara de columnas cambiadas
+    private static final String[] COLUMNAS = {
+        "codigo", "apellidos_nombres", "opcion1", "opcion2", "modalidad", "dni",
+        "cod_sede", "inscripcion", "ubigeo_procedencia", "cod_colegio",
+        "fecha_egreso_colegio", "tipo_colegio", "ubigeo_colegio", "estado_civil",
+        "encuesta", "ingreso", "ingreso_a", "sexo", "nombre_colegio", "idioma_mat",
+        "tel_celular", "direccion", "ubigeo", "fec_nac", "nota_ac", "nota_co",
+        "nota_final", "estado_academico", "respuesta"
+    };
+    private static final int COLUMNA_NOTA_AC = 24;
+    private static final int COLUMNA_NOTA_CO = 25;
+    private static final int COLUMNA_NOTA_FINAL = 26;
+    private static final long TODAS_LAS_COLUMNAS = (1L << COLUMNAS.length) - 1;
+    private static final BigDecimal SIN_NOTA = BigDecimal.ZERO.setScale(2);
+    
+    private static final String SQL_LEER_ACTUALES =
+        "SELECT " + String.join(", ", COLUMNAS) + " FROM postulantes WHERE codigo = ANY(?)";
+    
     /**
      * Guardar postulante en base de datos
      */
@@ -24,72 +76,9 @@ public class PostulanteDAO {
             return false;
         }
         
-        String sql = """
-            INSERT INTO postulantes (
-                codigo, apellidos_nombres, opcion1, opcion2, modalidad, dni, 
-                cod_sede, inscripcion, ubigeo_procedencia, cod_colegio, 
-                fecha_egreso_colegio, tipo_colegio, ubigeo_colegio, estado_civil,
-                encuesta, ingreso, ingreso_a, sexo, nombre_colegio, idioma_mat,
-                tel_celular, direccion, ubigeo, fec_nac, nota_ac, nota_co,
-                nota_final, estado_academico, respuesta
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR)) {
             
-            // Campos básicos
-            pstmt.setString(1, postulante.getCodigo());
-            pstmt.setString(2, postulante.getApellidosNombres());
-            pstmt.setString(3, postulante.getOpcion1());
-            pstmt.setString(4, postulante.getOpcion2());
-            pstmt.setString(5, postulante.getModalidad());
-            pstmt.setString(6, postulante.getDni());
-            pstmt.setInt(7, postulante.getCodSede());
-            
-            // Fecha de inscripción
-            if (postulante.getInscripcion() != null) {
-                pstmt.setDate(8, new java.sql.Date(postulante.getInscripcion().getTime()));
-            } else {
-                pstmt.setDate(8, new java.sql.Date(System.currentTimeMillis()));
-            }
-            
-            // Campos adicionales
-            pstmt.setString(9, postulante.getUbigeoProcedencia());
-            pstmt.setString(10, postulante.getCodColegio());
-            
-            // Fecha egreso colegio
-            if (postulante.getFechaEgresoColegio() != null) {
-                pstmt.setDate(11, new java.sql.Date(postulante.getFechaEgresoColegio().getTime()));
-            } else {
-                pstmt.setNull(11, Types.DATE);
-            }
-            
-            pstmt.setInt(12, postulante.getTipoColegio());
-            pstmt.setString(13, postulante.getUbigeoColegio());
-            pstmt.setString(14, postulante.getEstadoCivil());
-            pstmt.setString(15, postulante.getEncuesta());
-            pstmt.setInt(16, postulante.getIngreso());
-            pstmt.setString(17, postulante.getIngresoA());
-            pstmt.setString(18, postulante.getSexo());
-            pstmt.setString(19, postulante.getNombreColegio());
-            pstmt.setString(20, postulante.getIdiomaMat());
-            pstmt.setString(21, postulante.getTelCelular());
-            pstmt.setString(22, postulante.getDireccion());
-            pstmt.setString(23, postulante.getUbigeo());
-            
-            // Fecha nacimiento
-            if (postulante.getFecNac() != null) {
-                pstmt.setDate(24, new java.sql.Date(postulante.getFecNac().getTime()));
-            } else {
-                pstmt.setNull(24, Types.DATE);
-            }
-            
-            // Notas
-            pstmt.setDouble(25, postulante.getNotaAC());
-            pstmt.setDouble(26, postulante.getNotaCO());
-            pstmt.setDouble(27, postulante.getNotaFinal());
-            pstmt.setString(28, postulante.getEstadoAcademico());
-            pstmt.setString(29, postulante.getRespuesta());
+            asignarParametrosInsercion(pstmt, postulante);
             
             int filasAfectadas = pstmt.executeUpdate();
             
@@ -100,7 +89,7 @@ public class PostulanteDAO {
                 System.err.println("❌ No se pudo guardar el postulante");
                 return false;
             }
-            
+        
         } catch (SQLException e) {
             if (e.getErrorCode() == 23505) { // Duplicate key
                 System.err.println("❌ Error: Ya existe un postulante con código " + postulante.getCodigo() + " o DNI " + postulante.getDni());
@@ -116,6 +105,484 @@ public class PostulanteDAO {
         }
     }
     
+    /**
+     * Guardar una lista de postulantes por lotes
+     * Reutiliza un único PreparedStatement, usa addBatch/executeBatch y hace
+     * un commit por lote. Si un lote falla se revierte y se reintenta fila por
+     * fila para clasificar cada registro (insertado, duplicado o restricción).
+     */
+    public ResultadoLote guardarLote(List<Postulante> postulantes, int tamanoLote) {
+        ResultadoLote resultado = new ResultadoLote();
+        if (postulantes == null || postulantes.isEmpty()) {
+            return resultado;
+        }
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("❌ No se pudo obtener conexión a la base de datos");
+            for (Postulante p : postulantes) {
+                resultado.registrar(p, EstadoFila.ERROR, "Sin conexión a la base de datos");
+            }
+            return resultado;
+        }
+        
+        if (tamanoLote <= 0) {
+            tamanoLote = TAMANO_LOTE_DEFECTO;
+        }
+        
+        boolean autoCommitOriginal = true;
+        try {
+            autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR)) {
+                for (int inicio = 0; inicio < postulantes.size(); inicio += tamanoLote) {
+                    List<Postulante> lote = postulantes.subList(inicio, Math.min(inicio + tamanoLote, postulantes.size()));
+                    guardarSubLote(conn, pstmt, lote, resultado);
+                }
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("❌ Error SQL en guardado por lotes: " + e.getMessage());
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                System.err.println("⚠️ No se pudo revertir el lote: " + rollbackEx.getMessage());
+            }
+            // Las filas que no llegaron a procesarse se marcan como error
+            for (int i = resultado.getTotal(); i < postulantes.size(); i++) {
+                resultado.registrar(postulantes.get(i), EstadoFila.ERROR, e.getMessage());
+            }
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommitOriginal);
+            } catch (SQLException e) {
+                System.err.println("⚠️ No se pudo restaurar auto-commit: " + e.getMessage());
+            }
+            try {
+                conn.close(); // Devolver la conexión al pool
+            } catch (SQLException e) {
+                System.err.println("⚠️ No se pudo devolver la conexión: " + e.getMessage());
+            }
+        }
+        
+        System.out.println("✅ Guardado por lotes: " + resultado.getInsertados() + " insertados, " +
+            resultado.getDuplicados() + " duplicados, " + resultado.getRestricciones() + " con restricciones, " +
+            resultado.getErrores() + " errores");
+        
+        return resultado;
+    }
+    
+    /**
+     * Ejecutar un lote y hacer commit; si falla, reintentar fila por fila.
+     * Los estados se registran después del commit: si el commit falla, las
+     * filas del lote quedan sin registrar y guardarLote las marca como error
+     */
+    private void guardarSubLote(Connection conn, PreparedStatement pstmt, List<Postulante> lote,
+                                ResultadoLote resultado) throws SQLException {
+        try {
+            for (Postulante p : lote) {
+                asignarParametrosInsercion(pstmt, p);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+            
+            for (Postulante p : lote) {
+                resultado.registrar(p, EstadoFila.INSERTADO, null);
+            }
+        
+        } catch (BatchUpdateException e) {
+            // Deshacer el lote completo y clasificar cada fila individualmente
+            pstmt.clearBatch();
+            conn.rollback();
+            
+            int n = lote.size();
+            EstadoFila[] estados = new EstadoFila[n];
+            String[] mensajes = new String[n];
+            for (int i = 0; i < n; i++) {
+                try {
+                    asignarParametrosInsercion(pstmt, lote.get(i));
+                    pstmt.executeUpdate();
+                    estados[i] = EstadoFila.INSERTADO;
+                } catch (SQLException filaEx) {
+                    estados[i] = clasificarError(filaEx);
+                    mensajes[i] = filaEx.getMessage();
+                }
+            }
+            conn.commit();
+            
+            for (int i = 0; i < n; i++) {
+                resultado.registrar(lote.get(i), estados[i], mensajes[i]);
+            }
+        }
+    }
+    
+    /**
+     * Guardar una lista de postulantes que puede traer códigos ya registrados
+     * (p. ej. un archivo de notas que se vuelve a subir). Por cada lote se leen
+     * con una sola consulta las filas actuales de sus códigos y se comparan en
+     * memoria: los códigos nuevos se insertan con todas sus columnas; de los ya
+     * registrados solo se combinan las notas (nota_ac, nota_co y nota_final), así
+     * que los datos de inscripción y el resultado de la admisión (ingreso,
+     * ingreso_a) se conservan. Una nota vacía en el archivo (0) conserva la
+     * guardada. Las notas que cambiaron se escriben con MERGE INTO ... KEY(codigo)
+     * (una sentencia por combinación de columnas, en batch) y las filas iguales
+     * no se tocan. Un código repetido en la lista se reporta como DUPLICADO.
+     */
+    public ResultadoLote combinarLote(List<Postulante> postulantes, int tamanoLote) {
+        ResultadoLote resultado = new ResultadoLote();
+        if (postulantes == null || postulantes.isEmpty()) {
+            return resultado;
+        }
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("❌ No se pudo obtener conexión a la base de datos");
+            for (Postulante p : postulantes) {
+                resultado.registrar(p, EstadoFila.ERROR, "Sin conexión a la base de datos");
+            }
+            return resultado;
+        }
+        
+        if (tamanoLote <= 0) {
+            tamanoLote = TAMANO_LOTE_DEFECTO;
+        }
+        
+        boolean autoCommitOriginal = true;
+        Map<Long, SentenciaCombinar> sentencias = new HashMap<>();
+        try {
+            autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            Set<String> vistos = new HashSet<>();
+            try (PreparedStatement leer = conn.prepareStatement(SQL_LEER_ACTUALES)) {
+                for (int inicio = 0; inicio < postulantes.size(); inicio += tamanoLote) {
+                    List<Postulante> lote = postulantes.subList(inicio, Math.min(inicio + tamanoLote, postulantes.size()));
+                    combinarSubLote(conn, leer, sentencias, lote, vistos, resultado);
+                }
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("❌ Error SQL en combinación por lotes: " + e.getMessage());
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                System.err.println("⚠️ No se pudo revertir el lote: " + rollbackEx.getMessage());
+            }
+            // Las filas que no llegaron a procesarse se marcan como error
+            for (int i = resultado.getTotal(); i < postulantes.size(); i++) {
+                resultado.registrar(postulantes.get(i), EstadoFila.ERROR, e.getMessage());
+            }
+        } finally {
+            for (SentenciaCombinar sentencia : sentencias.values()) {
+                try {
+                    sentencia.pstmt.close();
+                } catch (SQLException e) {
+                    System.err.println("⚠️ No se pudo cerrar la sentencia: " + e.getMessage());
+                }
+            }
+            try {
+                conn.setAutoCommit(autoCommitOriginal);
+            } catch (SQLException e) {
+                System.err.println("⚠️ No se pudo restaurar auto-commit: " + e.getMessage());
+            }
+            try {
+                conn.close(); // Devolver la conexión al pool
+            } catch (SQLException e) {
+                System.err.println("⚠️ No se pudo devolver la conexión: " + e.getMessage());
+            }
+        }
+        
+        System.out.println("✅ Combinación por lotes: " + resultado.getInsertados() + " insertados, " +
+            resultado.getActualizados() + " actualizados, " + resultado.getSinCambios() + " sin cambios, " +
+            resultado.getFallidos() + " fallidos");
+        
+        return resultado;
+    }
+    
+    /**
+     * Clasificar y escribir un lote y hacer commit; si falla, reintentar fila
+     * por fila. Los estados se registran al final, en el orden del lote
+     */
+    private void combinarSubLote(Connection conn, PreparedStatement leer, Map<Long, SentenciaCombinar> sentencias,
+                                 List<Postulante> lote, Set<String> vistos, ResultadoLote resultado) throws SQLException {
+        Map<String, Object[]> actuales = leerActuales(conn, leer, lote);
+        
+        int n = lote.size();
+        EstadoFila[] estados = new EstadoFila[n];
+        String[] mensajes = new String[n];
+        Object[][] valores = new Object[n][];
+        SentenciaCombinar[] destinos = new SentenciaCombinar[n];
+        
+        for (int i = 0; i < n; i++) {
+            Postulante p = lote.get(i);
+            if (!vistos.add(p.getCodigo())) {
+                estados[i] = EstadoFila.DUPLICADO;
+                mensajes[i] = "Código " + p.getCodigo() + " repetido en la lista";
+                continue;
+            }
+            
+            Object[] actual = actuales.get(p.getCodigo());
+            if (actual == null) {
+                notasVaciasEnCero(p); // Código nuevo: se guarda como en una inserción
+            }
+            valores[i] = actual == null ? valores(p) : notasCombinadas(p, actual);
+            long columnas = actual == null ? TODAS_LAS_COLUMNAS : columnasCambiadas(valores[i], actual);
+            if (columnas == 0) {
+                estados[i] = EstadoFila.SIN_CAMBIOS;
+                continue;
+            }
+            
+            destinos[i] = sentencias.computeIfAbsent(columnas, c -> new SentenciaCombinar(c));
+            destinos[i].preparar(conn);
+            destinos[i].asignar(valores[i]);
+            destinos[i].pstmt.addBatch();
+            estados[i] = actual == null ? EstadoFila.INSERTADO : EstadoFila.ACTUALIZADO;
+            mensajes[i] = actual == null ? null : destinos[i].descripcion;
+        }
+        
+        try {
+            for (SentenciaCombinar sentencia : sentencias.values()) {
+                sentencia.pstmt.executeBatch();
+            }
+            conn.commit();
+        
+        } catch (BatchUpdateException e) {
+            // Deshacer el lote completo y escribir cada fila individualmente
+            for (SentenciaCombinar sentencia : sentencias.values()) {
+                sentencia.pstmt.clearBatch();
+            }
+            conn.rollback();
+            
+            for (int i = 0; i < n; i++) {
+                if (destinos[i] == null) continue;
+                try {
+                    destinos[i].asignar(valores[i]);
+                    destinos[i].pstmt.executeUpdate();
+                } catch (SQLException filaEx) {
+                    estados[i] = clasificarError(filaEx);
+                    mensajes[i] = filaEx.getMessage();
+                }
+            }
+            conn.commit();
+        }
+        
+        for (int i = 0; i < n; i++) {
+            resultado.registrar(lote.get(i), estados[i], mensajes[i]);
+        }
+    }
+    
+    /**
+     * Valores guardados de los códigos del lote (con una sola consulta), por código
+     */
+    private static Map<String, Object[]> leerActuales(Connection conn, PreparedStatement leer,
+                                                      List<Postulante> lote) throws SQLException {
+        String[] codigos = new String[lote.size()];
+        for (int i = 0; i < codigos.length; i++) {
+            codigos[i] = lote.get(i).getCodigo();
+        }
+        leer.setArray(1, conn.createArrayOf("VARCHAR", codigos));
+        
+        Map<String, Object[]> actuales = new HashMap<>(codigos.length * 2);
+        try (ResultSet rs = leer.executeQuery()) {
+            while (rs.next()) {
+                Object[] fila = new Object[COLUMNAS.length];
+                for (int i = 0; i < fila.length; i++) {
+                    Object valor = rs.getObject(i + 1);
+                    if (valor instanceof java.sql.Date) {
+                        valor = ((java.sql.Date) valor).toLocalDate();
+                    } else if (valor instanceof BigDecimal) {
+                        valor = ((BigDecimal) valor).setScale(2, RoundingMode.HALF_UP);
+                    }
+                    fila[i] = valor;
+                }
+                actuales.put((String) fila[0], fila);
+            }
+        }
+        return actuales;
+    }
+    
+    /**
+     * Valores guardados con las notas del archivo encima: una nota vacía
+     * (ExcelUtils.NOTA_VACIA) conserva la guardada, un 0 escrito la corrige,
+     * y la nota final se recalcula solo si el archivo trae alguna nota
+     */
+    private static Object[] notasCombinadas(Postulante p, Object[] actuales) {
+        Object[] valores = actuales.clone();
+        boolean conAC = !Double.isNaN(p.getNotaAC());
+        boolean conCO = !Double.isNaN(p.getNotaCO());
+        if (!conAC && !conCO) {
+            return valores;
+        }
+        if (conAC) valores[COLUMNA_NOTA_AC] = nota(p.getNotaAC());
+        if (conCO) valores[COLUMNA_NOTA_CO] = nota(p.getNotaCO());
+        valores[COLUMNA_NOTA_FINAL] = notaGuardada(valores[COLUMNA_NOTA_AC]).add(notaGuardada(valores[COLUMNA_NOTA_CO]));
+        return valores;
+    }
+    
+    private static BigDecimal notaGuardada(Object valor) {
+        return valor != null ? (BigDecimal) valor : SIN_NOTA;
+    }
+    
+    private static void notasVaciasEnCero(Postulante p) {
+        if (Double.isNaN(p.getNotaAC())) p.setNotaAC(0);
+        if (Double.isNaN(p.getNotaCO())) p.setNotaCO(0);
+    }
+    
+    /**
+     * Máscara de las notas cuyo valor combinado difiere del guardado (0 = sin cambios)
+     */
+    private static long columnasCambiadas(Object[] nuevos, Object[] actuales) {
+        long columnas = 0;
+        for (int i : new int[] {COLUMNA_NOTA_AC, COLUMNA_NOTA_CO, COLUMNA_NOTA_FINAL}) {
+            if (!Objects.equals(nuevos[i], actuales[i])) {
+                columnas |= 1L << i;
+            }
+        }
+        return columnas;
+    }
+    
+    /**
+     * Valores de las columnas de SQL_INSERTAR, con los tipos que devuelve la base
+     * (LocalDate, BigDecimal con 2 decimales) para poder compararlos
+     */
+    private static Object[] valores(Postulante p) {
+        int inscripcion = p.getInscripcionDia();
+        return new Object[] {
+            p.getCodigo(), p.getApellidosNombres(), p.getOpcion1(), p.getOpcion2(), p.getModalidad(), p.getDni(),
+            p.getCodSede(), fecha(inscripcion != Fechas.SIN_FECHA ? inscripcion : Fechas.hoy()),
+            p.getUbigeoProcedencia(), p.getCodColegio(),
+            fecha(p.getFechaEgresoColegioDia()), p.getTipoColegio(), p.getUbigeoColegio(), p.getEstadoCivil(),
+            p.getEncuesta(), p.getIngreso(), p.getIngresoA(), p.getSexo(), p.getNombreColegio(), p.getIdiomaMat(),
+            p.getTelCelular(), p.getDireccion(), p.getUbigeo(), fecha(p.getFecNacDia()),
+            nota(p.getNotaAC()), nota(p.getNotaCO()), nota(p.getNotaFinal()),
+            p.getEstadoAcademico(), p.getRespuesta()
+        };
+    }
+    
+    private static LocalDate fecha(int dia) {
+        return dia != Fechas.SIN_FECHA ? Fechas.localDate(dia) : null;
+    }
+    
+    // Mismo redondeo que hace la base al guardar un double en DECIMAL(4,2)
+    private static BigDecimal nota(double nota) {
+        return BigDecimal.valueOf(nota).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * MERGE INTO ... KEY(codigo) con el código y las columnas de una máscara
+     */
+    private static final class SentenciaCombinar {
+        private final long columnas;
+        private final String sql;
+        private final String descripcion;
+        private PreparedStatement pstmt;
+        
+        SentenciaCombinar(long columnas) {
+            this.columnas = columnas | 1L; // El código siempre va (es la clave)
+            StringJoiner nombres = new StringJoiner(", ");
+            StringJoiner marcas = new StringJoiner(", ");
+            StringJoiner cambiadas = new StringJoiner(", ");
+            for (int i = 0; i < COLUMNAS.length; i++) {
+                if ((this.columnas & (1L << i)) == 0) continue;
+                nombres.add(COLUMNAS[i]);
+                marcas.add("?");
+                if (i > 0) cambiadas.add(COLUMNAS[i]);
+            }
+            this.sql = "MERGE INTO postulantes (" + nombres + ") KEY(codigo) VALUES (" + marcas + ")";
+            this.descripcion = "Columnas cambiadas: " + cambiadas;
+        }
+        
+        void preparar(Connection conn) throws SQLException {
+            if (pstmt == null) {
+                pstmt = conn.prepareStatement(sql);
+            }
+        }
+        
+        void asignar(Object[] valores) throws SQLException {
+            int indice = 1;
+            for (int i = 0; i < valores.length; i++) {
+                if ((columnas & (1L << i)) != 0) {
+                    pstmt.setObject(indice++, valores[i]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Clasificar una excepción SQL de una fila
+     */
+    private EstadoFila clasificarError(SQLException e) {
+        if (e.getErrorCode() == 23505) { // Duplicate key
+            return EstadoFila.DUPLICADO;
+        }
+        String sqlState = e.getSQLState();
+        if (sqlState != null && sqlState.startsWith("23")) { // Integrity constraint violation
+            return EstadoFila.RESTRICCION;
+        }
+        return EstadoFila.ERROR;
+    }
+    
+    /**
+     * Asignar los parámetros del INSERT a partir del postulante
+     */
+    private void asignarParametrosInsercion(PreparedStatement pstmt, Postulante postulante) throws SQLException {
+        // Campos básicos
+        pstmt.setString(1, postulante.getCodigo());
+        pstmt.setString(2, postulante.getApellidosNombres());
+        pstmt.setString(3, postulante.getOpcion1());
+        pstmt.setString(4, postulante.getOpcion2());
+        pstmt.setString(5, postulante.getModalidad());
+        pstmt.setString(6, postulante.getDni());
+        pstmt.setInt(7, postulante.getCodSede());
+        
+        // Fecha de inscripción (hoy si no tiene)
+        int inscripcion = postulante.getInscripcionDia();
+        establecerFecha(pstmt, 8, inscripcion != Fechas.SIN_FECHA ? inscripcion : Fechas.hoy());
+        
+        // Campos adicionales
+        pstmt.setString(9, postulante.getUbigeoProcedencia());
+        pstmt.setString(10, postulante.getCodColegio());
+        
+        // Fecha egreso colegio
+        establecerFecha(pstmt, 11, postulante.getFechaEgresoColegioDia());
+        
+        pstmt.setInt(12, postulante.getTipoColegio());
+        pstmt.setString(13, postulante.getUbigeoColegio());
+        pstmt.setString(14, postulante.getEstadoCivil());
+        pstmt.setString(15, postulante.getEncuesta());
+        pstmt.setInt(16, postulante.getIngreso());
+        pstmt.setString(17, postulante.getIngresoA());
+        pstmt.setString(18, postulante.getSexo());
+        pstmt.setString(19, postulante.getNombreColegio());
+        pstmt.setString(20, postulante.getIdiomaMat());
+        pstmt.setString(21, postulante.getTelCelular());
+        pstmt.setString(22, postulante.getDireccion());
+        pstmt.setString(23, postulante.getUbigeo());
+        
+        // Fecha nacimiento
+        establecerFecha(pstmt, 24, postulante.getFecNacDia());
+        
+        // Notas
+        pstmt.setDouble(25, postulante.getNotaAC());
+        pstmt.setDouble(26, postulante.getNotaCO());
+        pstmt.setDouble(27, postulante.getNotaFinal());
+        pstmt.setString(28, postulante.getEstadoAcademico());
+        pstmt.setString(29, postulante.getRespuesta());
+    }
+    
+    /**
+     * Parámetro DATE a partir de un día desde 1970-01-01 (NULL si no hay fecha)
+     */
+    private static void establecerFecha(PreparedStatement pstmt, int indice, int dia) throws SQLException {
+        if (dia != Fechas.SIN_FECHA) {
+            pstmt.setObject(indice, Fechas.localDate(dia));
+        } else {
+            pstmt.setNull(indice, Types.DATE);
+        }
+    }
+    
     /**
      * Obtener todos los postulantes
      */
@@ -130,7 +597,7 @@ public class PostulanteDAO {
         
         String sql = "SELECT * FROM postulantes ORDER BY codigo";
         
-        try (Statement stmt = conn.createStatement();
+        try (conn; Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
@@ -144,10 +611,10 @@ public class PostulanteDAO {
                 p.setModalidad(rs.getString("modalidad"));
                 p.setDni(rs.getString("dni"));
                 p.setCodSede(rs.getInt("cod_sede"));
-                p.setInscripcion(rs.getDate("inscripcion"));
+                p.setInscripcionDia(Fechas.dia(rs.getObject("inscripcion", LocalDate.class)));
                 p.setUbigeoProcedencia(rs.getString("ubigeo_procedencia"));
                 p.setCodColegio(rs.getString("cod_colegio"));
-                p.setFechaEgresoColegio(rs.getDate("fecha_egreso_colegio"));
+                p.setFechaEgresoColegioDia(Fechas.dia(rs.getObject("fecha_egreso_colegio", LocalDate.class)));
                 p.setTipoColegio(rs.getInt("tipo_colegio"));
                 p.setUbigeoColegio(rs.getString("ubigeo_colegio"));
                 p.setEstadoCivil(rs.getString("estado_civil"));
@@ -160,7 +627,7 @@ public class PostulanteDAO {
                 p.setTelCelular(rs.getString("tel_celular"));
                 p.setDireccion(rs.getString("direccion"));
                 p.setUbigeo(rs.getString("ubigeo"));
-                p.setFecNac(rs.getDate("fec_nac"));
+                p.setFecNacDia(Fechas.dia(rs.getObject("fec_nac", LocalDate.class)));
                 p.setNotaAC(rs.getDouble("nota_ac"));
                 p.setNotaCO(rs.getDouble("nota_co"));
                 p.setEstadoAcademico(rs.getString("estado_academico"));
@@ -170,7 +637,7 @@ public class PostulanteDAO {
             }
             
             System.out.println("✅ Cargados " + postulantes.size() + " postulantes");
-            
+        
         } catch (SQLException e) {
             System.err.println("❌ Error obteniendo postulantes: " + e.getMessage());
         }
@@ -187,7 +654,7 @@ public class PostulanteDAO {
         
         String sql = "SELECT * FROM postulantes WHERE codigo = ?";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, codigo);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -228,7 +695,7 @@ public class PostulanteDAO {
         
         String sql = "DELETE FROM postulantes WHERE codigo = ?";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, codigo);
             
             int filasAfectadas = pstmt.executeUpdate();
@@ -239,7 +706,7 @@ public class PostulanteDAO {
                 System.err.println("❌ No se encontró postulante con código: " + codigo);
                 return false;
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("❌ Error eliminando postulante: " + e.getMessage());
             return false;
@@ -257,7 +724,7 @@ public class PostulanteDAO {
         
         String sql = "SELECT * FROM postulantes WHERE modalidad = ? ORDER BY apellidos_nombres";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, modalidad);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -295,7 +762,7 @@ public class PostulanteDAO {
             WHERE codigo = ?
             """;
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, postulante.getApellidosNombres());
             pstmt.setString(2, postulante.getOpcion1());
             pstmt.setString(3, postulante.getOpcion2());
@@ -312,10 +779,459 @@ public class PostulanteDAO {
             
             int filasAfectadas = pstmt.executeUpdate();
             return filasAfectadas > 0;
-            
+        
         } catch (SQLException e) {
             System.err.println("❌ Error actualizando postulante: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Todos los postulantes en columnas (ColumnasPostulantes), leídos directo
+     * del ResultSet sin crear un Postulante por fila. Solo se traen las
+     * columnas que usan las estadísticas y el algoritmo de admisión
+     */
+    public ColumnasPostulantes obtenerColumnas() {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("❌ No se pudo obtener conexión para cargar columnas de postulantes");
+            return new ColumnasPostulantes.Cargador(0).construir();
+        }
+        
+        String sql = """
+            SELECT codigo, dni, opcion1, opcion2, modalidad, estado_academico, nota_ac, nota_co,
+                   fec_nac, inscripcion, TRIM(COALESCE(apellidos_nombres, '')) <> '' AS con_nombres
+            FROM postulantes ORDER BY codigo
+            """;
+        
+        try (conn; Statement stmt = conn.createStatement()) {
+            int filas = 0;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM postulantes")) {
+                if (rs.next()) filas = rs.getInt(1);
+            }
+            
+            ColumnasPostulantes.Cargador cargador = new ColumnasPostulantes.Cargador(filas);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    cargador.agregar(rs.getString(1), rs.getString(2), rs.getBoolean(11),
+                        rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                        rs.getDouble(7), rs.getDouble(8),
+                        Fechas.dia(rs.getObject(9, LocalDate.class)),
+                        Fechas.dia(rs.getObject(10, LocalDate.class)));
+                }
+            }
+            return cargador.construir();
+        } catch (SQLException e) {
+            System.err.println("❌ Error cargando columnas de postulantes: " + e.getMessage());
+            return new ColumnasPostulantes.Cargador(0).construir();
+        }
+    }
+    
+    /**
+     * Recorrer el código y el DNI de todos los postulantes con una sola
+     * consulta, sin crear un Postulante por fila (validación de importaciones)
+     * @return false si no se pudo consultar la base
+     */
+    public boolean recorrerClaves(BiConsumer<String, String> destino) {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            System.err.println("❌ No se pudo obtener conexión para leer las claves de postulantes");
+            return false;
+        }
+        
+        try (conn; Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT codigo, dni FROM postulantes")) {
+            while (rs.next()) {
+                destino.accept(rs.getString(1), rs.getString(2));
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("❌ Error leyendo claves de postulantes: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Buscar postulantes aplicando los filtros en la base de datos
+     * Devuelve solo las columnas que muestra la tabla de registro, ordenadas
+     * por código; para recorrer páginas consecutivas conviene buscarDespuesDe
+     */
+    public List<Postulante> buscar(CriterioBusqueda criterio, int offset, int limite) {
+        return buscarPagina(criterio, null, offset, limite);
+    }
+    
+    /**
+     * Siguiente página por keyset: los postulantes con código mayor que
+     * ultimoCodigo, sin que la base tenga que saltar las filas anteriores
+     */
+    public List<Postulante> buscarDespuesDe(CriterioBusqueda criterio, String ultimoCodigo, int limite) {
+        return buscarPagina(criterio, ultimoCodigo, 0, limite);
+    }
+    
+    private List<Postulante> buscarPagina(CriterioBusqueda criterio, String ultimoCodigo, int offset, int limite) {
+        List<Postulante> postulantes = new ArrayList<>();
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) return postulantes;
+        
+        List<String> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SQL_COLUMNAS_BUSQUEDA);
+        agregarFiltros(sql, parametros, criterio);
+        if (ultimoCodigo != null) {
+            sql.append(parametros.isEmpty() ? " WHERE" : " AND").append(" codigo > ?");
+            parametros.add(ultimoCodigo);
+        }
+        sql.append(" ORDER BY codigo LIMIT ? OFFSET ?");
+        
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int indice = asignarParametros(pstmt, parametros);
+            pstmt.setInt(indice++, limite);
+            pstmt.setInt(indice, offset);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Postulante p = new Postulante();
+                    p.setCodigo(rs.getString("codigo"));
+                    p.setApellidosNombres(rs.getString("apellidos_nombres"));
+                    p.setDni(rs.getString("dni"));
+                    p.setOpcion1(rs.getString("opcion1"));
+                    p.setOpcion2(rs.getString("opcion2"));
+                    p.setModalidad(rs.getString("modalidad"));
+                    p.setEstadoAcademico(rs.getString("estado_academico"));
+                    p.setSexo(rs.getString("sexo"));
+                    p.setInscripcionDia(Fechas.dia(rs.getObject("inscripcion", LocalDate.class)));
+                    postulantes.add(p);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error buscando postulantes: " + e.getMessage());
+        }
+        
+        return postulantes;
+    }
+    
+    /**
+     * Cantidad de postulantes que cumplen el criterio
+     */
+    public int contar(CriterioBusqueda criterio) {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) return 0;
+        
+        List<String> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM postulantes");
+        agregarFiltros(sql, parametros, criterio);
+        
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            asignarParametros(pstmt, parametros);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error contando postulantes: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Posición de cada código en la búsqueda ordenada por código: cuántos
+     * postulantes del criterio tienen un código menor. Se recorren una sola
+     * vez, en orden, los códigos del criterio hasta el mayor de los pedidos
+     * (mucho más barato que un COUNT por código)
+     * @param codigos en orden ascendente
+     * @return posiciones en el mismo orden que los códigos, o null si hubo un error
+     */
+    public int[] contarAntesDe(CriterioBusqueda criterio, List<String> codigos) {
+        int[] posiciones = new int[codigos.size()];
+        if (codigos.isEmpty()) return posiciones;
+        
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) return null;
+        
+        List<String> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT codigo FROM postulantes");
+        agregarFiltros(sql, parametros, criterio);
+        sql.append(parametros.isEmpty() ? " WHERE" : " AND").append(" codigo < ? ORDER BY codigo");
+        parametros.add(codigos.get(codigos.size() - 1));
+        
+        try (conn; PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            asignarParametros(pstmt, parametros);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int siguiente = 0;
+                int anteriores = 0;
+                while (rs.next()) {
+                    String codigo = rs.getString(1);
+                    while (siguiente < posiciones.length && codigos.get(siguiente).compareTo(codigo) <= 0) {
+                        posiciones[siguiente++] = anteriores;
+                    }
+                    anteriores++;
+                }
+                while (siguiente < posiciones.length) {
+                    posiciones[siguiente++] = anteriores;
+                }
+                return posiciones;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error calculando posiciones: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Cantidad de postulantes por estado académico (POSTULANTE, ALUMNO_LIBRE, ...)
+     */
+    public Map<String, Integer> contarPorEstadoAcademico() {
+        return contarAgrupado("estado_academico", "estado académico");
+    }
+    
+    /**
+     * Cantidad de postulantes por modalidad
+     */
+    public Map<String, Integer> contarPorModalidad() {
+        return contarAgrupado("modalidad", "modalidad");
+    }
+    
+    /**
+     * Cantidad de postulantes por nota final, en centésimas (1150 = 11.50)
+     */
+    public Map<Long, Integer> contarPorNotaFinal() {
+        Map<Long, Integer> conteo = new LinkedHashMap<>();
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) return conteo;
+        
+        String sql = "SELECT nota_final, COUNT(*) FROM postulantes GROUP BY nota_final";
+        
+        try (conn; Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                BigDecimal nota = rs.getBigDecimal(1);
+                long centesimas = nota != null ? nota.movePointRight(2).longValue() : 0;
+                conteo.merge(centesimas, rs.getInt(2), Integer::sum);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error contando por nota final: " + e.getMessage());
+        }
+        
+        return conteo;
+    }
+    
+    /**
+     * Postulantes por carrera: {en primera opción, en segunda opción}
+     * (un GROUP BY por opción con UNION ALL, igual que CarreraDAO.obtenerEstadisticasDemanda)
+     */
+    public Map<String, int[]> contarPorCarrera() {
+        Map<String, int[]> conteo = new HashMap<>();
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) return conteo;
+        
+        String sql = """
+            SELECT 0, opcion1, COUNT(*) FROM postulantes GROUP BY opcion1
+            UNION ALL
+            SELECT 1, opcion2, COUNT(*) FROM postulantes GROUP BY opcion2
+            """;
+        
+        try (conn; Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                if (rs.getString(2) != null) {
+                    conteo.computeIfAbsent(rs.getString(2), k -> new int[2])[rs.getInt(1)] = rs.getInt(3);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error contando por carrera: " + e.getMessage());
+        }
+        
+        return conteo;
+    }
+    
+    private Map<String, Integer> contarAgrupado(String columna, String descripcion) {
+        Map<String, Integer> conteo = new LinkedHashMap<>();
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) return conteo;
+        
+        String sql = "SELECT " + columna + ", COUNT(*) FROM postulantes GROUP BY " + columna;
+        
+        try (conn; Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                conteo.put(rs.getString(1), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error contando por " + descripcion + ": " + e.getMessage());
+        }
+        
+        return conteo;
+    }
+    
+    /**
+     * Agregar el WHERE del criterio; el texto se busca dentro del código,
+     * los nombres o el DNI sin distinguir mayúsculas
+     */
+    private static void agregarFiltros(StringBuilder sql, List<String> parametros, CriterioBusqueda criterio) {
+        if (criterio == null) return;
+        
+        List<String> condiciones = new ArrayList<>();
+        if (!criterio.getTexto().isEmpty()) {
+            // ILIKE de H2 compara sin mayúsculas sin aplicar LOWER() a cada fila
+            condiciones.add("(codigo ILIKE ? ESCAPE '\\' OR apellidos_nombres ILIKE ? ESCAPE '\\'"
+                + " OR dni ILIKE ? ESCAPE '\\')");
+            String patron = "%" + escaparLike(criterio.getTexto()) + "%";
+            parametros.add(patron);
+            parametros.add(patron);
+            parametros.add(patron);
+        }
+        if (criterio.getModalidad() != null) {
+            condiciones.add("modalidad = ?");
+            parametros.add(criterio.getModalidad());
+        }
+        if (criterio.getEstadoAcademico() != null) {
+            condiciones.add("estado_academico = ?");
+            parametros.add(criterio.getEstadoAcademico());
+        }
+        
+        if (!condiciones.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+    }
+    
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    /**
+     * Asignar los parámetros de texto en orden
+     * @return índice del siguiente parámetro libre
+     */
+    private static int asignarParametros(PreparedStatement pstmt, List<String> parametros) throws SQLException {
+        int indice = 1;
+        for (String parametro : parametros) {
+            pstmt.setString(indice++, parametro);
+        }
+        return indice;
+    }
+    
+    /**
+     * Filtros de la búsqueda de postulantes (null o vacío = sin filtro)
+     */
+    public static class CriterioBusqueda {
+        private final String texto;
+        private final String modalidad;
+        private final String estadoAcademico;
+        
+        public CriterioBusqueda(String texto, String modalidad, String estadoAcademico) {
+            this.texto = texto != null ? texto.trim() : "";
+            this.modalidad = modalidad != null && !modalidad.isEmpty() ? modalidad : null;
+            this.estadoAcademico = estadoAcademico != null && !estadoAcademico.isEmpty() ? estadoAcademico : null;
+        }
+        
+        public String getTexto() { return texto; }
+        public String getModalidad() { return modalidad; }
+        public String getEstadoAcademico() { return estadoAcademico; }
+        
+        /**
+         * Si el postulante entra en este criterio (lo mismo que filtra
+         * agregarFiltros, evaluado en memoria)
+         */
+        public boolean cumple(Postulante p) {
+            if (modalidad != null && !modalidad.equals(p.getModalidad())) return false;
+            if (estadoAcademico != null && !estadoAcademico.equals(p.getEstadoAcademico())) return false;
+            if (texto.isEmpty()) return true;
+            
+            return contieneSinMayusculas(p.getCodigo(), texto)
+                || contieneSinMayusculas(p.getApellidosNombres(), texto)
+                || contieneSinMayusculas(p.getDni(), texto);
+        }
+        
+        private static boolean contieneSinMayusculas(String valor, String buscado) {
+            if (valor == null) return false;
+            for (int i = 0; i + buscado.length() <= valor.length(); i++) {
+                if (valor.regionMatches(true, i, buscado, 0, buscado.length())) return true;
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Estado final de una fila en un guardado por lotes
+     */
+    public enum EstadoFila {
+        INSERTADO,
+        ACTUALIZADO,    // Ya existía y cambió al menos una columna (combinarLote)
+        SIN_CAMBIOS,    // Ya existía con los mismos datos (combinarLote)
+        DUPLICADO,      // Código o DNI ya existente
+        RESTRICCION,    // Otra violación de restricción (NOT NULL, longitud, etc.)
+        ERROR;
+        
+        /**
+         * La fila quedó guardada (insertada, actualizada o igual que antes)
+         */
+        public boolean isAceptada() {
+            return this == INSERTADO || this == ACTUALIZADO || this == SIN_CAMBIOS;
+        }
+    }
+    
+    /**
+     * Resultado de una fila en un guardado por lotes
+     */
+    public static class ResultadoFila {
+        private final Postulante postulante;
+        private final EstadoFila estado;
+        private final String mensaje;
+        
+        public ResultadoFila(Postulante postulante, EstadoFila estado, String mensaje) {
+            this.postulante = postulante;
+            this.estado = estado;
+            this.mensaje = mensaje;
+        }
+        
+        public Postulante getPostulante() { return postulante; }
+        public EstadoFila getEstado() { return estado; }
+        public String getMensaje() { return mensaje; }
+    }
+    
+    /**
+     * Reporte de un guardado por lotes, con el detalle de cada fila
+     */
+    public static class ResultadoLote {
+        private final List<ResultadoFila> filas = new ArrayList<>();
+        private int insertados;
+        private int actualizados;
+        private int sinCambios;
+        private int duplicados;
+        private int restricciones;
+        private int errores;
+        
+        void registrar(Postulante postulante, EstadoFila estado, String mensaje) {
+            filas.add(new ResultadoFila(postulante, estado, mensaje));
+            switch (estado) {
+                case INSERTADO -> insertados++;
+                case ACTUALIZADO -> actualizados++;
+                case SIN_CAMBIOS -> sinCambios++;
+                case DUPLICADO -> duplicados++;
+                case RESTRICCION -> restricciones++;
+                default -> errores++;
+            }
+        }
+        
+        /**
+         * Filas que no se pudieron guardar
+         */
+        public List<ResultadoFila> getRechazados() {
+            List<ResultadoFila> rechazados = new ArrayList<>();
+            for (ResultadoFila fila : filas) {
+                if (!fila.getEstado().isAceptada()) {
+                    rechazados.add(fila);
+                }
+            }
+            return rechazados;
+        }
+        
+        public List<ResultadoFila> getFilas() { return filas; }
+        public int getTotal() { return filas.size(); }
+        public int getInsertados() { return insertados; }
+        public int getActualizados() { return actualizados; }
+        public int getSinCambios() { return sinCambios; }
+        public int getDuplicados() { return duplicados; }
+        public int getRestricciones() { return restricciones; }
+        public int getErrores() { return errores; }
+        public int getFallidos() { return duplicados + restricciones + errores; }
+    }
+}
\ No newline at end of file
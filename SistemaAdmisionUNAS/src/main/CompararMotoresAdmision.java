@@ -0,0 +1,123 @@
+package main;
+
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import util.ExcelUtils;
+import util.MotorAceptacionDiferida;
+import util.MotorAdmision;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Compara AlgoritmoAdmision (pasadas sucesivas) con MotorAceptacionDiferida
+ * sobre los mismos postulantes: tiempos, ingresantes por carrera y los
+ * postulantes que terminan en una carrera distinta
+ * Uso:
+ *   CompararMotoresAdmision                 postulantes sintéticos (10k, 100k, 1M)
+ *   CompararMotoresAdmision archivo.csv     postulantes del archivo con las carreras UNAS
+ * @author joe-696
+ */
+public class CompararMotoresAdmision {
+    
+    private static final int[] TAMANIOS = {10_000, 100_000, 1_000_000};
+    private static final int NUM_CARRERAS = 8;
+    private static final int MAX_DIFERENCIAS_MOSTRADAS = 10;
+    
+    public static void main(String[] args) {
+        System.out.println("=== COMPARACIÓN DE MOTORES DE ADMISIÓN ===");
+        
+        if (args.length > 0) {
+            List<Postulante> postulantes = ExcelUtils.importarPostulantesDesdeExcel(args[0]);
+            comparar(postulantes,
+                () -> new AlgoritmoAdmision(AlgoritmoAdmision.carrerasPorDefecto()),
+                () -> new MotorAceptacionDiferida(AlgoritmoAdmision.carrerasPorDefecto()));
+            return;
+        }
+        
+        for (int n : TAMANIOS) {
+            List<Postulante> postulantes = TestRendimientoAdmision.generarPostulantes(n, NUM_CARRERAS, 42);
+            comparar(postulantes,
+                () -> new AlgoritmoAdmision(TestRendimientoAdmision.crearCarreras(n, NUM_CARRERAS)),
+                () -> new MotorAceptacionDiferida(TestRendimientoAdmision.crearCarreras(n, NUM_CARRERAS)));
+        }
+    }
+    
+    private static void comparar(List<Postulante> postulantes,
+                                 Supplier<MotorAdmision> crearPasadas,
+                                 Supplier<MotorAdmision> crearDiferida) {
+        System.out.printf("%n📚 %,d postulantes%n", postulantes.size());
+        
+        // Calentamiento y resultado de cada motor (los motores modifican a los postulantes)
+        ejecutar(crearPasadas.get(), postulantes);
+        long tiempoPasadas = ejecutar(crearPasadas.get(), postulantes);
+        String[] carreraPasadas = carreraAsignada(postulantes);
+        
+        ejecutar(crearDiferida.get(), postulantes);
+        long tiempoDiferida = ejecutar(crearDiferida.get(), postulantes);
+        String[] carreraDiferida = carreraAsignada(postulantes);
+        
+        System.out.printf("⏱️ Pasadas sucesivas:    %8.1f ms%n", tiempoPasadas / 1e6);
+        System.out.printf("⏱️ Aceptación diferida:  %8.1f ms%n", tiempoDiferida / 1e6);
+        
+        // Ingresantes por carrera
+        Map<String, int[]> porCarrera = new TreeMap<>();
+        int iguales = 0, soloPasadas = 0, soloDiferida = 0, distintaCarrera = 0;
+        for (int i = 0; i < postulantes.size(); i++) {
+            String a = carreraPasadas[i];
+            String b = carreraDiferida[i];
+            if (a != null) porCarrera.computeIfAbsent(a, k -> new int[2])[0]++;
+            if (b != null) porCarrera.computeIfAbsent(b, k -> new int[2])[1]++;
+            
+            if (Objects.equals(a, b)) iguales++;
+            else if (b == null) soloPasadas++;
+            else if (a == null) soloDiferida++;
+            else distintaCarrera++;
+        }
+        
+        System.out.printf("   %-40s %10s %10s%n", "CARRERA", "PASADAS", "DIFERIDA");
+        for (Map.Entry<String, int[]> entry : porCarrera.entrySet()) {
+            System.out.printf("   %-40s %,10d %,10d%n", entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+        
+        System.out.println("   ✅ Mismo resultado: " + iguales);
+        System.out.println("   🔀 Otra carrera: " + distintaCarrera);
+        System.out.println("   ➖ Ingresa solo con pasadas: " + soloPasadas);
+        System.out.println("   ➕ Ingresa solo con aceptación diferida: " + soloDiferida);
+        
+        // Primeras diferencias
+        int mostradas = 0;
+        for (int i = 0; i < postulantes.size() && mostradas < MAX_DIFERENCIAS_MOSTRADAS; i++) {
+            if (Objects.equals(carreraPasadas[i], carreraDiferida[i])) continue;
+            Postulante p = postulantes.get(i);
+            System.out.printf("   %s %-13s %6.2f  [%s | %s]  pasadas: %s  diferida: %s%n",
+                p.getCodigo(), p.getEstadoAcademico(), p.getNotaFinal(), p.getOpcion1(), p.getOpcion2(),
+                carreraPasadas[i], carreraDiferida[i]);
+            mostradas++;
+        }
+    }
+    
+    private static long ejecutar(MotorAdmision motor, List<Postulante> postulantes) {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            long inicio = System.nanoTime();
+            motor.procesarAdmision(postulantes);
+            return System.nanoTime() - inicio;
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static String[] carreraAsignada(List<Postulante> postulantes) {
+        String[] carreras = new String[postulantes.size()];
+        for (int i = 0; i < carreras.length; i++) {
+            carreras[i] = postulantes.get(i).getIngresoA();
+        }
+        return carreras;
+    }
+}
@@ -0,0 +1,165 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import util.GeneradorPostulantes;
+import view.ModeloTablaPostulantes;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+
+/**
+ * Prueba de la búsqueda paginada de postulantes en la base de datos
+ * - Carga 100k postulantes sintéticos en una H2 en memoria
+ * - Compara PostulanteDAO.contar/buscar/buscarDespuesDe y el modelo de tabla
+ *   con el filtrado en Java que hacía antes RegistroPanel
+ * - Mide el tiempo de abrir/filtrar (contar + primera página) frente a
+ *   obtenerTodos + filtrado en memoria
+ * @author joe-696
+ */
+public class TestBusquedaPostulantes {
+    
+    private static final int POSTULANTES = 100_000;
+    private static final int FILAS_MODELO_AL_AZAR = 2_000;
+    
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:busqueda;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE BÚSQUEDA PAGINADA DE POSTULANTES ===");
+        
+        PostulanteDAO dao = new PostulanteDAO();
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            new GeneradorPostulantes(42).generarEnBaseDatos(POSTULANTES, dao);
+        } finally {
+            System.setOut(consola);
+        }
+        
+        long inicio = System.nanoTime();
+        List<Postulante> todos = dao.obtenerTodos();
+        long tiempoTodos = System.nanoTime() - inicio;
+        System.out.printf("📚 %,d postulantes en la base (obtenerTodos: %.1f ms)%n", todos.size(), tiempoTodos / 1e6);
+        
+        PostulanteDAO.CriterioBusqueda[] criterios = {
+            new PostulanteDAO.CriterioBusqueda("", null, null),
+            new PostulanteDAO.CriterioBusqueda("garcia", null, null),
+            new PostulanteDAO.CriterioBusqueda("Quispe Huaman", null, null),
+            new PostulanteDAO.CriterioBusqueda("2025000012", null, null),
+            new PostulanteDAO.CriterioBusqueda("1000", "ORDINARIO", null),
+            new PostulanteDAO.CriterioBusqueda("", "BECA 18", "ALUMNO_LIBRE"),
+            new PostulanteDAO.CriterioBusqueda("ana", "EXONERADO", "POSTULANTE"),
+            new PostulanteDAO.CriterioBusqueda("100%", null, null),
+            new PostulanteDAO.CriterioBusqueda("_", null, null)
+        };
+        
+        int fallidos = 0;
+        for (PostulanteDAO.CriterioBusqueda criterio : criterios) {
+            // Filtrado en memoria, como lo hacía RegistroPanel.filtrarTabla
+            inicio = System.nanoTime();
+            List<String> esperados = filtrarEnMemoria(todos, criterio);
+            long tiempoMemoria = System.nanoTime() - inicio;
+            
+            // Lo que necesita la pantalla para mostrarse: total y primera página
+            inicio = System.nanoTime();
+            int total = dao.contar(criterio);
+            List<Postulante> primera = dao.buscar(criterio, 0, ModeloTablaPostulantes.TAMANO_PAGINA);
+            long tiempoPrimeraPagina = System.nanoTime() - inicio;
+            
+            boolean correcto = total == esperados.size()
+                && codigos(primera).equals(esperados.subList(0, Math.min(esperados.size(), ModeloTablaPostulantes.TAMANO_PAGINA)))
+                && recorrerPorKeyset(dao, criterio).equals(esperados)
+                && verificarModelo(dao, criterio, total, primera, esperados);
+            
+            System.out.printf("%s [%s|%s|%s] %,7d filas: primera página %6.1f ms (obtenerTodos + filtro %6.1f ms)%n",
+                correcto ? "✅" : "❌", criterio.getTexto(), criterio.getModalidad(), criterio.getEstadoAcademico(),
+                total, tiempoPrimeraPagina / 1e6, (tiempoTodos + tiempoMemoria) / 1e6);
+            if (!correcto) fallidos++;
+        }
+        
+        // Saltos con OFFSET a una página lejana
+        PostulanteDAO.CriterioBusqueda sinFiltro = criterios[0];
+        List<Postulante> pagina = dao.buscar(sinFiltro, 73_400, 50);
+        if (!codigos(pagina).equals(codigos(todos.subList(73_400, 73_450)))) {
+            fallidos++;
+            System.err.println("❌ La página por OFFSET no coincide");
+        }
+        
+        System.out.println(fallidos == 0 ? "✅ Búsqueda paginada igual al filtrado en memoria" : "❌ Criterios con diferencias: " + fallidos);
+    }
+    
+    private static List<String> filtrarEnMemoria(List<Postulante> todos, PostulanteDAO.CriterioBusqueda criterio) {
+        String texto = criterio.getTexto().toLowerCase();
+        List<String> codigos = new ArrayList<>();
+        for (Postulante p : todos) {
+            boolean cumpleTexto = texto.isEmpty()
+                || p.getCodigo().toLowerCase().contains(texto)
+                || p.getApellidosNombres().toLowerCase().contains(texto)
+                || p.getDni().toLowerCase().contains(texto);
+            boolean cumpleModalidad = criterio.getModalidad() == null || criterio.getModalidad().equals(p.getModalidad());
+            boolean cumpleEstado = criterio.getEstadoAcademico() == null || criterio.getEstadoAcademico().equals(p.getEstadoAcademico());
+            if (cumpleTexto && cumpleModalidad && cumpleEstado) {
+                codigos.add(p.getCodigo());
+            }
+        }
+        return codigos;
+    }
+    
+    private static List<String> recorrerPorKeyset(PostulanteDAO dao, PostulanteDAO.CriterioBusqueda criterio) {
+        List<String> codigos = new ArrayList<>();
+        List<Postulante> pagina = dao.buscar(criterio, 0, ModeloTablaPostulantes.TAMANO_PAGINA);
+        while (!pagina.isEmpty()) {
+            codigos.addAll(codigos(pagina));
+            pagina = dao.buscarDespuesDe(criterio, codigos.get(codigos.size() - 1), ModeloTablaPostulantes.TAMANO_PAGINA);
+        }
+        return codigos;
+    }
+    
+    /**
+     * Filas al azar del modelo (mezcla páginas por keyset y saltos por OFFSET).
+     * El modelo se usa desde el hilo de Swing y trae las páginas en segundo plano
+     */
+    private static boolean verificarModelo(PostulanteDAO dao, PostulanteDAO.CriterioBusqueda criterio, int total,
+                                           List<Postulante> primera, List<String> esperados) throws Exception {
+        ModeloTablaPostulantes modelo = new ModeloTablaPostulantes(dao);
+        enSwing(() -> {
+            modelo.reiniciar(criterio, total, primera);
+            return null;
+        });
+        if (enSwing(modelo::getRowCount) != esperados.size()) return false;
+        
+        Random random = new Random(7);
+        for (int i = 0; i < FILAS_MODELO_AL_AZAR && total > 0; i++) {
+            // La mitad de las veces la fila siguiente a una ya vista (keyset)
+            int fila = i % 2 == 0 ? random.nextInt(total) : Math.min(total - 1, (i * 97) % total + ModeloTablaPostulantes.TAMANO_PAGINA);
+            enSwing(() -> modelo.getPostulante(fila));
+            while (enSwing(modelo::isCargando)) {
+                Thread.sleep(1);
+            }
+            if (!esperados.get(fila).equals(enSwing(() -> modelo.getValueAt(fila, 0)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static <T> T enSwing(Supplier<T> accion) throws Exception {
+        AtomicReference<T> resultado = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> resultado.set(accion.get()));
+        return resultado.get();
+    }
+    
+    private static List<String> codigos(List<Postulante> postulantes) {
+        List<String> codigos = new ArrayList<>(postulantes.size());
+        for (Postulante p : postulantes) {
+            codigos.add(p.getCodigo());
+        }
+        return codigos;
+    }
+}
@@ -0,0 +1,230 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Carrera;
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import util.ColumnasPostulantes;
+import util.ExcelUtils;
+import util.GeneradorPostulantes;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Prueba de ColumnasPostulantes
+ * - Carga 200k postulantes sintéticos en una H2 en memoria y los lee como
+ *   List<Postulante> (obtenerTodos) y como columnas (obtenerColumnas)
+ * - El reporte estadístico y validarIntegridad dan lo mismo que el código
+ *   anterior sobre la lista (incluye códigos y DNI repetidos y datos incompletos)
+ * - El algoritmo de admisión por columnas da los mismos ingresantes, en el
+ *   mismo orden y con el mismo puntaje, que con la lista
+ * - Compara la memoria ocupada y los tiempos de carga y de admisión
+ * Uso: TestColumnasPostulantes [cantidad]
+ * @author joe-696
+ */
+public class TestColumnasPostulantes {
+    
+    private static final int NUM_CARRERAS = 12;
+    // Un Postulante solo en cabecera y referencias ya ocupa más de 100 bytes
+    private static final int BYTES_MAXIMOS_POR_FILA = 64;
+    
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 200_000;
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:columnas;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE POSTULANTES POR COLUMNAS ===");
+        
+        PostulanteDAO dao = new PostulanteDAO();
+        GeneradorPostulantes generador = new GeneradorPostulantes(77);
+        List<String> nombresCarreras = new ArrayList<>();
+        for (Carrera carrera : TestRendimientoAdmision.crearCarreras(cantidad, NUM_CARRERAS)) {
+            nombresCarreras.add(carrera.getNombre());
+        }
+        generador.setCarreras(nombresCarreras);
+        silencioso(() -> generador.generarEnBaseDatos(cantidad, dao));
+        
+        int fallidos = 0;
+        
+        // 1. Memoria y tiempo de carga (una lectura previa para que los cachés
+        // de H2 no se cuenten como memoria de la lista o de las columnas)
+        dao.obtenerColumnas();
+        obtenerTodos(dao);
+        long antes = memoriaUsada();
+        long inicio = System.nanoTime();
+        List<Postulante> lista = new ArrayList<>();
+        lista.addAll(obtenerTodos(dao));
+        double msLista = (System.nanoTime() - inicio) / 1e6;
+        long bytesLista = memoriaUsada() - antes;
+        
+        antes = memoriaUsada();
+        inicio = System.nanoTime();
+        ColumnasPostulantes columnas = dao.obtenerColumnas();
+        double msColumnas = (System.nanoTime() - inicio) / 1e6;
+        long bytesColumnas = memoriaUsada() - antes;
+        
+        // La medición del heap depende del GC: se informa pero no se verifica. En una H2
+        // en memoria la lista además comparte los String con la base, así que la
+        // diferencia real (con una base en archivo) es mayor que la medida aquí
+        System.out.printf("📥 %,d postulantes: obtenerTodos %.0f ms, %.1f MB | obtenerColumnas %.0f ms, %.1f MB "
+            + "(medido en el heap, aproximado: %.1fx menos memoria)%n",
+            lista.size(), msLista, bytesLista / 1e6, msColumnas, bytesColumnas / 1e6, (double) bytesLista / bytesColumnas);
+        long bytesPorFila = columnas.getBytesEstimados() / Math.max(1, columnas.size());
+        fallidos += verificar(columnas.size() == lista.size() && bytesPorFila <= BYTES_MAXIMOS_POR_FILA,
+            String.format("Las columnas ocupan %d bytes por postulante (estimado %.1f MB), sin objetos por fila",
+                bytesPorFila, columnas.getBytesEstimados() / 1e6));
+        
+        // 2. Reporte estadístico: columnas desde la base frente al código anterior sobre la lista
+        String reporteAnterior = capturar(() -> reporteAnterior(lista));
+        String reporteColumnas = capturar(() -> ExcelUtils.generarReporteEstadistico(columnas));
+        fallidos += verificar(reporteAnterior.equals(reporteColumnas), "Reporte estadístico igual al anterior");
+        
+        // 3. Integridad con códigos y DNI repetidos, DNI nulos o con letras y nombres vacíos
+        List<Postulante> conErrores = new ArrayList<>(obtenerTodos(dao).subList(0, Math.min(20_000, lista.size())));
+        for (int i = 0; i < conErrores.size(); i += 997) {
+            Postulante p = conErrores.get(i);
+            switch ((i / 997) % 5) {
+                case 0 -> p.setDni(conErrores.get(i / 2).getDni());
+                case 1 -> p.setCodigo(conErrores.get(i / 3).getCodigo());
+                case 2 -> p.setDni(null);
+                case 3 -> p.setDni("4X12345" + (i % 2));
+                default -> p.setApellidosNombres("  ");
+            }
+        }
+        List<String> erroresAnteriores = new ArrayList<>();
+        List<String> erroresColumnas = new ArrayList<>();
+        silencioso(() -> {
+            erroresAnteriores.addAll(validarIntegridadAnterior(conErrores));
+            erroresColumnas.addAll(ExcelUtils.validarIntegridad(conErrores));
+        });
+        fallidos += verificar(!erroresAnteriores.isEmpty() && erroresAnteriores.equals(erroresColumnas),
+            "validarIntegridad: " + erroresColumnas.size() + " errores, iguales y en el mismo orden");
+        List<String> erroresBase = new ArrayList<>();
+        silencioso(() -> erroresBase.addAll(ExcelUtils.validarIntegridad(columnas)));
+        fallidos += verificar(erroresBase.equals(validarIntegridadAnterior(obtenerTodos(dao))),
+            "validarIntegridad sobre las columnas de la base");
+        
+        // 4. Admisión: mismos ingresantes y mismo orden
+        Supplier<AlgoritmoAdmision> motor = () -> new AlgoritmoAdmision(TestRendimientoAdmision.crearCarreras(cantidad, NUM_CARRERAS));
+        AlgoritmoAdmision.ResultadoAdmision[] resultados = new AlgoritmoAdmision.ResultadoAdmision[2];
+        double[] ms = new double[2];
+        silencioso(() -> {
+            long t = System.nanoTime();
+            resultados[0] = motor.get().procesarAdmision(lista);
+            ms[0] = (System.nanoTime() - t) / 1e6;
+            t = System.nanoTime();
+            resultados[1] = motor.get().procesarAdmision(columnas);
+            ms[1] = (System.nanoTime() - t) / 1e6;
+        });
+        int ingresantes = resultados[0].getIngresantesPorCarrera().values().stream().mapToInt(List::size).sum();
+        fallidos += verificar(mismosIngresantes(resultados[0], resultados[1]),
+            String.format("Admisión por columnas igual a la de la lista: %,d ingresantes (lista %.0f ms, columnas %.0f ms)",
+                ingresantes, ms[0], ms[1]));
+        
+        System.out.println(fallidos == 0 ? "✅ Columnas equivalentes a la lista de postulantes" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    private static boolean mismosIngresantes(AlgoritmoAdmision.ResultadoAdmision a, AlgoritmoAdmision.ResultadoAdmision b) {
+        Map<String, List<Postulante>> porCarreraA = a.getIngresantesPorCarrera();
+        Map<String, List<Postulante>> porCarreraB = b.getIngresantesPorCarrera();
+        if (!porCarreraA.keySet().equals(porCarreraB.keySet())) return false;
+        
+        for (Map.Entry<String, List<Postulante>> entry : porCarreraA.entrySet()) {
+            List<Postulante> esperados = entry.getValue();
+            List<Postulante> obtenidos = porCarreraB.get(entry.getKey());
+            if (esperados.size() != obtenidos.size()) return false;
+            for (int i = 0; i < esperados.size(); i++) {
+                Postulante e = esperados.get(i);
+                Postulante o = obtenidos.get(i);
+                if (!e.getCodigo().equals(o.getCodigo()) || e.getPuntajeFinal() != o.getPuntajeFinal()
+                        || !entry.getKey().equals(o.getIngresoA())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * ExcelUtils.generarReporteEstadistico tal como estaba, sobre la lista
+     */
+    private static void reporteAnterior(List<Postulante> postulantes) {
+        System.out.println("\n📊 REPORTE ESTADÍSTICO DE POSTULANTES:");
+        System.out.println("==========================================");
+        System.out.println("👥 Total postulantes: " + postulantes.size());
+        System.out.println("📚 Postulantes directos: " + postulantes.stream().filter(Postulante::esPostulante).count());
+        System.out.println("🎓 Alumnos libres: " + postulantes.stream().filter(Postulante::esAlumnoLibre).count());
+        System.out.printf("📊 Promedio Aptitud Académica: %.2f%n", postulantes.stream().mapToDouble(Postulante::getNotaAC).average().orElse(0));
+        System.out.printf("📊 Promedio Conocimientos: %.2f%n", postulantes.stream().mapToDouble(Postulante::getNotaCO).average().orElse(0));
+        System.out.printf("📊 Promedio Final: %.2f%n", postulantes.stream().mapToDouble(Postulante::getNotaFinal).average().orElse(0));
+        System.out.println("✅ Postulantes con puntaje aprobatorio (≥11): "
+            + postulantes.stream().filter(p -> p.getNotaFinal() >= 11.0).count());
+    }
+    
+    /**
+     * ExcelUtils.validarIntegridad tal como estaba, sobre la lista
+     */
+    private static List<String> validarIntegridadAnterior(List<Postulante> postulantes) {
+        List<String> errores = new ArrayList<>();
+        Set<String> codigosUsados = new HashSet<>();
+        Set<String> dnisUsados = new HashSet<>();
+        for (Postulante p : postulantes) {
+            if (codigosUsados.contains(p.getCodigo())) errores.add("Código duplicado: " + p.getCodigo());
+            codigosUsados.add(p.getCodigo());
+            if (dnisUsados.contains(p.getDni())) errores.add("DNI duplicado: " + p.getDni());
+            dnisUsados.add(p.getDni());
+            if (!p.validarDatos()) errores.add("Datos incompletos: " + p.getCodigo());
+        }
+        return errores;
+    }
+    
+    private static List<Postulante> obtenerTodos(PostulanteDAO dao) {
+        List<Postulante> todos = new ArrayList<>();
+        silencioso(() -> todos.addAll(dao.obtenerTodos()));
+        return todos;
+    }
+    
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    private static String capturar(Runnable accion) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+        try {
+            accion.run();
+        } finally {
+            System.setOut(consola);
+        }
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+    
+    private static void silencioso(Runnable accion) {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            accion.run();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
@@ -0,0 +1,331 @@
+package main;
+
+import model.Fechas;
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import util.EscritorXLSX;
+import util.ExcelUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Prueba de ida y vuelta del escritor .xlsx: lo que escribe EscritorXLSX
+ * se vuelve a leer con el lector nativo (ExcelUtils / LectorXLSX)
+ * - Textos con caracteres especiales de XML (& < > " ') y de control
+ * - Varias hojas: cada una se lee declarándola como la primera del libro
+ * - Nombres de hoja ajustados a las reglas de Excel (caracteres prohibidos,
+ *   31 caracteres, apóstrofes, vacíos y repetidos sin distinguir mayúsculas)
+ * - Fechas (LocalDate y Date) que vuelven como el mismo día
+ * - exportarIngresantesPorCarrera: resumen y una hoja por carrera
+ * @author joe-696
+ */
+public class TestEscritorXLSX {
+    
+    private static final String[] ENCABEZADO_UNAS = {
+        "CODIGO", "APELLIDOS_NOMBRES", "OPCION1", "OPCION2", "MODALIDAD", "DNI", "COD_SEDE", "INSCRIPCION",
+        "UBIGEO_PROCEDENCIA", "COD_COLEGIO", "FECHA_EGRESO", "TIPO_COLEGIO", "UBIGEO_COLEGIO", "ESTADO_CIVIL",
+        "ENCUESTA", "INGRESO", "INGRESO_A", "SEXO", "NOMBRE_COLEGIO", "IDIOMA_MAT", "TEL_CELULAR", "DIRECCION",
+        "UBIGEO", "FEC_NAC", "NOTA_AC", "NOTA_CO", "RESPUESTA", "ESTADO_ACADEMICO"
+    };
+    private static final int FILAS_POR_HOJA = 50;
+    private static final String NOMBRE_CON_SIMBOLOS = "D\"ANGELO & <HIJOS> O'NEIL";
+    private static final Pattern HOJA = Pattern.compile("<sheet name=\"([^\"]*)\"[^>]*/>");
+    private static final XMLInputFactory FABRICA_XML = XMLInputFactory.newInstance();
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST DE IDA Y VUELTA DEL ESCRITOR XLSX ===");
+        int fallidos = 0;
+        
+        // 1. Nombres de hoja
+        File archivo = File.createTempFile("escritor_xlsx", ".xlsx");
+        archivo.deleteOnExit();
+        String largo = "X".repeat(40);
+        String[] pedidos = {"Pérez & O'Neil <Sede>", "Ingresantes: 2024/I [A]", "ingresantes: 2024/i [a]",
+                            "'" + largo + "'", largo, "   "};
+        String[] esperados = {"Pérez & O'Neil <Sede>", "Ingresantes_ 2024_I _A_", "ingresantes_ 2024_i _a_ (2)",
+                              "X".repeat(31), "X".repeat(27) + " (2)", "Hoja6"};
+        List<String> obtenidos = new ArrayList<>();
+        long filasEscritas;
+        try (EscritorXLSX xlsx = new EscritorXLSX(archivo.getAbsolutePath())) {
+            for (int hoja = 0; hoja < pedidos.length; hoja++) {
+                obtenidos.add(xlsx.nuevaHoja(pedidos[hoja]));
+                xlsx.escribirEncabezado(ENCABEZADO_UNAS);
+                for (int i = 1; i <= FILAS_POR_HOJA; i++) {
+                    xlsx.escribirFila(fila(hoja, i));
+                }
+            }
+            filasEscritas = xlsx.getFilasEscritas();
+        }
+        fallidos += verificar(obtenidos.equals(List.of(esperados)), "Nombres de hoja ajustados: " + obtenidos);
+        
+        Map<String, String> partes = leerPartes(archivo);
+        List<String> declaradas = hojasDeclaradas(partes.get("xl/workbook.xml"));
+        fallidos += verificar(declaradas.equals(obtenidos), "workbook.xml declara las " + declaradas.size()
+            + " hojas con sus nombres (atributos escapados)");
+        List<String> invalidas = new ArrayList<>();
+        for (Map.Entry<String, String> parte : partes.entrySet()) {
+            if (!esXMLValido(parte.getValue())) invalidas.add(parte.getKey());
+        }
+        fallidos += verificar(invalidas.isEmpty() && filasEscritas == (long) pedidos.length * (FILAS_POR_HOJA + 1),
+            partes.size() + " partes del zip con XML bien formado, " + filasEscritas + " filas escritas"
+            + (invalidas.isEmpty() ? "" : ", inválidas: " + invalidas));
+        
+        List<String> textos = textosEnLinea(partes.get("xl/worksheets/sheet1.xml"));
+        fallidos += verificar(textos.contains(NOMBRE_CON_SIMBOLOS) && textos.contains("GARCIA LUZ"),
+            "Texto escapado sin pérdida y caracteres de control omitidos: " + NOMBRE_CON_SIMBOLOS);
+        
+        // 2. Cada hoja vuelve igual con el lector nativo
+        for (int hoja = 0; hoja < pedidos.length; hoja++) {
+            ByteArrayOutputStream consola = new ByteArrayOutputStream();
+            List<Postulante> leidos = importar(libroConHoja(archivo, partes, hoja), consola);
+            String mensajes = consola.toString(StandardCharsets.UTF_8);
+            
+            List<String> diferencias = new ArrayList<>();
+            for (int i = 1; i <= FILAS_POR_HOJA; i++) {
+                if (leidos.size() < i) {
+                    diferencias.add("falta la fila " + (i + 1));
+                    break;
+                }
+                String diferencia = comparar(fila(hoja, i), leidos.get(i - 1));
+                if (diferencia != null) diferencias.add("fila " + (i + 1) + ": " + diferencia);
+            }
+            fallidos += verificar(leidos.size() == FILAS_POR_HOJA && diferencias.isEmpty()
+                && mensajes.contains("Procesando hoja '" + obtenidos.get(hoja) + "'"),
+                "Hoja '" + obtenidos.get(hoja) + "': " + leidos.size() + " filas leídas"
+                + (diferencias.isEmpty() ? " iguales a las escritas" : ", " + diferencias.subList(0, Math.min(3, diferencias.size()))));
+        }
+        
+        // 3. Ingresantes por carrera: resumen y una hoja por carrera
+        Map<String, List<Postulante>> porCarrera = new LinkedHashMap<>();
+        porCarrera.put("INGENIERÍA EN CIENCIAS AMBIENTALES Y RECURSOS NATURALES", ingresantes("A", 12));
+        porCarrera.put("ADMINISTRACIÓN/CONTABILIDAD", ingresantes("B", 7));
+        porCarrera.put("ZOOTECNIA", ingresantes("C", 3));
+        File porCarreraArchivo = File.createTempFile("ingresantes_por_carrera", ".xlsx");
+        porCarreraArchivo.deleteOnExit();
+        boolean exportado = ejecutar(() -> ExcelUtils.exportarIngresantesPorCarrera(
+            new AlgoritmoAdmision.ResultadoAdmision(porCarrera, new LinkedHashMap<>()), porCarreraArchivo.getAbsolutePath()));
+        Map<String, String> partesCarrera = leerPartes(porCarreraArchivo);
+        List<String> hojasCarrera = hojasDeclaradas(partesCarrera.get("xl/workbook.xml"));
+        fallidos += verificar(exportado && hojasCarrera.equals(List.of("Resumen",
+            "INGENIERÍA EN CIENCIAS AMBIENTA", "ADMINISTRACIÓN_CONTABILIDAD", "ZOOTECNIA")),
+            "Ingresantes por carrera: hojas " + hojasCarrera);
+        
+        int hoja = 1;
+        for (Map.Entry<String, List<Postulante>> carrera : porCarrera.entrySet()) {
+            List<Postulante> leidos = importar(libroConHoja(porCarreraArchivo, partesCarrera, hoja++), new ByteArrayOutputStream());
+            boolean iguales = leidos.size() == carrera.getValue().size();
+            for (int i = 0; iguales && i < leidos.size(); i++) {
+                Postulante escrito = carrera.getValue().get(i);
+                Postulante leido = leidos.get(i);
+                iguales = escrito.getCodigo().equals(leido.getCodigo())
+                    && escrito.getApellidosNombres().equals(leido.getApellidosNombres())
+                    && escrito.getOpcion1().equals(leido.getOpcion1())
+                    && escrito.getDni().equals(leido.getDni());
+            }
+            fallidos += verificar(iguales, "Hoja de " + carrera.getKey() + ": " + leidos.size() + " ingresantes leídos");
+        }
+        
+        System.out.println(fallidos == 0 ? "✅ Lo escrito en .xlsx se vuelve a leer igual" : "❌ Casos fallidos: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    /**
+     * Fila en formato UNAS con tipos variados (Long, Integer, Double, LocalDate, Date y null)
+     */
+    private static Object[] fila(int hoja, int i) {
+        Object[] valores = new Object[ENCABEZADO_UNAS.length];
+        valores[0] = 2024_000_000L + hoja * 1000L + i;
+        valores[1] = i == 1 ? NOMBRE_CON_SIMBOLOS : i == 2 ? "GARCIA\u0001 LUZ" : "POSTULANTE " + hoja + "-" + i;
+        valores[2] = i % 2 == 0 ? "AGRONOMÍA & <FORESTAL>" : "ZOOTECNIA";
+        valores[3] = i % 3 == 0 ? null : "ECONOMÍA";
+        valores[4] = "ORDINARIO";
+        valores[5] = String.format("%08d", i * 7919); // Texto: conserva los ceros a la izquierda
+        valores[6] = 1 + i % 3;
+        valores[7] = LocalDate.of(2024, 1, 1).plusDays(i * 5L + hoja);
+        valores[10] = Date.from(LocalDate.of(2019, 12, 31).plusDays(i).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        valores[23] = LocalDate.of(2000, 2, 29).plusDays(i * 37L);
+        valores[24] = i % 5 == 0 ? null : Math.round(i * 0.37 % 20 * 100) / 100.0;
+        valores[25] = (double) (i % 21);
+        valores[27] = "POSTULANTE";
+        return valores;
+    }
+    
+    /**
+     * Diferencia entre la fila escrita y el postulante leído (null si son iguales)
+     */
+    private static String comparar(Object[] escrita, Postulante leido) {
+        String nombre = ((String) escrita[1]).replace("\"", "").replace("'", "").replace("\u0001", "");
+        Date egreso = (Date) escrita[10];
+        double notaAC = escrita[24] != null ? (Double) escrita[24] : 0.0;
+        if (!escrita[0].toString().equals(leido.getCodigo())) return "código " + leido.getCodigo();
+        if (!nombre.equals(leido.getApellidosNombres())) return "nombre '" + leido.getApellidosNombres() + "'";
+        if (!escrita[2].equals(leido.getOpcion1())) return "opción 1 '" + leido.getOpcion1() + "'";
+        if (!(escrita[3] == null ? "" : escrita[3]).equals(leido.getOpcion2())) return "opción 2 '" + leido.getOpcion2() + "'";
+        if (!escrita[5].equals(leido.getDni())) return "DNI " + leido.getDni();
+        if ((Integer) escrita[6] != leido.getCodSede()) return "sede " + leido.getCodSede();
+        if (Fechas.dia((LocalDate) escrita[7]) != leido.getInscripcionDia()) return "inscripción " + Fechas.formatear(leido.getInscripcionDia());
+        if (Fechas.dia(egreso) != leido.getFechaEgresoColegioDia()) return "egreso " + Fechas.formatear(leido.getFechaEgresoColegioDia());
+        if (Fechas.dia((LocalDate) escrita[23]) != leido.getFecNacDia()) return "nacimiento " + Fechas.formatear(leido.getFecNacDia());
+        if (notaAC != leido.getNotaAC() || (Double) escrita[25] != leido.getNotaCO()) return "notas " + leido.getNotaAC() + "/" + leido.getNotaCO();
+        return null;
+    }
+    
+    private static List<Postulante> ingresantes(String prefijo, int cantidad) {
+        List<Postulante> postulantes = new ArrayList<>();
+        for (int i = 1; i <= cantidad; i++) {
+            Postulante p = new Postulante();
+            p.setCodigo(prefijo + String.format("%05d", i));
+            p.setApellidosNombres("INGRESANTE " + prefijo + " & " + i);
+            p.setOpcion1("CARRERA <" + prefijo + ">");
+            p.setModalidad("ORDINARIO");
+            p.setDni(String.format("%08d", i));
+            p.setNotaAC(12 + i % 8);
+            p.setNotaCO(11 + i % 9);
+            p.calcularPuntajeFinal();
+            postulantes.add(p);
+        }
+        return postulantes;
+    }
+    
+    /**
+     * Copia del libro cuyo workbook.xml declara solo la hoja indicada:
+     * el lector toma la primera hoja declarada
+     */
+    private static File libroConHoja(File origen, Map<String, String> partes, int indice) throws IOException {
+        Matcher hojas = HOJA.matcher(partes.get("xl/workbook.xml"));
+        StringBuilder libro = new StringBuilder();
+        int posicion = 0;
+        for (int actual = 0; hojas.find(); actual++) {
+            libro.append(partes.get("xl/workbook.xml"), posicion, hojas.start());
+            if (actual == indice) libro.append(hojas.group());
+            posicion = hojas.end();
+        }
+        libro.append(partes.get("xl/workbook.xml").substring(posicion));
+        
+        File copia = File.createTempFile("hoja" + indice, ".xlsx");
+        copia.deleteOnExit();
+        try (ZipFile zip = new ZipFile(origen);
+             ZipOutputStream salida = new ZipOutputStream(new FileOutputStream(copia))) {
+            Enumeration<? extends ZipEntry> entradas = zip.entries();
+            while (entradas.hasMoreElements()) {
+                ZipEntry entrada = entradas.nextElement();
+                salida.putNextEntry(new ZipEntry(entrada.getName()));
+                if (entrada.getName().equals("xl/workbook.xml")) {
+                    salida.write(libro.toString().getBytes(StandardCharsets.UTF_8));
+                } else {
+                    try (InputStream in = zip.getInputStream(entrada)) {
+                        in.transferTo(salida);
+                    }
+                }
+                salida.closeEntry();
+            }
+        }
+        return copia;
+    }
+    
+    private static Map<String, String> leerPartes(File archivo) throws IOException {
+        Map<String, String> partes = new LinkedHashMap<>();
+        try (ZipFile zip = new ZipFile(archivo)) {
+            Enumeration<? extends ZipEntry> entradas = zip.entries();
+            while (entradas.hasMoreElements()) {
+                ZipEntry entrada = entradas.nextElement();
+                try (InputStream in = zip.getInputStream(entrada)) {
+                    partes.put(entrada.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return partes;
+    }
+    
+    private static List<String> hojasDeclaradas(String libro) {
+        List<String> nombres = new ArrayList<>();
+        Matcher hojas = HOJA.matcher(libro);
+        while (hojas.find()) {
+            nombres.add(hojas.group(1).replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&"));
+        }
+        return nombres;
+    }
+    
+    private static boolean esXMLValido(String contenido) {
+        try {
+            XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(new StringReader(contenido));
+            while (xml.hasNext()) xml.next();
+            xml.close();
+            return true;
+        } catch (XMLStreamException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Valores de los textos en línea de una hoja, tal como quedaron en el XML
+     */
+    private static List<String> textosEnLinea(String hoja) throws XMLStreamException {
+        List<String> textos = new ArrayList<>();
+        XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(new StringReader(hoja));
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("t")) {
+                textos.add(xml.getElementText());
+            }
+        }
+        xml.close();
+        return textos;
+    }
+    
+    /**
+     * Importar sin mensajes en consola, guardando la salida para revisarla
+     */
+    private static List<Postulante> importar(File archivo, ByteArrayOutputStream salida) {
+        PrintStream consola = System.out;
+        PrintStream error = System.err;
+        System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return ExcelUtils.importarPostulantesDesdeExcel(archivo.getAbsolutePath());
+        } finally {
+            System.setOut(consola);
+            System.setErr(error);
+        }
+    }
+    
+    private static <T> T ejecutar(Supplier<T> accion) {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return accion.get();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
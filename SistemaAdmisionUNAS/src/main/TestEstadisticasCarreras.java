@@ -0,0 +1,137 @@
+package main;
+
+import dao.CarreraDAO;
+import dao.PostulanteDAO;
+import util.DatabaseConnection;
+import util.GeneradorPostulantes;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de CarreraDAO.obtenerEstadisticasDemanda
+ * - Carga postulantes sintéticos (1M por defecto) en una H2 en memoria
+ * - Compara cada conteo con los mismos postulantes recorridos en Java
+ *   y el total con el JOIN con OR que se usaba antes
+ * - Mide ambas consultas
+ * Uso: TestEstadisticasCarreras [cantidad]
+ * @author joe-696
+ */
+public class TestEstadisticasCarreras {
+    
+    private static final long SEMILLA = 2025;
+    private static final int REPETICIONES = 3;
+    
+    public static void main(String[] args) throws SQLException {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 1_000_000;
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:estadisticas;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0");
+        }
+        System.out.println("=== TEST DE ESTADÍSTICAS DE DEMANDA POR CARRERA ===");
+        
+        CarreraDAO carreraDAO = new CarreraDAO();
+        GeneradorPostulantes generador = new GeneradorPostulantes(SEMILLA);
+        generador.setCarreras(carreraDAO.obtenerTodasLasCarreras());
+        
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            generador.generarEnBaseDatos(cantidad, new PostulanteDAO());
+        } finally {
+            System.setOut(consola);
+        }
+        agregarCasosBorde();
+        
+        // Lo esperado, recorriendo en Java los mismos postulantes
+        Map<String, long[]> esperado = new HashMap<>();
+        Map<String, Double> sumaPorCarrera = new HashMap<>();
+        generador.generar(cantidad, p -> acumular(esperado, sumaPorCarrera, p.getOpcion1(), p.getOpcion2(),
+            p.isAlumnoLibre(), p.getNotaFinal()));
+        acumular(esperado, sumaPorCarrera, "MEDICINA HUMANA", "MEDICINA HUMANA", true, 15.5);
+        acumular(esperado, sumaPorCarrera, "MEDICINA HUMANA", "MEDICINA HUMANA", false, 12.0);
+        
+        List<CarreraDAO.EstadisticaCarrera> estadisticas = null;
+        double mejorNueva = Double.MAX_VALUE;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            estadisticas = carreraDAO.obtenerEstadisticasDemanda();
+            mejorNueva = Math.min(mejorNueva, (System.nanoTime() - inicio) / 1e6);
+        }
+        
+        long inicio = System.nanoTime();
+        Map<String, Integer> totalesConOr = totalesConJoinOr();
+        double tiempoOr = (System.nanoTime() - inicio) / 1e6;
+        
+        int fallidos = 0;
+        for (CarreraDAO.EstadisticaCarrera e : estadisticas) {
+            long[] c = esperado.getOrDefault(e.getCarrera(), new long[4]);
+            double suma = sumaPorCarrera.getOrDefault(e.getCarrera(), 0.0);
+            boolean correcto = e.getPrimeraOpcion() == c[0] && e.getSegundaOpcion() == c[1]
+                && e.getAmbasOpciones() == c[2] && e.getAlumnosLibres() == c[3]
+                && Math.abs(e.getSumaNotas() - suma) < 0.005 * Math.max(1, c[0])
+                && totalesConOr.get(e.getCarrera()) == e.getTotalPostulantes();
+            System.out.println((correcto ? "✅ " : "❌ ") + e);
+            if (!correcto) fallidos++;
+        }
+        if (estadisticas.size() != totalesConOr.size()) {
+            fallidos++;
+            System.err.println("❌ Cantidad de carreras distinta al JOIN con OR");
+        }
+        
+        System.out.printf("⏱️ %,d postulantes: obtenerEstadisticasDemanda %.1f ms, JOIN con OR %.1f ms%n",
+            cantidad, mejorNueva, tiempoOr);
+        System.out.println(fallidos == 0 ? "✅ Estadísticas iguales al recorrido en Java" : "❌ Carreras con diferencias: " + fallidos);
+        DatabaseConnection.cerrarConexion();
+    }
+    
+    /**
+     * Postulantes con la misma carrera en las dos opciones y con una carrera
+     * que no está registrada (no debe aparecer)
+     */
+    private static void agregarCasosBorde() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO postulantes (codigo, apellidos_nombres, opcion1, opcion2, estado_academico, nota_final) VALUES "
+                + "('X00000001', 'BORDE UNO', 'MEDICINA HUMANA', 'MEDICINA HUMANA', 'ALUMNO_LIBRE', 15.5), "
+                + "('X00000002', 'BORDE DOS', 'MEDICINA HUMANA', 'MEDICINA HUMANA', 'POSTULANTE', 12.0), "
+                + "('X00000003', 'BORDE TRES', 'CARRERA INEXISTENTE', NULL, 'POSTULANTE', 10.0)");
+        }
+    }
+    
+    private static void acumular(Map<String, long[]> esperado, Map<String, Double> sumas, String opcion1,
+                                 String opcion2, boolean alumnoLibre, double nota) {
+        long[] primera = esperado.computeIfAbsent(opcion1, k -> new long[4]);
+        primera[0]++;
+        if (alumnoLibre) primera[3]++;
+        sumas.merge(opcion1, nota, Double::sum);
+        
+        long[] segunda = esperado.computeIfAbsent(opcion2, k -> new long[4]);
+        segunda[1]++;
+        if (opcion2.equals(opcion1)) segunda[2]++;
+    }
+    
+    private static Map<String, Integer> totalesConJoinOr() throws SQLException {
+        Map<String, Integer> totales = new HashMap<>();
+        String sql = """
+            SELECT c.nombre, COUNT(p.codigo) as total_postulantes
+            FROM carreras c
+            LEFT JOIN postulantes p ON (c.nombre = p.opcion1 OR c.nombre = p.opcion2)
+            WHERE c.activa = TRUE
+            GROUP BY c.nombre
+            """;
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                totales.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return totales;
+    }
+}
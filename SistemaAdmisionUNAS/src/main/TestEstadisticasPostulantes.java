@@ -0,0 +1,168 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import util.EstadisticasPostulantes;
+import util.EventBus;
+import util.GeneradorPostulantes;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba del servicio de estadísticas en memoria
+ * - Carga inicial desde la base de datos igual al recorrido de obtenerTodos
+ * - Altas y bajas publicadas en el EventBus se suman/restan sin consultar la base
+ * - Una importación (evento sin postulantes) provoca una recarga
+ * - Compara leer la instantánea con obtenerTodos + recorrer la lista
+ * @author joe-696
+ */
+public class TestEstadisticasPostulantes {
+    
+    private static final int POSTULANTES = 100_000;
+    private static final int ALTAS = 500;
+    private static final int BAJAS = 300;
+    private static final int IMPORTADOS = 2_000;
+    private static final int LECTURAS = 1_000_000;
+    
+    public static void main(String[] args) throws InterruptedException {
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:estadisticas_postulantes;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE ESTADÍSTICAS DE POSTULANTES EN MEMORIA ===");
+        
+        PostulanteDAO dao = new PostulanteDAO();
+        GeneradorPostulantes generador = new GeneradorPostulantes(11);
+        List<Postulante> generados = new ArrayList<>();
+        generador.generar(POSTULANTES + ALTAS + IMPORTADOS, generados::add);
+        
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            dao.guardarLote(generados.subList(0, POSTULANTES), 1000);
+        } finally {
+            System.setOut(consola);
+        }
+        
+        int fallidos = 0;
+        
+        // 1. Carga inicial
+        EstadisticasPostulantes servicio = new EstadisticasPostulantes(dao);
+        long inicio = System.nanoTime();
+        servicio.cargar();
+        System.out.printf("📥 Carga inicial desde la base: %.1f ms%n", (System.nanoTime() - inicio) / 1e6);
+        fallidos += comparar("Carga inicial", servicio.getInstantanea(), dao);
+        
+        // 2. Altas y bajas por eventos
+        servicio.escuchar(EventBus.getInstance());
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (Postulante p : generados.subList(POSTULANTES, POSTULANTES + ALTAS)) {
+                if (dao.guardar(p)) {
+                    EventBus.getInstance().publicarPostulanteAgregado(p);
+                }
+            }
+            for (int i = 0; i < BAJAS; i++) {
+                String codigo = generados.get(i * 97).getCodigo();
+                Postulante eliminado = dao.buscarPorCodigo(codigo);
+                if (eliminado != null && dao.eliminar(codigo)) {
+                    EventBus.getInstance().publicarPostulanteEliminado(eliminado);
+                }
+            }
+        } finally {
+            System.setOut(consola);
+        }
+        fallidos += comparar("Después de " + ALTAS + " altas y " + BAJAS + " bajas", servicio.getInstantanea(), dao);
+        
+        // 3. Importación masiva: el evento solo trae la cantidad
+        CountDownLatch recargado = new CountDownLatch(1);
+        servicio.suscribir(recargado::countDown);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            dao.guardarLote(generados.subList(POSTULANTES + ALTAS, generados.size()), 1000);
+        } finally {
+            System.setOut(consola);
+        }
+        EventBus.getInstance().publicarPostulantesImportados(IMPORTADOS);
+        if (!recargado.await(30, TimeUnit.SECONDS)) {
+            fallidos++;
+            System.err.println("❌ La importación no provocó una recarga");
+        }
+        fallidos += comparar("Después de importar " + IMPORTADOS, servicio.getInstantanea(), dao);
+        
+        // 4. Lectura de la instantánea frente a obtenerTodos + recorrido
+        long suma = 0;
+        inicio = System.nanoTime();
+        for (int i = 0; i < LECTURAS; i++) {
+            suma += servicio.getInstantanea().getIngresantes();
+        }
+        double nanosPorLectura = (System.nanoTime() - inicio) / (double) LECTURAS;
+        
+        inicio = System.nanoTime();
+        int ingresantes = 0;
+        for (Postulante p : dao.obtenerTodos()) {
+            if (p.getNotaFinal() >= EstadisticasPostulantes.NOTA_MINIMA_INGRESO) ingresantes++;
+        }
+        double msRecorrido = (System.nanoTime() - inicio) / 1e6;
+        System.out.printf("⏱️ Instantánea: %.1f ns por lectura | obtenerTodos + recorrido: %.1f ms (%d, %d)%n",
+            nanosPorLectura, msRecorrido, suma / LECTURAS, ingresantes);
+        
+        System.out.println(fallidos == 0 ? "✅ Estadísticas en memoria iguales a recorrer la base" : "❌ Comparaciones fallidas: " + fallidos);
+    }
+    
+    /**
+     * Comparar la instantánea con lo que calculaban los paneles recorriendo obtenerTodos
+     */
+    private static int comparar(String etapa, EstadisticasPostulantes.Instantanea e, PostulanteDAO dao) {
+        List<Postulante> todos = dao.obtenerTodos();
+        Map<String, Integer> modalidades = new HashMap<>();
+        Map<String, Integer> estados = new HashMap<>();
+        Map<String, int[]> carreras = new HashMap<>();
+        int examinados = 0;
+        int ingresantes = 0;
+        long sumaCentesimas = 0;
+        long maxima = 0;
+        for (Postulante p : todos) {
+            modalidades.merge(p.getModalidad(), 1, Integer::sum);
+            estados.merge(p.getEstadoAcademico(), 1, Integer::sum);
+            carreras.computeIfAbsent(p.getOpcion1(), k -> new int[2])[0]++;
+            carreras.computeIfAbsent(p.getOpcion2(), k -> new int[2])[1]++;
+            long centesimas = Math.round(p.getNotaFinal() * 100);
+            if (centesimas > 0) {
+                examinados++;
+                sumaCentesimas += centesimas;
+                maxima = Math.max(maxima, centesimas);
+                if (p.getNotaFinal() >= EstadisticasPostulantes.NOTA_MINIMA_INGRESO) ingresantes++;
+            }
+        }
+        
+        boolean correcto = e.getTotal() == todos.size()
+            && e.getPorModalidad().equals(modalidades)
+            && e.getPorEstadoAcademico().equals(estados)
+            && e.getExaminados() == examinados
+            && e.getIngresantes() == ingresantes
+            && Math.round(e.getSumaNotas() * 100) == sumaCentesimas
+            && Math.round(e.getNotaMaxima() * 100) == maxima
+            && e.getCarrerasPorDemanda().size() == carreras.size();
+        for (Map.Entry<String, int[]> carrera : carreras.entrySet()) {
+            correcto &= e.getPrimeraOpcion(carrera.getKey()) == carrera.getValue()[0]
+                && e.getSegundaOpcion(carrera.getKey()) == carrera.getValue()[1];
+        }
+        
+        System.out.printf("%s %s: %,d postulantes, %,d ingresantes, promedio %.2f, máximo %.2f%n",
+            correcto ? "✅" : "❌", etapa, e.getTotal(), e.getIngresantes(), e.getNotaPromedio(), e.getNotaMaxima());
+        if (!correcto) {
+            System.err.println("   esperado: " + todos.size() + " " + modalidades + " " + estados + " examinados=" + examinados
+                + " ingresantes=" + ingresantes + " suma=" + sumaCentesimas + " max=" + maxima);
+            System.err.println("   obtenido: " + e.getTotal() + " " + e.getPorModalidad() + " " + e.getPorEstadoAcademico()
+                + " examinados=" + e.getExaminados() + " ingresantes=" + e.getIngresantes() + " suma="
+                + Math.round(e.getSumaNotas() * 100) + " max=" + Math.round(e.getNotaMaxima() * 100));
+        }
+        return correcto ? 0 : 1;
+    }
+}
@@ -0,0 +1,138 @@
+package main;
+
+import util.EventBus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.SwingUtilities;
+
+/**
+ * Prueba del EventBus
+ * - Publicación desde varios hilos mientras otros se suscriben y cancelan
+ * - Entrega en un Executor y en el hilo de Swing
+ * - Agrupación de una ráfaga de eventos en una sola entrega
+ * - Un oyente con error no afecta a los demás
+ * - Métricas de latencia por tema
+ * @author joe-696
+ */
+public class TestEventBus {
+    
+    private static final int HILOS = 8;
+    private static final int EVENTOS_POR_HILO = 100_000;
+    private static final int RAFAGA = 10_000;
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST DEL EVENTBUS ===");
+        EventBus bus = EventBus.getInstance();
+        int fallidos = 0;
+        
+        // 1. Publicación concurrente con suscripciones que entran y salen
+        EventBus.Tema<Integer> concurrente = new EventBus.Tema<>("prueba-concurrente");
+        AtomicLong recibidos = new AtomicLong();
+        bus.suscribir(concurrente, e -> recibidos.incrementAndGet());
+        AtomicBoolean publicando = new AtomicBoolean(true);
+        Thread rotacion = new Thread(() -> {
+            while (publicando.get()) {
+                bus.suscribir(concurrente, e -> { }).cancelar();
+            }
+        });
+        rotacion.start();
+        
+        ExecutorService publicadores = Executors.newFixedThreadPool(HILOS);
+        AtomicInteger errores = new AtomicInteger();
+        long inicio = System.nanoTime();
+        for (int h = 0; h < HILOS; h++) {
+            publicadores.execute(() -> {
+                try {
+                    for (int i = 0; i < EVENTOS_POR_HILO; i++) {
+                        bus.publicar(concurrente, i);
+                    }
+                } catch (RuntimeException e) {
+                    errores.incrementAndGet();
+                }
+            });
+        }
+        publicadores.shutdown();
+        publicadores.awaitTermination(1, TimeUnit.MINUTES);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        publicando.set(false);
+        rotacion.join();
+        
+        long esperados = (long) HILOS * EVENTOS_POR_HILO;
+        fallidos += verificar(recibidos.get() == esperados && errores.get() == 0,
+            String.format("%,d eventos desde %d hilos, %,d recibidos (%.1f M eventos/s)",
+                esperados, HILOS, recibidos.get(), esperados / segundos / 1e6));
+        
+        // 2. Entrega en un Executor y en el hilo de Swing
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "oyente-prueba"));
+        EventBus.Tema<String> hilos = new EventBus.Tema<>("prueba-hilos");
+        CountDownLatch entregas = new CountDownLatch(2);
+        List<String> hilosEntrega = new ArrayList<>();
+        bus.suscribir(hilos, e -> {
+            synchronized (hilosEntrega) { hilosEntrega.add(Thread.currentThread().getName()); }
+            entregas.countDown();
+        }, ejecutor);
+        bus.suscribir(hilos, e -> {
+            synchronized (hilosEntrega) { hilosEntrega.add(SwingUtilities.isEventDispatchThread() ? "EDT" : "otro"); }
+            entregas.countDown();
+        }, EventBus.EN_HILO_SWING);
+        bus.publicar(hilos, "hola");
+        entregas.await(10, TimeUnit.SECONDS);
+        ejecutor.shutdown();
+        fallidos += verificar(hilosEntrega.contains("oyente-prueba") && hilosEntrega.contains("EDT"),
+            "Entregas en el Executor y en el EDT: " + hilosEntrega);
+        
+        // 3. Una ráfaga de eventos se agrupa
+        AtomicInteger entregasAgrupadas = new AtomicInteger();
+        AtomicInteger cantidadTotal = new AtomicInteger();
+        CountDownLatch agrupado = new CountDownLatch(1);
+        EventBus.Suscripcion<EventBus.PostulanteEvent> suscripcion = bus.suscribirAgrupando(EventBus.POSTULANTES, e -> {
+            entregasAgrupadas.incrementAndGet();
+            if (cantidadTotal.addAndGet(e.getCantidad()) == RAFAGA) agrupado.countDown();
+        }, EventBus.EN_HILO_SWING, 200, EventBus.PostulanteEvent::combinar);
+        for (int i = 0; i < RAFAGA; i++) {
+            bus.publicarPostulanteAgregado();
+        }
+        agrupado.await(10, TimeUnit.SECONDS);
+        suscripcion.cancelar();
+        fallidos += verificar(cantidadTotal.get() == RAFAGA && entregasAgrupadas.get() <= 3,
+            String.format("Ráfaga de %,d POSTULANTE_AGREGADO: %d entrega(s) con %,d eventos",
+                RAFAGA, entregasAgrupadas.get(), cantidadTotal.get()));
+        
+        // 4. Un oyente con error no impide las demás entregas
+        EventBus.Tema<String> conError = new EventBus.Tema<>("prueba-errores");
+        AtomicInteger despuesDelError = new AtomicInteger();
+        bus.suscribir(conError, e -> { throw new IllegalStateException("oyente de prueba"); });
+        bus.suscribir(conError, e -> despuesDelError.incrementAndGet());
+        java.io.PrintStream errorOriginal = System.err;
+        System.setErr(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+        try {
+            bus.publicar(conError, "x");
+        } finally {
+            System.setErr(errorOriginal);
+        }
+        fallidos += verificar(despuesDelError.get() == 1 && bus.getMetricas(conError).getErrores() == 1,
+            "El oyente con error no bloquea a los demás");
+        
+        // 5. Métricas
+        System.out.println("📊 " + bus.getMetricas(concurrente));
+        System.out.println("📊 " + bus.getMetricas(hilos));
+        System.out.println("📊 " + bus.getMetricas(EventBus.POSTULANTES));
+        fallidos += verificar(bus.getMetricas(EventBus.POSTULANTES).getAgrupados() >= RAFAGA - 3,
+            "Las métricas cuentan los eventos agrupados");
+        
+        System.out.println(fallidos == 0 ? "✅ Todas las verificaciones pasaron" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
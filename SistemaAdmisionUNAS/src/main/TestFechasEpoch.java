@@ -0,0 +1,187 @@
+package main;
+
+import model.Fechas;
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import util.ExcelUtils;
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prueba de las fechas como días desde 1970-01-01
+ * - ExcelUtils.parsearDia reconoce lo mismo que el parser anterior con
+ *   SimpleDateFormat (formatos, años de dos dígitos, fechas inválidas, hora al final)
+ * - Varios hilos parseando a la vez dan lo mismo que un solo hilo
+ * - getEdad y compararPostulantes no crean objetos y dan lo mismo que con Date
+ * @author joe-696
+ */
+public class TestFechasEpoch {
+    
+    private static final int TEXTOS = 400_000;
+    private static final int HILOS = 8;
+    private static final int COMPARACIONES = 1_000_000;
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST DE FECHAS EN DÍAS ===");
+        int fallidos = 0;
+        
+        // 1. Mismo resultado que el parser anterior
+        List<String> casos = new ArrayList<>(Arrays.asList(
+            "15/01/2025", "5/1/2025", "15-01-2025", "2025-01-15", "2025/01/15", "15.01.2025",
+            "01/15/2025", "15/01/25", "15-01-98", "98-01-15", "29/02/2024", "29/02/2023",
+            "31/04/2020", "13/13/2020", "15/01/1850", "15/01/2031", "15/01/2025 10:30:00",
+            "2025-01-15T00:00", "hola", "15/enero/2025", "00/01/2025", "1/1/1900", "31/12/2030"));
+        Random random = new Random(5);
+        String[] patrones = {"dd/MM/yyyy", "d-M-yyyy", "yyyy-MM-dd", "yyyy/M/d", "dd.MM.yyyy", "dd/MM/yy", "yy-MM-dd"};
+        Calendar cal = Calendar.getInstance();
+        while (casos.size() < TEXTOS) {
+            cal.clear();
+            cal.set(1880 + random.nextInt(160), random.nextInt(12), 1 + random.nextInt(31));
+            casos.add(new SimpleDateFormat(patrones[random.nextInt(patrones.length)]).format(cal.getTime()));
+        }
+        
+        long inicio = System.nanoTime();
+        int[] anteriores = new int[casos.size()];
+        for (int i = 0; i < casos.size(); i++) {
+            anteriores[i] = Fechas.dia(parsearConSimpleDateFormat(casos.get(i)));
+        }
+        double msAnterior = (System.nanoTime() - inicio) / 1e6;
+        
+        inicio = System.nanoTime();
+        int[] nuevos = new int[casos.size()];
+        for (int i = 0; i < casos.size(); i++) {
+            nuevos[i] = ExcelUtils.parsearDia(casos.get(i));
+        }
+        double msNuevo = (System.nanoTime() - inicio) / 1e6;
+        
+        int diferencias = 0;
+        for (int i = 0; i < casos.size(); i++) {
+            if (anteriores[i] != nuevos[i]) {
+                if (diferencias++ < 5) {
+                    System.err.println("   '" + casos.get(i) + "': antes " + Fechas.formatear(anteriores[i])
+                        + ", ahora " + Fechas.formatear(nuevos[i]));
+                }
+            }
+        }
+        fallidos += verificar(diferencias == 0, String.format(
+            "%,d textos iguales al parser anterior (SimpleDateFormat %.0f ms, DateTimeFormatter %.0f ms, %.1fx)",
+            casos.size(), msAnterior, msNuevo, msAnterior / msNuevo));
+        
+        // 2. Varios hilos con los mismos formateadores
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<int[]>> partes = new ArrayList<>();
+        int tramo = (casos.size() + HILOS - 1) / HILOS;
+        for (int h = 0; h < HILOS; h++) {
+            int desde = h * tramo;
+            int hasta = Math.min(casos.size(), desde + tramo);
+            partes.add(hilos.submit(() -> {
+                int[] dias = new int[hasta - desde];
+                for (int i = desde; i < hasta; i++) {
+                    dias[i - desde] = ExcelUtils.parsearDia(casos.get(i));
+                }
+                return dias;
+            }));
+        }
+        int[] paralelos = new int[casos.size()];
+        for (int h = 0; h < HILOS; h++) {
+            int[] dias = partes.get(h).get();
+            System.arraycopy(dias, 0, paralelos, h * tramo, dias.length);
+        }
+        hilos.shutdown();
+        fallidos += verificar(Arrays.equals(nuevos, paralelos), HILOS + " hilos parseando a la vez dan lo mismo que uno");
+        
+        // 3. Edad y desempates sin crear objetos
+        Postulante[] postulantes = new Postulante[1_000];
+        for (int i = 0; i < postulantes.length; i++) {
+            postulantes[i] = new Postulante();
+            postulantes[i].setFecNacDia(Fechas.hoy() - 6_000 - random.nextInt(3_000));
+            postulantes[i].setInscripcionDia(Fechas.hoy() - random.nextInt(30));
+        }
+        boolean igualesConDate = true;
+        for (Postulante p : postulantes) {
+            Date fecNac = p.getFecNac();
+            int edadConDate = (int) ((new Date().getTime() - fecNac.getTime()) / (365.25 * 24 * 60 * 60 * 1000));
+            igualesConDate &= p.getEdad() == edadConDate
+                && Fechas.dia(fecNac) == p.getFecNacDia();
+        }
+        for (int i = 1; i < postulantes.length; i++) {
+            Postulante a = postulantes[i - 1];
+            Postulante b = postulantes[i];
+            igualesConDate &= Integer.signum(AlgoritmoAdmision.compararPostulantes(a, b))
+                == Integer.signum(compararConDate(a, b));
+        }
+        
+        com.sun.management.ThreadMXBean memoria = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long suma = medir(postulantes); // Calentamiento
+        long bytesAntes = memoria.getThreadAllocatedBytes(Thread.currentThread().getId());
+        suma += medir(postulantes);
+        long bytes = memoria.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytesAntes;
+        fallidos += verificar(igualesConDate && bytes < 1_000, String.format(
+            "getEdad y compararPostulantes iguales que con Date; %,d llamadas crean %,d bytes (%d)",
+            2L * COMPARACIONES, bytes, suma % 10));
+        
+        System.out.println(fallidos == 0 ? "✅ Fechas en días correctas" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    private static long medir(Postulante[] postulantes) {
+        long suma = 0;
+        for (int i = 0; i < COMPARACIONES; i++) {
+            Postulante a = postulantes[i % postulantes.length];
+            Postulante b = postulantes[(i * 7 + 1) % postulantes.length];
+            suma += a.getEdad() + AlgoritmoAdmision.compararPostulantes(a, b);
+        }
+        return suma;
+    }
+    
+    /**
+     * Desempate por fechas como lo hacía compararPostulantes con Date
+     */
+    private static int compararConDate(Postulante p1, Postulante p2) {
+        int comparacionEdad = p2.getFecNac().compareTo(p1.getFecNac());
+        if (comparacionEdad != 0) return comparacionEdad;
+        return p1.getInscripcion().compareTo(p2.getInscripcion());
+    }
+    
+    /**
+     * Copia del parser anterior de ExcelUtils (null si no reconoce la fecha)
+     */
+    private static Date parsearConSimpleDateFormat(String limpio) {
+        String[] formatos = {
+            "dd/MM/yyyy", "dd-MM-yyyy", "yyyy-MM-dd",
+            "MM/dd/yyyy", "dd.MM.yyyy", "yyyy/MM/dd",
+            "dd/MM/yy", "dd-MM-yy", "yy-MM-dd"
+        };
+        for (String formato : formatos) {
+            try {
+                SimpleDateFormat sdf = new SimpleDateFormat(formato);
+                sdf.setLenient(false);
+                Date fecha = sdf.parse(limpio);
+                Calendar cal = Calendar.getInstance();
+                cal.setTime(fecha);
+                int anio = cal.get(Calendar.YEAR);
+                if (anio >= 1900 && anio <= 2030) {
+                    return fecha;
+                }
+            } catch (ParseException ignored) {
+                // Siguiente formato
+            }
+        }
+        return null;
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
@@ -0,0 +1,212 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import util.ExcelUtils;
+import util.GeneradorPostulantes;
+import util.ImportadorStreaming;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Prueba del generador de postulantes sintéticos
+ * Sin argumentos: comprueba que el resultado no depende del número de hilos,
+ * que los parámetros (demanda, alumnos libres, empates, DNI duplicados) se
+ * respetan, que el CSV se vuelve a importar igual y mide 1M filas
+ * Con argumentos genera un archivo o carga la base de datos:
+ *   TestGeneradorPostulantes 1000000 postulantes.csv [semilla=42] [hilos=4]
+ *       [sesgo=1.0] [libres=0.15] [empates=0.0] [duplicados=0.0]
+ *   TestGeneradorPostulantes 100000 h2 ...   (inserta en la base H2)
+ * @author joe-696
+ */
+public class TestGeneradorPostulantes {
+    
+    private static final int TAMANIO_PRUEBA = 200_000;
+    private static final int TAMANIO_IMPORTACION = 2_000;
+    private static final int TAMANIO_RENDIMIENTO = 1_000_000;
+    private static final double TOLERANCIA = 0.01;
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2) {
+            generar(args);
+            return;
+        }
+        
+        System.out.println("=== TEST DEL GENERADOR DE POSTULANTES SINTÉTICOS ===");
+        int fallidos = 0;
+        
+        // 1. El mismo resultado con 1 hilo y con varios
+        int firmaSecuencial = firma(crear(42, 1), TAMANIO_PRUEBA);
+        int firmaParalela = firma(crear(42, 4), TAMANIO_PRUEBA);
+        if (firmaSecuencial != firmaParalela) {
+            fallidos++;
+            System.err.println("❌ El resultado depende del número de hilos");
+        }
+        if (firmaSecuencial == firma(crear(43, 4), TAMANIO_PRUEBA)) {
+            fallidos++;
+            System.err.println("❌ Otra semilla generó los mismos postulantes");
+        }
+        System.out.printf("🔁 Firma con 1 y 4 hilos: %08x / %08x%n", firmaSecuencial, firmaParalela);
+        
+        // 2. Los parámetros se reflejan en los datos
+        GeneradorPostulantes generador = crear(7, 4);
+        generador.setProporcionAlumnosLibres(0.30);
+        generador.setDensidadEmpates(0.20);
+        generador.setTasaDniDuplicado(0.02);
+        fallidos += verificarParametros(generador);
+        
+        // 3. El CSV se vuelve a importar con los mismos datos
+        fallidos += verificarImportacion();
+        
+        System.out.println(fallidos == 0 ? "✅ Todas las verificaciones pasaron" : "❌ Verificaciones fallidas: " + fallidos);
+        
+        // 4. Rendimiento: 1M filas a CSV
+        File archivo = File.createTempFile("postulantes_sinteticos", ".csv");
+        try {
+            crear(42, Runtime.getRuntime().availableProcessors()).generarCSV(TAMANIO_RENDIMIENTO, archivo.getPath());
+            System.out.printf("📦 Tamaño del archivo: %.1f MB%n", archivo.length() / 1e6);
+        } finally {
+            archivo.delete();
+        }
+    }
+    
+    private static GeneradorPostulantes crear(long semilla, int hilos) {
+        GeneradorPostulantes generador = new GeneradorPostulantes(semilla);
+        generador.setHilos(hilos);
+        return generador;
+    }
+    
+    private static int firma(GeneradorPostulantes generador, int cantidad) {
+        int[] firma = {0};
+        generador.generar(cantidad, p -> firma[0] = 31 * firma[0]
+            + Objects.hash(p.getCodigo(), p.getDni(), p.getOpcion1(), p.getOpcion2(), p.getNotaAC(),
+                p.getNotaCO(), p.getFecNac(), p.getInscripcion(), p.getEstadoAcademico()));
+        return firma[0];
+    }
+    
+    private static int verificarParametros(GeneradorPostulantes generador) {
+        long[] libres = {0};
+        Set<String> dnis = new HashSet<>();
+        Set<String> claves = new HashSet<>();
+        long[] duplicados = {0};
+        long[] empatados = {0};
+        Map<String, Long> demanda = new HashMap<>();
+        
+        generador.generar(TAMANIO_PRUEBA, p -> {
+            if (p.isAlumnoLibre()) libres[0]++;
+            if (!dnis.add(p.getDni())) duplicados[0]++;
+            // Empate total: mismas notas, nacimiento e inscripción que otro postulante
+            String clave = p.getNotaAC() + "|" + p.getNotaCO() + "|" + p.getFecNac().getTime() + "|" + p.getInscripcion().getTime();
+            if (!claves.add(clave)) empatados[0]++;
+            demanda.merge(p.getOpcion1(), 1L, Long::sum);
+        });
+        
+        double proporcionLibres = (double) libres[0] / TAMANIO_PRUEBA;
+        double proporcionDuplicados = (double) duplicados[0] / TAMANIO_PRUEBA;
+        System.out.printf("🎓 Alumnos libres: %.3f (esperado 0.30)%n", proporcionLibres);
+        System.out.printf("🪪 DNI repetidos: %.4f (esperado ~0.02)%n", proporcionDuplicados);
+        System.out.printf("🟰 Postulantes con empate total: %,d%n", empatados[0]);
+        
+        List<String> carreras = new ArrayList<>(demanda.keySet());
+        carreras.sort((a, b) -> Long.compare(demanda.get(b), demanda.get(a)));
+        for (String carrera : carreras) {
+            System.out.printf("   %-40s %,8d%n", carrera, demanda.get(carrera));
+        }
+        
+        int fallidos = 0;
+        if (Math.abs(proporcionLibres - 0.30) > TOLERANCIA) {
+            fallidos++;
+            System.err.println("❌ La proporción de alumnos libres no coincide");
+        }
+        // Algunos duplicados repiten un DNI que ya estaba repetido, por eso puede quedar un poco por debajo
+        if (Math.abs(proporcionDuplicados - 0.02) > TOLERANCIA) {
+            fallidos++;
+            System.err.println("❌ La tasa de DNI duplicados no coincide");
+        }
+        if (empatados[0] == 0) {
+            fallidos++;
+            System.err.println("❌ No se generaron empates");
+        }
+        return fallidos;
+    }
+    
+    private static int verificarImportacion() throws IOException {
+        File archivo = File.createTempFile("postulantes_sinteticos", ".csv");
+        try {
+            GeneradorPostulantes generador = crear(99, 2);
+            generador.setDensidadEmpates(0.5);
+            List<Postulante> generados = new ArrayList<>();
+            generador.generar(TAMANIO_IMPORTACION, generados::add);
+            
+            PrintStream consola = System.out;
+            List<Postulante> importados;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                generador.generarCSV(TAMANIO_IMPORTACION, archivo.getPath());
+                importados = ExcelUtils.importarPostulantesDesdeExcel(archivo.getPath());
+            } finally {
+                System.setOut(consola);
+            }
+            
+            int distintos = 0;
+            for (int i = 0; i < generados.size(); i++) {
+                Postulante a = generados.get(i);
+                Postulante b = i < importados.size() ? importados.get(i) : null;
+                if (b == null || !a.getCodigo().equals(b.getCodigo()) || !a.getApellidosNombres().equals(b.getApellidosNombres())
+                        || !a.getDni().equals(b.getDni()) || !a.getOpcion1().equals(b.getOpcion1())
+                        || !a.getOpcion2().equals(b.getOpcion2()) || a.getNotaAC() != b.getNotaAC()
+                        || a.getNotaCO() != b.getNotaCO() || !a.getFecNac().equals(b.getFecNac())
+                        || !a.getInscripcion().equals(b.getInscripcion())
+                        || !a.getEstadoAcademico().equals(b.getEstadoAcademico())) {
+                    distintos++;
+                }
+            }
+            System.out.printf("📥 Reimportados: %,d de %,d, distintos: %d%n", importados.size(), generados.size(), distintos);
+            if (distintos > 0 || importados.size() != generados.size()) {
+                System.err.println("❌ El CSV generado no se reimporta igual");
+                return 1;
+            }
+            return 0;
+        } finally {
+            archivo.delete();
+        }
+    }
+    
+    /**
+     * Modo herramienta: generar un archivo o cargar la base de datos
+     */
+    private static void generar(String[] args) {
+        long cantidad = Long.parseLong(args[0].replace("_", ""));
+        String destino = args[1];
+        
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 2; i < args.length; i++) {
+            String[] partes = args[i].split("=", 2);
+            if (partes.length == 2) opciones.put(partes[0], partes[1]);
+        }
+        
+        GeneradorPostulantes generador = new GeneradorPostulantes(Long.parseLong(opciones.getOrDefault("semilla", "42")));
+        if (opciones.containsKey("hilos")) generador.setHilos(Integer.parseInt(opciones.get("hilos")));
+        if (opciones.containsKey("sesgo")) generador.setSesgoDemanda(Double.parseDouble(opciones.get("sesgo")));
+        if (opciones.containsKey("libres")) generador.setProporcionAlumnosLibres(Double.parseDouble(opciones.get("libres")));
+        if (opciones.containsKey("empates")) generador.setDensidadEmpates(Double.parseDouble(opciones.get("empates")));
+        if (opciones.containsKey("duplicados")) generador.setTasaDniDuplicado(Double.parseDouble(opciones.get("duplicados")));
+        
+        if (destino.equalsIgnoreCase("h2")) {
+            ImportadorStreaming.ResumenImportacion resumen = generador.generarEnBaseDatos(cantidad, new PostulanteDAO());
+            System.out.printf("📊 Insertados: %,d | Duplicados: %,d | Errores: %,d | %.0f filas/s%n",
+                resumen.getInsertados(), resumen.getDuplicados(), resumen.getErrores(), resumen.getFilasPorSegundo());
+        } else {
+            generador.generarCSV(cantidad, destino);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import util.DatabaseConnection;
+import util.GeneradorPostulantes;
+import util.ImportadorStreaming;
+import util.ValidadorImportacion;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Prueba de la importación en modo COMBINAR (archivos de notas que se vuelven a subir)
+ * - Volver a subir el mismo archivo no escribe nada: todas las filas quedan sin cambios
+ * - Un archivo corregido inserta los códigos nuevos, actualiza solo los que cambiaron
+ *   y rechaza el código nuevo con un DNI que la base tiene con otro código; en
+ *   los códigos existentes el DNI del archivo no se revisa ni se escribe
+ * - Las notas guardadas coinciden con el archivo y una nueva pasada queda sin cambios
+ * - Subir notas después de la admisión conserva ingreso/ingreso_a y los datos de
+ *   inscripción; una nota vacía conserva la guardada, un 0 escrito la corrige y
+ *   un DNI vacío (el lector le pone uno temporal) no rechaza la fila
+ * - Comparación de tiempo con PostulanteDAO.actualizar fila por fila
+ * @author joe-696
+ */
+public class TestImportacionCombinada {
+    
+    private static final int POSTULANTES = 30_000;
+    private static final int NUEVOS = 500;
+    private static final int CADA_CORRECCION = 3;
+    private static final int CADA_DNI_AJENO = 1_500;
+    private static final int CADA_NUEVO_CON_DNI_AJENO = 100;
+    private static final int MUESTRA_POR_FILA = 2_000;
+    private static final int CADA_NOTA_VACIA = 4;
+    private static final int CADA_NOTA_CERO = 7;
+    private static final int CADA_DNI_VACIO = 5;
+    private static final int CADA_NOMBRE_CAMBIADO = 10;
+    
+    // Posición de las columnas en el CSV de GeneradorPostulantes
+    private static final int COL_CODIGO = 0;
+    private static final int COL_NOMBRES = 1;
+    private static final int COL_DNI = 5;
+    private static final int COL_INGRESO = 15;
+    private static final int COL_INGRESO_A = 16;
+    private static final int COL_NOTA_AC = 24;
+    private static final int COL_NOTA_CO = 25;
+    
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:combinada;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE IMPORTACIÓN COMBINADA (MERGE) ===");
+        int fallidos = 0;
+        PostulanteDAO dao = new PostulanteDAO();
+        
+        // 1. Registro inicial
+        File registro = File.createTempFile("registro", ".csv");
+        registro.deleteOnExit();
+        ejecutar(() -> new GeneradorPostulantes(25).generarCSV(POSTULANTES, registro.getPath()));
+        ImportadorStreaming.ResumenImportacion inicial = ejecutar(() ->
+            new ImportadorStreaming(dao).importar(registro.getPath(), null));
+        fallidos += verificar(inicial.getInsertados() == POSTULANTES && inicial.getRechazados() == 0,
+            String.format("Registro inicial: %,d insertados", inicial.getInsertados()));
+        
+        // 2. El mismo archivo otra vez: nada que escribir
+        ImportadorStreaming.ResumenImportacion igual = ejecutar(() ->
+            new ImportadorStreaming(dao, ImportadorStreaming.Modo.COMBINAR).importar(registro.getPath(), null));
+        fallidos += verificar(igual.getSinCambios() == POSTULANTES && igual.getInsertados() == 0
+                && igual.getActualizados() == 0 && igual.getRechazados() == 0,
+            String.format("Mismo archivo combinado: %,d sin cambios (%.2f s)", igual.getSinCambios(), igual.getSegundos()));
+        
+        // 3. Archivo de notas corregido
+        List<String> lineas = Files.readAllLines(registro.toPath(), StandardCharsets.UTF_8);
+        Set<String> dnisUsados = new HashSet<>();
+        dao.recorrerClaves((codigo, dni) -> dnisUsados.add(dni));
+        
+        Map<String, String[]> notasEsperadas = new HashMap<>();
+        Map<String, String> dnisConservados = new HashMap<>();
+        List<String> corregido = new ArrayList<>();
+        corregido.add(lineas.get(0));
+        int corregidas = 0;
+        int dnisAjenos = 0;
+        for (int i = 0; i < POSTULANTES; i++) {
+            List<String> campos = separar(lineas.get(i + 1));
+            if (i % CADA_CORRECCION == 0) {
+                double notaAC = Double.parseDouble(campos.get(COL_NOTA_AC));
+                campos.set(COL_NOTA_AC, String.valueOf(notaAC <= 18 ? notaAC + 1.25 : notaAC - 1.25));
+                corregidas++;
+            } else if (i % CADA_DNI_AJENO == 1) {
+                // El DNI del postulante anterior: solo se actualizan las notas, el DNI no se toca
+                dnisConservados.put(campos.get(COL_CODIGO), campos.get(COL_DNI));
+                campos.set(COL_DNI, separar(lineas.get(i)).get(COL_DNI));
+            }
+            notasEsperadas.put(campos.get(COL_CODIGO), new String[] {campos.get(COL_NOTA_AC), campos.get(COL_NOTA_CO)});
+            corregido.add(unir(campos));
+        }
+        int siguienteDni = 10_000_000;
+        for (int i = 0; i < NUEVOS; i++) {
+            List<String> campos = separar(lineas.get(i + 1));
+            while (dnisUsados.contains(String.valueOf(siguienteDni))) siguienteDni++;
+            campos.set(COL_CODIGO, String.format("2099%08d", i + 1));
+            if (i % CADA_NUEVO_CON_DNI_AJENO == 1) {
+                // Código nuevo con el DNI de un postulante guardado: se rechaza
+                campos.set(COL_DNI, separar(lineas.get(i + 1)).get(COL_DNI));
+                dnisAjenos++;
+                corregido.add(unir(campos));
+                continue;
+            }
+            campos.set(COL_DNI, String.valueOf(siguienteDni++));
+            notasEsperadas.put(campos.get(COL_CODIGO), new String[] {campos.get(COL_NOTA_AC), campos.get(COL_NOTA_CO)});
+            corregido.add(unir(campos));
+        }
+        File notas = File.createTempFile("notas", ".csv");
+        notas.deleteOnExit();
+        Files.write(notas.toPath(), corregido, StandardCharsets.UTF_8);
+        
+        ImportadorStreaming.ResumenImportacion combinado = ejecutar(() ->
+            new ImportadorStreaming(dao, ImportadorStreaming.Modo.COMBINAR).importar(notas.getPath(), null));
+        if (combinado.getArchivoRechazos() != null) {
+            new File(combinado.getArchivoRechazos()).deleteOnExit();
+        }
+        int esperadosSinCambios = POSTULANTES - corregidas;
+        fallidos += verificar(combinado.getInsertados() == NUEVOS - dnisAjenos && combinado.getActualizados() == corregidas
+                && combinado.getSinCambios() == esperadosSinCambios && combinado.getRechazados() == dnisAjenos
+                && combinado.getRechazosPorMotivo().getOrDefault(ValidadorImportacion.Motivo.DNI_EXISTENTE, 0) == dnisAjenos,
+            String.format("Notas corregidas: %,d insertados, %,d actualizados, %,d sin cambios, %d nuevos con DNI ajeno rechazados (%.2f s)",
+                combinado.getInsertados(), combinado.getActualizados(), combinado.getSinCambios(),
+                combinado.getRechazados(), combinado.getSegundos()));
+        
+        // 4. Notas guardadas = notas del archivo; el DNI de los códigos existentes no cambia
+        int distintas = 0;
+        int dnisCambiados = 0;
+        int filas = 0;
+        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT codigo, nota_ac, nota_co, nota_final, dni FROM postulantes")) {
+            while (rs.next()) {
+                filas++;
+                String dniConservado = dnisConservados.get(rs.getString(1));
+                if (dniConservado != null && !dniConservado.equals(rs.getString(5))) dnisCambiados++;
+                String[] esperadas = notasEsperadas.get(rs.getString(1));
+                if (esperadas == null) continue;
+                double ac = Double.parseDouble(esperadas[0]);
+                double co = Double.parseDouble(esperadas[1]);
+                if (Math.abs(rs.getDouble(2) - ac) > 0.005 || Math.abs(rs.getDouble(3) - co) > 0.005
+                        || Math.abs(rs.getDouble(4) - (ac + co)) > 0.011) {
+                    distintas++;
+                }
+            }
+        }
+        fallidos += verificar(distintas == 0 && filas == POSTULANTES + NUEVOS - dnisAjenos && dnisCambiados == 0,
+            String.format("Notas en la base iguales al archivo (%,d filas, %d distintas), %d de %d DNI ajenos escritos",
+                filas, distintas, dnisCambiados, dnisConservados.size()));
+        
+        ImportadorStreaming.ResumenImportacion repetido = ejecutar(() ->
+            new ImportadorStreaming(dao, ImportadorStreaming.Modo.COMBINAR).importar(notas.getPath(), null));
+        fallidos += verificar(repetido.getSinCambios() == POSTULANTES + NUEVOS - dnisAjenos
+                && repetido.getActualizados() == 0 && repetido.getInsertados() == 0,
+            String.format("Archivo corregido otra vez: %,d sin cambios", repetido.getSinCambios()));
+        
+        // 5. Códigos repetidos en una llamada directa al DAO
+        Postulante nuevo = new Postulante();
+        nuevo.setCodigo("209999999999");
+        nuevo.setApellidosNombres("APELLIDO REPETIDO");
+        nuevo.setDni(String.valueOf(siguienteDni));
+        nuevo.setOpcion1("INGENIERÍA CIVIL");
+        nuevo.setModalidad("ORDINARIO");
+        PostulanteDAO.ResultadoLote repetidos = ejecutar(() -> dao.combinarLote(List.of(nuevo, nuevo), 100));
+        fallidos += verificar(repetidos.getInsertados() == 1 && repetidos.getDuplicados() == 1
+                && repetidos.getFilas().get(1).getEstado() == PostulanteDAO.EstadoFila.DUPLICADO,
+            "Código repetido en la lista: 1 insertado y 1 DUPLICADO");
+        
+        // 6. Notas subidas después de la admisión
+        List<Postulante> admitidos = ejecutar(() -> dao.obtenerTodos());
+        ejecutar(() -> new AlgoritmoAdmision().procesarAdmision(admitidos));
+        int ingresantes = 0;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("UPDATE postulantes SET ingreso = ?, ingreso_a = ? WHERE codigo = ?")) {
+            for (Postulante p : admitidos) {
+                pstmt.setInt(1, p.getIngreso());
+                pstmt.setString(2, p.getIngresoA());
+                pstmt.setString(3, p.getCodigo());
+                pstmt.addBatch();
+                if (p.getIngreso() == 1) ingresantes++;
+            }
+            pstmt.executeBatch();
+        }
+        Map<String, Object[]> antes = leerGuardados();
+        
+        // Archivo de notas sin columnas de ingreso, con notas CO vacías, notas AC
+        // corregidas a 0, DNIs vacíos y nombres retocados
+        List<String> resubida = new ArrayList<>();
+        resubida.add(lineas.get(0));
+        Map<String, double[]> notasCombinadas = new HashMap<>();
+        int notasEnCero = 0;
+        int dnisVacios = 0;
+        for (int i = 0; i < POSTULANTES; i++) {
+            List<String> campos = separar(lineas.get(i + 1));
+            campos.set(COL_INGRESO, "0");
+            campos.set(COL_INGRESO_A, "");
+            if (i % CADA_NOTA_VACIA == 0) campos.set(COL_NOTA_CO, "");
+            if (i % CADA_NOTA_CERO == 0) {
+                campos.set(COL_NOTA_AC, "0");
+                notasEnCero++;
+            }
+            if (i % CADA_DNI_VACIO == 0) {
+                campos.set(COL_DNI, "");
+                dnisVacios++;
+            }
+            if (i % CADA_NOMBRE_CAMBIADO == 0) campos.set(COL_NOMBRES, campos.get(COL_NOMBRES) + " CORREGIDO");
+            Object[] guardado = antes.get(campos.get(COL_CODIGO));
+            String ac = campos.get(COL_NOTA_AC);
+            String co = campos.get(COL_NOTA_CO);
+            notasCombinadas.put(campos.get(COL_CODIGO), new double[] {
+                ac.isEmpty() ? (double) guardado[1] : Double.parseDouble(ac),
+                co.isEmpty() ? (double) guardado[2] : Double.parseDouble(co)});
+            resubida.add(unir(campos));
+        }
+        File notasAdmision = File.createTempFile("notas_admision", ".csv");
+        notasAdmision.deleteOnExit();
+        Files.write(notasAdmision.toPath(), resubida, StandardCharsets.UTF_8);
+        ImportadorStreaming.ResumenImportacion posterior = ejecutar(() ->
+            new ImportadorStreaming(dao, ImportadorStreaming.Modo.COMBINAR).importar(notasAdmision.getPath(), null));
+        
+        Map<String, Object[]> despues = leerGuardados();
+        int ingresosPerdidos = 0;
+        int datosTocados = 0;
+        int notasDistintas = 0;
+        for (Map.Entry<String, Object[]> entrada : despues.entrySet()) {
+            Object[] previo = antes.get(entrada.getKey());
+            Object[] actual = entrada.getValue();
+            if (!Objects.equals(previo[4], actual[4]) || !Objects.equals(previo[5], actual[5])) ingresosPerdidos++;
+            if (!Objects.equals(previo[0], actual[0]) || !Objects.equals(previo[6], actual[6])
+                    || !Objects.equals(previo[7], actual[7])) datosTocados++;
+            double[] esperadas = notasCombinadas.get(entrada.getKey());
+            if (esperadas == null) continue;
+            if (Math.abs((double) actual[1] - esperadas[0]) > 0.005 || Math.abs((double) actual[2] - esperadas[1]) > 0.005
+                    || Math.abs((double) actual[3] - (esperadas[0] + esperadas[1])) > 0.011) {
+                notasDistintas++;
+            }
+        }
+        fallidos += verificar(ingresantes > 0 && ingresosPerdidos == 0 && datosTocados == 0 && notasDistintas == 0
+                && posterior.getRechazados() == 0 && posterior.getInsertados() == 0,
+            String.format("Notas después de la admisión: %,d ingresantes conservan ingreso_a (%d perdidos), "
+                + "%d nombres/inscripciones/DNI tocados, %d notas distintas con %,d notas AC en 0 "
+                + "(%,d actualizados, %d rechazados con %,d DNI vacíos)",
+                ingresantes, ingresosPerdidos, datosTocados, notasDistintas, notasEnCero,
+                posterior.getActualizados(), posterior.getRechazados(), dnisVacios));
+        
+        // 7. Tiempo contra actualizar fila por fila
+        List<Postulante> muestra = ejecutar(() -> dao.obtenerTodos()).subList(0, MUESTRA_POR_FILA);
+        long inicio = System.nanoTime();
+        ejecutar(() -> {
+            for (Postulante p : muestra) {
+                p.setNotaCO(p.getNotaCO() > 1 ? p.getNotaCO() - 0.5 : p.getNotaCO() + 0.5);
+                dao.actualizar(p);
+            }
+            return null;
+        });
+        double msPorFila = (System.nanoTime() - inicio) / 1e6 / MUESTRA_POR_FILA;
+        double msCombinado = combinado.getSegundos() * 1000 / combinado.getFilasProcesadas();
+        fallidos += verificar(msCombinado < msPorFila,
+            String.format("Combinar: %.3f ms/fila (leer, comparar y escribir) vs actualizar fila por fila: %.3f ms/fila",
+                msCombinado, msPorFila));
+        
+        System.out.println(fallidos == 0 ? "✅ Importación combinada correcta" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    /**
+     * Por código: apellidos_nombres, nota_ac, nota_co, nota_final, ingreso, ingreso_a, inscripcion, dni
+     */
+    private static Map<String, Object[]> leerGuardados() throws Exception {
+        Map<String, Object[]> guardados = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection(); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT codigo, apellidos_nombres, nota_ac, nota_co, nota_final, "
+                 + "ingreso, ingreso_a, inscripcion, dni FROM postulantes")) {
+            while (rs.next()) {
+                guardados.put(rs.getString(1), new Object[] {
+                    rs.getString(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5),
+                    rs.getInt(6), rs.getString(7), rs.getDate(8), rs.getString(9)});
+            }
+        }
+        return guardados;
+    }
+    
+    /**
+     * Campos de una línea CSV (comillas dobles para campos con comas)
+     */
+    private static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (c == '"') {
+                if (entreComillas && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreComillas = !entreComillas;
+                }
+            } else if (c == ',' && !entreComillas) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+    
+    private static String unir(List<String> campos) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < campos.size(); i++) {
+            if (i > 0) sb.append(',');
+            String campo = campos.get(i);
+            sb.append(campo.indexOf(',') < 0 && campo.indexOf('"') < 0
+                ? campo : '"' + campo.replace("\"", "\"\"") + '"');
+        }
+        return sb.toString();
+    }
+    
+    private static <T> T ejecutar(Callable<T> accion) throws Exception {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return accion.call();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
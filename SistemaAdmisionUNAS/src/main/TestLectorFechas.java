@@ -0,0 +1,265 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Fechas;
+import model.Postulante;
+import util.ExcelUtils;
+import util.GeneradorPostulantes;
+import util.ImportadorStreaming;
+import util.LectorFechas;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba del LectorFechas (formato de fecha aprendido por archivo)
+ * - En archivos con distintos formatos dominantes (y fechas sueltas en otros
+ *   formatos o inválidas) aprende el formato y da lo mismo que parsearDia
+ * - Varios hilos compartiendo un lector dan lo mismo que uno y los conteos cuadran
+ * - Mide el camino rápido contra parsearDia y comprueba que no crea objetos
+ * - Importa un CSV con fechas yyyy-MM-dd: el resumen informa la mezcla de
+ *   formatos y la lectura paralela da las mismas fechas que la secuencial
+ * @author joe-696
+ */
+public class TestLectorFechas {
+    
+    private static final int TEXTOS = 200_000;
+    private static final int HILOS = 8;
+    private static final int LECTURAS_RENDIMIENTO = 2_000_000;
+    private static final int POSTULANTES_CSV = 3_000;
+    
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:fechas;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE LECTOR DE FECHAS ===");
+        int fallidos = 0;
+        Random random = new Random(23);
+        
+        // 1. Formato aprendido y mismo resultado que parsearDia
+        String[] dominantes = {"dd/MM/yyyy", "yyyy-MM-dd", "MM/dd/yyyy", "dd.MM.yyyy", "dd-MM-yy", "yyyy/MM/dd"};
+        for (String patron : dominantes) {
+            List<String> textos = generarTextos(random, patron, TEXTOS);
+            LectorFechas lector = new LectorFechas();
+            int diferencias = 0;
+            for (String texto : textos) {
+                if (lector.parsear(texto) != LectorFechas.parsearDia(texto) && diferencias++ < 5) {
+                    System.err.println("   '" + texto + "': " + Fechas.formatear(lector.parsear(texto))
+                        + " en vez de " + Fechas.formatear(LectorFechas.parsearDia(texto)));
+                }
+            }
+            double rapidas = (double) lector.getRapidas() / lector.getTotal();
+            fallidos += verificar(diferencias == 0 && patron.equals(lector.getFormatoDominante()) && rapidas > 0.9,
+                String.format("%-10s aprendido, %,d fechas iguales a parsearDia, %.1f%% por el camino rápido",
+                    patron, textos.size(), 100 * rapidas));
+        }
+        
+        // 2. Un lector compartido por varios hilos
+        List<String> textos = generarTextos(random, "dd/MM/yyyy", TEXTOS);
+        int[] esperados = new int[textos.size()];
+        for (int i = 0; i < textos.size(); i++) {
+            esperados[i] = LectorFechas.parsearDia(textos.get(i));
+        }
+        LectorFechas compartido = new LectorFechas();
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<int[]>> partes = new ArrayList<>();
+        int tramo = (textos.size() + HILOS - 1) / HILOS;
+        for (int h = 0; h < HILOS; h++) {
+            int desde = h * tramo;
+            int hasta = Math.min(textos.size(), desde + tramo);
+            partes.add(hilos.submit(() -> {
+                int[] dias = new int[hasta - desde];
+                for (int i = desde; i < hasta; i++) {
+                    dias[i - desde] = compartido.parsear(textos.get(i));
+                }
+                return dias;
+            }));
+        }
+        int[] paralelos = new int[textos.size()];
+        for (int h = 0; h < HILOS; h++) {
+            int[] dias = partes.get(h).get();
+            System.arraycopy(dias, 0, paralelos, h * tramo, dias.length);
+        }
+        hilos.shutdown();
+        long reconocidas = compartido.getPorFormato().values().stream().mapToLong(Long::longValue).sum();
+        fallidos += verificar(Arrays.equals(esperados, paralelos) && compartido.getTotal() == textos.size()
+                && reconocidas + compartido.getNoReconocidas() == textos.size(),
+            HILOS + " hilos con un lector: mismas fechas y conteos completos (" + compartido + ")");
+        
+        // 3. Rendimiento y memoria del camino rápido
+        String[] fechas = new String[LECTURAS_RENDIMIENTO];
+        for (int i = 0; i < fechas.length; i++) {
+            fechas[i] = textos.get(i % textos.size());
+        }
+        medir(fechas, LectorFechas::parsearDia);
+        double msGeneral = medir(fechas, LectorFechas::parsearDia);
+        LectorFechas lector = new LectorFechas();
+        medir(fechas, lector::parsear);
+        double msRapido = medir(fechas, lector::parsear);
+        
+        fallidos += verificar(msRapido < msGeneral, String.format("%,d fechas: parsearDia %.0f ms, aprendido %.0f ms (%.1fx)",
+            fechas.length, msGeneral, msRapido, msGeneral / msRapido));
+        
+        // Bytes reservados por este hilo (contador de la JVM, no diferencias del heap).
+        // Solo fechas del formato dominante: las sueltas van por DateTimeFormatter
+        com.sun.management.ThreadMXBean memoria = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (memoria.isThreadAllocatedMemorySupported() && memoria.isThreadAllocatedMemoryEnabled()) {
+            String[] dominantesValidas = textos.stream().filter(t -> t.matches("\\d{2}/\\d{2}/\\d{4}"))
+                .limit(100_000).toArray(String[]::new);
+            long bytesGeneral = bytesReservados(memoria, dominantesValidas, LectorFechas::parsearDia);
+            long bytesRapido = bytesReservados(memoria, dominantesValidas, lector::parsear);
+            // parsearDia sí crea objetos: muestra que el contador mide
+            fallidos += verificar(bytesRapido < 10_000 && bytesGeneral > 100L * dominantesValidas.length, String.format(
+                "%,d lecturas dd/MM/yyyy: parsearDia reserva %,d bytes, el camino aprendido %,d bytes",
+                dominantesValidas.length, bytesGeneral, bytesRapido));
+        } else {
+            System.out.println("⚠️ La JVM no mide la memoria reservada por hilo: se omite la verificación de memoria");
+        }
+        
+        // 4. Mezcla de formatos en el resumen de importación
+        File original = File.createTempFile("fechas_original", ".csv");
+        File iso = File.createTempFile("fechas_iso", ".csv");
+        original.deleteOnExit();
+        iso.deleteOnExit();
+        silencioso(() -> new GeneradorPostulantes(31).generarCSV(POSTULANTES_CSV, original.getPath()));
+        Map<String, Integer> nacimientos = new HashMap<>();
+        List<String> lineas = Files.readAllLines(original.toPath(), StandardCharsets.UTF_8);
+        Pattern fecha = Pattern.compile("(?<=,)(\\d{2})/(\\d{2})/(\\d{4})(?=,)");
+        int sueltas = 0;
+        for (int i = 1; i < lineas.size(); i++) {
+            // FEC_NAC es la quinta columna desde el final (el nombre lleva comas)
+            String[] campos = lineas.get(i).split(",", -1);
+            nacimientos.put(campos[0], LectorFechas.parsearDia(campos[campos.length - 5]));
+            // Una de cada 50 filas conserva dd/MM/yyyy
+            Matcher coincidencias = fecha.matcher(lineas.get(i));
+            if (i % 50 != 0) {
+                lineas.set(i, coincidencias.replaceAll("$3-$2-$1"));
+            } else {
+                sueltas += (int) coincidencias.results().count();
+            }
+        }
+        Files.write(iso.toPath(), lineas, StandardCharsets.UTF_8);
+        
+        ImportadorStreaming.ResumenImportacion resumen = ejecutar(() ->
+            new ImportadorStreaming(new PostulanteDAO()).importar(iso.getPath(), null));
+        LectorFechas mezcla = resumen.getFechas();
+        Map<String, Long> porFormato = mezcla.getPorFormato();
+        long totalFechas = 3L * nacimientos.size();
+        fallidos += verificar("yyyy-MM-dd".equals(mezcla.getFormatoDominante())
+                && porFormato.getOrDefault("dd/MM/yyyy", 0L) == sueltas
+                && porFormato.getOrDefault("yyyy-MM-dd", 0L) == totalFechas - sueltas
+                && mezcla.getNoReconocidas() == 0,
+            "Resumen de importación: " + mezcla);
+        
+        List<Postulante> guardados = ejecutar(() -> new PostulanteDAO().obtenerTodos());
+        List<Postulante> secuencial = ejecutar(() -> ExcelUtils.importarPostulantesDesdeExcel(iso.getPath(), 1));
+        List<Postulante> paralelo = ejecutar(() -> ExcelUtils.importarPostulantesDesdeExcel(iso.getPath(), 4));
+        boolean mismasFechas = guardados.size() == nacimientos.size() && secuencial.size() == paralelo.size();
+        for (Postulante p : guardados) {
+            mismasFechas &= nacimientos.get(p.getCodigo()) == p.getFecNacDia();
+        }
+        for (int i = 0; mismasFechas && i < secuencial.size(); i++) {
+            Postulante a = secuencial.get(i);
+            Postulante b = paralelo.get(i);
+            mismasFechas = a.getFecNacDia() == b.getFecNacDia() && a.getInscripcionDia() == b.getInscripcionDia()
+                && a.getFechaEgresoColegioDia() == b.getFechaEgresoColegioDia()
+                && nacimientos.get(a.getCodigo()) == a.getFecNacDia();
+        }
+        fallidos += verificar(mismasFechas, String.format(
+            "%,d postulantes importados con las fechas del archivo; lectura paralela igual a la secuencial",
+            guardados.size()));
+        
+        System.out.println(fallidos == 0 ? "✅ Lector de fechas correcto" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    /**
+     * Textos en el formato dominante (95%), en otros formatos y algunos inválidos
+     */
+    private static List<String> generarTextos(Random random, String patron, int cantidad) {
+        String[] otros = {"dd/MM/yyyy", "d-M-yyyy", "yyyy-MM-dd", "yyyy/M/d", "dd.MM.yyyy", "dd/MM/yy", "yy-MM-dd"};
+        String[] raros = {"hola", "15/enero/2025", "2025-01-15T10:00", "+5/01/2025", "0015/01/2025",
+            "1234567890/1/2020", "15/01/2025 08:30", "31/02/2020", "15-01/2025", "15/01/", "2025", "15/01/2025123456789"};
+        DateTimeFormatter dominante = DateTimeFormatter.ofPattern(patron.replace("yyyy", "uuuu").replace("yy", "uu"));
+        List<String> textos = new ArrayList<>(cantidad);
+        while (textos.size() < cantidad) {
+            int caso = random.nextInt(100);
+            if (caso == 0) {
+                textos.add(raros[random.nextInt(raros.length)]);
+                continue;
+            }
+            // Fechas entre 1880 y 2040: algunas quedan fuera del rango aceptado
+            LocalDate fecha = LocalDate.of(1880 + random.nextInt(160), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            DateTimeFormatter formato = caso < 96 ? dominante : DateTimeFormatter.ofPattern(
+                otros[random.nextInt(otros.length)].replace("yyyy", "uuuu").replace("yy", "uu"));
+            textos.add(formato.format(fecha));
+        }
+        return textos;
+    }
+    
+    private static double medir(String[] fechas, java.util.function.ToIntFunction<String> parser) {
+        long inicio = System.nanoTime();
+        long suma = 0;
+        for (String fecha : fechas) {
+            suma += parser.applyAsInt(fecha);
+        }
+        double ms = (System.nanoTime() - inicio) / 1e6;
+        return suma == 42 ? ms + 1 : ms;
+    }
+    
+    private static <T> T ejecutar(Callable<T> accion) throws Exception {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return accion.call();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static void silencioso(Runnable accion) throws Exception {
+        ejecutar(() -> {
+            accion.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Bytes que reserva este hilo al leer las fechas (después de una pasada de calentamiento)
+     */
+    private static long bytesReservados(com.sun.management.ThreadMXBean memoria, String[] textos,
+                                        java.util.function.ToIntFunction<String> parseo) {
+        long control = 0;
+        for (String texto : textos) {
+            control += parseo.applyAsInt(texto);
+        }
+        long antes = memoria.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (String texto : textos) {
+            control += parseo.applyAsInt(texto);
+        }
+        long bytes = memoria.getThreadAllocatedBytes(Thread.currentThread().getId()) - antes;
+        return control == Long.MIN_VALUE ? -1 : bytes; // control evita que se descarte el bucle
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
@@ -0,0 +1,204 @@
+package main;
+
+import model.Fechas;
+import model.Postulante;
+import util.ExcelUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Prueba del lector nativo de .xlsx con un libro armado a mano
+ * - Textos compartidos, con formato enriquecido (varios <r>) y con guía
+ *   fonética (<rPh>, que no forma parte del valor)
+ * - Textos en línea (inlineStr) simples y enriquecidos, y fórmulas de texto
+ * - Fechas reconocidas por el estilo de la celda: formato integrado (14) y
+ *   propio (yyyy-mm-dd); los formatos con "d" entre comillas o [Color] no
+ *   son fechas
+ * - Números en notación científica (DNI) y celdas sin referencia r
+ * - La hoja se ubica por las relaciones del libro, no por su nombre de archivo
+ * - Una celda inválida omite su fila y se informa con coordenadas (Postulantes!C15)
+ * @author joe-696
+ */
+public class TestLectorXLSX {
+    
+    private static final String NS_HOJA = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_RELACIONES = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DEL LECTOR XLSX ===");
+        int fallidos = 0;
+        
+        File archivo = File.createTempFile("lector_xlsx", ".xlsx");
+        archivo.deleteOnExit();
+        escribirLibro(archivo, partesDelLibro());
+        
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        List<Postulante> postulantes = importar(archivo, errores);
+        String mensajes = errores.toString(StandardCharsets.UTF_8);
+        
+        fallidos += verificar(postulantes.size() == 4, "Filas importadas: " + postulantes.size() + " de 6 (2 inválidas)");
+        if (postulantes.size() != 4) {
+            System.out.println(mensajes);
+            System.exit(1);
+        }
+        Postulante enriquecido = postulantes.get(0);
+        Postulante enLinea = postulantes.get(1);
+        Postulante fonetico = postulantes.get(2);
+        Postulante sinReferencias = postulantes.get(3);
+        
+        // Textos compartidos
+        fallidos += verificar("PEREZ ROJAS ANA".equals(enriquecido.getApellidosNombres())
+            && "INGENIERIA CIVIL".equals(enriquecido.getOpcion1()),
+            "Texto compartido enriquecido: '" + enriquecido.getApellidosNombres() + "', '" + enriquecido.getOpcion1() + "'");
+        fallidos += verificar("MUÑOZ LUIS".equals(fonetico.getApellidosNombres()),
+            "Texto compartido con guía fonética: '" + fonetico.getApellidosNombres() + "'");
+        fallidos += verificar("A & B <C>".equals(enLinea.getOpcion1()),
+            "Entidades XML en textos compartidos: '" + enLinea.getOpcion1() + "'");
+        
+        // Textos en línea y fórmulas
+        fallidos += verificar("20240002".equals(enLinea.getCodigo()) && "GARCIA LUZ".equals(enLinea.getApellidosNombres()),
+            "Texto en línea enriquecido: " + enLinea.getCodigo() + " '" + enLinea.getApellidosNombres() + "'");
+        fallidos += verificar("EXONERADO".equals(fonetico.getModalidad()),
+            "Fórmula de texto toma el valor calculado: '" + fonetico.getModalidad() + "'");
+        
+        // Números
+        fallidos += verificar("20240001".equals(enriquecido.getCodigo()) && "71234567".equals(enriquecido.getDni()),
+            "Números sin decimales ni notación científica: código " + enriquecido.getCodigo()
+            + ", DNI " + enriquecido.getDni());
+        
+        // Fechas por estilo
+        int inscripcion = Fechas.dia(LocalDate.of(2024, 1, 1));
+        int nacimiento = Fechas.dia(LocalDate.of(2001, 1, 1));
+        fallidos += verificar(enriquecido.getInscripcionDia() == inscripcion,
+            "Fecha con formato integrado 14: " + Fechas.formatear(enriquecido.getInscripcionDia()));
+        fallidos += verificar(enriquecido.getFecNacDia() == nacimiento,
+            "Fecha con formato propio yyyy-mm-dd: " + Fechas.formatear(enriquecido.getFecNacDia()));
+        fallidos += verificar(enriquecido.getNotaAC() == 15.5 && enriquecido.getNotaCO() == 12.0,
+            "Notas sin estilo: " + enriquecido.getNotaAC() + " / " + enriquecido.getNotaCO());
+        fallidos += verificar(enLinea.getNotaAC() == 14.0 && enLinea.getNotaCO() == 16.0,
+            "Formatos 0\" dias\" y [Red]0 no son fechas: " + enLinea.getNotaAC() + " / " + enLinea.getNotaCO());
+        
+        // Celdas sin referencia y errores con coordenadas
+        fallidos += verificar("20240017".equals(sinReferencias.getCodigo())
+            && "SIN REFERENCIAS".equals(sinReferencias.getApellidosNombres())
+            && "ADMINISTRACION".equals(sinReferencias.getOpcion1()),
+            "Celdas sin atributo r se ubican en orden: " + sinReferencias.getCodigo() + " '"
+            + sinReferencias.getApellidosNombres() + "' '" + sinReferencias.getOpcion1() + "'");
+        fallidos += verificar(mensajes.contains("Celda Postulantes!C15") && mensajes.contains("#N/A"),
+            "Error de Excel informado en Postulantes!C15");
+        fallidos += verificar(mensajes.contains("Celda Postulantes!A16") && mensajes.contains("fuera de rango"),
+            "Índice de texto compartido inválido informado en Postulantes!A16");
+        fallidos += verificar(mensajes.contains("Fila omitida por celdas inválidas: Postulantes!A15"),
+            "La fila con la celda inválida se omite completa");
+        
+        System.out.println(fallidos == 0 ? "✅ El lector XLSX interpreta el libro completo" : "❌ Casos fallidos: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    /**
+     * Partes del libro: la hoja "Postulantes" está en hoja_datos.xml y solo
+     * se llega a ella por workbook.xml.rels
+     */
+    private static Map<String, String> partesDelLibro() {
+        Map<String, String> partes = new LinkedHashMap<>();
+        partes.put("[Content_Types].xml", xml("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/></Types>"));
+        partes.put("xl/workbook.xml", xml("<workbook xmlns=\"" + NS_HOJA + "\" xmlns:r=\"" + NS_RELACIONES + "\"><sheets>"
+            + "<sheet name=\"Postulantes\" sheetId=\"1\" r:id=\"rId7\"/>"
+            + "<sheet name=\"Resumen\" sheetId=\"2\" r:id=\"rId8\"/></sheets></workbook>"));
+        partes.put("xl/_rels/workbook.xml.rels", xml("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId8\" Type=\"" + NS_RELACIONES + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+            + "<Relationship Id=\"rId7\" Type=\"" + NS_RELACIONES + "/worksheet\" Target=\"worksheets/hoja_datos.xml\"/>"
+            + "</Relationships>"));
+        partes.put("xl/sharedStrings.xml", xml("<sst xmlns=\"" + NS_HOJA + "\" count=\"6\" uniqueCount=\"6\">"
+            + "<si><t>CODIGO</t></si>"
+            + "<si><t>APELLIDOS_NOMBRES</t></si>"
+            + "<si><t>INGENIERIA CIVIL</t></si>"
+            + "<si><r><t xml:space=\"preserve\">PEREZ </t></r><r><rPr><b/></rPr><t>ROJAS ANA</t></r></si>"
+            + "<si><t>MUÑOZ LUIS</t><rPh sb=\"0\" eb=\"5\"><t>ムニョス</t></rPh><phoneticPr fontId=\"1\"/></si>"
+            + "<si><t>A &amp; B &lt;C&gt;</t></si>"
+            + "</sst>"));
+        partes.put("xl/styles.xml", xml("<styleSheet xmlns=\"" + NS_HOJA + "\">"
+            + "<numFmts count=\"3\">"
+            + "<numFmt numFmtId=\"165\" formatCode=\"yyyy\\-mm\\-dd\"/>"
+            + "<numFmt numFmtId=\"166\" formatCode=\"0&quot; dias&quot;\"/>"
+            + "<numFmt numFmtId=\"167\" formatCode=\"[Red]0\"/>"
+            + "</numFmts>"
+            + "<cellXfs count=\"5\">"
+            + "<xf numFmtId=\"0\"/><xf numFmtId=\"14\"/><xf numFmtId=\"165\"/><xf numFmtId=\"166\"/><xf numFmtId=\"167\"/>"
+            + "</cellXfs></styleSheet>"));
+        partes.put("xl/worksheets/sheet1.xml", xml("<worksheet xmlns=\"" + NS_HOJA + "\"><sheetData>"
+            + "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>NO ES LA PRIMERA HOJA</t></is></c></row>"
+            + "</sheetData></worksheet>"));
+        partes.put("xl/worksheets/hoja_datos.xml", xml("<worksheet xmlns=\"" + NS_HOJA + "\"><sheetData>"
+            + "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c></row>"
+            // Compartidos, DNI en notación científica y fechas por estilo
+            + "<row r=\"2\"><c r=\"A2\"><v>20240001</v></c><c r=\"B2\" t=\"s\"><v>3</v></c>"
+            + "<c r=\"C2\" t=\"s\"><v>2</v></c><c r=\"F2\"><v>7.1234567E7</v></c>"
+            + "<c r=\"H2\" s=\"1\"><v>45292</v></c><c r=\"X2\" s=\"2\"><v>36892</v></c>"
+            + "<c r=\"Y2\"><v>15.5</v></c><c r=\"Z2\"><v>12</v></c></row>"
+            // En línea enriquecido y formatos numéricos que no son fechas
+            + "<row r=\"3\"><c r=\"A3\" t=\"inlineStr\"><is><t>20240002</t></is></c>"
+            + "<c r=\"B3\" t=\"inlineStr\"><is><r><t xml:space=\"preserve\">GARCIA </t></r><r><rPr><i/></rPr><t>LUZ</t></r></is></c>"
+            + "<c r=\"C3\" t=\"s\"><v>5</v></c>"
+            + "<c r=\"Y3\" s=\"3\"><v>14</v></c><c r=\"Z3\" s=\"4\"><v>16</v></c></row>"
+            // Guía fonética y fórmula de texto
+            + "<row r=\"4\"><c r=\"A4\" t=\"inlineStr\"><is><t>20240003</t></is></c><c r=\"B4\" t=\"s\"><v>4</v></c>"
+            + "<c r=\"E4\" t=\"str\"><f>UPPER(\"exonerado\")</f><v>EXONERADO</v></c></row>"
+            // Celdas inválidas
+            + "<row r=\"15\"><c r=\"A15\" t=\"inlineStr\"><is><t>20240015</t></is></c>"
+            + "<c r=\"B15\" t=\"inlineStr\"><is><t>CON ERROR</t></is></c><c r=\"C15\" t=\"e\"><v>#N/A</v></c></row>"
+            + "<row r=\"16\"><c r=\"A16\" t=\"s\"><v>99</v></c><c r=\"B16\" t=\"inlineStr\"><is><t>SIN TEXTO</t></is></c></row>"
+            // Sin atributos r en las celdas
+            + "<row r=\"17\"><c t=\"inlineStr\"><is><t>20240017</t></is></c><c t=\"inlineStr\"><is><t>SIN REFERENCIAS</t></is></c>"
+            + "<c t=\"inlineStr\"><is><t>ADMINISTRACION</t></is></c></row>"
+            + "</sheetData></worksheet>"));
+        return partes;
+    }
+    
+    private static String xml(String contenido) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" + contenido;
+    }
+    
+    private static void escribirLibro(File archivo, Map<String, String> partes) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archivo))) {
+            for (Map.Entry<String, String> parte : partes.entrySet()) {
+                zip.putNextEntry(new ZipEntry(parte.getKey()));
+                zip.write(parte.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+    
+    /**
+     * Importar sin mensajes en consola, guardando los errores para revisarlos
+     */
+    private static List<Postulante> importar(File archivo, ByteArrayOutputStream errores) {
+        PrintStream consola = System.out;
+        PrintStream error = System.err;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setErr(new PrintStream(errores, true, StandardCharsets.UTF_8));
+        try {
+            return ExcelUtils.importarPostulantesDesdeExcel(archivo.getAbsolutePath());
+        } finally {
+            System.setOut(consola);
+            System.setErr(error);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
@@ -0,0 +1,128 @@
+package main;
+
+import util.MigradorEsquema;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Prueba de las migraciones versionadas del esquema
+ * - Base nueva: se aplican todas las versiones y los planes usan los índices
+ * - Segunda ejecución: no se aplica nada
+ * - Base creada por versiones anteriores (sin schema_version): se conservan
+ *   los datos y las carreras, y se agregan los índices
+ * - Mide un conteo por primera opción antes y después de los índices
+ * @author joe-696
+ */
+public class TestMigracionesEsquema {
+    
+    private static final int POSTULANTES_ANTIGUOS = 200_000;
+    private static final int REPETICIONES_CONTEO = 50;
+    
+    public static void main(String[] args) throws SQLException {
+        System.out.println("=== TEST DE MIGRACIONES DEL ESQUEMA ===");
+        int fallidos = 0;
+        
+        // 1. Base nueva
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:migracion_nueva", "sa", "")) {
+            int aplicadas = MigradorEsquema.migrar(conn);
+            fallidos += verificar(aplicadas == MigradorEsquema.getMigraciones().size(),
+                "Base nueva: " + aplicadas + " migraciones aplicadas");
+            fallidos += verificar(MigradorEsquema.versionActual(conn) == MigradorEsquema.versionMasReciente(),
+                "Base nueva en la versión " + MigradorEsquema.versionActual(conn));
+            fallidos += verificar(contar(conn, "SELECT COUNT(*) FROM carreras") == 14,
+                "Carreras por defecto insertadas");
+            fallidos += verificar(MigradorEsquema.revisarPlanes(conn).isEmpty(),
+                "Todas las consultas revisadas usan su índice");
+            
+            // 2. Segunda ejecución
+            fallidos += verificar(MigradorEsquema.migrar(conn) == 0, "Segunda ejecución sin migraciones pendientes");
+            fallidos += verificar(contar(conn, "SELECT COUNT(*) FROM carreras") == 14, "Las carreras no se duplican");
+        }
+        
+        // 3. Base de una versión anterior del programa
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:migracion_antigua", "sa", "")) {
+            crearEsquemaAntiguo(conn);
+            double antes = medirConteoPorCarrera(conn);
+            fallidos += verificar(MigradorEsquema.revisarPlanes(conn).size() == 5,
+                "La revisión de planes detecta los 5 índices que faltan");
+            
+            int aplicadas = MigradorEsquema.migrar(conn);
+            double despues = medirConteoPorCarrera(conn);
+            
+            fallidos += verificar(aplicadas == MigradorEsquema.getMigraciones().size(),
+                "Base antigua adoptada: " + aplicadas + " migraciones registradas");
+            fallidos += verificar(contar(conn, "SELECT COUNT(*) FROM postulantes") == POSTULANTES_ANTIGUOS,
+                "Postulantes conservados");
+            fallidos += verificar(contar(conn, "SELECT COUNT(*) FROM carreras") == 1,
+                "Carreras existentes sin las carreras por defecto");
+            fallidos += verificar(MigradorEsquema.revisarPlanes(conn).isEmpty(),
+                "Planes con índices en la base antigua");
+            System.out.printf("⏱️ COUNT(*) por primera opción sobre %,d filas: %.2f ms sin índice, %.3f ms con índice%n",
+                POSTULANTES_ANTIGUOS, antes, despues);
+        }
+        
+        System.out.println(fallidos == 0 ? "✅ Todas las verificaciones pasaron" : "❌ Verificaciones fallidas: " + fallidos);
+    }
+    
+    /**
+     * Tablas como las creaba DatabaseConnection antes de las migraciones
+     */
+    private static void crearEsquemaAntiguo(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE carreras (
+                    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+                    nombre VARCHAR(200) UNIQUE NOT NULL,
+                    activa BOOLEAN DEFAULT TRUE,
+                    fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+            stmt.execute("INSERT INTO carreras (nombre) VALUES ('AGRONOMÍA')");
+            stmt.execute("""
+                CREATE TABLE postulantes (
+                    codigo VARCHAR(20) PRIMARY KEY,
+                    apellidos_nombres VARCHAR(200) NOT NULL,
+                    opcion1 VARCHAR(100),
+                    opcion2 VARCHAR(100),
+                    modalidad VARCHAR(50),
+                    dni VARCHAR(8) UNIQUE,
+                    nota_final DECIMAL(4,2) DEFAULT 0.00,
+                    estado_academico VARCHAR(20) DEFAULT 'POSTULANTE'
+                )
+                """);
+            stmt.execute("INSERT INTO postulantes (codigo, apellidos_nombres, opcion1, opcion2, modalidad, dni, nota_final) "
+                + "SELECT 'P' || LPAD(X, 9, '0'), 'POSTULANTE ' || X, 'CARRERA ' || MOD(X, 40), 'CARRERA ' || MOD(X * 7, 40), "
+                + "'ORDINARIO', LPAD(X, 8, '0'), MOD(X, 2001) / 100.0 FROM SYSTEM_RANGE(1, " + POSTULANTES_ANTIGUOS + ")");
+        }
+    }
+    
+    private static double medirConteoPorCarrera(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM postulantes WHERE opcion1 = ?")) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < REPETICIONES_CONTEO; i++) {
+                pstmt.setString(1, "CARRERA " + (i % 40));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    rs.next();
+                }
+            }
+            return (System.nanoTime() - inicio) / 1e6 / REPETICIONES_CONTEO;
+        }
+    }
+    
+    private static int contar(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
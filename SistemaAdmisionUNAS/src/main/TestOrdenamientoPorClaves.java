@@ -0,0 +1,137 @@
+package main;
+
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import util.OrdenadorPostulantes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Prueba por propiedades de OrdenadorPostulantes: en listas al azar con muchos
+ * empates debe dar exactamente el mismo orden que List.sort con
+ * AlgoritmoAdmision.compararPostulantes; luego mide ambos con 1M postulantes
+ * @author joe-696
+ */
+public class TestOrdenamientoPorClaves {
+    
+    private static final int CASOS = 2_000;
+    private static final int TAMANIO_MAXIMO = 3_000;
+    private static final int TAMANIO_RENDIMIENTO = 1_000_000;
+    private static final int REPETICIONES = 3;
+    
+    private static final long DIA = 86_400_000L;
+    private static final long BASE = 946_684_800_000L; // 01/01/2000
+    
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE ORDENAMIENTO POR CLAVES PRIMITIVAS ===");
+        
+        // 1. Propiedad: mismo orden que el comparador original
+        Random random = new Random(2025);
+        int fallidos = 0;
+        for (int caso = 0; caso < CASOS; caso++) {
+            // Variar qué tan repetidos son los valores y qué fechas faltan
+            int variedad = 1 + random.nextInt(caso % 3 == 0 ? 3 : 40);
+            int fechasNulas = random.nextInt(3); // 0 ninguna, 1 nacimiento, 2 inscripción
+            List<Postulante> postulantes = generar(random, random.nextInt(TAMANIO_MAXIMO + 1), variedad, fechasNulas);
+            
+            if (!mismoOrden(postulantes)) {
+                fallidos++;
+                System.err.println("❌ Caso " + caso + ": " + postulantes.size() + " postulantes, variedad "
+                    + variedad + ", fechas nulas " + fechasNulas);
+            }
+        }
+        
+        // Casos límite: puntajes con -0.0, NaN e infinitos
+        List<Postulante> especiales = generar(random, 500, 5, 0);
+        double[] valores = {-0.0, 0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 11.0};
+        for (Postulante p : especiales) {
+            p.setNotaAC(valores[random.nextInt(valores.length)]);
+            p.setNotaCO(valores[random.nextInt(valores.length)]);
+            p.setPuntajeFinal(p.getNotaAC() + p.getNotaCO());
+        }
+        if (!mismoOrden(especiales)) {
+            fallidos++;
+            System.err.println("❌ Caso con valores especiales");
+        }
+        
+        // Modo paralelo: varios bloques y niveles de mezcla repartidos en un pool
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int tamanio : new int[] {100_000, 250_001}) {
+                List<Postulante> postulantes = generar(random, tamanio, 30, 0);
+                if (!Arrays.equals(OrdenadorPostulantes.ordenar(postulantes), OrdenadorPostulantes.ordenar(postulantes, pool, 4))
+                        || !mismoOrden(postulantes)) {
+                    fallidos++;
+                    System.err.println("❌ Caso paralelo con " + tamanio + " postulantes");
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        System.out.println(fallidos == 0
+            ? "✅ Mismo orden que compararPostulantes en " + (CASOS + 3) + " casos"
+            : "❌ Casos con orden distinto: " + fallidos);
+        
+        // 2. Tiempos con 1M postulantes
+        List<Postulante> grandes = generar(new Random(42), TAMANIO_RENDIMIENTO, 200, 0);
+        long comparador = Long.MAX_VALUE;
+        long claves = Long.MAX_VALUE;
+        for (int r = 0; r < REPETICIONES; r++) {
+            List<Postulante> copia = new ArrayList<>(grandes);
+            long inicio = System.nanoTime();
+            copia.sort(AlgoritmoAdmision::compararPostulantes);
+            comparador = Math.min(comparador, System.nanoTime() - inicio);
+            
+            inicio = System.nanoTime();
+            OrdenadorPostulantes.ordenar(grandes);
+            claves = Math.min(claves, System.nanoTime() - inicio);
+        }
+        
+        System.out.printf("⏱️ compararPostulantes   %,d postulantes: %8.1f ms%n", TAMANIO_RENDIMIENTO, comparador / 1e6);
+        System.out.printf("⏱️ OrdenadorPostulantes  %,d postulantes: %8.1f ms (%.1fx)%n",
+            TAMANIO_RENDIMIENTO, claves / 1e6, (double) comparador / claves);
+    }
+    
+    private static boolean mismoOrden(List<Postulante> postulantes) {
+        List<Postulante> esperado = new ArrayList<>(postulantes);
+        esperado.sort(AlgoritmoAdmision::compararPostulantes);
+        Postulante[] obtenido = OrdenadorPostulantes.ordenar(postulantes);
+        
+        for (int i = 0; i < obtenido.length; i++) {
+            if (obtenido[i] != esperado.get(i)) {
+                return false;
+            }
+        }
+        return obtenido.length == esperado.size();
+    }
+    
+    /**
+     * Postulantes con notas, nacimiento e inscripción tomados de "variedad"
+     * valores posibles (pocos valores = muchos empates); algunos con curva aplicada
+     */
+    private static List<Postulante> generar(Random random, int n, int variedad, int fechasNulas) {
+        List<Postulante> postulantes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Postulante p = new Postulante(String.valueOf(i), "POSTULANTE " + i, "CARRERA", "ORDINARIO",
+                String.format("%08d", i));
+            p.setNotaAC(10.0 * random.nextInt(variedad) / variedad);
+            p.setNotaCO(10.0 * random.nextInt(variedad) / variedad);
+            if (random.nextInt(10) == 0) {
+                p.setPuntajeFinal(p.getNotaFinal() + 0.5 * (1 + random.nextInt(4)));
+            }
+            if (fechasNulas != 1) {
+                p.setFecNac(new Date(BASE - random.nextInt(variedad) * 30 * DIA));
+            }
+            if (fechasNulas != 2) {
+                p.setInscripcion(new Date(BASE + random.nextInt(variedad) * DIA));
+            }
+            postulantes.add(p);
+        }
+        return postulantes;
+    }
+}
@@ -0,0 +1,229 @@
+package main;
+
+import util.PoolConexiones;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Prueba del pool de conexiones con varios hilos prestando y devolviendo
+ * - Nunca hay más conexiones prestadas que el máximo y, al agotarse, se
+ *   espera hasta tiempoEsperaMaxMs y luego falla
+ * - Una conexión inactiva que dejó de ser válida se descarta al prestarla
+ * - Al devolverla se deshace lo pendiente y se restauran autocommit y readOnly
+ * - Las inactivas se desalojan hasta minimoInactivas y los préstamos largos
+ *   se reportan como fugas
+ * - Las métricas cuentan préstamos, esperas, timeouts, creadas y descartadas
+ * @author joe-696
+ */
+public class TestPoolConexiones {
+    
+    private static final String URL = "jdbc:h2:mem:pool_conexiones;DB_CLOSE_DELAY=-1";
+    private static final int MAXIMO = 4;
+    private static final int HILOS = 16;
+    private static final int PRESTAMOS_POR_HILO = 200;
+    private static final long ESPERA_MAX_MS = 300;
+    
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TEST DEL POOL DE CONEXIONES ===");
+        int fallidos = 0;
+        
+        // Tiempos largos de inactividad y fuga: el mantenimiento no interviene aquí
+        PoolConexiones pool = new PoolConexiones(URL, "sa", "", MAXIMO, 1, 60_000, 60_000, ESPERA_MAX_MS);
+        try (Connection conn = pool.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE prueba (id INT PRIMARY KEY)");
+        }
+        
+        // 1. Varios hilos prestando y devolviendo sin pasar el máximo
+        AtomicInteger enUso = new AtomicInteger();
+        AtomicInteger maximoEnUso = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            tareas.add(hilos.submit(() -> {
+                for (int i = 0; i < PRESTAMOS_POR_HILO; i++) {
+                    try (Connection conn = pool.getConnection()) {
+                        maximoEnUso.accumulateAndGet(enUso.incrementAndGet(), Math::max);
+                        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT 1")) {
+                            rs.next();
+                        }
+                        enUso.decrementAndGet();
+                    } catch (SQLException e) {
+                        errores.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        hilos.shutdown();
+        
+        PoolConexiones.Metricas metricas = pool.getMetricas();
+        fallidos += verificar(maximoEnUso.get() <= MAXIMO && errores.get() == 0,
+            HILOS + " hilos x " + PRESTAMOS_POR_HILO + " préstamos: máximo " + maximoEnUso.get()
+            + " en uso a la vez (límite " + MAXIMO + "), " + errores.get() + " errores");
+        fallidos += verificar(metricas.getPrestamosTotales() == 1 + HILOS * PRESTAMOS_POR_HILO
+            && metricas.getActivas() == 0 && metricas.getConexionesCreadas() <= MAXIMO,
+            "Métricas: " + metricas.getPrestamosTotales() + " préstamos, " + metricas.getActivas()
+            + " activas, " + metricas.getConexionesCreadas() + " creadas");
+        
+        // 2. Pool agotado: un hilo espera y recibe la conexión devuelta; otro agota el tiempo
+        List<Connection> tomadas = new ArrayList<>();
+        for (int i = 0; i < MAXIMO; i++) {
+            tomadas.add(pool.getConnection());
+        }
+        CountDownLatch pidiendo = new CountDownLatch(1);
+        Thread esperando = new Thread(() -> {
+            pidiendo.countDown();
+            try (Connection conn = pool.getConnection()) {
+                conn.isValid(1);
+            } catch (SQLException e) {
+                errores.incrementAndGet();
+            }
+        });
+        esperando.start();
+        pidiendo.await();
+        while (pool.getMetricas().getHilosEsperando() == 0 && esperando.isAlive()) {
+            Thread.sleep(1);
+        }
+        int hilosEsperando = pool.getMetricas().getHilosEsperando();
+        Thread.sleep(100);
+        tomadas.remove(0).close();
+        esperando.join();
+        metricas = pool.getMetricas();
+        fallidos += verificar(hilosEsperando == 1 && errores.get() == 0 && metricas.getEsperaMaximaMs() >= 90,
+            "Pool agotado: " + hilosEsperando + " hilo esperando, recibe la conexión devuelta tras "
+            + String.format("%.0f", metricas.getEsperaMaximaMs()) + " ms");
+        
+        tomadas.add(pool.getConnection());
+        long inicio = System.nanoTime();
+        String mensaje = null;
+        try (Connection conn = pool.getConnection()) {
+            conn.isValid(1);
+        } catch (SQLException e) {
+            mensaje = e.getMessage();
+        }
+        long esperaMs = (System.nanoTime() - inicio) / 1_000_000;
+        fallidos += verificar(mensaje != null && esperaMs >= ESPERA_MAX_MS - 10
+            && pool.getMetricas().getTimeoutsEspera() == 1,
+            "Sin conexiones libres falla tras " + esperaMs + " ms: " + mensaje);
+        for (Connection conn : tomadas) {
+            conn.close();
+        }
+        
+        // 3. Una inactiva cerrada por debajo del pool se descarta al prestarla
+        long creadas = pool.getMetricas().getConexionesCreadas();
+        long descartadas = pool.getMetricas().getConexionesDescartadas();
+        Connection fisica;
+        try (Connection conn = pool.getConnection()) {
+            fisica = conn.unwrap(Connection.class);
+        }
+        fisica.close(); // Queda primera en la lista de inactivas, pero ya no sirve
+        boolean valida;
+        try (Connection conn = pool.getConnection()) {
+            valida = conn.isValid(1) && conn.unwrap(Connection.class) != fisica;
+        }
+        fallidos += verificar(valida && pool.getMetricas().getConexionesDescartadas() == descartadas + 1
+            && pool.getMetricas().getConexionesCreadas() <= creadas + 1,
+            "Inactiva inválida descartada al prestar y reemplazada por una válida");
+        
+        // 4. Devolver deshace lo pendiente y restaura autocommit y readOnly
+        Connection sucia = pool.getConnection();
+        Connection fisicaSucia = sucia.unwrap(Connection.class);
+        sucia.setAutoCommit(false);
+        try (Statement st = sucia.createStatement()) {
+            st.executeUpdate("INSERT INTO prueba VALUES (1)");
+        }
+        sucia.setReadOnly(true);
+        sucia.close();
+        boolean usoTrasDevolver = false;
+        try {
+            sucia.createStatement();
+        } catch (SQLException e) {
+            usoTrasDevolver = true;
+        }
+        boolean restaurada;
+        int filas;
+        try (Connection conn = pool.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM prueba")) {
+            rs.next();
+            filas = rs.getInt(1);
+            restaurada = conn.unwrap(Connection.class) == fisicaSucia && conn.getAutoCommit() && !conn.isReadOnly();
+        }
+        fallidos += verificar(filas == 0 && restaurada,
+            "Devuelta con INSERT sin commit: " + filas + " filas, misma conexión con autocommit y escritura");
+        fallidos += verificar(usoTrasDevolver, "Usar la conexión después de close() lanza SQLException");
+        pool.cerrar();
+        
+        // 5. Desalojo de inactivas y detección de fugas por el mantenimiento
+        PoolConexiones corto = new PoolConexiones(URL, "sa", "", MAXIMO, 1, 200, 400, ESPERA_MAX_MS);
+        List<Connection> prestadas = new ArrayList<>();
+        for (int i = 0; i < MAXIMO; i++) {
+            prestadas.add(corto.getConnection());
+        }
+        for (Connection conn : prestadas) {
+            conn.close();
+        }
+        int inactivasAntes = corto.getMetricas().getInactivas();
+        esperarHasta(() -> corto.getMetricas().getInactivas() == 1, 3000);
+        metricas = corto.getMetricas();
+        fallidos += verificar(inactivasAntes == MAXIMO && metricas.getInactivas() == 1
+            && metricas.getConexionesDescartadas() == MAXIMO - 1,
+            "Desalojo: " + inactivasAntes + " inactivas bajan a " + metricas.getInactivas()
+            + " (mínimo 1), " + metricas.getConexionesDescartadas() + " descartadas");
+        
+        PrintStream errorOriginal = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        try (Connection retenida = corto.getConnection()) {
+            Thread.sleep(200);
+            boolean sinFugaAntes = corto.getMetricas().getFugasDetectadas() == 0;
+            esperarHasta(() -> corto.getMetricas().getFugasDetectadas() > 0, 3000);
+            Thread.sleep(300); // Un préstamo se reporta una sola vez
+            fallidos += verificar(sinFugaAntes && corto.getMetricas().getFugasDetectadas() == 1,
+                "Préstamo retenido más de 400 ms reportado como fuga una sola vez");
+        } finally {
+            System.setErr(errorOriginal);
+        }
+        corto.cerrar();
+        
+        boolean rechazada = false;
+        try {
+            corto.getConnection();
+        } catch (SQLException e) {
+            rechazada = true;
+        }
+        fallidos += verificar(rechazada && corto.isCerrado(), "Pool cerrado rechaza nuevos préstamos");
+        
+        System.out.println(fallidos == 0 ? "✅ El pool respeta el límite, restaura y limpia sus conexiones"
+            : "❌ Casos fallidos: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    private static void esperarHasta(BooleanSupplier condicion, long maximoMs)
+            throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maximoMs);
+        while (!condicion.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
@@ -0,0 +1,213 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Carrera;
+import model.Catalogo;
+import model.Postulante;
+import util.GeneradorPostulantes;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Prueba de Postulante compacto (textos repetidos en el Catalogo)
+ * - Varios hilos registrando los mismos textos obtienen los mismos ids
+ * - Carga 500k postulantes desde una H2 en archivo (cada getString es un String
+ *   nuevo) y mide la memoria de la lista y la de las copias que guardaba antes
+ *   cada postulante de carreras, modalidad, estado, sexo y estado civil
+ * - Todos los postulantes comparten una instancia por texto y comparar ids
+ *   equivale a comparar los textos
+ * Uso: TestPostulanteCompacto [cantidad]
+ * @author joe-696
+ */
+public class TestPostulanteCompacto {
+    
+    private static final int NUM_CARRERAS = 40;
+    private static final int HILOS = 8;
+    private static final int TEXTOS_CONCURRENTES = 5_000;
+    
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 500_000;
+        File base = new File(System.getProperty("java.io.tmpdir"), "admision_compacto");
+        new File(base.getPath() + ".mv.db").delete();
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:" + base.getAbsolutePath());
+        }
+        System.out.println("=== TEST DE POSTULANTE COMPACTO ===");
+        int fallidos = 0;
+        
+        // 1. Registro concurrente en el Catalogo
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<int[]>> resultados = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            int desplazamiento = h * 611;
+            resultados.add(hilos.submit(() -> {
+                int[] ids = new int[TEXTOS_CONCURRENTES];
+                for (int i = 0; i < TEXTOS_CONCURRENTES; i++) {
+                    int texto = (i + desplazamiento) % TEXTOS_CONCURRENTES;
+                    ids[texto] = Catalogo.TEXTOS.id("PRUEBA-" + texto);
+                }
+                return ids;
+            }));
+        }
+        int[] primeros = resultados.get(0).get();
+        boolean mismosIds = true;
+        for (Future<int[]> resultado : resultados) {
+            mismosIds &= Arrays.equals(primeros, resultado.get());
+        }
+        hilos.shutdown();
+        for (int i = 0; i < TEXTOS_CONCURRENTES; i++) {
+            mismosIds &= ("PRUEBA-" + i).equals(Catalogo.TEXTOS.texto(primeros[i]));
+        }
+        fallidos += verificar(mismosIds, String.format("%d hilos registrando %,d textos: mismos ids en todos", HILOS, TEXTOS_CONCURRENTES));
+        
+        // 2. Carga de postulantes desde la base
+        PostulanteDAO dao = new PostulanteDAO();
+        GeneradorPostulantes generador = new GeneradorPostulantes(21);
+        List<String> nombresCarreras = new ArrayList<>();
+        for (Carrera carrera : TestRendimientoAdmision.crearCarreras(cantidad, NUM_CARRERAS)) {
+            nombresCarreras.add(carrera.getNombre());
+        }
+        generador.setCarreras(nombresCarreras);
+        silencioso(() -> generador.generarEnBaseDatos(cantidad, dao));
+        obtenerTodos(dao); // Calentar los cachés de H2 antes de medir
+        
+        long antes = memoriaUsada();
+        long inicio = System.nanoTime();
+        List<Postulante> lista = obtenerTodos(dao);
+        double msCarga = (System.nanoTime() - inicio) / 1e6;
+        long bytesLista = memoriaUsada() - antes;
+        
+        // Lo que cada postulante guardaba antes: su propia copia de cada texto
+        antes = memoriaUsada();
+        List<String[]> copias = new ArrayList<>(lista.size());
+        for (Postulante p : lista) {
+            copias.add(new String[] {
+                copia(p.getOpcion1()), copia(p.getOpcion2()), copia(p.getModalidad()),
+                copia(p.getEstadoAcademico()), copia(p.getSexo()), copia(p.getEstadoCivil())
+            });
+        }
+        // El arreglo de cada fila no existía antes: se descuenta
+        long bytesArreglos = (long) copias.size() * (16 + 6 * 4);
+        long bytesCopias = memoriaUsada() - antes - bytesArreglos;
+        
+        System.out.printf("📥 %,d postulantes en %.0f ms: lista %.1f MB | copias de textos que se ahorran %.1f MB "
+            + "-> %.1f MB antes, %.0f%% menos memoria%n",
+            lista.size(), msCarga, bytesLista / 1e6, bytesCopias / 1e6, (bytesLista + bytesCopias) / 1e6,
+            100.0 * bytesCopias / (bytesLista + bytesCopias));
+        fallidos += verificar(lista.size() == cantidad && bytesCopias > 0,
+            "La lista ocupa menos memoria que con una copia de cada texto por postulante");
+        copias.clear();
+        
+        // 3. Una instancia por texto y comparación por id
+        fallidos += verificar(
+            instancias(lista, Postulante::getOpcion1) == distintos(lista, Postulante::getOpcion1)
+                && instancias(lista, Postulante::getModalidad) == distintos(lista, Postulante::getModalidad)
+                && instancias(lista, Postulante::getEstadoAcademico) == distintos(lista, Postulante::getEstadoAcademico)
+                && instancias(lista, Postulante::getSexo) == distintos(lista, Postulante::getSexo)
+                && instancias(lista, Postulante::getEstadoCivil) == distintos(lista, Postulante::getEstadoCivil),
+            String.format("Una instancia por texto: %d carreras, %d modalidades, %d estados civiles",
+                distintos(lista, Postulante::getOpcion1), distintos(lista, Postulante::getModalidad),
+                distintos(lista, Postulante::getEstadoCivil)));
+        
+        boolean idsEquivalentes = true;
+        for (Postulante p : lista) {
+            idsEquivalentes &= (p.getIdOpcion1() == p.getIdOpcion2()) == Objects.equals(p.getOpcion1(), p.getOpcion2())
+                && p.isPostulante() == "POSTULANTE".equals(p.getEstadoAcademico())
+                && p.isAlumnoLibre() == "ALUMNO_LIBRE".equals(p.getEstadoAcademico());
+        }
+        Carrera carrera = new Carrera("X", new String(nombresCarreras.get(0)), "F", 10);
+        fallidos += verificar(idsEquivalentes && carrera.getNombre() == lista.stream()
+                .filter(p -> p.getOpcion1().equals(carrera.getNombre())).findFirst().get().getOpcion1(),
+            "Comparar ids equivale a comparar textos y Carrera usa el mismo String");
+        
+        // 4. Carreras mal escritas: no reciben id ni agrandan el Catalogo, pero conservan su texto
+        int carrerasAntes = Catalogo.CARRERAS.size();
+        List<Postulante> malEscritas = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Postulante p = new Postulante();
+            p.setOpcion1(nombresCarreras.get(0) + " " + i);
+            p.setOpcion2(nombresCarreras.get(1));
+            malEscritas.add(p);
+        }
+        boolean textosConservados = true;
+        for (int i = 0; i < malEscritas.size(); i++) {
+            Postulante p = malEscritas.get(i);
+            textosConservados &= p.getIdOpcion1() == Catalogo.SIN_VALOR
+                && (nombresCarreras.get(0) + " " + i).equals(p.getOpcion1())
+                && p.getIdOpcion2() == Catalogo.CARRERAS.buscar(nombresCarreras.get(1));
+        }
+        String registradaDespues = nombresCarreras.get(0) + " " + 7;
+        new Carrera("Y", registradaDespues, "F", 10);
+        fallidos += verificar(textosConservados && Catalogo.CARRERAS.size() == carrerasAntes + 1
+                && malEscritas.get(7).getIdOpcion1() == Catalogo.CARRERAS.buscar(registradaDespues),
+            "1,000 carreras mal escritas: sin id, mismo texto y el Catalogo no crece (solo la registrada por Carrera)");
+        
+        System.out.println("📚 " + Catalogo.CARRERAS + ", " + Catalogo.MODALIDADES + ", " + Catalogo.ESTADOS);
+        new File(base.getPath() + ".mv.db").deleteOnExit();
+        System.out.println(fallidos == 0 ? "✅ Postulante compacto correcto" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    private static String copia(String texto) {
+        return texto != null ? new String(texto) : null;
+    }
+    
+    private static int instancias(List<Postulante> lista, Function<Postulante, String> campo) {
+        Set<String> instancias = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Postulante p : lista) {
+            if (campo.apply(p) != null) instancias.add(campo.apply(p));
+        }
+        return instancias.size();
+    }
+    
+    private static int distintos(List<Postulante> lista, Function<Postulante, String> campo) {
+        Map<String, Boolean> distintos = new HashMap<>();
+        for (Postulante p : lista) {
+            if (campo.apply(p) != null) distintos.put(campo.apply(p), true);
+        }
+        return distintos.size();
+    }
+    
+    private static List<Postulante> obtenerTodos(PostulanteDAO dao) {
+        List<Postulante> todos = new ArrayList<>();
+        silencioso(() -> todos.addAll(dao.obtenerTodos()));
+        return todos;
+    }
+    
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    private static void silencioso(Runnable accion) {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            accion.run();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
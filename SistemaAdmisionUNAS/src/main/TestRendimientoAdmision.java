@@ -0,0 +1,165 @@
+package main;
+
+import model.Carrera;
+import model.Postulante;
+import util.AlgoritmoAdmision;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Mide el tiempo del algoritmo de admisión completo con postulantes sintéticos
+ * (10k, 100k y 1M) para comprobar que escala de forma lineal
+ * Las carreras poco demandadas quedan con vacantes, así que también se
+ * ejercitan los pasos de curva y de alumnos libres
+ * Compara además el modo secuencial con el paralelo
+ * @author joe-696
+ */
+public class TestRendimientoAdmision {
+    
+    private static final int[] TAMANIOS = {10_000, 100_000, 1_000_000};
+    private static final int REPETICIONES = 3;
+    
+    // Número de carreras de cada escenario: las 8 de UNAS y una oferta más amplia
+    private static final int[] ESCENARIOS = {8, 40};
+    
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE RENDIMIENTO DEL ALGORITMO DE ADMISIÓN ===");
+        PrintStream consola = System.out;
+        
+        int hilos = Math.max(2, Runtime.getRuntime().availableProcessors());
+        
+        // Calentamiento (los mensajes de cada paso no interesan aquí)
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ejecutar(generarPostulantes(50_000, 8, 7), 50_000, 8, 1);
+        ejecutar(generarPostulantes(50_000, 8, 7), 50_000, 8, hilos);
+        System.setOut(consola);
+        
+        for (int numCarreras : ESCENARIOS) {
+            System.out.println("\n📚 " + numCarreras + " carreras");
+            for (int n : TAMANIOS) {
+                List<Postulante> postulantes = generarPostulantes(n, numCarreras, 42);
+                
+                // El modo paralelo debe dar exactamente la misma salida que el secuencial
+                String salidaSecuencial = capturarSalida(postulantes, n, numCarreras, 1);
+                int firmaSecuencial = firma(postulantes);
+                String salidaParalela = capturarSalida(postulantes, n, numCarreras, hilos);
+                boolean identicos = salidaSecuencial.equals(salidaParalela) && firmaSecuencial == firma(postulantes);
+                
+                for (int paralelismo : new int[] {1, hilos}) {
+                    long mejor = Long.MAX_VALUE;
+                    int ingresantes = 0;
+                
+                    for (int r = 0; r < REPETICIONES; r++) {
+                        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                        long inicio = System.nanoTime();
+                        ingresantes = ejecutar(postulantes, n, numCarreras, paralelismo);
+                        mejor = Math.min(mejor, System.nanoTime() - inicio);
+                        System.setOut(consola);
+                    }
+                    
+                    System.out.printf("⏱️ %,10d postulantes, %2d hilo(s): %8.1f ms  (%6.0f ns/postulante, %,d ingresantes, firma %08x)%n",
+                        n, paralelismo, mejor / 1e6, (double) mejor / n, ingresantes, firma(postulantes));
+                }
+                System.out.println(identicos ? "   ✅ Paralelo idéntico al secuencial" : "   ❌ El modo paralelo dio otro resultado");
+            }
+        }
+    }
+    
+    private static String capturarSalida(List<Postulante> postulantes, int n, int numCarreras, int paralelismo) {
+        PrintStream consola = System.out;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+        try {
+            ejecutar(postulantes, n, numCarreras, paralelismo);
+        } finally {
+            System.setOut(consola);
+        }
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+    
+    private static int ejecutar(List<Postulante> postulantes, int n, int numCarreras, int paralelismo) {
+        AlgoritmoAdmision.ResultadoAdmision resultado =
+            new AlgoritmoAdmision(crearCarreras(n, numCarreras)).procesarAdmision(postulantes, paralelismo);
+        return resultado.getIngresantesPorCarrera().values().stream().mapToInt(List::size).sum();
+    }
+    
+    /**
+     * Todas las carreras con las mismas vacantes; como la demanda es desigual,
+     * las menos pedidas llegan a los pasos de curva y de alumnos libres
+     */
+    static List<Carrera> crearCarreras(int n, int numCarreras) {
+        List<Carrera> carreras = new ArrayList<>();
+        for (int i = 0; i < numCarreras; i++) {
+            Carrera carrera = new Carrera("C" + i, nombreCarrera(i), "GENERAL", (int) (n * 0.66 / numCarreras));
+            carrera.setCurvaAplicada(1.0 + (i % 3) * 0.5);
+            carreras.add(carrera);
+        }
+        return carreras;
+    }
+    
+    private static String nombreCarrera(int i) {
+        return String.format("CARRERA %02d", i + 1);
+    }
+    
+    /**
+     * Resumen de a qué carrera ingresó cada postulante, para comparar versiones del algoritmo
+     */
+    static int firma(List<Postulante> postulantes) {
+        int firma = 0;
+        for (Postulante p : postulantes) {
+            firma = 31 * firma + Objects.hashCode(p.getIngresoA());
+        }
+        return firma;
+    }
+    
+    /**
+     * Postulantes con notas al azar; la carrera i se pide como primera opción
+     * con probabilidad proporcional a 1/(i+1)
+     */
+    static List<Postulante> generarPostulantes(int n, int numCarreras, long semilla) {
+        Random random = new Random(semilla);
+        double[] acumulado = new double[numCarreras];
+        double total = 0;
+        for (int i = 0; i < numCarreras; i++) {
+            total += 1.0 / (i + 1);
+            acumulado[i] = total;
+        }
+        
+        long base = new GregorianCalendar(2000, Calendar.JANUARY, 1).getTimeInMillis();
+        List<Postulante> postulantes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int opcion1 = elegir(acumulado, random.nextDouble() * total);
+            int opcion2 = (opcion1 + 1 + random.nextInt(numCarreras - 1)) % numCarreras;
+            
+            Postulante p = new Postulante(
+                String.valueOf(1_000_000 + i), "POSTULANTE " + i,
+                nombreCarrera(opcion1), nombreCarrera(opcion2), "ORDINARIO",
+                String.format("%08d", i), 1,
+                new Date(base + random.nextInt(90) * 86_400_000L),
+                random.nextBoolean() ? "M" : "F",
+                Math.round(random.nextDouble() * 200) / 20.0,
+                Math.round(random.nextDouble() * 200) / 20.0,
+                random.nextInt(100) < 85 ? "POSTULANTE" : "ALUMNO_LIBRE"
+            );
+            p.setFecNac(new Date(base - random.nextInt(3_000) * 86_400_000L));
+            postulantes.add(p);
+        }
+        return postulantes;
+    }
+    
+    private static int elegir(double[] acumulado, double x) {
+        for (int i = 0; i < acumulado.length; i++) {
+            if (x < acumulado[i]) return i;
+        }
+        return acumulado.length - 1;
+    }
+}
@@ -0,0 +1,199 @@
+package main;
+
+import model.Postulante;
+import util.ExcelUtils;
+import util.TokenizadorCSV;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Comparación entre el parseo anterior (String.split + limpiarCampo con regex)
+ * y TokenizadorCSV: verifica que den los mismos campos y mide el tiempo.
+ * También verifica que una comilla suelta solo afecte a su propia línea,
+ * en la lectura secuencial y en la paralela por bloques
+ * @author joe-696
+ */
+public class TestRendimientoTokenizador {
+    
+    private static final int ITERACIONES = 200_000;
+    private static final int CALENTAMIENTO = 50_000;
+    private static final int FILAS_ARCHIVO_GRANDE = 60_000;
+    
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== TEST DE RENDIMIENTO DEL TOKENIZADOR CSV ===");
+        
+        String[] lineas = {
+            "2024001,GARCIA LOPEZ JUAN CARLOS,INGENIERIA DE SISTEMAS,AGRONOMIA,ORDINARIO,12345678,1,15/01/2024,100101,COL001,"
+                + "20/12/2023,1,100101,SOLTERO,SI,0,,M,COLEGIO NACIONAL,CASTELLANO,987654321,AV. UNIVERSITARIA 123,100101,15/03/2005,85.5,78.0,,POSTULANTE",
+            "2024002;  PEREZ   RAMOS  ANA ;ZOOTECNIA;;ORDINARIO;87654321;1;16/01/2024;;;;;;;;;;F;;;;;;;72;64;;",
+            "2024003\tTORRES 'EL PROFE' LUIS\tAGRONOMIA\t\tPRIMEROS PUESTOS\t11223344"
+        };
+        
+        // 1. Equivalencia de campos en líneas sin comillas
+        int diferencias = 0;
+        for (String linea : lineas) {
+            char separador = TokenizadorCSV.detectarSeparador(linea);
+            String[] anterior = parsearAnterior(linea, separador);
+            TokenizadorCSV tokenizador = new TokenizadorCSV(separador);
+            tokenizador.tokenizar(linea);
+            
+            for (int i = 0; i < 30; i++) {
+                String esperado = i < anterior.length ? anterior[i] : "";
+                if (!esperado.equals(tokenizador.campo(i))) {
+                    diferencias++;
+                    System.err.println("❌ Campo " + i + ": '" + esperado + "' vs '" + tokenizador.campo(i) + "'");
+                }
+            }
+        }
+        System.out.println(diferencias == 0 ? "✅ Mismos campos que el parseo anterior" : "❌ Diferencias: " + diferencias);
+        
+        // 2. Campos entre comillas con el separador dentro
+        String conComillas = "1,\"GARCIA LOPEZ, JUAN CARLOS\",INGENIERIA DE SISTEMAS,ZOOTECNIA";
+        TokenizadorCSV tokenizador = new TokenizadorCSV(TokenizadorCSV.detectarSeparador(conComillas));
+        tokenizador.tokenizar(conComillas);
+        System.out.println("🔍 Anterior: " + parsearAnterior(conComillas, ',')[1] + " | " + parsearAnterior(conComillas, ',')[2]);
+        System.out.println("🔍 Tokenizador: " + tokenizador.campo(1) + " | " + tokenizador.campo(2));
+        
+        // 3. Comillas en medio de un campo, escapadas y sin cerrar
+        verificarComillas();
+        
+        // 4. Tiempos
+        for (String linea : lineas) {
+            char separador = TokenizadorCSV.detectarSeparador(linea);
+            medir("split + regex", linea, () -> parsearAnterior(linea, separador).length);
+            TokenizadorCSV t = new TokenizadorCSV(separador);
+            medir("TokenizadorCSV", linea, () -> {
+                int n = t.tokenizar(linea);
+                int total = 0;
+                for (int i = 0; i < n; i++) {
+                    total += t.campo(i).length();
+                }
+                return total;
+            });
+        }
+    }
+    
+    /**
+     * Una comilla solo abre un campo al inicio del campo; una comilla que no
+     * se cierra deja como error solo su línea y el resto del archivo se lee
+     */
+    private static void verificarComillas() throws IOException {
+        TokenizadorCSV t = new TokenizadorCSV(',');
+        t.tokenizar("1,O\"BRIEN JUAN,AGRONOMIA");
+        boolean enMedio = !t.isComillaAbierta() && t.getNumeroCampos() == 3 && t.campo(1).equals("OBRIEN JUAN");
+        t.tokenizar("2, \"LOPEZ \"\"EL PROFE\"\", ANA\",ZOOTECNIA");
+        boolean escapadas = !t.isComillaAbierta() && t.getNumeroCampos() == 3
+            && t.campo(1).equals("LOPEZ EL PROFE, ANA") && t.campo(2).equals("ZOOTECNIA");
+        System.out.println((enMedio && escapadas ? "✅" : "❌")
+            + " Comilla en medio de un campo es un carácter; \"\" dentro de comillas no cierra el campo");
+        
+        // Archivo de 10 filas: la 2 con O"BRIEN y la 5 con una comilla de apertura sin cerrar
+        List<String> lineas = new ArrayList<>();
+        lineas.add("CODIGO,APELLIDOS_NOMBRES,OPCION1,OPCION2,MODALIDAD,DNI");
+        List<String> esperados = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            String nombre = i == 2 ? "O\"BRIEN JUAN" : i == 5 ? "\"QUISPE ANA" : "APELLIDO" + i;
+            lineas.add(String.format("2024%03d,%s,AGRONOMIA,,ORDINARIO,4000%04d", i, nombre, i));
+            if (i != 5) esperados.add(String.format("2024%03d", i));
+        }
+        File archivo = File.createTempFile("comillas", ".csv");
+        archivo.deleteOnExit();
+        Files.write(archivo.toPath(), lineas, StandardCharsets.UTF_8);
+        
+        List<Postulante> postulantes = importar(archivo, 1);
+        List<String> codigos = new ArrayList<>();
+        for (Postulante p : postulantes) {
+            codigos.add(p.getCodigo());
+        }
+        boolean correcto = codigos.equals(esperados)
+            && postulantes.get(1).getApellidosNombres().equals("OBRIEN JUAN")
+            && postulantes.get(2).getApellidosNombres().equals("APELLIDO3")
+            && postulantes.get(4).getApellidosNombres().equals("APELLIDO6");
+        System.out.println((correcto ? "✅" : "❌") + " Archivo con comillas sueltas: " + postulantes.size()
+            + " de 10 filas importadas, solo la fila con la comilla sin cerrar queda como error");
+        
+        boolean igualPequeno = resumen(importar(archivo, 4)).equals(resumen(postulantes));
+        
+        // Archivo de varios bloques con comillas sueltas, sin cerrar, registros
+        // de varias líneas y un registro que cierra con demasiados campos
+        lineas.subList(1, lineas.size()).clear();
+        Random random = new Random(11);
+        for (int i = 1; i <= FILAS_ARCHIVO_GRANDE; i++) {
+            String nombre;
+            switch (random.nextInt(400)) {
+                case 0: nombre = "O\"BRIEN " + i; break;
+                case 1: nombre = "\"QUISPE " + i; break;
+                case 2: nombre = "\"GARCIA\nLOPEZ, " + i + "\""; break;
+                case 3: nombre = "\"TORRES\n" + ",".repeat(40) + "\""; break;
+                default: nombre = "APELLIDO" + i;
+            }
+            lineas.add(String.format("2025%06d,%s,AGRONOMIA,ZOOTECNIA,ORDINARIO,5%07d,1,15/01/2025,,,,,,SOLTERO,,0,,F,"
+                + "COLEGIO NACIONAL,,,AV. LOS ANDES 123,,10/02/2006,12.5,13.25,,POSTULANTE", i, nombre, i));
+        }
+        File grande = File.createTempFile("comillas_grande", ".csv");
+        grande.deleteOnExit();
+        Files.write(grande.toPath(), lineas, StandardCharsets.UTF_8);
+        List<Postulante> secuencial = importar(grande, 1);
+        List<Postulante> paralelo = importar(grande, 4);
+        boolean igualGrande = resumen(paralelo).equals(resumen(secuencial));
+        System.out.println((igualPequeno && igualGrande ? "✅" : "❌") + String.format(
+            " Lectura paralela igual a la secuencial con comillas sin cerrar (%,d bytes: %,d postulantes)",
+            grande.length(), secuencial.size()));
+    }
+    
+    private static List<Postulante> importar(File archivo, int paralelismo) {
+        PrintStream consola = System.out;
+        PrintStream errores = System.err;
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+            return ExcelUtils.importarPostulantesDesdeExcel(archivo.getPath(), paralelismo);
+        } finally {
+            System.setOut(consola);
+            System.setErr(errores);
+        }
+    }
+    
+    private static List<String> resumen(List<Postulante> postulantes) {
+        List<String> filas = new ArrayList<>(postulantes.size());
+        for (Postulante p : postulantes) {
+            filas.add(p.getCodigo() + "|" + p.getApellidosNombres() + "|" + p.getOpcion1() + "|" + p.getModalidad());
+        }
+        return filas;
+    }
+    
+    /**
+     * Parseo usado por ExcelUtils antes de TokenizadorCSV
+     */
+    private static String[] parsearAnterior(String linea, char separador) {
+        String[] campos = linea.split(separador == '\t' ? "\t" : String.valueOf(separador), -1);
+        for (int i = 0; i < campos.length; i++) {
+            String limpio = campos[i].trim().replaceAll("\"", "").replaceAll("'", "");
+            campos[i] = limpio.replaceAll("\\s+", " ").trim();
+        }
+        return campos;
+    }
+    
+    private static void medir(String nombre, String linea, java.util.function.IntSupplier parseo) {
+        long control = 0;
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            control += parseo.getAsInt();
+        }
+        
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            control += parseo.getAsInt();
+        }
+        double nsPorLinea = (System.nanoTime() - inicio) / (double) ITERACIONES;
+        
+        System.out.printf("⏱️ %-15s %-12s %8.0f ns/línea (control %d)%n",
+            nombre, "[" + linea.substring(0, 7) + "]", nsPorLinea, control % 10);
+    }
+}
@@ -0,0 +1,293 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import util.EventBus;
+import util.GeneradorPostulantes;
+import view.ModeloTablaPostulantes;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+/**
+ * Prueba de la actualización incremental de la tabla de registro
+ * - Altas y bajas publicadas en el EventBus llegan agrupadas en un solo evento
+ * - ModeloTablaPostulantes.aplicarCambios inserta/quita solo esas filas
+ *   (sin fireTableDataChanged) y el resultado es igual a volver a consultar
+ * - Una inscripción y la baja de una fila visible se aplican sin consultar
+ *   la base de datos; una alta que la página cargada ya muestra se ignora
+ * - El modelo no consulta la base desde el hilo de Swing: las páginas y las
+ *   posiciones llegan en segundo plano (la fila muestra "Cargando..." mientras)
+ * - Mide aplicar el cambio frente a reiniciar el modelo
+ * @author joe-696
+ */
+public class TestTablaIncremental {
+    
+    private static final int POSTULANTES = 20_000;
+    private static final int RESERVADOS = 400; // Se borran antes y se agregan como altas en medio de la tabla
+    private static final int ALTAS_POR_RONDA = 60;
+    private static final int BAJAS_POR_RONDA = 40;
+    private static final long VENTANA_MS = 100;
+    
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:tabla_incremental;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE ACTUALIZACIÓN INCREMENTAL DE LA TABLA ===");
+        
+        AtomicInteger posicionesContadas = new AtomicInteger();
+        AtomicInteger consultasEnSwing = new AtomicInteger();
+        PostulanteDAO dao = new PostulanteDAO() {
+            @Override
+            public int[] contarAntesDe(CriterioBusqueda criterio, List<String> codigos) {
+                if (!codigos.isEmpty()) posicionesContadas.incrementAndGet();
+                if (SwingUtilities.isEventDispatchThread()) consultasEnSwing.incrementAndGet();
+                return super.contarAntesDe(criterio, codigos);
+            }
+            
+            @Override
+            public List<Postulante> buscar(CriterioBusqueda criterio, int offset, int limite) {
+                if (SwingUtilities.isEventDispatchThread()) consultasEnSwing.incrementAndGet();
+                return super.buscar(criterio, offset, limite);
+            }
+            
+            @Override
+            public List<Postulante> buscarDespuesDe(CriterioBusqueda criterio, String ultimoCodigo, int limite) {
+                if (SwingUtilities.isEventDispatchThread()) consultasEnSwing.incrementAndGet();
+                return super.buscarDespuesDe(criterio, ultimoCodigo, limite);
+            }
+        };
+        List<Postulante> generados = new ArrayList<>();
+        new GeneradorPostulantes(19).generar(POSTULANTES + 1, generados::add);
+        Postulante inscripcionNueva = generados.remove(POSTULANTES); // Código mayor que todos
+        List<Postulante> reservados = new ArrayList<>();
+        List<Postulante> iniciales = new ArrayList<>();
+        for (int i = 0; i < generados.size(); i++) {
+            (i % (POSTULANTES / RESERVADOS) == 7 ? reservados : iniciales).add(generados.get(i));
+        }
+        silencioso(() -> dao.guardarLote(iniciales, 1000));
+        
+        PostulanteDAO.CriterioBusqueda[] criterios = {
+            new PostulanteDAO.CriterioBusqueda("", null, null),
+            new PostulanteDAO.CriterioBusqueda("", "ORDINARIO", null),
+            new PostulanteDAO.CriterioBusqueda("a", null, "POSTULANTE")
+        };
+        
+        // Un oyente agrupando, como RegistroPanel
+        AtomicReference<EventBus.PostulanteEvent> recibido = new AtomicReference<>();
+        AtomicReference<CountDownLatch> entregado = new AtomicReference<>();
+        EventBus.Suscripcion<EventBus.PostulanteEvent> suscripcion = EventBus.getInstance().suscribirAgrupando(
+            EventBus.POSTULANTES, e -> {
+                recibido.set(e);
+                entregado.get().countDown();
+            }, EventBus.EN_HILO_PUBLICADOR, VENTANA_MS, EventBus.PostulanteEvent::combinar);
+        
+        Random random = new Random(3);
+        int fallidos = 0;
+        int siguienteReservado = 0;
+        for (PostulanteDAO.CriterioBusqueda criterio : criterios) {
+            ModeloTablaPostulantes modelo = new ModeloTablaPostulantes(dao);
+            reiniciar(modelo, dao, criterio);
+            // Páginas que "ya se mostraron"
+            for (int i = 0; i < 10; i++) {
+                cargar(modelo, random.nextInt(modelo.getRowCount()));
+            }
+            
+            int[] eventos = new int[3]; // inserciones, eliminaciones, recargas completas
+            modelo.addTableModelListener(e -> {
+                if (e.getType() == TableModelEvent.INSERT) eventos[0]++;
+                else if (e.getType() == TableModelEvent.DELETE) eventos[1]++;
+                else if (e.getLastRow() == Integer.MAX_VALUE) eventos[2]++; // No las filas de una página que llegó
+            });
+            
+            // Altas en medio de la tabla y bajas al azar, publicadas una por una
+            entregado.set(new CountDownLatch(1));
+            List<Postulante> altas = reservados.subList(siguienteReservado, siguienteReservado + ALTAS_POR_RONDA);
+            siguienteReservado += ALTAS_POR_RONDA;
+            List<Postulante> bajas = new ArrayList<>();
+            while (bajas.size() < BAJAS_POR_RONDA) {
+                Postulante p = dao.buscarPorCodigo(iniciales.get(random.nextInt(iniciales.size())).getCodigo());
+                if (p != null && bajas.stream().noneMatch(b -> b.getCodigo().equals(p.getCodigo()))) bajas.add(p);
+            }
+            silencioso(() -> {
+                for (Postulante p : altas) {
+                    if (dao.guardar(p)) EventBus.getInstance().publicarPostulanteAgregado(p);
+                }
+                for (Postulante p : bajas) {
+                    if (dao.eliminar(p.getCodigo())) EventBus.getInstance().publicarPostulanteEliminado(p);
+                }
+            });
+            entregado.get().await(10, TimeUnit.SECONDS);
+            
+            EventBus.PostulanteEvent evento = recibido.get();
+            long inicio = System.nanoTime();
+            boolean aplicado = evento.tieneDetalle()
+                && enSwing(() -> modelo.aplicarCambios(evento.getAgregados(), evento.getEliminados()));
+            esperarCarga(modelo); // Posiciones consultadas en segundo plano
+            double msIncremental = (System.nanoTime() - inicio) / 1e6;
+            
+            int esperadasAltas = (int) altas.stream().filter(criterio::cumple).count();
+            int esperadasBajas = (int) bajas.stream().filter(criterio::cumple).count();
+            List<String> esperados = recorrerPorKeyset(dao, criterio);
+            boolean correcto = aplicado
+                && evento.getCantidad() == ALTAS_POR_RONDA + BAJAS_POR_RONDA
+                && eventos[0] == esperadasAltas && eventos[1] == esperadasBajas && eventos[2] == 0
+                && modelo.getRowCount() == esperados.size()
+                && codigosDelModelo(modelo).equals(esperados);
+            
+            // Lo que costaba antes: reiniciar (contar + primera página)
+            inicio = System.nanoTime();
+            reiniciar(modelo, dao, criterio);
+            double msRecarga = (System.nanoTime() - inicio) / 1e6;
+            
+            System.out.printf("%s [%s|%s|%s] 1 evento con %d cambios: +%d -%d filas, %,d filas iguales a la base "
+                + "(aplicar %.1f ms, reiniciar %.1f ms)%n",
+                correcto ? "✅" : "❌", criterio.getTexto(), criterio.getModalidad(), criterio.getEstadoAcademico(),
+                evento.getCantidad(), eventos[0], eventos[1], esperados.size(), msIncremental, msRecarga);
+            if (!correcto) fallidos++;
+        }
+        
+        // Caso típico de la pantalla: una inscripción y una baja de una fila visible
+        PostulanteDAO.CriterioBusqueda todos = new PostulanteDAO.CriterioBusqueda("", null, null);
+        ModeloTablaPostulantes modelo = new ModeloTablaPostulantes(dao);
+        reiniciar(modelo, dao, todos);
+        
+        // Una fila lejana se pinta como "Cargando..." y se completa al llegar su página
+        int lejana = modelo.getRowCount() - 1;
+        Object mientras = enSwing(() -> modelo.getValueAt(lejana, 1));
+        Postulante ultimo = cargar(modelo, lejana); // El usuario bajó hasta el final
+        boolean marcador = "Cargando...".equals(mientras) && ultimo != null
+            && ultimo.getApellidosNombres().equals(enSwing(() -> modelo.getValueAt(lejana, 1)));
+        System.out.println((marcador ? "✅" : "❌") + " Fila sin página: \"" + mientras + "\" hasta que llega en segundo plano");
+        if (!marcador) fallidos++;
+        
+        Postulante visible = cargar(modelo, 57);
+        silencioso(() -> {
+            dao.guardar(inscripcionNueva);
+            dao.eliminar(visible.getCodigo());
+        });
+        posicionesContadas.set(0);
+        long[] nanos = new long[1];
+        boolean aplicado = enSwing(() -> {
+            long inicio = System.nanoTime();
+            boolean resultado = modelo.aplicarCambios(List.of(inscripcionNueva), List.of(visible));
+            nanos[0] = System.nanoTime() - inicio;
+            return resultado && !modelo.isCargando();
+        });
+        boolean tipico = aplicado && posicionesContadas.get() == 0
+            && codigosDelModelo(modelo).equals(recorrerPorKeyset(dao, todos));
+        System.out.printf("%s Inscripción + baja visible: %.0f µs, %d consultas de posición%n",
+            tipico ? "✅" : "❌", nanos[0] / 1e3, posicionesContadas.get());
+        if (!tipico) fallidos++;
+        
+        // Una alta que la página cargada ya muestra (llegó con la página) no se inserta de nuevo
+        Postulante yaMostrado = cargar(modelo, 120);
+        int filasAntes = enSwing(modelo::getRowCount);
+        boolean repetida = enSwing(() -> modelo.aplicarCambios(List.of(yaMostrado), List.of()))
+            && enSwing(modelo::getRowCount) == filasAntes && posicionesContadas.get() == 0
+            && codigosDelModelo(modelo).equals(recorrerPorKeyset(dao, todos));
+        System.out.println((repetida ? "✅" : "❌") + " Alta ya presente en una página cargada: "
+            + filasAntes + " -> " + enSwing(modelo::getRowCount) + " filas");
+        if (!repetida) fallidos++;
+        
+        System.out.println((consultasEnSwing.get() == 0 ? "✅" : "❌") + " Consultas a la base desde el hilo de Swing: "
+            + consultasEnSwing.get());
+        if (consultasEnSwing.get() != 0) fallidos++;
+        
+        // Un evento sin detalle (importación) no se puede aplicar como cambio
+        entregado.set(new CountDownLatch(1));
+        EventBus.getInstance().publicarPostulanteAgregado(reservados.get(siguienteReservado));
+        EventBus.getInstance().publicarPostulantesImportados(500);
+        entregado.get().await(10, TimeUnit.SECONDS);
+        suscripcion.cancelar();
+        boolean sinDetalle = !recibido.get().tieneDetalle() && recibido.get().getCantidad() == 501;
+        System.out.println((sinDetalle ? "✅" : "❌") + " Alta + importación agrupadas: se vuelve a consultar todo");
+        if (!sinDetalle) fallidos++;
+        
+        System.out.println(fallidos == 0 ? "✅ La tabla incremental coincide con la base de datos" : "❌ Casos fallidos: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    /**
+     * Códigos del modelo página por página, como si el usuario recorriera la tabla
+     */
+    private static List<String> codigosDelModelo(ModeloTablaPostulantes modelo) throws Exception {
+        List<String> codigos = new ArrayList<>();
+        int filas = enSwing(modelo::getRowCount);
+        for (int inicio = 0; inicio < filas; inicio += ModeloTablaPostulantes.TAMANO_PAGINA) {
+            cargar(modelo, inicio);
+            int primera = inicio;
+            enSwing(() -> {
+                for (int fila = primera; fila < Math.min(primera + ModeloTablaPostulantes.TAMANO_PAGINA, filas); fila++) {
+                    Postulante p = modelo.getPostulante(fila);
+                    codigos.add(p != null ? p.getCodigo() : null);
+                }
+                return null;
+            });
+        }
+        return codigos;
+    }
+    
+    /**
+     * Reiniciar con el total y la primera página consultados fuera del hilo de Swing, como RegistroPanel
+     */
+    private static void reiniciar(ModeloTablaPostulantes modelo, PostulanteDAO dao,
+                                  PostulanteDAO.CriterioBusqueda criterio) throws Exception {
+        int total = dao.contar(criterio);
+        List<Postulante> primeraPagina = dao.buscar(criterio, 0, ModeloTablaPostulantes.TAMANO_PAGINA);
+        enSwing(() -> {
+            modelo.reiniciar(criterio, total, primeraPagina);
+            return null;
+        });
+    }
+    
+    /**
+     * Pedir la fila y esperar a que llegue su página
+     */
+    private static Postulante cargar(ModeloTablaPostulantes modelo, int fila) throws Exception {
+        enSwing(() -> modelo.getPostulante(fila));
+        esperarCarga(modelo);
+        return enSwing(() -> modelo.getPostulante(fila));
+    }
+    
+    private static void esperarCarga(ModeloTablaPostulantes modelo) throws Exception {
+        while (enSwing(modelo::isCargando)) {
+            Thread.sleep(1);
+        }
+    }
+    
+    private static <T> T enSwing(Supplier<T> accion) throws Exception {
+        AtomicReference<T> resultado = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> resultado.set(accion.get()));
+        return resultado.get();
+    }
+    
+    private static List<String> recorrerPorKeyset(PostulanteDAO dao, PostulanteDAO.CriterioBusqueda criterio) {
+        List<String> codigos = new ArrayList<>();
+        List<Postulante> pagina = dao.buscar(criterio, 0, 1000);
+        while (!pagina.isEmpty()) {
+            pagina.forEach(p -> codigos.add(p.getCodigo()));
+            pagina = dao.buscarDespuesDe(criterio, codigos.get(codigos.size() - 1), 1000);
+        }
+        return codigos;
+    }
+    
+    private static void silencioso(Runnable accion) {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            accion.run();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package main;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import util.ClavesVistas;
+import util.ExcelUtils;
+import util.ImportadorStreaming;
+import util.ValidadorImportacion;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prueba de la validación de importaciones antes de guardar
+ * - ClavesVistas con varios hilos guarda la misma primera fila que un HashMap secuencial
+ * - ValidadorImportacion por lotes en paralelo rechaza las mismas filas, con el
+ *   mismo motivo, que recorrer el archivo en orden
+ * - Importa un CSV con datos inválidos, códigos y DNIs repetidos en el archivo
+ *   y ya existentes en la base: ninguno llega a la base (0 duplicados del DAO)
+ *   y el archivo de rechazos tiene una fila por rechazo y se puede reimportar
+ * @author joe-696
+ */
+public class TestValidacionImportacion {
+    
+    private static final int HILOS = 8;
+    private static final int REGISTROS = 1_000_000;
+    private static final int POSTULANTES = 200_000;
+    private static final int LOTE = 500;
+    private static final int FILAS_CSV = 2_000;
+    private static final int EN_BASE = 100;
+    
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("admision.db.url") == null) {
+            System.setProperty("admision.db.url", "jdbc:h2:mem:validacion;DB_CLOSE_DELAY=-1");
+        }
+        System.out.println("=== TEST DE VALIDACIÓN DE IMPORTACIONES ===");
+        int fallidos = 0;
+        Random random = new Random(24);
+        
+        // 1. ClavesVistas concurrente contra un HashMap secuencial
+        String[] claves = new String[REGISTROS];
+        for (int i = 0; i < REGISTROS; i++) {
+            int valor = random.nextInt(REGISTROS / 3);
+            claves[i] = switch (valor % 10) {
+                case 0 -> "TEMP" + valor;
+                case 1 -> String.format("%08d", valor % 1000);
+                default -> String.valueOf(10_000_000 + valor);
+            };
+        }
+        Map<String, Long> esperadas = new HashMap<>();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REGISTROS; i++) {
+            esperadas.putIfAbsent(claves[i], (long) i);
+        }
+        double msSecuencial = (System.nanoTime() - inicio) / 1e6;
+        
+        ClavesVistas vistas = new ClavesVistas();
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        inicio = System.nanoTime();
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            int hilo = h;
+            // Cada hilo recorre su parte de atrás hacia adelante: las filas menores llegan al final
+            tareas.add(hilos.submit(() -> {
+                for (int i = REGISTROS - 1 - hilo; i >= 0; i -= HILOS) {
+                    vistas.registrar(claves[i], i);
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        double msConcurrente = (System.nanoTime() - inicio) / 1e6;
+        hilos.shutdown();
+        boolean iguales = vistas.size() == esperadas.size();
+        for (Map.Entry<String, Long> entrada : esperadas.entrySet()) {
+            iguales &= vistas.primeraFila(entrada.getKey()) == entrada.getValue();
+        }
+        iguales &= vistas.primeraFila("99999999") == ClavesVistas.SIN_FILA;
+        fallidos += verificar(iguales, String.format(
+            "%,d claves (%,d distintas) en %d hilos: misma primera fila que HashMap (%.0f ms vs %.0f ms secuencial)",
+            REGISTROS, esperadas.size(), HILOS, msConcurrente, msSecuencial));
+        
+        // 2. Validador por lotes contra el recorrido secuencial
+        List<Postulante> postulantes = new ArrayList<>(POSTULANTES);
+        for (int i = 0; i < POSTULANTES; i++) {
+            int codigo = random.nextInt(100) == 0 ? random.nextInt(i + 1) : i;
+            int dni = random.nextInt(100) == 0 ? random.nextInt(i + 1) : i;
+            Postulante p = crear(String.valueOf(2025_000_000L + codigo),
+                random.nextInt(200) == 0 ? "123" : String.valueOf(10_000_000 + dni));
+            if (random.nextInt(500) == 0) p.setCodigo("AUTO" + random.nextInt(50));
+            postulantes.add(p);
+        }
+        List<String> esperados = validarEnOrden(postulantes);
+        
+        ValidadorImportacion validador = new ValidadorImportacion();
+        List<String> obtenidos = new ArrayList<>();
+        int aceptados = 0;
+        inicio = System.nanoTime();
+        for (int desde = 0; desde < POSTULANTES; desde += LOTE) {
+            List<Postulante> lote = new ArrayList<>(postulantes.subList(desde, Math.min(POSTULANTES, desde + LOTE)));
+            for (ValidadorImportacion.Rechazo rechazo : validador.validar(lote)) {
+                obtenidos.add(rechazo.getFila() + " " + rechazo.getMotivo());
+            }
+            aceptados += lote.size();
+        }
+        double msValidador = (System.nanoTime() - inicio) / 1e6;
+        fallidos += verificar(obtenidos.equals(esperados) && aceptados + obtenidos.size() == POSTULANTES,
+            String.format("%,d postulantes en lotes de %d: %,d rechazos iguales al recorrido en orden (%.0f ms)",
+                POSTULANTES, LOTE, obtenidos.size(), msValidador));
+        
+        // 3. Importación con rechazos
+        PostulanteDAO dao = new PostulanteDAO();
+        List<Postulante> existentes = new ArrayList<>();
+        for (int i = 1; i <= EN_BASE; i++) {
+            existentes.add(crear(String.format("E%04d", i), String.valueOf(90_000_000 + i)));
+        }
+        ejecutar(() -> dao.guardarLote(existentes, LOTE));
+        
+        File csv = File.createTempFile("validacion", ".csv");
+        csv.deleteOnExit();
+        Map<ValidadorImportacion.Motivo, Integer> motivosEsperados = new EnumMap<>(ValidadorImportacion.Motivo.class);
+        List<String> lineas = new ArrayList<>();
+        lineas.add("CODIGO,APELLIDOS_NOMBRES,OPCION1,OPCION2,MODALIDAD,DNI,COD_SEDE,INSCRIPCION,UBIGEO_PROCEDENCIA,"
+            + "COD_COLEGIO,FECHA_EGRESO_COLEGIO,TIPO_COLEGIO,UBIGEO_COLEGIO,ESTADO_CIVIL,ENCUESTA,INGRESO,INGRESO_A,SEXO,"
+            + "NOMBRE_COLEGIO,IDIOMA_MAT,TEL_CELULAR,DIRECCION,UBIGEO,FEC_NAC,NOTA_AC,NOTA_CO,RESPUESTA,ESTADO_ACADEMICO");
+        for (int i = 1; i <= FILAS_CSV; i++) {
+            String codigo = String.valueOf(2026_000_000L + i);
+            String dni = String.valueOf(20_000_000 + i);
+            ValidadorImportacion.Motivo motivo = null;
+            switch (i % 50) {
+                case 0 -> { dni = dni.substring(1); motivo = ValidadorImportacion.Motivo.DATOS_INVALIDOS; }
+                case 10 -> { codigo = String.valueOf(2026_000_000L + i - 5); motivo = ValidadorImportacion.Motivo.CODIGO_DUPLICADO; }
+                case 20 -> { dni = String.valueOf(20_000_000 + i - 5); motivo = ValidadorImportacion.Motivo.DNI_DUPLICADO; }
+                case 30 -> { codigo = String.format("E%04d", 1 + i % EN_BASE); motivo = ValidadorImportacion.Motivo.CODIGO_EXISTENTE; }
+                case 40 -> { dni = String.valueOf(90_000_001 + i % EN_BASE); motivo = ValidadorImportacion.Motivo.DNI_EXISTENTE; }
+                default -> { }
+            }
+            if (motivo != null) motivosEsperados.merge(motivo, 1, Integer::sum);
+            lineas.add(codigo + ",APELLIDO " + i + " NOMBRE,INGENIERÍA CIVIL,,ORDINARIO," + dni
+                + ",1,15/01/2025,,,20/12/2022,1,,SOLTERO,,0,,M,COLEGIO X,,999000111,JR. LIMA 1,,01/02/2006,12.5,14.0,,POSTULANTE");
+        }
+        Files.write(csv.toPath(), lineas, StandardCharsets.UTF_8);
+        int rechazosEsperados = motivosEsperados.values().stream().mapToInt(Integer::intValue).sum();
+        
+        ImportadorStreaming.ResumenImportacion resumen = ejecutar(() ->
+            new ImportadorStreaming(dao, 100, 1_000).importar(csv.getPath(), null));
+        int enBase = ejecutar(() -> dao.obtenerTodos().size());
+        fallidos += verificar(resumen.getRechazosPorMotivo().equals(motivosEsperados)
+                && resumen.getInsertados() == FILAS_CSV - rechazosEsperados
+                && resumen.getInvalidos() == motivosEsperados.get(ValidadorImportacion.Motivo.DATOS_INVALIDOS)
+                && resumen.getDuplicados() == rechazosEsperados - resumen.getInvalidos()
+                && resumen.getRestricciones() == 0 && resumen.getErrores() == 0
+                && enBase == EN_BASE + resumen.getInsertados(),
+            String.format("Importación: %,d guardados, %d rechazados antes de la base %s",
+                resumen.getInsertados(), rechazosEsperados, resumen.getRechazosPorMotivo()));
+        
+        File archivoRechazos = new File(resumen.getArchivoRechazos() != null ? resumen.getArchivoRechazos() : "");
+        archivoRechazos.deleteOnExit();
+        List<String> rechazos = archivoRechazos.isFile()
+            ? Files.readAllLines(archivoRechazos.toPath(), StandardCharsets.UTF_8) : List.of();
+        Map<ValidadorImportacion.Motivo, Integer> motivosArchivo = new EnumMap<>(ValidadorImportacion.Motivo.class);
+        for (int i = 1; i < rechazos.size(); i++) {
+            String[] campos = rechazos.get(i).split(",");
+            motivosArchivo.merge(ValidadorImportacion.Motivo.valueOf(campos[29]), 1, Integer::sum);
+        }
+        List<Postulante> reimportados = ejecutar(() ->
+            ExcelUtils.importarPostulantesDesdeExcel(archivoRechazos.getPath(), 1));
+        fallidos += verificar(rechazos.size() == rechazosEsperados + 1 && rechazos.get(0).endsWith(",FILA,MOTIVO,DETALLE")
+                && motivosArchivo.equals(motivosEsperados) && reimportados.size() == rechazosEsperados,
+            "Archivo de rechazos " + archivoRechazos.getName() + ": " + (rechazos.size() - 1)
+                + " filas con motivo, se puede corregir y reimportar");
+        
+        System.out.println(fallidos == 0 ? "✅ Validación de importaciones correcta" : "❌ Verificaciones fallidas: " + fallidos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+    
+    private static Postulante crear(String codigo, String dni) {
+        Postulante p = new Postulante();
+        p.setCodigo(codigo);
+        p.setApellidosNombres("APELLIDO " + codigo);
+        p.setDni(dni);
+        p.setOpcion1("INGENIERÍA CIVIL");
+        p.setModalidad("ORDINARIO");
+        p.setEstadoAcademico("POSTULANTE");
+        return p;
+    }
+    
+    /**
+     * Rechazos recorriendo la lista en orden, con un HashMap por clave
+     */
+    private static List<String> validarEnOrden(List<Postulante> postulantes) {
+        Map<String, Integer> codigos = new HashMap<>();
+        Map<String, Integer> dnis = new HashMap<>();
+        for (int i = 0; i < postulantes.size(); i++) {
+            codigos.putIfAbsent(postulantes.get(i).getCodigo(), i);
+            dnis.putIfAbsent(postulantes.get(i).getDni(), i);
+        }
+        List<String> rechazos = new ArrayList<>();
+        for (int i = 0; i < postulantes.size(); i++) {
+            Postulante p = postulantes.get(i);
+            if (!p.getValidationErrors().isEmpty()) {
+                rechazos.add((i + 1) + " " + ValidadorImportacion.Motivo.DATOS_INVALIDOS);
+            } else if (codigos.get(p.getCodigo()) < i) {
+                rechazos.add((i + 1) + " " + ValidadorImportacion.Motivo.CODIGO_DUPLICADO);
+            } else if (dnis.get(p.getDni()) < i) {
+                rechazos.add((i + 1) + " " + ValidadorImportacion.Motivo.DNI_DUPLICADO);
+            }
+        }
+        return rechazos;
+    }
+    
+    private static <T> T ejecutar(Callable<T> accion) throws Exception {
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return accion.call();
+        } finally {
+            System.setOut(consola);
+        }
+    }
+    
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println((condicion ? "✅ " : "❌ ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
@@ -34,7 +34,7 @@ public class Carrera {
     public Carrera(String codigo, String nombre, String facultad, int vacantesDisponibles) {
         this();
         this.codigo = codigo;
-        this.nombre = nombre;
+        this.nombre = Catalogo.CARRERAS.canonico(nombre);
         this.facultad = facultad;
         this.vacantesDisponibles = vacantesDisponibles;
         this.tipoExamen = determinarTipoExamen(nombre);
@@ -76,7 +76,7 @@ public class Carrera {
     }
     
     public void setNombre(String nombre) {
-        this.nombre = nombre;
+        this.nombre = Catalogo.CARRERAS.canonico(nombre);
         this.tipoExamen = determinarTipoExamen(nombre);
     }
     
@@ -0,0 +1,118 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catálogo compartido de textos repetidos (carreras, modalidades, estados...)
+ * - Cada texto distinto se guarda una sola vez y recibe un id entero consecutivo
+ * - Los postulantes guardan el id o la instancia canónica en vez de su propia copia,
+ *   así dos postulantes de la misma carrera comparten el String y se comparan por id
+ * - Seguro para varios hilos: las búsquedas no bloquean, solo el alta de un texto nuevo
+ * @author joe-696
+ */
+public final class Catalogo {
+    
+    public static final int SIN_VALOR = -1;
+    
+    // Carreras (primera/segunda opción e ingreso), registradas desde la tabla carreras
+    // al abrir la base y por Carrera; los postulantes solo las buscan (buscar)
+    public static final Catalogo CARRERAS = new Catalogo("carreras");
+    public static final Catalogo MODALIDADES = new Catalogo("modalidades");
+    public static final Catalogo ESTADOS = new Catalogo("estados académicos");
+    // Otros campos con pocos valores distintos (sexo, estado civil, idioma, ubigeos)
+    public static final Catalogo TEXTOS = new Catalogo("textos");
+    
+    public static final int ESTADO_POSTULANTE = ESTADOS.id("POSTULANTE");
+    public static final int ESTADO_ALUMNO_LIBRE = ESTADOS.id("ALUMNO_LIBRE");
+    
+    // id() y canonico() no registran textos nuevos pasado este tamaño, así un
+    // campo con demasiados valores distintos no hace crecer el catálogo sin límite
+    private static final int MAXIMO_TEXTOS = 1 << 16;
+    
+    private final String nombre;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] textos = new String[64];
+    private volatile int cantidad;
+    
+    private Catalogo(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    /**
+     * Id del texto, registrándolo si es nuevo (SIN_VALOR para null o si el
+     * catálogo está lleno)
+     */
+    public int id(String texto) {
+        if (texto == null) return SIN_VALOR;
+        
+        Integer id = ids.get(texto);
+        return id != null ? id : registrar(texto, MAXIMO_TEXTOS);
+    }
+    
+    /**
+     * Id del texto sin registrarlo (SIN_VALOR si no está)
+     */
+    public int buscar(String texto) {
+        if (texto == null) return SIN_VALOR;
+        
+        Integer id = ids.get(texto);
+        return id != null ? id : SIN_VALOR;
+    }
+    
+    /**
+     * Texto del id (null para SIN_VALOR)
+     */
+    public String texto(int id) {
+        return id == SIN_VALOR ? null : textos[id];
+    }
+    
+    /**
+     * Instancia canónica del texto (el mismo texto si el catálogo está lleno)
+     */
+    public String canonico(String texto) {
+        if (texto == null) return null;
+        
+        Integer id = ids.get(texto);
+        int canonico = id != null ? id : registrar(texto, MAXIMO_TEXTOS);
+        return canonico == SIN_VALOR ? texto : textos[canonico];
+    }
+    
+    /**
+     * Registrar varios textos de una vez (por ejemplo las carreras de la base)
+     */
+    public void registrarTodos(Collection<String> nuevos) {
+        for (String texto : nuevos) {
+            id(texto);
+        }
+    }
+    
+    public int size() {
+        return cantidad;
+    }
+    
+    private synchronized int registrar(String texto, int maximo) {
+        Integer existente = ids.get(texto);
+        if (existente != null) return existente;
+        if (cantidad >= maximo) return SIN_VALOR;
+        
+        // El texto se publica en el arreglo antes que en el mapa: quien obtiene
+        // el id del mapa siempre encuentra el texto
+        String[] actuales = textos;
+        if (cantidad == actuales.length) {
+            actuales = Arrays.copyOf(actuales, actuales.length * 2);
+        }
+        int id = cantidad;
+        actuales[id] = texto;
+        textos = actuales;
+        cantidad = id + 1;
+        ids.put(texto, id);
+        return id;
+    }
+    
+    @Override
+    public String toString() {
+        return "Catalogo{" + nombre + ", " + cantidad + " textos}";
+    }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Fechas como días desde 1970-01-01 (epoch day) en un int
+ * - Postulante guarda así inscripción, egreso y nacimiento: comparar dos
+ *   fechas o calcular la edad no crea objetos
+ * - SIN_FECHA representa una fecha vacía (null)
+ * - La zona horaria es la del sistema al cargar la clase
+ * @author joe-696
+ */
+public final class Fechas {
+    
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+    
+    // Formato de fechas del sistema (DateTimeFormatter es inmutable: se comparte entre hilos)
+    public static final DateTimeFormatter FORMATO = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+    
+    private static final long MS_POR_DIA = 86_400_000L;
+    private static final TimeZone ZONA = TimeZone.getDefault();
+    private static final ZoneId ZONA_ID = ZONA.toZoneId();
+    
+    private Fechas() {
+    }
+    
+    /**
+     * Día local de un instante en milisegundos
+     */
+    public static int dia(long milisegundos) {
+        return (int) Math.floorDiv(milisegundos + ZONA.getOffset(milisegundos), MS_POR_DIA);
+    }
+    
+    /**
+     * Día local de una fecha (SIN_FECHA si es null); se descarta la hora
+     */
+    public static int dia(Date fecha) {
+        return fecha != null ? dia(fecha.getTime()) : SIN_FECHA;
+    }
+    
+    public static int dia(LocalDate fecha) {
+        return fecha != null ? (int) fecha.toEpochDay() : SIN_FECHA;
+    }
+    
+    /**
+     * Día de hoy (sin crear objetos)
+     */
+    public static int hoy() {
+        return dia(System.currentTimeMillis());
+    }
+    
+    /**
+     * Fecha (medianoche local) del día, para el código que aún usa Date
+     */
+    public static Date fecha(int dia) {
+        if (dia == SIN_FECHA) return null;
+        return Date.from(LocalDate.ofEpochDay(dia).atStartOfDay(ZONA_ID).toInstant());
+    }
+    
+    public static LocalDate localDate(int dia) {
+        return dia != SIN_FECHA ? LocalDate.ofEpochDay(dia) : null;
+    }
+    
+    /**
+     * Texto dd/MM/yyyy del día ("" si no hay fecha)
+     */
+    public static String formatear(int dia) {
+        return dia != SIN_FECHA ? FORMATO.format(LocalDate.ofEpochDay(dia)) : "";
+    }
+    
+    /**
+     * Años cumplidos a este momento (años de 365.25 días desde la medianoche
+     * del nacimiento, como calculaba Postulante.getEdad con Date)
+     */
+    public static int edad(int nacimiento) {
+        if (nacimiento == SIN_FECHA) return 0;
+        long ahora = System.currentTimeMillis();
+        double diasLocales = (double) (ahora + ZONA.getOffset(ahora)) / MS_POR_DIA;
+        return (int) ((diasLocales - nacimiento) / 365.25);
+    }
+}
@@ -2,11 +2,14 @@ package model;
 
 import java.util.Date;
 import java.util.Objects;
-import java.text.SimpleDateFormat;
 
 /**
  * Clase modelo Postulante para el Sistema de Admisión UNAS
  * Representa la estructura de datos del Excel de postulantes
+ * Carreras, modalidad y estado académico se guardan como ids del Catalogo
+ * (una carrera que no está en el Catalogo se guarda como texto, sin id);
+ * los demás textos con pocos valores distintos usan la instancia canónica.
+ * Las fechas se guardan como días desde 1970-01-01 (ver Fechas)
  * 
  * @author joe-696
  * @version 1.0
@@ -17,15 +20,15 @@ public class Postulante {
     // ===== CAMPOS PRINCIPALES =====
     private String codigo;
     private String apellidosNombres;
-    private String opcion1;
-    private String opcion2;
-    private String modalidad;
+    private int opcion1 = Catalogo.SIN_VALOR;
+    private int opcion2 = Catalogo.SIN_VALOR;
+    private int modalidad = Catalogo.SIN_VALOR;
     private String dni;
     private int codSede;
-    private Date inscripcion;
+    private int inscripcion = Fechas.SIN_FECHA;
     private String ubigeoProcedencia;
     private String codColegio;
-    private Date fechaEgresoColegio;
+    private int fechaEgresoColegio = Fechas.SIN_FECHA;
     private int tipoColegio;
     private String ubigeoColegio;
     private String estadoCivil;
@@ -38,11 +41,19 @@ public class Postulante {
     private String telCelular;
     private String direccion;
     private String ubigeo;
-    private Date fecNac;
+    private int fecNac = Fechas.SIN_FECHA;
     private double notaAC;  // Nota Aptitud Académica
     private double notaCO;  // Nota Conocimientos
     private String respuesta;
-    private String estadoAcademico; // "POSTULANTE" o "ALUMNO_LIBRE"
+    private int estadoAcademico; // Catalogo.ESTADO_POSTULANTE o ESTADO_ALUMNO_LIBRE
+    private double puntosCurva; // Puntos de curva sumados por el algoritmo de admisión
+    // Opciones, modalidad o estado sin id en el Catalogo (null si todos tienen id)
+    private String[] sinCatalogo;
+    
+    private static final int OPCION1 = 0;
+    private static final int OPCION2 = 1;
+    private static final int MODALIDAD = 2;
+    private static final int ESTADO = 3;
     
     // ===== CONSTRUCTORES =====
     
@@ -50,7 +61,7 @@ public class Postulante {
      * Constructor vacío con valores por defecto
      */
     public Postulante() {
-        this.estadoAcademico = "POSTULANTE";
+        this.estadoAcademico = Catalogo.ESTADO_POSTULANTE;
         this.notaAC = 0.0;
         this.notaCO = 0.0;
         this.ingreso = 0;
@@ -66,8 +77,8 @@ public class Postulante {
         this();
         this.codigo = codigo;
         this.apellidosNombres = apellidosNombres;
-        this.opcion1 = opcion1;
-        this.modalidad = modalidad;
+        setOpcion1(opcion1);
+        setModalidad(modalidad);
         this.dni = dni;
     }
     
@@ -81,16 +92,16 @@ public class Postulante {
         this();
         this.codigo = codigo;
         this.apellidosNombres = apellidosNombres;
-        this.opcion1 = opcion1;
-        this.opcion2 = opcion2;
-        this.modalidad = modalidad;
+        setOpcion1(opcion1);
+        setOpcion2(opcion2);
+        setModalidad(modalidad);
         this.dni = dni;
         this.codSede = codSede;
-        this.inscripcion = inscripcion;
-        this.sexo = sexo;
+        this.inscripcion = Fechas.dia(inscripcion);
+        this.sexo = Catalogo.TEXTOS.canonico(sexo);
         this.notaAC = notaAC;
         this.notaCO = notaCO;
-        this.estadoAcademico = estadoAcademico != null ? estadoAcademico : "POSTULANTE";
+        setEstadoAcademico(estadoAcademico);
     }
     
     // ===== GETTERS Y SETTERS =====
@@ -112,29 +123,52 @@ public class Postulante {
     }
     
     public String getOpcion1() {
-        return opcion1;
+        return opcion1 != Catalogo.SIN_VALOR ? Catalogo.CARRERAS.texto(opcion1) : sinCatalogo(OPCION1);
     }
     
     public void setOpcion1(String opcion1) {
-        this.opcion1 = opcion1 != null ? opcion1.trim() : null;
+        String texto = opcion1 != null ? opcion1.trim() : null;
+        this.opcion1 = Catalogo.CARRERAS.buscar(texto);
+        guardarSinCatalogo(OPCION1, this.opcion1, texto);
     }
     
     public String getOpcion2() {
-        return opcion2;
+        return opcion2 != Catalogo.SIN_VALOR ? Catalogo.CARRERAS.texto(opcion2) : sinCatalogo(OPCION2);
     }
     
     public void setOpcion2(String opcion2) {
-        this.opcion2 = opcion2 != null ? opcion2.trim() : null;
+        String texto = opcion2 != null ? opcion2.trim() : null;
+        this.opcion2 = Catalogo.CARRERAS.buscar(texto);
+        guardarSinCatalogo(OPCION2, this.opcion2, texto);
     }
     
     public String getModalidad() {
-        return modalidad;
+        return modalidad != Catalogo.SIN_VALOR ? Catalogo.MODALIDADES.texto(modalidad) : sinCatalogo(MODALIDAD);
     }
     
     public void setModalidad(String modalidad) {
-        this.modalidad = modalidad != null ? modalidad.trim().toUpperCase() : null;
+        String texto = modalidad != null ? modalidad.trim().toUpperCase() : null;
+        this.modalidad = Catalogo.MODALIDADES.id(texto);
+        guardarSinCatalogo(MODALIDAD, this.modalidad, texto);
+    }
+    
+    /**
+     * Ids de Catalogo.CARRERAS y Catalogo.MODALIDADES (Catalogo.SIN_VALOR si no hay
+     * o si el texto no está en el Catalogo); dos postulantes con la misma carrera
+     * tienen el mismo id. Una carrera registrada después de asignarla se busca aquí
+     */
+    public int getIdOpcion1() {
+        if (opcion1 == Catalogo.SIN_VALOR) opcion1 = Catalogo.CARRERAS.buscar(sinCatalogo(OPCION1));
+        return opcion1;
+    }
+    
+    public int getIdOpcion2() {
+        if (opcion2 == Catalogo.SIN_VALOR) opcion2 = Catalogo.CARRERAS.buscar(sinCatalogo(OPCION2));
+        return opcion2;
     }
     
+    public int getIdModalidad() { return modalidad; }
+    
     public String getDni() {
         return dni;
     }
@@ -152,19 +186,32 @@ public class Postulante {
     }
     
     public Date getInscripcion() {
-        return inscripcion;
+        return Fechas.fecha(inscripcion);
     }
     
     public void setInscripcion(Date inscripcion) {
-        this.inscripcion = inscripcion;
+        this.inscripcion = Fechas.dia(inscripcion);
     }
     
+    /**
+     * Fechas como días desde 1970-01-01 (Fechas.SIN_FECHA si no hay);
+     * los getters de Date crean un objeto nuevo en cada llamada
+     */
+    public int getInscripcionDia() { return inscripcion; }
+    public void setInscripcionDia(int inscripcion) { this.inscripcion = inscripcion; }
+    
+    public int getFechaEgresoColegioDia() { return fechaEgresoColegio; }
+    public void setFechaEgresoColegioDia(int fechaEgresoColegio) { this.fechaEgresoColegio = fechaEgresoColegio; }
+    
+    public int getFecNacDia() { return fecNac; }
+    public void setFecNacDia(int fecNac) { this.fecNac = fecNac; }
+    
     public String getSexo() {
         return sexo;
     }
     
     public void setSexo(String sexo) {
-        this.sexo = sexo != null ? sexo.trim().toUpperCase() : null;
+        this.sexo = Catalogo.TEXTOS.canonico(sexo != null ? sexo.trim().toUpperCase() : null);
     }
     
     public double getNotaAC() {
@@ -184,32 +231,34 @@ public class Postulante {
     }
     
     public String getEstadoAcademico() {
-        return estadoAcademico;
+        return estadoAcademico != Catalogo.SIN_VALOR ? Catalogo.ESTADOS.texto(estadoAcademico) : sinCatalogo(ESTADO);
     }
     
     public void setEstadoAcademico(String estadoAcademico) {
-        this.estadoAcademico = estadoAcademico != null ? estadoAcademico.trim().toUpperCase() : "POSTULANTE";
+        String texto = estadoAcademico != null ? estadoAcademico.trim().toUpperCase() : null;
+        this.estadoAcademico = texto != null ? Catalogo.ESTADOS.id(texto) : Catalogo.ESTADO_POSTULANTE;
+        guardarSinCatalogo(ESTADO, this.estadoAcademico, texto);
     }
     
     // ===== GETTERS/SETTERS ADICIONALES =====
     
     public String getUbigeoProcedencia() { return ubigeoProcedencia; }
-    public void setUbigeoProcedencia(String ubigeoProcedencia) { this.ubigeoProcedencia = ubigeoProcedencia; }
+    public void setUbigeoProcedencia(String ubigeoProcedencia) { this.ubigeoProcedencia = Catalogo.TEXTOS.canonico(ubigeoProcedencia); }
     
     public String getCodColegio() { return codColegio; }
     public void setCodColegio(String codColegio) { this.codColegio = codColegio; }
     
-    public Date getFechaEgresoColegio() { return fechaEgresoColegio; }
-    public void setFechaEgresoColegio(Date fechaEgresoColegio) { this.fechaEgresoColegio = fechaEgresoColegio; }
+    public Date getFechaEgresoColegio() { return Fechas.fecha(fechaEgresoColegio); }
+    public void setFechaEgresoColegio(Date fechaEgresoColegio) { this.fechaEgresoColegio = Fechas.dia(fechaEgresoColegio); }
     
     public int getTipoColegio() { return tipoColegio; }
     public void setTipoColegio(int tipoColegio) { this.tipoColegio = tipoColegio; }
     
     public String getUbigeoColegio() { return ubigeoColegio; }
-    public void setUbigeoColegio(String ubigeoColegio) { this.ubigeoColegio = ubigeoColegio; }
+    public void setUbigeoColegio(String ubigeoColegio) { this.ubigeoColegio = Catalogo.TEXTOS.canonico(ubigeoColegio); }
     
     public String getEstadoCivil() { return estadoCivil; }
-    public void setEstadoCivil(String estadoCivil) { this.estadoCivil = estadoCivil; }
+    public void setEstadoCivil(String estadoCivil) { this.estadoCivil = Catalogo.TEXTOS.canonico(estadoCivil); }
     
     public String getEncuesta() { return encuesta; }
     public void setEncuesta(String encuesta) { this.encuesta = encuesta; }
@@ -218,13 +267,13 @@ public class Postulante {
     public void setIngreso(int ingreso) { this.ingreso = ingreso; }
     
     public String getIngresoA() { return ingresoA; }
-    public void setIngresoA(String ingresoA) { this.ingresoA = ingresoA != null ? ingresoA.trim() : null; }
+    public void setIngresoA(String ingresoA) { this.ingresoA = Catalogo.CARRERAS.canonico(ingresoA != null ? ingresoA.trim() : null); }
     
     public String getNombreColegio() { return nombreColegio; }
     public void setNombreColegio(String nombreColegio) { this.nombreColegio = nombreColegio; }
     
     public String getIdiomaMat() { return idiomaMat; }
-    public void setIdiomaMat(String idiomaMat) { this.idiomaMat = idiomaMat; }
+    public void setIdiomaMat(String idiomaMat) { this.idiomaMat = Catalogo.TEXTOS.canonico(idiomaMat); }
     
     public String getTelCelular() { return telCelular; }
     public void setTelCelular(String telCelular) { this.telCelular = telCelular; }
@@ -233,14 +282,32 @@ public class Postulante {
     public void setDireccion(String direccion) { this.direccion = direccion; }
     
     public String getUbigeo() { return ubigeo; }
-    public void setUbigeo(String ubigeo) { this.ubigeo = ubigeo; }
+    public void setUbigeo(String ubigeo) { this.ubigeo = Catalogo.TEXTOS.canonico(ubigeo); }
     
-    public Date getFecNac() { return fecNac; }
-    public void setFecNac(Date fecNac) { this.fecNac = fecNac; }
+    public Date getFecNac() { return Fechas.fecha(fecNac); }
+    public void setFecNac(Date fecNac) { this.fecNac = Fechas.dia(fecNac); }
     
     public String getRespuesta() { return respuesta; }
     public void setRespuesta(String respuesta) { this.respuesta = respuesta; }
     
+    /**
+     * Guardar el texto si no obtuvo id del Catalogo (o limpiarlo si lo obtuvo);
+     * el arreglo se crea solo para los postulantes que lo necesitan
+     */
+    private void guardarSinCatalogo(int campo, int id, String texto) {
+        String valor = id == Catalogo.SIN_VALOR ? texto : null;
+        if (sinCatalogo == null) {
+            if (valor == null) return;
+            sinCatalogo = new String[4];
+        }
+        sinCatalogo[campo] = valor;
+    }
+    
+    private String sinCatalogo(int campo) {
+        String[] textos = sinCatalogo;
+        return textos != null ? textos[campo] : null;
+    }
+    
     // ===== MÉTODOS DE UTILIDAD =====
     
     /**
@@ -254,23 +321,21 @@ public class Postulante {
      * Verifica si es alumno libre
      */
     public boolean isAlumnoLibre() {
-        return "ALUMNO_LIBRE".equals(estadoAcademico);
+        return estadoAcademico == Catalogo.ESTADO_ALUMNO_LIBRE;
     }
     
     /**
      * Verifica si es postulante regular
      */
     public boolean isPostulante() {
-        return "POSTULANTE".equals(estadoAcademico);
+        return estadoAcademico == Catalogo.ESTADO_POSTULANTE;
     }
     
     /**
      * Calcula la edad basada en fecha de nacimiento
      */
     public int getEdad() {
-        if (fecNac == null) return 0;
-        long diferencia = new Date().getTime() - fecNac.getTime();
-        return (int) (diferencia / (365.25 * 24 * 60 * 60 * 1000));
+        return Fechas.edad(fecNac);
     }
     
     // ===== VALIDACIONES =====
@@ -282,8 +347,8 @@ public class Postulante {
         return codigo != null && !codigo.trim().isEmpty() &&
                apellidosNombres != null && !apellidosNombres.trim().isEmpty() &&
                dni != null && dni.length() == 8 &&
-               opcion1 != null && !opcion1.trim().isEmpty() &&
-               modalidad != null && !modalidad.trim().isEmpty();
+               getOpcion1() != null && !getOpcion1().trim().isEmpty() &&
+               getModalidad() != null && !getModalidad().trim().isEmpty();
     }
     
     /**
@@ -306,11 +371,11 @@ public class Postulante {
             errors.append("- DNI debe tener 8 dígitos\n");
         }
         
-        if (opcion1 == null || opcion1.trim().isEmpty()) {
+        if (getOpcion1() == null || getOpcion1().trim().isEmpty()) {
             errors.append("- Primera opción es requerida\n");
         }
         
-        if (modalidad == null || modalidad.trim().isEmpty()) {
+        if (getModalidad() == null || getModalidad().trim().isEmpty()) {
             errors.append("- Modalidad es requerida\n");
         }
         
@@ -334,10 +399,17 @@ public class Postulante {
     }
     
     /**
-     * Obtiene puntaje final calculado
+     * Obtiene puntaje final calculado (nota final más la curva aplicada, si la hay)
      */
     public double getPuntajeFinal() {
-        return getNotaFinal();
+        return getNotaFinal() + puntosCurva;
+    }
+    
+    /**
+     * Establece el puntaje final; la diferencia con la nota final se guarda como curva
+     */
+    public void setPuntajeFinal(double puntajeFinal) {
+        this.puntosCurva = puntajeFinal - getNotaFinal();
     }
     
     /**
@@ -379,6 +451,7 @@ public class Postulante {
      * Verifica si es Beca 18 (método requerido por RegistroPanel)
      */
     public boolean isEsBeca18() {
+        String modalidad = getModalidad();
         return modalidad != null && modalidad.toUpperCase().contains("BECA 18");
     }
     
@@ -394,11 +467,10 @@ public class Postulante {
     
     @Override
     public String toString() {
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
         return String.format("Postulante{codigo='%s', nombres='%s', opcion1='%s', " +
                            "modalidad='%s', dni='%s', tipo='%s', notaFinal=%.2f}",
-                           codigo, apellidosNombres, opcion1, modalidad, dni, 
-                           estadoAcademico, getNotaFinal());
+                           codigo, apellidosNombres, getOpcion1(), getModalidad(), dni, 
+                           getEstadoAcademico(), getNotaFinal());
     }
     
     @Override
@@ -2,18 +2,32 @@ package util;
 
 import model.Postulante;
 import model.Carrera;
+import model.Catalogo;
+import model.Fechas;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
  * ALGORITMO PRINCIPAL DE ADMISIÓN UNAS
  * Implementa todas las reglas del proceso de admisión
  * @author joe-696
  */
-public class AlgoritmoAdmision {
+public class AlgoritmoAdmision implements MotorAdmision {
     
     private List<Postulante> postulantes;
     private Map<String, Carrera> carreras;
+    private Map<String, IndiceCarrera> indicePorCarrera;
+    private boolean ordenPorClaves = true;
+    private ForkJoinPool pool; // solo durante un procesamiento en paralelo
+    private int paralelismo = 1;
+    // Conteos de los pasos 2 y 3, tomados al armar el índice en prepararDatos
+    private int aprobados;
+    private int directos;
+    private int libres;
     
     /**
      * Constructor
@@ -23,10 +37,49 @@ public class AlgoritmoAdmision {
         inicializarCarreras();
     }
     
+    /**
+     * Constructor con carreras y vacantes propias (otros procesos o pruebas de carga)
+     */
+    public AlgoritmoAdmision(Collection<Carrera> carreras) {
+        this.carreras = new HashMap<>();
+        for (Carrera carrera : carreras) {
+            this.carreras.put(carrera.getNombre(), carrera);
+        }
+    }
+    
     /**
      * ALGORITMO PRINCIPAL - PROCESA TODO EL SISTEMA DE ADMISIÓN
      */
-    public ResultadoAdmision procesarAdmision(List<Postulante> postulantes) {        
+    @Override
+    public ResultadoAdmision procesarAdmision(List<Postulante> postulantes) {
+        return procesarAdmision(postulantes, 1);
+    }
+    
+    /**
+     * Procesar la admisión usando varios hilos
+     * Con paralelismo > 1 el ordenamiento y los pasos 4 y 5 (cada carrera llena
+     * sus vacantes por separado) se reparten en un ForkJoinPool; entre un paso y
+     * el siguiente se espera a todas las carreras. Los pasos 6 y 7 siguen siendo
+     * secuenciales porque un mismo postulante puede competir en dos carreras.
+     * El resultado y los mensajes son idénticos a los del modo secuencial.
+     */
+    public ResultadoAdmision procesarAdmision(List<Postulante> postulantes, int paralelismo) {
+        if (paralelismo <= 1) {
+            return ejecutarPasos(postulantes);
+        }
+        
+        this.paralelismo = paralelismo;
+        this.pool = new ForkJoinPool(paralelismo);
+        try {
+            return ejecutarPasos(postulantes);
+        } finally {
+            pool.shutdownNow();
+            this.pool = null;
+            this.paralelismo = 1;
+        }
+    }
+    
+    private ResultadoAdmision ejecutarPasos(List<Postulante> postulantes) {
         System.out.println("\n🎯 INICIANDO ALGORITMO DE ADMISIÓN UNAS");
         System.out.println("=====================================");
         
@@ -35,25 +88,20 @@ public class AlgoritmoAdmision {
         // PASO 1: Validar y preparar datos
         prepararDatos();
         
-        // PASO 2: Filtrar postulantes con puntaje aprobatorio
-        List<Postulante> aprobatorios = filtrarAprobatorios();
-        
-        // PASO 3: Separar postulantes directos de alumnos libres
-        Map<String, List<Postulante>> separados = separarPorTipo(aprobatorios);
-        List<Postulante> postulantesDirectos = separados.get("POSTULANTES");
-        List<Postulante> alumnosLibres = separados.get("ALUMNOS_LIBRES");
+        // PASOS 2 y 3: aprobatorios y tipo académico (ya separados en prepararDatos)
+        reportarAprobatorios();
         
         // PASO 4: Procesar primera opción (postulantes directos)
-        Map<String, List<Postulante>> ingresantesPrimeraOpcion = procesarPrimeraOpcion(postulantesDirectos);
+        Map<String, List<Postulante>> ingresantesPrimeraOpcion = procesarPrimeraOpcion();
         
         // PASO 5: Procesar segunda opción (no ingresados en primera)
-        Map<String, List<Postulante>> ingresantesSegundaOpcion = procesarSegundaOpcion(postulantesDirectos, ingresantesPrimeraOpcion);
+        Map<String, List<Postulante>> ingresantesSegundaOpcion = procesarSegundaOpcion(ingresantesPrimeraOpcion);
         
         // PASO 6: Aplicar curvas para llenar vacantes
-        Map<String, List<Postulante>> ingresantesConCurva = aplicarCurvas(postulantesDirectos, ingresantesSegundaOpcion);
+        Map<String, List<Postulante>> ingresantesConCurva = aplicarCurvas(ingresantesSegundaOpcion);
         
         // PASO 7: Procesar alumnos libres (solo vacantes restantes)
-        Map<String, List<Postulante>> resultadoFinal = procesarAlumnosLibres(alumnosLibres, ingresantesConCurva);
+        Map<String, List<Postulante>> resultadoFinal = procesarAlumnosLibres(ingresantesConCurva);
         
         // PASO 8: Generar resultado final
         ResultadoAdmision resultado = new ResultadoAdmision(resultadoFinal, carreras);
@@ -65,10 +113,13 @@ public class AlgoritmoAdmision {
     
     /**
      * PASO 1: Preparar y limpiar datos
+     * Además arma el índice por carrera que usan los pasos 4 a 7
      */
     private void prepararDatos() {
         System.out.println("\n📋 PASO 1: Preparando datos...");
         
+        List<Postulante> aprobatorios = new ArrayList<>();
+        
         // Calcular puntaje final para todos
         for (Postulante p : postulantes) {
             double puntajeFinal = p.getNotaAC() + p.getNotaCO();
@@ -77,93 +128,143 @@ public class AlgoritmoAdmision {
             // Resetear estado de ingreso
             p.setIngreso(0);
             p.setIngresoA(null);
+            
+            if (puntajeFinal >= 11.0) {
+                aprobatorios.add(p);
+            }
+        }
+        
+        // Un solo ordenamiento (estable) de todos los aprobatorios; al repartirlos
+        // en ese orden cada lista por carrera queda ordenada sin volver a ordenarla
+        Postulante[] ordenados;
+        if (ordenPorClaves) {
+            ordenados = OrdenadorPostulantes.ordenar(aprobatorios, pool, paralelismo);
+        } else {
+            aprobatorios.sort(AlgoritmoAdmision::compararPostulantes);
+            ordenados = aprobatorios.toArray(new Postulante[0]);
         }
         
+        // Índice por id de carrera del Catalogo: sin hash ni equals por postulante
+        IndiceCarrera[] porId = new IndiceCarrera[Catalogo.CARRERAS.size()];
+        aprobados = ordenados.length;
+        directos = 0;
+        libres = 0;
+        for (Postulante p : ordenados) {
+            int opcion1 = p.getIdOpcion1();
+            int opcion2 = p.getIdOpcion2();
+            boolean opcionesDistintas = opcion1 != opcion2;
+            
+            if (p.isPostulante()) {
+                directos++;
+                if (opcion1 != Catalogo.SIN_VALOR) {
+                    porId = asegurar(porId, opcion1);
+                    porId[opcion1].primeraOpcion.add(p);
+                    porId[opcion1].directos.add(p);
+                }
+                if (opcion2 != Catalogo.SIN_VALOR) {
+                    porId = asegurar(porId, opcion2);
+                    porId[opcion2].segundaOpcion.add(p);
+                    if (opcionesDistintas) porId[opcion2].directos.add(p);
+                }
+            } else if (p.isAlumnoLibre()) {
+                libres++;
+                if (opcion1 != Catalogo.SIN_VALOR) {
+                    porId = asegurar(porId, opcion1);
+                    porId[opcion1].libres.add(p);
+                }
+                if (opcion2 != Catalogo.SIN_VALOR && opcionesDistintas) {
+                    porId = asegurar(porId, opcion2);
+                    porId[opcion2].libres.add(p);
+                }
+            }
+        }
+        
+        Map<String, IndiceCarrera> indice = new HashMap<>();
+        for (int id = 0; id < porId.length; id++) {
+            if (porId[id] != null) {
+                porId[id].cerrar();
+                indice.put(Catalogo.CARRERAS.texto(id), porId[id]);
+            }
+        }
+        this.indicePorCarrera = indice;
+        
         System.out.println("   ✅ " + postulantes.size() + " postulantes preparados");
     }
     
     /**
-     * PASO 2: Filtrar postulantes con puntaje aprobatorio (≥ 11.0)
+     * Índice de la carrera con ese id, creándolo (y agrandando el arreglo) si falta
      */
-    private List<Postulante> filtrarAprobatorios() {
-        System.out.println("\n📊 PASO 2: Filtrando postulantes aprobatorios...");
-        
-        List<Postulante> aprobatorios = postulantes.stream()
-            .filter(p -> p.getPuntajeFinal() >= 11.0)
-            .collect(Collectors.toList());
-        
-        int noAprobatorios = postulantes.size() - aprobatorios.size();
-        
-        System.out.println("   ✅ Postulantes aprobatorios: " + aprobatorios.size());
-        System.out.println("   ❌ Postulantes no aprobatorios: " + noAprobatorios);
-        
-        return aprobatorios;
+    private static IndiceCarrera[] asegurar(IndiceCarrera[] porId, int id) {
+        if (id >= porId.length) {
+            // Carrera registrada en el Catalogo mientras se armaba el índice
+            porId = Arrays.copyOf(porId, Math.max(id + 1, Catalogo.CARRERAS.size()));
+        }
+        if (porId[id] == null) {
+            porId[id] = new IndiceCarrera();
+        }
+        return porId;
     }
     
     /**
-     * PASO 3: Separar postulantes directos de alumnos libres
+     * PASOS 2 y 3: aprobatorios (≥ 11.0) y su tipo académico, contados en prepararDatos
      */
-    private Map<String, List<Postulante>> separarPorTipo(List<Postulante> aprobatorios) {
-        System.out.println("\n👥 PASO 3: Separando por tipo académico...");
-        
-        List<Postulante> postulantesDirectos = aprobatorios.stream()
-            .filter(p -> "POSTULANTE".equals(p.getEstadoAcademico()))
-            .collect(Collectors.toList());
-        
-        List<Postulante> alumnosLibres = aprobatorios.stream()
-            .filter(p -> "ALUMNO_LIBRE".equals(p.getEstadoAcademico()))
-            .collect(Collectors.toList());
-        
-        System.out.println("   📚 Postulantes directos: " + postulantesDirectos.size());
-        System.out.println("   🎓 Alumnos libres: " + alumnosLibres.size());
-        
-        Map<String, List<Postulante>> resultado = new HashMap<>();
-        resultado.put("POSTULANTES", postulantesDirectos);
-        resultado.put("ALUMNOS_LIBRES", alumnosLibres);
+    private void reportarAprobatorios() {
+        System.out.println("\n📊 PASO 2: Filtrando postulantes aprobatorios...");
+        System.out.println("   ✅ Postulantes aprobatorios: " + aprobados);
+        System.out.println("   ❌ Postulantes no aprobatorios: " + (postulantes.size() - aprobados));
         
-        return resultado;
+        System.out.println("\n👥 PASO 3: Separando por tipo académico...");
+        System.out.println("   📚 Postulantes directos: " + directos);
+        System.out.println("   🎓 Alumnos libres: " + libres);
     }
     
     /**
      * PASO 4: Procesar primera opción de carrera
      */
-    private Map<String, List<Postulante>> procesarPrimeraOpcion(List<Postulante> postulantesDirectos) {
+    private Map<String, List<Postulante>> procesarPrimeraOpcion() {
         System.out.println("\n🎯 PASO 4: Procesando primera opción...");
         
         Map<String, List<Postulante>> ingresantesPorCarrera = new HashMap<>();
         
-        // Agrupar postulantes por primera opción
-        Map<String, List<Postulante>> postulantePorCarrera = postulantesDirectos.stream()
-            .collect(Collectors.groupingBy(Postulante::getOpcion1));
+        // Carreras con candidatos en primera opción
+        List<String> nombres = new ArrayList<>();
+        for (Map.Entry<String, IndiceCarrera> entry : indicePorCarrera.entrySet()) {
+            if (entry.getValue().ordenPrimeraOpcion.length > 0) {
+                nombres.add(entry.getKey());
+            }
+        }
         
-        // Procesar cada carrera
-        for (Map.Entry<String, List<Postulante>> entry : postulantePorCarrera.entrySet()) {
-            String nombreCarrera = entry.getKey();
-            List<Postulante> candidatos = entry.getValue();
+        // Cada postulante está en una sola lista de primera opción: las carreras no comparten datos
+        List<List<Postulante>> admitidos = ejecutarPorCarrera(nombres, nombreCarrera -> {
             Carrera carrera = carreras.get(nombreCarrera);
+            if (carrera == null) return null;
             
-            if (carrera == null) {
-                System.out.println("   ⚠️ Carrera no encontrada: " + nombreCarrera);
-                continue;
-            }
-            
-            // Ordenar candidatos por puntaje (algoritmo de ordenamiento)
-            candidatos.sort(this::compararPostulantes);
-            
-            // Seleccionar ingresantes hasta llenar vacantes
+            // Los candidatos ya vienen ordenados por puntaje desde el índice
+            Postulante[] candidatos = indicePorCarrera.get(nombreCarrera).ordenPrimeraOpcion;
             List<Postulante> ingresantes = new ArrayList<>();
             int vacantesDisponibles = carrera.getVacantesDisponibles();
             
-            for (int i = 0; i < Math.min(candidatos.size(), vacantesDisponibles); i++) {
-                Postulante postulante = candidatos.get(i);
+            for (int i = 0; i < Math.min(candidatos.length, vacantesDisponibles); i++) {
+                Postulante postulante = candidatos[i];
                 postulante.setIngreso(1);
                 postulante.setIngresoA(nombreCarrera);
                 ingresantes.add(postulante);
                 carrera.ocuparVacante();
             }
+            return ingresantes;
+        });
+        
+        for (int i = 0; i < nombres.size(); i++) {
+            String nombreCarrera = nombres.get(i);
+            List<Postulante> ingresantes = admitidos.get(i);
+            if (ingresantes == null) {
+                System.out.println("   ⚠️ Carrera no encontrada: " + nombreCarrera);
+                continue;
+            }
             
             ingresantesPorCarrera.put(nombreCarrera, ingresantes);
-            System.out.println("   ✅ " + nombreCarrera + ": " + ingresantes.size() + "/" + candidatos.size() + " ingresantes");
+            System.out.println("   ✅ " + nombreCarrera + ": " + ingresantes.size() + "/"
+                + indicePorCarrera.get(nombreCarrera).ordenPrimeraOpcion.length + " ingresantes");
         }
         
         return ingresantesPorCarrera;
@@ -172,64 +273,80 @@ public class AlgoritmoAdmision {
     /**
      * PASO 5: Procesar segunda opción para no ingresados
      */
-    private Map<String, List<Postulante>> procesarSegundaOpcion(List<Postulante> postulantesDirectos, 
-                                                               Map<String, List<Postulante>> ingresantesPrevios) {
+    private Map<String, List<Postulante>> procesarSegundaOpcion(Map<String, List<Postulante>> ingresantesPrevios) {
         System.out.println("\n🎯 PASO 5: Procesando segunda opción...");
         
         Map<String, List<Postulante>> resultado = new HashMap<>(ingresantesPrevios);
         
-        // Filtrar postulantes que NO ingresaron en primera opción
-        List<Postulante> noIngresados = postulantesDirectos.stream()
-            .filter(p -> p.getIngreso() == 0)
-            .collect(Collectors.toList());
-        
-        System.out.println("   📊 Postulantes para segunda opción: " + noIngresados.size());
-        
-        // Agrupar por segunda opción
-        Map<String, List<Postulante>> postulantePorCarrera = noIngresados.stream()
-            .collect(Collectors.groupingBy(Postulante::getOpcion2));
-        
-        // Procesar cada carrera
-        for (Map.Entry<String, List<Postulante>> entry : postulantePorCarrera.entrySet()) {
-            String nombreCarrera = entry.getKey();
-            List<Postulante> candidatos = entry.getValue();
+        // Carreras que aún tienen vacantes
+        List<String> nombres = new ArrayList<>();
+        for (String nombreCarrera : indicePorCarrera.keySet()) {
             Carrera carrera = carreras.get(nombreCarrera);
-            
-            if (carrera == null || !carrera.tieneVacantesDisponibles()) {
-                continue;
-            }
-            
-            // Ordenar candidatos
-            candidatos.sort(this::compararPostulantes);
-            
-            // Obtener lista actual de ingresantes
-            List<Postulante> ingresantesActuales = resultado.getOrDefault(nombreCarrera, new ArrayList<>());
-            int vacantesRestantes = carrera.getVacantesRestantes();
-            
-            int nuevosIngresantes = 0;
-            for (int i = 0; i < Math.min(candidatos.size(), vacantesRestantes); i++) {
-                Postulante postulante = candidatos.get(i);
-                postulante.setIngreso(1);
-                postulante.setIngresoA(nombreCarrera);
-                ingresantesActuales.add(postulante);
-                carrera.ocuparVacante();
-                nuevosIngresantes++;
+            if (carrera != null && carrera.tieneVacantesDisponibles()) {
+                nombres.add(nombreCarrera);
             }
+        }
+        
+        // Cada postulante está en una sola lista de segunda opción: las carreras no comparten datos
+        List<List<Postulante>> admitidos = ejecutarPorCarrera(nombres, nombreCarrera -> {
+            List<Postulante> nuevos = new ArrayList<>();
+            admitirEnOrden(indicePorCarrera.get(nombreCarrera).ordenSegundaOpcion, carreras.get(nombreCarrera), nuevos, 0);
+            return nuevos;
+        });
+        
+        for (int i = 0; i < nombres.size(); i++) {
+            String nombreCarrera = nombres.get(i);
+            List<Postulante> nuevos = admitidos.get(i);
             
-            if (nuevosIngresantes > 0) {
+            if (!nuevos.isEmpty()) {
+                List<Postulante> ingresantesActuales = resultado.getOrDefault(nombreCarrera, new ArrayList<>());
+                ingresantesActuales.addAll(nuevos);
                 resultado.put(nombreCarrera, ingresantesActuales);
-                System.out.println("   ✅ " + nombreCarrera + " (2da): +" + nuevosIngresantes + " ingresantes");
+                System.out.println("   ✅ " + nombreCarrera + " (2da): +" + nuevos.size() + " ingresantes");
             }
         }
         
         return resultado;
     }
     
+    /**
+     * Ejecutar la tarea de cada carrera (en el pool si se procesa en paralelo)
+     * y devolver los resultados en el mismo orden que los nombres
+     */
+    private <T> List<T> ejecutarPorCarrera(List<String> nombres, Function<String, T> tarea) {
+        List<T> resultados = new ArrayList<>(nombres.size());
+        if (pool == null) {
+            for (String nombre : nombres) {
+                resultados.add(tarea.apply(nombre));
+            }
+            return resultados;
+        }
+        
+        List<Future<T>> pendientes = new ArrayList<>(nombres.size());
+        for (String nombre : nombres) {
+            pendientes.add(pool.submit(() -> tarea.apply(nombre)));
+        }
+        try {
+            for (Future<T> pendiente : pendientes) {
+                resultados.add(pendiente.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Procesamiento de admisión interrumpido", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException("Error en procesamiento paralelo: " + causa.getMessage(), causa);
+        }
+        return resultados;
+    }
+    
     /**
      * PASO 6: Aplicar curvas para llenar vacantes restantes
      */
-    private Map<String, List<Postulante>> aplicarCurvas(List<Postulante> postulantesDirectos,
-                                                        Map<String, List<Postulante>> ingresantesPrevios) {
+    private Map<String, List<Postulante>> aplicarCurvas(Map<String, List<Postulante>> ingresantesPrevios) {
         System.out.println("\n📈 PASO 6: Aplicando curvas...");
         
         Map<String, List<Postulante>> resultado = new HashMap<>(ingresantesPrevios);
@@ -245,27 +362,12 @@ public class AlgoritmoAdmision {
             
             System.out.println("   📈 Aplicando curva +" + curva + " puntos a " + nombreCarrera);
             
-            // Buscar candidatos que con curva podrían ingresar
-            List<Postulante> candidatosConCurva = postulantesDirectos.stream()
-                .filter(p -> p.getIngreso() == 0) // No ingresó aún
-                .filter(p -> p.getOpcion1().equals(nombreCarrera) || p.getOpcion2().equals(nombreCarrera))
-                .filter(p -> (p.getPuntajeFinal() + curva) >= 11.0) // Con curva es aprobatorio
-                .sorted(this::compararPostulantes)
-                .collect(Collectors.toList());
+            IndiceCarrera indiceCarrera = indicePorCarrera.get(nombreCarrera);
+            if (indiceCarrera == null) continue;
             
+            // Candidatos que eligieron la carrera en primera o segunda opción y aún no ingresan
             List<Postulante> ingresantesActuales = resultado.getOrDefault(nombreCarrera, new ArrayList<>());
-            int vacantesRestantes = carrera.getVacantesRestantes();
-            
-            int ingresantesCurva = 0;
-            for (int i = 0; i < Math.min(candidatosConCurva.size(), vacantesRestantes); i++) {
-                Postulante postulante = candidatosConCurva.get(i);
-                postulante.setPuntajeFinal(postulante.getPuntajeFinal() + curva);
-                postulante.setIngreso(1);
-                postulante.setIngresoA(nombreCarrera);
-                ingresantesActuales.add(postulante);
-                carrera.ocuparVacante();
-                ingresantesCurva++;
-            }
+            int ingresantesCurva = admitirEnOrden(indiceCarrera.ordenDirectos, carrera, ingresantesActuales, curva);
             
             if (ingresantesCurva > 0) {
                 resultado.put(nombreCarrera, ingresantesActuales);
@@ -279,8 +381,7 @@ public class AlgoritmoAdmision {
     /**
      * PASO 7: Procesar alumnos libres (solo vacantes restantes)
      */
-    private Map<String, List<Postulante>> procesarAlumnosLibres(List<Postulante> alumnosLibres,
-                                                               Map<String, List<Postulante>> ingresantesPrevios) {
+    private Map<String, List<Postulante>> procesarAlumnosLibres(Map<String, List<Postulante>> ingresantesPrevios) {
         System.out.println("\n🎓 PASO 7: Procesando alumnos libres...");
         
         Map<String, List<Postulante>> resultado = new HashMap<>(ingresantesPrevios);
@@ -298,28 +399,11 @@ public class AlgoritmoAdmision {
             if (!carrera.tieneVacantesDisponibles()) continue;
             
             String nombreCarrera = carrera.getNombre();
-            
-            // Buscar alumnos libres que eligieron esta carrera
-            List<Postulante> candidatos = alumnosLibres.stream()
-                .filter(p -> p.getIngreso() == 0)
-                .filter(p -> p.getOpcion1().equals(nombreCarrera) || p.getOpcion2().equals(nombreCarrera))
-                .sorted(this::compararPostulantes)
-                .collect(Collectors.toList());
-            
-            if (candidatos.isEmpty()) continue;
+            IndiceCarrera indiceCarrera = indicePorCarrera.get(nombreCarrera);
+            if (indiceCarrera == null || indiceCarrera.ordenLibres.length == 0) continue;
             
             List<Postulante> ingresantesActuales = resultado.getOrDefault(nombreCarrera, new ArrayList<>());
-            int vacantesRestantes = carrera.getVacantesRestantes();
-            
-            int ingresantesLibres = 0;
-            for (int i = 0; i < Math.min(candidatos.size(), vacantesRestantes); i++) {
-                Postulante postulante = candidatos.get(i);
-                postulante.setIngreso(1);
-                postulante.setIngresoA(nombreCarrera);
-                ingresantesActuales.add(postulante);
-                carrera.ocuparVacante();
-                ingresantesLibres++;
-            }
+            int ingresantesLibres = admitirEnOrden(indiceCarrera.ordenLibres, carrera, ingresantesActuales, 0);
             
             if (ingresantesLibres > 0) {
                 resultado.put(nombreCarrera, ingresantesActuales);
@@ -330,11 +414,148 @@ public class AlgoritmoAdmision {
         return resultado;
     }
     
+    /**
+     * Recorrer candidatos ya ordenados y admitir a los que aún no ingresaron
+     * hasta llenar las vacantes restantes de la carrera
+     * @param curva puntos sumados al puntaje de cada nuevo ingresante (0 si no aplica)
+     * @return cantidad de nuevos ingresantes
+     */
+    private int admitirEnOrden(Postulante[] candidatos, Carrera carrera,
+                               List<Postulante> ingresantesActuales, double curva) {
+        int vacantesRestantes = carrera.getVacantesRestantes();
+        int nuevosIngresantes = 0;
+        
+        for (int i = 0; i < candidatos.length && nuevosIngresantes < vacantesRestantes; i++) {
+            Postulante postulante = candidatos[i];
+            if (postulante.getIngreso() != 0) continue;
+            
+            if (curva > 0) {
+                postulante.setPuntajeFinal(postulante.getPuntajeFinal() + curva);
+            }
+            postulante.setIngreso(1);
+            postulante.setIngresoA(carrera.getNombre());
+            ingresantesActuales.add(postulante);
+            carrera.ocuparVacante();
+            nuevosIngresantes++;
+        }
+        
+        return nuevosIngresantes;
+    }
+    
+    /**
+     * Procesar la admisión sobre columnas (ColumnasPostulantes) en vez de objetos
+     * Mismos pasos, mismo orden de mérito y mismos ingresantes que con la lista.
+     * Solo los ingresantes se convierten en Postulante (con los datos que
+     * guardan las columnas) para armar el resultado
+     */
+    public ResultadoAdmision procesarAdmision(ColumnasPostulantes columnas) {
+        System.out.println("\n🎯 INICIANDO ALGORITMO DE ADMISIÓN UNAS (por columnas)");
+        System.out.println("=====================================");
+        
+        // PASOS 1 y 2: aprobatorios, ordenados por mérito una sola vez
+        int n = columnas.size();
+        int[] aprobatorios = IntStream.range(0, n).filter(i -> columnas.getNotaFinal(i) >= 11.0).toArray();
+        IndiceColumnas indice = new IndiceColumnas(columnas, OrdenadorPostulantes.ordenarFilas(columnas, aprobatorios));
+        System.out.println("   ✅ Postulantes aprobatorios: " + aprobatorios.length);
+        System.out.println("   ❌ Postulantes no aprobatorios: " + (n - aprobatorios.length));
+        
+        int[] ingresoA = new int[n];
+        Arrays.fill(ingresoA, Catalogo.SIN_VALOR);
+        double[] curvas = new double[n];
+        Map<String, List<Integer>> filasPorCarrera = new HashMap<>();
+        
+        // PASO 4: primera opción
+        for (int id = 0; id < indice.carreras; id++) {
+            int[] candidatos = indice.lista(IndiceColumnas.PRIMERA, id);
+            if (candidatos.length == 0) continue;
+            
+            Carrera carrera = carreras.get(Catalogo.CARRERAS.texto(id));
+            if (carrera == null) {
+                System.out.println("   ⚠️ Carrera no encontrada: " + Catalogo.CARRERAS.texto(id));
+                continue;
+            }
+            List<Integer> ingresantes = new ArrayList<>();
+            int vacantesDisponibles = carrera.getVacantesDisponibles();
+            for (int i = 0; i < Math.min(candidatos.length, vacantesDisponibles); i++) {
+                ingresoA[candidatos[i]] = id;
+                ingresantes.add(candidatos[i]);
+                carrera.ocuparVacante();
+            }
+            filasPorCarrera.put(carrera.getNombre(), ingresantes);
+        }
+        
+        // PASO 5: segunda opción
+        for (int id = 0; id < indice.carreras; id++) {
+            Carrera carrera = carreras.get(Catalogo.CARRERAS.texto(id));
+            if (carrera == null || !carrera.tieneVacantesDisponibles()) continue;
+            admitirFilas(indice.lista(IndiceColumnas.SEGUNDA, id), id, carrera, filasPorCarrera, 0, ingresoA, curvas);
+        }
+        
+        // PASO 6: curvas (en el orden de las carreras, como con la lista)
+        for (Carrera carrera : carreras.values()) {
+            int id = Catalogo.CARRERAS.buscar(carrera.getNombre());
+            if (id == Catalogo.SIN_VALOR || !carrera.tieneVacantesDisponibles() || carrera.getCurvaAplicada() <= 0) continue;
+            admitirFilas(indice.lista(IndiceColumnas.DIRECTOS, id), id, carrera, filasPorCarrera,
+                carrera.getCurvaAplicada(), ingresoA, curvas);
+        }
+        
+        // PASO 7: alumnos libres
+        for (Carrera carrera : carreras.values()) {
+            int id = Catalogo.CARRERAS.buscar(carrera.getNombre());
+            if (id == Catalogo.SIN_VALOR || !carrera.tieneVacantesDisponibles()) continue;
+            admitirFilas(indice.lista(IndiceColumnas.LIBRES, id), id, carrera, filasPorCarrera, 0, ingresoA, curvas);
+        }
+        
+        // PASO 8: resultado con los ingresantes como Postulante
+        Map<String, List<Postulante>> ingresantesPorCarrera = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : filasPorCarrera.entrySet()) {
+            List<Postulante> ingresantes = new ArrayList<>(entry.getValue().size());
+            for (int fila : entry.getValue()) {
+                Postulante p = columnas.crearPostulante(fila);
+                p.setPuntajeFinal(p.getNotaFinal() + curvas[fila]);
+                p.setIngreso(1);
+                p.setIngresoA(entry.getKey());
+                ingresantes.add(p);
+            }
+            ingresantesPorCarrera.put(entry.getKey(), ingresantes);
+        }
+        
+        ResultadoAdmision resultado = new ResultadoAdmision(ingresantesPorCarrera, carreras);
+        resultado.generarEstadisticas();
+        
+        System.out.println("✅ ALGORITMO DE ADMISIÓN COMPLETADO");
+        return resultado;
+    }
+    
+    /**
+     * admitirEnOrden para filas de columnas
+     */
+    private static void admitirFilas(int[] candidatos, int idCarrera, Carrera carrera,
+                                     Map<String, List<Integer>> filasPorCarrera, double curva,
+                                     int[] ingresoA, double[] curvas) {
+        int vacantesRestantes = carrera.getVacantesRestantes();
+        List<Integer> ingresantes = null;
+        
+        for (int i = 0; i < candidatos.length && vacantesRestantes > 0; i++) {
+            int fila = candidatos[i];
+            if (ingresoA[fila] != Catalogo.SIN_VALOR) continue;
+            
+            if (ingresantes == null) {
+                ingresantes = filasPorCarrera.computeIfAbsent(carrera.getNombre(), k -> new ArrayList<>());
+            }
+            curvas[fila] = curva;
+            ingresoA[fila] = idCarrera;
+            ingresantes.add(fila);
+            carrera.ocuparVacante();
+            vacantesRestantes--;
+        }
+    }
+    
     /**
      * ALGORITMO DE COMPARACIÓN PARA ORDENAMIENTO
      * Criterios de desempate para ordenar postulantes
      */
-    private int compararPostulantes(Postulante p1, Postulante p2) {
+    public static int compararPostulantes(Postulante p1, Postulante p2) {
         // 1. Por puntaje final (descendente)
         int comparacionPuntaje = Double.compare(p2.getPuntajeFinal(), p1.getPuntajeFinal());
         if (comparacionPuntaje != 0) return comparacionPuntaje;
@@ -348,58 +569,172 @@ public class AlgoritmoAdmision {
         if (comparacionCO != 0) return comparacionCO;
         
         // 4. En caso de empate, por edad (más joven gana)
-        if (p1.getFecNac() != null && p2.getFecNac() != null) {
-            int comparacionEdad = p2.getFecNac().compareTo(p1.getFecNac());
+        if (p1.getFecNacDia() != Fechas.SIN_FECHA && p2.getFecNacDia() != Fechas.SIN_FECHA) {
+            int comparacionEdad = Integer.compare(p2.getFecNacDia(), p1.getFecNacDia());
             if (comparacionEdad != 0) return comparacionEdad;
         }
         
         // 5. En caso de empate, por fecha de inscripción (más temprano gana)
-        if (p1.getInscripcion() != null && p2.getInscripcion() != null) {
-            return p1.getInscripcion().compareTo(p2.getInscripcion());
+        if (p1.getInscripcionDia() != Fechas.SIN_FECHA && p2.getInscripcionDia() != Fechas.SIN_FECHA) {
+            return Integer.compare(p1.getInscripcionDia(), p2.getInscripcionDia());
         }
         
         return 0;
     }
     
+    /**
+     * Ordenar con claves primitivas precalculadas (OrdenadorPostulantes, por defecto)
+     * o con compararPostulantes directamente; el orden resultante es el mismo
+     */
+    public void setOrdenPorClaves(boolean ordenPorClaves) {
+        this.ordenPorClaves = ordenPorClaves;
+    }
+    
     /**
      * Inicializar carreras con sus vacantes y curvas
      */
     private void inicializarCarreras() {
-        // Carreras de Ingeniería (curva +2.0)
-        carreras.put("INGENIERÍA DE SISTEMAS E INFORMÁTICA", 
-            new Carrera("ISI", "INGENIERÍA DE SISTEMAS E INFORMÁTICA", "INGENIERÍA", 25));
-        carreras.get("INGENIERÍA DE SISTEMAS E INFORMÁTICA").setCurvaAplicada(2.0);
+        for (Carrera carrera : carrerasPorDefecto()) {
+            carreras.put(carrera.getNombre(), carrera);
+        }
+    }
+    
+    /**
+     * Carreras de UNAS con sus vacantes y curvas (instancias nuevas en cada llamada,
+     * porque cada proceso de admisión va ocupando sus vacantes)
+     */
+    public static List<Carrera> carrerasPorDefecto() {
+        List<Carrera> carreras = new ArrayList<>();
         
-        carreras.put("INGENIERÍA CIVIL", 
-            new Carrera("CIV", "INGENIERÍA CIVIL", "INGENIERÍA", 20));
-        carreras.get("INGENIERÍA CIVIL").setCurvaAplicada(2.0);
+        // Carreras de Ingeniería (curva +2.0)
+        carreras.add(conCurva(new Carrera("ISI", "INGENIERÍA DE SISTEMAS E INFORMÁTICA", "INGENIERÍA", 25), 2.0));
+        carreras.add(conCurva(new Carrera("CIV", "INGENIERÍA CIVIL", "INGENIERÍA", 20), 2.0));
         
         // Carreras de Medicina (curva +1.0)
-        carreras.put("MEDICINA HUMANA", 
-            new Carrera("MED", "MEDICINA HUMANA", "MEDICINA", 30));
-        carreras.get("MEDICINA HUMANA").setCurvaAplicada(1.0);
-        
-        carreras.put("ENFERMERÍA", 
-            new Carrera("ENF", "ENFERMERÍA", "MEDICINA", 25));
-        carreras.get("ENFERMERÍA").setCurvaAplicada(1.0);
+        carreras.add(conCurva(new Carrera("MED", "MEDICINA HUMANA", "MEDICINA", 30), 1.0));
+        carreras.add(conCurva(new Carrera("ENF", "ENFERMERÍA", "MEDICINA", 25), 1.0));
         
         // Carreras de Ciencias Empresariales (curva +1.5)
-        carreras.put("ADMINISTRACIÓN", 
-            new Carrera("ADM", "ADMINISTRACIÓN", "CIENCIAS EMPRESARIALES", 35));
-        carreras.get("ADMINISTRACIÓN").setCurvaAplicada(1.5);
-        
-        carreras.put("CONTABILIDAD", 
-            new Carrera("CON", "CONTABILIDAD", "CIENCIAS EMPRESARIALES", 30));
-        carreras.get("CONTABILIDAD").setCurvaAplicada(1.5);
+        carreras.add(conCurva(new Carrera("ADM", "ADMINISTRACIÓN", "CIENCIAS EMPRESARIALES", 35), 1.5));
+        carreras.add(conCurva(new Carrera("CON", "CONTABILIDAD", "CIENCIAS EMPRESARIALES", 30), 1.5));
         
         // Otras carreras (curva +1.0)
-        carreras.put("DERECHO Y CIENCIAS POLÍTICAS", 
-            new Carrera("DER", "DERECHO Y CIENCIAS POLÍTICAS", "DERECHO", 30));
-        carreras.get("DERECHO Y CIENCIAS POLÍTICAS").setCurvaAplicada(1.0);
+        carreras.add(conCurva(new Carrera("DER", "DERECHO Y CIENCIAS POLÍTICAS", "DERECHO", 30), 1.0));
+        carreras.add(conCurva(new Carrera("PSI", "PSICOLOGÍA", "PSICOLOGÍA", 25), 1.0));
+        
+        return carreras;
+    }
+    
+    private static Carrera conCurva(Carrera carrera, double curva) {
+        carrera.setCurvaAplicada(curva);
+        return carrera;
+    }
+    
+    /**
+     * Candidatos aprobatorios de una carrera, armados una vez en prepararDatos
+     * ya ordenados con compararPostulantes, para que cada paso solo los recorra
+     */
+    private static class IndiceCarrera {
+        private List<Postulante> primeraOpcion = new ArrayList<>();
+        private List<Postulante> segundaOpcion = new ArrayList<>();
+        private List<Postulante> directos = new ArrayList<>(); // primera o segunda opción
+        private List<Postulante> libres = new ArrayList<>();   // alumnos libres, primera o segunda opción
+        
+        private Postulante[] ordenPrimeraOpcion;
+        private Postulante[] ordenSegundaOpcion;
+        private Postulante[] ordenDirectos;
+        private Postulante[] ordenLibres;
+        
+        /**
+         * Pasar las listas a arreglos y liberar las listas
+         */
+        void cerrar() {
+            ordenPrimeraOpcion = primeraOpcion.toArray(new Postulante[0]);
+            ordenSegundaOpcion = segundaOpcion.toArray(new Postulante[0]);
+            ordenDirectos = directos.toArray(new Postulante[0]);
+            ordenLibres = libres.toArray(new Postulante[0]);
+            primeraOpcion = segundaOpcion = directos = libres = null;
+        }
+    }
+    
+    /**
+     * Candidatos aprobatorios por carrera para procesarAdmision(ColumnasPostulantes):
+     * filas en orden de mérito, por id de carrera del Catalogo
+     */
+    private static class IndiceColumnas {
+        static final int PRIMERA = 0;
+        static final int SEGUNDA = 1;
+        static final int DIRECTOS = 2; // primera o segunda opción
+        static final int LIBRES = 3;   // alumnos libres, primera o segunda opción
+        
+        private static final int[] SIN_CANDIDATOS = new int[0];
         
-        carreras.put("PSICOLOGÍA", 
-            new Carrera("PSI", "PSICOLOGÍA", "PSICOLOGÍA", 25));
-        carreras.get("PSICOLOGÍA").setCurvaAplicada(1.0);
+        private final int carreras; // ids del Catalogo registrados al armar el índice
+        private final int[][][] listas;
+        private int[][] usados;
+        
+        IndiceColumnas(ColumnasPostulantes columnas, int[] ordenados) {
+            carreras = Catalogo.CARRERAS.size();
+            listas = new int[4][carreras][];
+            
+            // Primera vuelta: contar; segunda: llenar arreglos del tamaño justo
+            for (int vuelta = 0; vuelta < 2; vuelta++) {
+                usados = new int[4][carreras];
+                for (int fila : ordenados) {
+                    int opcion1 = idCarrera(columnas, columnas.getOpcion1(fila));
+                    int opcion2 = idCarrera(columnas, columnas.getOpcion2(fila));
+                    boolean opcionesDistintas = opcion1 != opcion2;
+                    
+                    if (columnas.esPostulante(fila)) {
+                        if (opcion1 != Catalogo.SIN_VALOR) {
+                            poner(PRIMERA, opcion1, fila);
+                            poner(DIRECTOS, opcion1, fila);
+                        }
+                        if (opcion2 != Catalogo.SIN_VALOR) {
+                            poner(SEGUNDA, opcion2, fila);
+                            if (opcionesDistintas) poner(DIRECTOS, opcion2, fila);
+                        }
+                    } else if (columnas.esAlumnoLibre(fila)) {
+                        if (opcion1 != Catalogo.SIN_VALOR) poner(LIBRES, opcion1, fila);
+                        if (opcion2 != Catalogo.SIN_VALOR && opcionesDistintas) poner(LIBRES, opcion2, fila);
+                    }
+                }
+                if (vuelta == 0) {
+                    for (int tipo = 0; tipo < 4; tipo++) {
+                        for (int carrera = 0; carrera < carreras; carrera++) {
+                            listas[tipo][carrera] = new int[usados[tipo][carrera]];
+                        }
+                    }
+                }
+            }
+            usados = null;
+        }
+        
+        /**
+         * Id de la carrera de una columna de opción: las que no tenían id al
+         * cargar las columnas se buscan otra vez (pudieron registrarse después)
+         */
+        private int idCarrera(ColumnasPostulantes columnas, int valor) {
+            if (valor >= 0 || valor == Catalogo.SIN_VALOR) return valor;
+            
+            int id = Catalogo.CARRERAS.buscar(columnas.getTexto(valor));
+            return id < carreras ? id : Catalogo.SIN_VALOR;
+        }
+        
+        /**
+         * Filas de la carrera en orden de mérito (ninguna si la carrera se
+         * registró en el Catalogo después de armar el índice)
+         */
+        int[] lista(int tipo, int carrera) {
+            return carrera < carreras ? listas[tipo][carrera] : SIN_CANDIDATOS;
+        }
+        
+        private void poner(int tipo, int carrera, int fila) {
+            int posicion = usados[tipo][carrera]++;
+            if (listas[tipo][carrera] != null) {
+                listas[tipo][carrera][posicion] = fila;
+            }
+        }
     }
     
     /**
@@ -456,4 +791,4 @@ public class AlgoritmoAdmision {
         public Map<String, List<Postulante>> getIngresantesPorCarrera() { return ingresantesPorCarrera; }
         public Map<String, Carrera> getCarreras() { return carreras; }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
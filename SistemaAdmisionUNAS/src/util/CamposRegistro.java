@@ -0,0 +1,33 @@
+package util;
+
+/**
+ * Campos de un registro de postulante ya separados y limpios,
+ * independiente del formato de origen (CSV o Excel)
+ * @author joe-696
+ */
+interface CamposRegistro {
+    
+    /**
+     * Cantidad de campos del registro
+     */
+    int getNumeroCampos();
+    
+    /**
+     * Obtener un campo limpio; los campos inexistentes se devuelven vacíos
+     */
+    String campo(int indice);
+    
+    /**
+     * Verificar si un campo está vacío
+     */
+    default boolean esVacio(int indice) {
+        return campo(indice).isEmpty();
+    }
+    
+    /**
+     * Obtener un campo o el valor por defecto si está vacío
+     */
+    default String campoODefecto(int indice, String valorDefault) {
+        return esVacio(indice) ? valorDefault : campo(indice);
+    }
+}
@@ -0,0 +1,132 @@
+package util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Primera fila en que aparece cada clave (código o DNI), para varios hilos a la vez
+ * - Las claves numéricas (lo normal en códigos y DNIs) se guardan como long en
+ *   tablas de direccionamiento abierto repartidas en franjas, cada una con su
+ *   propio candado: los hilos casi nunca se esperan y no se crea un objeto por clave
+ * - Las claves con letras van a un ConcurrentHashMap aparte
+ * - registrar conserva la fila menor, así el resultado no depende del orden en
+ *   que los hilos registran las filas
+ * @author joe-696
+ */
+public final class ClavesVistas {
+    
+    public static final long SIN_FILA = Long.MAX_VALUE;
+    
+    private static final int FRANJAS = 64;
+    private static final int CAPACIDAD_INICIAL = 1024;
+    
+    private final Franja[] franjas = new Franja[FRANJAS];
+    private final ConcurrentHashMap<String, Long> textos = new ConcurrentHashMap<>();
+    
+    public ClavesVistas() {
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new Franja();
+        }
+    }
+    
+    /**
+     * Registrar que la clave aparece en la fila (se ignora null o vacía)
+     */
+    public void registrar(String clave, long fila) {
+        if (clave == null || clave.isEmpty()) return;
+        
+        long numerica = ColumnasPostulantes.claveNumerica(clave);
+        if (numerica >= 0) {
+            long mezcla = mezclar(numerica);
+            franjas[(int) (mezcla >>> 58)].registrar(numerica, fila, (int) mezcla);
+        } else {
+            textos.merge(clave, fila, Math::min);
+        }
+    }
+    
+    /**
+     * Primera fila registrada para la clave (SIN_FILA si no apareció)
+     */
+    public long primeraFila(String clave) {
+        if (clave == null || clave.isEmpty()) return SIN_FILA;
+        
+        long numerica = ColumnasPostulantes.claveNumerica(clave);
+        if (numerica >= 0) {
+            long mezcla = mezclar(numerica);
+            return franjas[(int) (mezcla >>> 58)].primeraFila(numerica, (int) mezcla);
+        }
+        return textos.getOrDefault(clave, SIN_FILA);
+    }
+    
+    public long size() {
+        long total = textos.size();
+        for (Franja franja : franjas) {
+            total += franja.size();
+        }
+        return total;
+    }
+    
+    private static long mezclar(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+    
+    /**
+     * Tabla de direccionamiento abierto (sondeo lineal) de una franja;
+     * la clave 0 marca un hueco (las claves numéricas nunca valen 0)
+     */
+    private static final class Franja {
+        private long[] claves = new long[CAPACIDAD_INICIAL];
+        private long[] filas = new long[CAPACIDAD_INICIAL];
+        private int cantidad;
+        
+        synchronized void registrar(long clave, long fila, int hash) {
+            int mascara = claves.length - 1;
+            int i = hash & mascara;
+            while (claves[i] != 0) {
+                if (claves[i] == clave) {
+                    if (fila < filas[i]) filas[i] = fila;
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            filas[i] = fila;
+            
+            // Carga máxima 1/2: los sondeos siguen cortos
+            if (++cantidad * 2 > claves.length) {
+                crecer();
+            }
+        }
+        
+        synchronized long primeraFila(long clave, int hash) {
+            int mascara = claves.length - 1;
+            for (int i = hash & mascara; claves[i] != 0; i = (i + 1) & mascara) {
+                if (claves[i] == clave) return filas[i];
+            }
+            return SIN_FILA;
+        }
+        
+        synchronized int size() {
+            return cantidad;
+        }
+        
+        private void crecer() {
+            long[] clavesAnteriores = claves;
+            long[] filasAnteriores = filas;
+            claves = new long[clavesAnteriores.length * 2];
+            filas = new long[clavesAnteriores.length * 2];
+            int mascara = claves.length - 1;
+            for (int j = 0; j < clavesAnteriores.length; j++) {
+                long clave = clavesAnteriores[j];
+                if (clave == 0) continue;
+                
+                int i = (int) mezclar(clave) & mascara;
+                while (claves[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clave;
+                filas[i] = filasAnteriores[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package util;
+
+import model.Catalogo;
+import model.Fechas;
+import model.Postulante;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Postulantes guardados por columnas, para estadísticas y el proceso de admisión
+ * - Una fila por postulante; cada dato es un arreglo primitivo (double[] notas,
+ *   int[] fechas en días desde 1970-01-01)
+ * - Carreras, modalidades y estados se guardan como ids del Catalogo (los
+ *   mismos que usa Postulante); los que no están en el Catalogo, en una tabla
+ *   de textos de estas columnas
+ * - El código y el DNI se guardan como números cuando solo tienen dígitos
+ *   (los demás, también en la tabla de textos)
+ * - Solo los datos que usan los reportes, validarIntegridad y el algoritmo de
+ *   admisión: ni nombres, ni dirección, ni datos del colegio
+ * Ocupa varias veces menos memoria que la misma cantidad de objetos Postulante.
+ * Se arma con PostulanteDAO.obtenerColumnas (directo del ResultSet) o desdeLista;
+ * después de construirla no cambia
+ * @author joe-696
+ */
+public class ColumnasPostulantes {
+    
+    // Fecha que falta (las fechas son días desde 1970-01-01, como en Postulante)
+    public static final int SIN_FECHA = Fechas.SIN_FECHA;
+    
+    private static final byte DATOS_COMPLETOS = 1; // Lo mismo que Postulante.validarDatos()
+    
+    // Código numérico: cantidad de dígitos en los bits altos, valor en los 57 bajos
+    private static final int MAX_DIGITOS_CODIGO = 17;
+    private static final int BITS_VALOR_CODIGO = 57;
+    private static final long MASCARA_VALOR_CODIGO = (1L << BITS_VALOR_CODIGO) - 1;
+    
+    private final int filas;
+    private final long[] codigos;        // dígitos y valor, Catalogo.SIN_VALOR o -2 - posición en textos
+    private final int[] dnis;            // número de 8 dígitos, Catalogo.SIN_VALOR o -2 - posición en textos
+    private final int[] opcion1;
+    private final int[] opcion2;
+    private final int[] modalidad;
+    private final int[] estado;
+    private final double[] notaAC;
+    private final double[] notaCO;
+    private final int[] fecNac;
+    private final int[] inscripcion;
+    private final byte[] banderas;
+    
+    private final String[] textos;       // códigos y DNI no numéricos, textos sin id del Catalogo
+    
+    private ColumnasPostulantes(Cargador c) {
+        this.filas = c.filas;
+        this.codigos = Arrays.copyOf(c.codigos, filas);
+        this.dnis = Arrays.copyOf(c.dnis, filas);
+        this.opcion1 = Arrays.copyOf(c.opcion1, filas);
+        this.opcion2 = Arrays.copyOf(c.opcion2, filas);
+        this.modalidad = Arrays.copyOf(c.modalidad, filas);
+        this.estado = Arrays.copyOf(c.estado, filas);
+        this.notaAC = Arrays.copyOf(c.notaAC, filas);
+        this.notaCO = Arrays.copyOf(c.notaCO, filas);
+        this.fecNac = Arrays.copyOf(c.fecNac, filas);
+        this.inscripcion = Arrays.copyOf(c.inscripcion, filas);
+        this.banderas = Arrays.copyOf(c.banderas, filas);
+        this.textos = c.textos.toArray(new String[0]);
+    }
+    
+    /**
+     * Columnas de una lista de postulantes ya cargada (p. ej. desde Excel)
+     */
+    public static ColumnasPostulantes desdeLista(List<Postulante> postulantes) {
+        Cargador cargador = new Cargador(postulantes.size());
+        for (Postulante p : postulantes) {
+            cargador.agregar(p.getCodigo(), p.getDni(), !vacio(p.getApellidosNombres()),
+                p.getOpcion1(), p.getOpcion2(), p.getModalidad(), p.getEstadoAcademico(),
+                p.getNotaAC(), p.getNotaCO(), p.getFecNacDia(), p.getInscripcionDia());
+        }
+        return cargador.construir();
+    }
+    
+    public int size() { return filas; }
+    
+    public double getNotaAC(int fila) { return notaAC[fila]; }
+    public double getNotaCO(int fila) { return notaCO[fila]; }
+    /**
+     * Ids de Catalogo.CARRERAS, Catalogo.MODALIDADES y Catalogo.ESTADOS
+     * (Catalogo.SIN_VALOR si no hay; otro valor negativo si el texto no está
+     * en el Catalogo, ver getTexto)
+     */
+    public int getOpcion1(int fila) { return opcion1[fila]; }
+    public int getOpcion2(int fila) { return opcion2[fila]; }
+    public int getModalidad(int fila) { return modalidad[fila]; }
+    public int getEstado(int fila) { return estado[fila]; }
+    public int getFecNac(int fila) { return fecNac[fila]; }
+    public int getInscripcion(int fila) { return inscripcion[fila]; }
+    
+    /**
+     * Texto de un valor de opción, modalidad o estado fuera del Catalogo
+     * (valor < 0; null para Catalogo.SIN_VALOR)
+     */
+    public String getTexto(int valor) {
+        return valor == Catalogo.SIN_VALOR ? null : textos[-2 - valor];
+    }
+    
+    /**
+     * Nota final (AC + CO), igual que Postulante.getNotaFinal()
+     */
+    public double getNotaFinal(int fila) {
+        return notaAC[fila] + notaCO[fila];
+    }
+    
+    public boolean esPostulante(int fila) {
+        return estado[fila] == Catalogo.ESTADO_POSTULANTE;
+    }
+    
+    public boolean esAlumnoLibre(int fila) {
+        return estado[fila] == Catalogo.ESTADO_ALUMNO_LIBRE;
+    }
+    
+    /**
+     * Mismo resultado que Postulante.validarDatos()
+     */
+    public boolean tieneDatosCompletos(int fila) {
+        return (banderas[fila] & DATOS_COMPLETOS) != 0;
+    }
+    
+    /**
+     * Código como número: iguales si y solo si los códigos son iguales (null incluido)
+     */
+    public long getClaveCodigo(int fila) {
+        return codigos[fila];
+    }
+    
+    public String getCodigo(int fila) {
+        long codigo = codigos[fila];
+        if (codigo < 0) {
+            return codigo == Catalogo.SIN_VALOR ? null : textos[(int) (-2 - codigo)];
+        }
+        return conCeros(codigo & MASCARA_VALOR_CODIGO, (int) (codigo >>> BITS_VALOR_CODIGO));
+    }
+    
+    /**
+     * DNI como número: iguales si y solo si los DNI son iguales (null incluido)
+     */
+    public int getClaveDni(int fila) {
+        return dnis[fila];
+    }
+    
+    public String getDni(int fila) {
+        int dni = dnis[fila];
+        if (dni >= 0) return conCeros(dni, 8);
+        return dni == Catalogo.SIN_VALOR ? null : textos[-2 - dni];
+    }
+    
+    /**
+     * Postulante con los datos de la fila (sin los que no se guardan en columnas)
+     */
+    public Postulante crearPostulante(int fila) {
+        Postulante p = new Postulante();
+        p.setCodigo(getCodigo(fila));
+        p.setDni(getDni(fila));
+        p.setOpcion1(texto(Catalogo.CARRERAS, opcion1[fila]));
+        p.setOpcion2(texto(Catalogo.CARRERAS, opcion2[fila]));
+        p.setModalidad(texto(Catalogo.MODALIDADES, modalidad[fila]));
+        p.setEstadoAcademico(texto(Catalogo.ESTADOS, estado[fila]));
+        p.setNotaAC(notaAC[fila]);
+        p.setNotaCO(notaCO[fila]);
+        p.setFecNacDia(fecNac[fila]);
+        p.setInscripcionDia(inscripcion[fila]);
+        return p;
+    }
+    
+    private String texto(Catalogo catalogo, int valor) {
+        return valor >= 0 ? catalogo.texto(valor) : getTexto(valor);
+    }
+    
+    /**
+     * Memoria aproximada en bytes de los arreglos (la tabla de textos es
+     * despreciable mientras casi todos los códigos y DNI sean numéricos)
+     */
+    public long getBytesEstimados() {
+        return (8 + 4 * 7 + 8 * 2 + 1) * (long) filas; // código, 7 int, 2 double, banderas
+    }
+    
+    /**
+     * Clave long de un texto de solo dígitos (hasta 17): el valor con la
+     * cantidad de dígitos en los bits altos, así "0123" y "123" difieren;
+     * -1 si el texto tiene otros caracteres
+     */
+    static long claveNumerica(String texto) {
+        int digitos = texto.length();
+        if (digitos == 0 || digitos > MAX_DIGITOS_CODIGO) return -1;
+        
+        long valor = 0;
+        for (int i = 0; i < digitos; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            valor = valor * 10 + (c - '0');
+        }
+        return ((long) digitos << BITS_VALOR_CODIGO) | valor;
+    }
+    
+    /**
+     * Número con ceros a la izquierda (String.format es mucho más lento)
+     */
+    private static String conCeros(long valor, int digitos) {
+        char[] texto = new char[digitos];
+        for (int i = digitos - 1; i >= 0; i--) {
+            texto[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return new String(texto);
+    }
+    
+    private static boolean vacio(String texto) {
+        return texto == null || texto.trim().isEmpty();
+    }
+    
+    /**
+     * Arma las columnas fila por fila (los arreglos crecen al doble cuando se llenan)
+     */
+    public static class Cargador {
+        private int filas;
+        private long[] codigos;
+        private int[] dnis;
+        private int[] opcion1;
+        private int[] opcion2;
+        private int[] modalidad;
+        private int[] estado;
+        private double[] notaAC;
+        private double[] notaCO;
+        private int[] fecNac;
+        private int[] inscripcion;
+        private byte[] banderas;
+        
+        private final Map<String, Integer> posicionTextos = new HashMap<>();
+        private final List<String> textos = new ArrayList<>();
+        
+        public Cargador(int capacidad) {
+            redimensionar(Math.max(16, capacidad));
+        }
+        
+        /**
+         * Agregar una fila
+         * @param conNombres si apellidos y nombres no está vacío
+         * @param fecNac días desde 1970-01-01 o SIN_FECHA
+         * @param inscripcion días desde 1970-01-01 o SIN_FECHA
+         */
+        public void agregar(String codigo, String dni, boolean conNombres, String opcion1, String opcion2,
+                            String modalidad, String estadoAcademico, double notaAC, double notaCO,
+                            int fecNac, int inscripcion) {
+            if (filas == codigos.length) {
+                redimensionar(filas * 2);
+            }
+            
+            int fila = filas++;
+            this.codigos[fila] = claveCodigo(codigo);
+            this.dnis[fila] = claveDni(dni);
+            this.opcion1[fila] = valor(Catalogo.CARRERAS.buscar(opcion1), opcion1);
+            this.opcion2[fila] = valor(Catalogo.CARRERAS.buscar(opcion2), opcion2);
+            this.modalidad[fila] = valor(Catalogo.MODALIDADES.id(modalidad), modalidad);
+            this.estado[fila] = valor(Catalogo.ESTADOS.id(estadoAcademico), estadoAcademico);
+            this.notaAC[fila] = notaAC;
+            this.notaCO[fila] = notaCO;
+            this.fecNac[fila] = fecNac;
+            this.inscripcion[fila] = inscripcion;
+            
+            boolean completos = !vacio(codigo) && conNombres && dni != null && dni.length() == 8
+                && !vacio(opcion1) && !vacio(modalidad);
+            this.banderas[fila] = completos ? DATOS_COMPLETOS : 0;
+        }
+        
+        public ColumnasPostulantes construir() {
+            return new ColumnasPostulantes(this);
+        }
+        
+        private long claveCodigo(String codigo) {
+            if (codigo == null) return Catalogo.SIN_VALOR;
+            
+            long clave = claveNumerica(codigo);
+            return clave >= 0 ? clave : -2 - posicion(codigo);
+        }
+        
+        private int claveDni(String dni) {
+            if (dni == null) return Catalogo.SIN_VALOR;
+            
+            if (dni.length() == 8) {
+                int valor = 0;
+                for (int i = 0; i < 8; i++) {
+                    char c = dni.charAt(i);
+                    if (c < '0' || c > '9') {
+                        valor = -1;
+                        break;
+                    }
+                    valor = valor * 10 + (c - '0');
+                }
+                if (valor >= 0) return valor;
+            }
+            return -2 - posicion(dni);
+        }
+        
+        /**
+         * Id del Catalogo o, si el texto no tiene, -2 - posición en la tabla de textos
+         */
+        private int valor(int id, String texto) {
+            return id != Catalogo.SIN_VALOR || texto == null ? id : -2 - posicion(texto);
+        }
+        
+        /**
+         * Posición del texto en la tabla de textos, agregándolo si es nuevo
+         * (mismo texto, misma posición: las claves siguen comparándose por número)
+         */
+        private int posicion(String texto) {
+            Integer posicion = posicionTextos.get(texto);
+            if (posicion == null) {
+                posicion = textos.size();
+                posicionTextos.put(texto, posicion);
+                textos.add(texto);
+            }
+            return posicion;
+        }
+        
+        private void redimensionar(int capacidad) {
+            codigos = codigos == null ? new long[capacidad] : Arrays.copyOf(codigos, capacidad);
+            dnis = dnis == null ? new int[capacidad] : Arrays.copyOf(dnis, capacidad);
+            opcion1 = opcion1 == null ? new int[capacidad] : Arrays.copyOf(opcion1, capacidad);
+            opcion2 = opcion2 == null ? new int[capacidad] : Arrays.copyOf(opcion2, capacidad);
+            modalidad = modalidad == null ? new int[capacidad] : Arrays.copyOf(modalidad, capacidad);
+            estado = estado == null ? new int[capacidad] : Arrays.copyOf(estado, capacidad);
+            notaAC = notaAC == null ? new double[capacidad] : Arrays.copyOf(notaAC, capacidad);
+            notaCO = notaCO == null ? new double[capacidad] : Arrays.copyOf(notaCO, capacidad);
+            fecNac = fecNac == null ? new int[capacidad] : Arrays.copyOf(fecNac, capacidad);
+            inscripcion = inscripcion == null ? new int[capacidad] : Arrays.copyOf(inscripcion, capacidad);
+            banderas = banderas == null ? new byte[capacidad] : Arrays.copyOf(banderas, capacidad);
+        }
+    }
+}
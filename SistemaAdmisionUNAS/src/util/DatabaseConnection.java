@@ -1,7 +1,8 @@
 package util;
 
+import model.Catalogo;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -12,34 +13,29 @@ import java.sql.Statement;
 public class DatabaseConnection {
     
     // Configuración de H2 Database con persistencia completa y máxima durabilidad
-    private static final String DB_URL = "jdbc:h2:./data/sistemaadmision;AUTO_SERVER=TRUE;DB_CLOSE_ON_EXIT=FALSE;DB_CLOSE_DELAY=-1;CACHE_SIZE=65536;WRITE_DELAY=0;UNDO_LOG=1";
+    private static final String DB_URL_DEFECTO = "jdbc:h2:./data/sistemaadmision;AUTO_SERVER=TRUE;DB_CLOSE_ON_EXIT=FALSE;DB_CLOSE_DELAY=-1;CACHE_SIZE=65536;WRITE_DELAY=0;UNDO_LOG=1";
+    // -Dadmision.db.url=... permite usar otra base (p. ej. una H2 en memoria para benchmarks)
+    private static final String DB_URL = System.getProperty("admision.db.url", DB_URL_DEFECTO);
     private static final String DB_USER = "sa";
     private static final String DB_PASSWORD = "";
     
-    private static Connection connection = null;
+    // Configuración del pool de conexiones
+    private static final int POOL_TAMANO_MAXIMO = 10;
+    private static final int POOL_MINIMO_INACTIVAS = 1;
+    private static final long POOL_TIEMPO_MAX_INACTIVO_MS = 5 * 60 * 1000;
+    private static final long POOL_UMBRAL_FUGA_MS = 2 * 60 * 1000;
+    private static final long POOL_ESPERA_MAX_MS = 30 * 1000;
+    
+    private static volatile PoolConexiones pool = null;
     
     /**
-     * Obtener conexión a la base de datos
+     * Obtener una conexión del pool
+     * Cada llamador recibe su propia conexión y debe cerrarla (close())
+     * para devolverla al pool, idealmente con try-with-resources
      */
     public static Connection getConnection() {
         try {
-            if (connection == null || connection.isClosed()) {
-                System.out.println("🔗 Estableciendo conexión a H2 Database...");
-                
-                // Cargar driver H2
-                Class.forName("org.h2.Driver");
-                
-                // Crear conexión
-                connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-                
-                System.out.println("✅ Conexión H2 establecida exitosamente");
-                
-                // Crear tablas si no existen
-                crearTablasIniciales();
-                
-                return connection;
-            }
-            return connection;
+            return getDataSource().getConnection();
             
         } catch (ClassNotFoundException e) {
             System.err.println("❌ ERROR: No se encontró el driver H2");
@@ -57,120 +53,78 @@ public class DatabaseConnection {
     }
     
     /**
-     * Crear tablas iniciales si no existen
+     * Obtener el DataSource (pool) inicializándolo la primera vez
      */
-    private static void crearTablasIniciales() {
-        try {
-            Statement stmt = connection.createStatement();
-            
-            // Tabla carreras
-            String sqlCarreras = """
-                CREATE TABLE IF NOT EXISTS carreras (
-                    id INTEGER AUTO_INCREMENT PRIMARY KEY,
-                    nombre VARCHAR(200) UNIQUE NOT NULL,
-                    activa BOOLEAN DEFAULT TRUE,
-                    fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                )
-                """;
-            stmt.execute(sqlCarreras);
-            System.out.println("✅ Tabla 'carreras' creada/verificada");
-            
-            // Insertar carreras por defecto si no existen
-            String checkCarreras = "SELECT COUNT(*) FROM carreras";
-            var rs = stmt.executeQuery(checkCarreras);
-            rs.next();
-            if (rs.getInt(1) == 0) {
-                insertarCarrerasPorDefecto(stmt);
-            }
-            
-            // Tabla postulantes
-            String sqlPostulantes = """
-                CREATE TABLE IF NOT EXISTS postulantes (
-                    codigo VARCHAR(20) PRIMARY KEY,
-                    apellidos_nombres VARCHAR(200) NOT NULL,
-                    opcion1 VARCHAR(100),
-                    opcion2 VARCHAR(100),
-                    modalidad VARCHAR(50),
-                    dni VARCHAR(8) UNIQUE,
-                    cod_sede INTEGER DEFAULT 1,
-                    inscripcion DATE,
-                    ubigeo_procedencia VARCHAR(10),
-                    cod_colegio VARCHAR(20),
-                    fecha_egreso_colegio DATE,
-                    tipo_colegio INTEGER DEFAULT 1,
-                    ubigeo_colegio VARCHAR(10),
-                    estado_civil VARCHAR(20),
-                    encuesta VARCHAR(50),
-                    ingreso INTEGER DEFAULT 0,
-                    ingreso_a VARCHAR(100),
-                    sexo VARCHAR(1),
-                    nombre_colegio VARCHAR(200),
-                    idioma_mat VARCHAR(2),
-                    tel_celular VARCHAR(15),
-                    direccion VARCHAR(200),
-                    ubigeo VARCHAR(10),
-                    fec_nac DATE,
-                    nota_ac DECIMAL(4,2) DEFAULT 0.00,
-                    nota_co DECIMAL(4,2) DEFAULT 0.00,
-                    nota_final DECIMAL(4,2) DEFAULT 0.00,
-                    estado_academico VARCHAR(20) DEFAULT 'POSTULANTE',
-                    respuesta VARCHAR(100),
-                    fecha_registro TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                )
-                """;
+    public static PoolConexiones getDataSource() throws ClassNotFoundException, SQLException {
+        PoolConexiones actual = pool;
+        if (actual != null && !actual.isCerrado()) {
+            return actual;
+        }
+        
+        synchronized (DatabaseConnection.class) {
+            if (pool == null || pool.isCerrado()) {
+                System.out.println("🔗 Inicializando pool de conexiones H2...");
                 
-            stmt.execute(sqlPostulantes);
-            System.out.println("✅ Tabla 'postulantes' creada/verificada");
-            
-            // Forzar commit para asegurar persistencia
-            connection.commit();
-            
-            stmt.close();
-            
+                // Cargar driver H2
+                Class.forName("org.h2.Driver");
+                
+                PoolConexiones nuevo = new PoolConexiones(DB_URL, DB_USER, DB_PASSWORD,
+                    POOL_TAMANO_MAXIMO, POOL_MINIMO_INACTIVAS, POOL_TIEMPO_MAX_INACTIVO_MS,
+                    POOL_UMBRAL_FUGA_MS, POOL_ESPERA_MAX_MS);
+                
+                // Aplicar las migraciones pendientes del esquema
+                try (Connection conn = nuevo.getConnection()) {
+                    migrarEsquema(conn);
+                    registrarCarreras(conn);
+                }
+                
+                pool = nuevo;
+                System.out.println("✅ Pool de conexiones H2 establecido (máximo " + POOL_TAMANO_MAXIMO + " conexiones)");
+            }
+            return pool;
+        }
+    }
+    
+    /**
+     * Métricas del pool: conexiones activas/inactivas y tiempos de espera
+     */
+    public static PoolConexiones.Metricas obtenerMetricasPool() {
+        PoolConexiones actual = pool;
+        return actual != null ? actual.getMetricas() : null;
+    }
+    
+    /**
+     * Llevar el esquema a la última versión (ver MigradorEsquema)
+     */
+    private static void migrarEsquema(Connection connection) {
+        try {
+            MigradorEsquema.migrar(connection);
         } catch (SQLException e) {
-            System.err.println("❌ Error creando tablas: " + e.getMessage());
+            System.err.println("❌ Error migrando el esquema: " + e.getMessage());
             e.printStackTrace();
         }
     }
     
     /**
-     * Insertar carreras por defecto
+     * Registrar las carreras de la tabla en Catalogo.CARRERAS antes de leer
+     * postulantes: sus opciones solo buscan ids, no registran carreras nuevas
      */
-    private static void insertarCarrerasPorDefecto(Statement stmt) throws SQLException {
-        String[] carrerasPorDefecto = {
-            "INGENIERÍA DE SISTEMAS E INFORMÁTICA",
-            "MEDICINA HUMANA",
-            "INGENIERÍA CIVIL",
-            "ADMINISTRACIÓN",
-            "CONTABILIDAD",
-            "DERECHO Y CIENCIAS POLÍTICAS",
-            "PSICOLOGÍA",
-            "ENFERMERÍA",
-            "INGENIERÍA INDUSTRIAL",
-            "ECONOMÍA",
-            "AGRONOMÍA",
-            "INGENIERÍA FORESTAL",
-            "ZOOTECNIA",
-            "MEDICINA VETERINARIA"
-        };
-        
-        for (String carrera : carrerasPorDefecto) {
-            String sql = "INSERT INTO carreras (nombre) VALUES (?)";
-            var pstmt = stmt.getConnection().prepareStatement(sql);
-            pstmt.setString(1, carrera);
-            pstmt.executeUpdate();
-            pstmt.close();
+    private static void registrarCarreras(Connection connection) {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT nombre FROM carreras")) {
+            while (rs.next()) {
+                Catalogo.CARRERAS.id(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error registrando las carreras: " + e.getMessage());
         }
-        
-        System.out.println("✅ Carreras por defecto insertadas");
     }
     
     /**
      * Probar conexión
      */
     public static boolean probarConexion() {
-        try {
-            Connection conn = getConnection();
+        try (Connection conn = getConnection()) {
             if (conn != null && !conn.isClosed()) {
                 System.out.println("✅ Prueba de conexión exitosa");
                 return true;
@@ -185,24 +139,33 @@ public class DatabaseConnection {
     }
     
     /**
-     * Cerrar conexión con commit forzado
+     * Cerrar el pool con commit forzado y SHUTDOWN de la base de datos
      */
     public static void cerrarConexion() {
-        try {
-            if (connection != null && !connection.isClosed()) {
+        synchronized (DatabaseConnection.class) {
+            if (pool == null || pool.isCerrado()) {
+                return;
+            }
+            
+            System.out.println("📊 " + pool.getMetricas());
+            
+            try (Connection connection = pool.getConnection()) {
                 // Forzar commit antes de cerrar
-                connection.commit();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
                 
                 // Ejecutar SHUTDOWN para asegurar persistencia
                 Statement stmt = connection.createStatement();
                 stmt.execute("SHUTDOWN");
                 stmt.close();
                 
-                connection.close();
                 System.out.println("✅ Conexión H2 cerrada con persistencia garantizada");
+            } catch (SQLException e) {
+                System.err.println("❌ Error cerrando conexión: " + e.getMessage());
+            } finally {
+                pool.cerrar();
             }
-        } catch (SQLException e) {
-            System.err.println("❌ Error cerrando conexión: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
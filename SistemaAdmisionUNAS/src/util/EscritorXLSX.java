@@ -0,0 +1,336 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escritor de archivos .xlsx por streaming, sin librerías externas
+ * - Cada fila se escribe directamente en la entrada del zip de su hoja;
+ *   no se arma el libro en memoria, así que el consumo es fijo sin importar
+ *   cuántas filas se exporten
+ * - Los textos se escriben en línea (inlineStr) para no necesitar una tabla
+ *   de textos compartidos
+ * - Soporta varias hojas (una a la vez, en orden)
+ * Uso:
+ *   try (EscritorXLSX xlsx = new EscritorXLSX(ruta)) {
+ *       xlsx.nuevaHoja("Ingresantes");
+ *       xlsx.escribirEncabezado("CODIGO", "NOMBRES");
+ *       xlsx.escribirFila("2024001", "GARCIA LOPEZ JUAN");
+ *   }
+ * @author joe-696
+ */
+public class EscritorXLSX implements AutoCloseable {
+    
+    private static final String NS_HOJA = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_RELACIONES = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String ENCABEZADO_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    
+    // Índices de estilo definidos en estilos()
+    private static final int ESTILO_FECHA = 1;
+    private static final int ESTILO_ENCABEZADO = 2;
+    private static final int ESTILO_DECIMAL = 3;
+    
+    private static final int LARGO_MAXIMO_NOMBRE_HOJA = 31;
+    private static final LocalDate BASE_FECHAS = LocalDate.of(1899, 12, 30);
+    
+    private final ZipOutputStream zip;
+    private final Writer salida;
+    private final List<String> hojas = new ArrayList<>();
+    private final Set<String> nombresUsados = new HashSet<>();
+    
+    private boolean hojaAbierta = false;
+    private int filaActual = 0;
+    private long filasEscritas = 0;
+    private boolean cerrado = false;
+    
+    /**
+     * Crear el archivo de destino
+     */
+    public EscritorXLSX(String rutaArchivo) throws IOException {
+        this.zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(rutaArchivo), 64 * 1024));
+        this.salida = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+    }
+    
+    /**
+     * Empezar una hoja nueva; la anterior se cierra automáticamente
+     * El nombre se ajusta a las reglas de Excel (31 caracteres, sin []:*?/\ y único)
+     * @return nombre final de la hoja
+     */
+    public String nuevaHoja(String nombre) throws IOException {
+        verificarAbierto();
+        cerrarHoja();
+        
+        String nombreHoja = nombreValido(nombre);
+        hojas.add(nombreHoja);
+        
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + hojas.size() + ".xml"));
+        salida.write(ENCABEZADO_XML);
+        salida.write("<worksheet xmlns=\"" + NS_HOJA + "\"><sheetData>\n");
+        
+        hojaAbierta = true;
+        filaActual = 0;
+        return nombreHoja;
+    }
+    
+    /**
+     * Escribir una fila de encabezado (texto en negrita)
+     */
+    public void escribirEncabezado(String... titulos) throws IOException {
+        iniciarFila();
+        for (String titulo : titulos) {
+            escribirTexto(titulo, ESTILO_ENCABEZADO);
+        }
+        terminarFila();
+    }
+    
+    /**
+     * Escribir una fila de datos
+     * Tipos soportados: String, Number, Date, LocalDate y Boolean; null deja la celda vacía
+     */
+    public void escribirFila(Object... valores) throws IOException {
+        iniciarFila();
+        for (Object valor : valores) {
+            escribirCelda(valor);
+        }
+        terminarFila();
+    }
+    
+    private void iniciarFila() throws IOException {
+        verificarAbierto();
+        if (!hojaAbierta) {
+            nuevaHoja("Hoja" + (hojas.size() + 1));
+        }
+        filaActual++;
+        salida.write("<row r=\"");
+        salida.write(Integer.toString(filaActual));
+        salida.write("\">");
+    }
+    
+    private void terminarFila() throws IOException {
+        salida.write("</row>\n");
+        filasEscritas++;
+    }
+    
+    private void escribirCelda(Object valor) throws IOException {
+        if (valor == null) {
+            salida.write("<c/>");
+        } else if (valor instanceof String texto) {
+            escribirTexto(texto, 0);
+        } else if (valor instanceof Double || valor instanceof Float) {
+            double numero = ((Number) valor).doubleValue();
+            if (Double.isNaN(numero) || Double.isInfinite(numero)) {
+                salida.write("<c/>");
+            } else {
+                escribirNumero(Double.toString(numero), ESTILO_DECIMAL);
+            }
+        } else if (valor instanceof Number numero) {
+            escribirNumero(numero.toString(), 0);
+        } else if (valor instanceof Date fecha) {
+            LocalDate dia = fecha.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            escribirNumero(Long.toString(ChronoUnit.DAYS.between(BASE_FECHAS, dia)), ESTILO_FECHA);
+        } else if (valor instanceof LocalDate dia) {
+            escribirNumero(Long.toString(ChronoUnit.DAYS.between(BASE_FECHAS, dia)), ESTILO_FECHA);
+        } else if (valor instanceof Boolean logico) {
+            salida.write("<c t=\"b\"><v>");
+            salida.write(logico ? "1" : "0");
+            salida.write("</v></c>");
+        } else {
+            escribirTexto(valor.toString(), 0);
+        }
+    }
+    
+    private void escribirNumero(String numero, int estilo) throws IOException {
+        salida.write(estilo == 0 ? "<c><v>" : "<c s=\"" + estilo + "\"><v>");
+        salida.write(numero);
+        salida.write("</v></c>");
+    }
+    
+    private void escribirTexto(String texto, int estilo) throws IOException {
+        salida.write(estilo == 0 ? "<c t=\"inlineStr\"><is><t>" : "<c t=\"inlineStr\" s=\"" + estilo + "\"><is><t>");
+        escaparXML(texto);
+        salida.write("</t></is></c>");
+    }
+    
+    /**
+     * Escribir texto escapado, omitiendo caracteres no permitidos en XML 1.0
+     */
+    private void escaparXML(String texto) throws IOException {
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '<': salida.write("&lt;"); break;
+                case '>': salida.write("&gt;"); break;
+                case '&': salida.write("&amp;"); break;
+                case '"': salida.write("&quot;"); break;
+                default:
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        salida.write(c);
+                    }
+            }
+        }
+    }
+    
+    private void cerrarHoja() throws IOException {
+        if (!hojaAbierta) return;
+        
+        salida.write("</sheetData></worksheet>\n");
+        salida.flush();
+        zip.closeEntry();
+        hojaAbierta = false;
+    }
+    
+    private String nombreValido(String nombre) {
+        StringBuilder sb = new StringBuilder();
+        if (nombre != null) {
+            for (char c : nombre.trim().toCharArray()) {
+                sb.append("[]:*?/\\".indexOf(c) >= 0 ? '_' : c);
+            }
+        }
+        // Excel no acepta nombres que empiecen o terminen con apóstrofe
+        while (sb.length() > 0 && sb.charAt(0) == '\'') sb.deleteCharAt(0);
+        while (sb.length() > 0 && sb.charAt(sb.length() - 1) == '\'') sb.setLength(sb.length() - 1);
+        if (sb.length() == 0) {
+            sb.append("Hoja").append(hojas.size() + 1);
+        }
+        
+        String base = sb.length() > LARGO_MAXIMO_NOMBRE_HOJA ? sb.substring(0, LARGO_MAXIMO_NOMBRE_HOJA) : sb.toString();
+        String candidato = base;
+        for (int i = 2; !nombresUsados.add(candidato.toLowerCase()); i++) {
+            String sufijo = " (" + i + ")";
+            candidato = base.substring(0, Math.min(base.length(), LARGO_MAXIMO_NOMBRE_HOJA - sufijo.length())) + sufijo;
+        }
+        return candidato;
+    }
+    
+    private void verificarAbierto() throws IOException {
+        if (cerrado) {
+            throw new IOException("El archivo ya fue cerrado");
+        }
+    }
+    
+    /**
+     * Cantidad de filas escritas en todas las hojas (incluye encabezados)
+     */
+    public long getFilasEscritas() {
+        return filasEscritas;
+    }
+    
+    /**
+     * Cerrar la última hoja y escribir las partes fijas del libro
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) return;
+        
+        try {
+            if (hojas.isEmpty()) {
+                // Un libro necesita al menos una hoja
+                nuevaHoja("Hoja1");
+            }
+            cerrarHoja();
+            
+            escribirEntrada("[Content_Types].xml", tiposDeContenido());
+            escribirEntrada("_rels/.rels", ENCABEZADO_XML
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + NS_RELACIONES + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+            escribirEntrada("xl/workbook.xml", libro());
+            escribirEntrada("xl/_rels/workbook.xml.rels", relacionesLibro());
+            escribirEntrada("xl/styles.xml", estilos());
+            
+            salida.flush();
+            zip.finish();
+        } finally {
+            cerrado = true;
+            zip.close();
+        }
+    }
+    
+    private void escribirEntrada(String ruta, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(ruta));
+        salida.write(contenido);
+        salida.flush();
+        zip.closeEntry();
+    }
+    
+    private String tiposDeContenido() {
+        StringBuilder sb = new StringBuilder(ENCABEZADO_XML);
+        sb.append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        sb.append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        sb.append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        sb.append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        sb.append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= hojas.size(); i++) {
+            sb.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+              .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        sb.append("</Types>");
+        return sb.toString();
+    }
+    
+    private String libro() {
+        StringBuilder sb = new StringBuilder(ENCABEZADO_XML);
+        sb.append("<workbook xmlns=\"").append(NS_HOJA).append("\" xmlns:r=\"").append(NS_RELACIONES).append("\"><sheets>");
+        for (int i = 1; i <= hojas.size(); i++) {
+            sb.append("<sheet name=\"").append(escaparAtributo(hojas.get(i - 1)))
+              .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        sb.append("</sheets></workbook>");
+        return sb.toString();
+    }
+    
+    private String relacionesLibro() {
+        StringBuilder sb = new StringBuilder(ENCABEZADO_XML);
+        sb.append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= hojas.size(); i++) {
+            sb.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(NS_RELACIONES)
+              .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        sb.append("<Relationship Id=\"rId").append(hojas.size() + 1).append("\" Type=\"").append(NS_RELACIONES)
+          .append("/styles\" Target=\"styles.xml\"/>");
+        sb.append("</Relationships>");
+        return sb.toString();
+    }
+    
+    /**
+     * Estilos: 0 normal, 1 fecha dd/mm/yyyy, 2 encabezado en negrita, 3 decimal 0.00
+     */
+    private String estilos() {
+        return ENCABEZADO_XML
+            + "<styleSheet xmlns=\"" + NS_HOJA + "\">"
+            + "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"dd/mm/yyyy\"/></numFmts>"
+            + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+            + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"4\">"
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+            + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+            + "<xf numFmtId=\"2\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+            + "</cellXfs>"
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+            + "</styleSheet>";
+    }
+    
+    private static String escaparAtributo(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                    .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+}
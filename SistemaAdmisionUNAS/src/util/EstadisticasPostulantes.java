@@ -0,0 +1,331 @@
+package util;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Estadísticas de postulantes mantenidas en memoria
+ * - Se cargan una vez de la base de datos (consultas GROUP BY, sin obtenerTodos)
+ * - Se actualizan con los eventos de postulantes del EventBus: un postulante
+ *   agregado o eliminado suma o resta; una importación masiva o un evento sin
+ *   el postulante provoca una recarga en segundo plano
+ * - Los paneles leen una Instantanea inmutable, que solo se reconstruye
+ *   la primera vez que se lee después de un cambio
+ * @author joe-696
+ */
+public class EstadisticasPostulantes {
+    
+    // Nota mínima para ingresar (la misma que usa ResultadosPanel)
+    public static final double NOTA_MINIMA_INGRESO = 11.0;
+    private static final long CENTESIMAS_MINIMAS_INGRESO = Math.round(NOTA_MINIMA_INGRESO * 100);
+    
+    private static volatile EstadisticasPostulantes instancia;
+    
+    private final PostulanteDAO postulanteDAO;
+    private final List<Runnable> observadores = new CopyOnWriteArrayList<>();
+    private final ExecutorService recargas = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "estadisticas-postulantes");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    
+    // Agregados, protegidos por this
+    private int total;
+    private final Map<String, Integer> porModalidad = new HashMap<>();
+    private final Map<String, Integer> porEstadoAcademico = new HashMap<>();
+    private final Map<String, int[]> porCarrera = new HashMap<>(); // {primera opción, segunda opción}
+    private final TreeMap<Long, Integer> porNota = new TreeMap<>(); // nota final en centésimas
+    private int examinados; // nota final mayor que 0
+    private long sumaCentesimas;
+    private int ingresantes;
+    
+    // Recarga en curso: los cambios que llegan mientras tanto piden otra recarga
+    private boolean recargando;
+    private boolean recargaPendiente;
+    
+    private volatile Instantanea instantanea;
+    
+    public EstadisticasPostulantes(PostulanteDAO postulanteDAO) {
+        this.postulanteDAO = postulanteDAO;
+        this.instantanea = construirInstantanea();
+    }
+    
+    /**
+     * Servicio compartido por los paneles: escucha el EventBus y se carga
+     * en segundo plano la primera vez
+     */
+    public static EstadisticasPostulantes getInstance() {
+        EstadisticasPostulantes actual = instancia;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (EstadisticasPostulantes.class) {
+            if (instancia == null) {
+                EstadisticasPostulantes nueva = new EstadisticasPostulantes(new PostulanteDAO());
+                nueva.escuchar(EventBus.getInstance());
+                nueva.recargar();
+                instancia = nueva;
+            }
+            return instancia;
+        }
+    }
+    
+    /**
+     * Mantener las estadísticas al día con los eventos de postulantes
+     */
+    public void escuchar(EventBus eventBus) {
+        eventBus.suscribirPostulantes(this::procesarEvento);
+    }
+    
+    /**
+     * Avisar cuando cambian las estadísticas (se llama en el hilo que hizo
+     * el cambio; los paneles deben pasar a Swing con invokeLater)
+     */
+    public void suscribir(Runnable observador) {
+        observadores.add(observador);
+    }
+    
+    /**
+     * Estadísticas actuales (O(1) mientras no haya cambios)
+     */
+    public Instantanea getInstantanea() {
+        Instantanea actual = instantanea;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (this) {
+            if (instantanea == null) {
+                instantanea = construirInstantanea();
+            }
+            return instantanea;
+        }
+    }
+    
+    private void procesarEvento(EventBus.PostulanteEvent evento) {
+        Postulante postulante = evento.getPostulante();
+        switch (evento.getTipo()) {
+            case "POSTULANTE_AGREGADO" -> {
+                if (postulante != null) agregar(postulante); else recargar();
+            }
+            case "POSTULANTE_ELIMINADO" -> {
+                if (postulante != null) quitar(postulante); else recargar();
+            }
+            default -> recargar(); // Importaciones y otros cambios masivos
+        }
+    }
+    
+    public void agregar(Postulante postulante) {
+        if (aplicar(postulante, 1)) notificar();
+    }
+    
+    public void quitar(Postulante postulante) {
+        if (aplicar(postulante, -1)) notificar();
+    }
+    
+    private synchronized boolean aplicar(Postulante p, int signo) {
+        if (recargando) {
+            // La recarga en curso puede o no incluir este cambio: se vuelve a cargar
+            recargaPendiente = true;
+            return false;
+        }
+        
+        total += signo;
+        sumar(porModalidad, p.getModalidad(), signo);
+        sumar(porEstadoAcademico, p.getEstadoAcademico(), signo);
+        sumarCarrera(p.getOpcion1(), 0, signo);
+        sumarCarrera(p.getOpcion2(), 1, signo);
+        sumarNota(Math.round(p.getNotaFinal() * 100), signo);
+        instantanea = null;
+        return true;
+    }
+    
+    /**
+     * Recargar todo desde la base de datos en segundo plano
+     * (las solicitudes que llegan durante una recarga se juntan en una sola)
+     */
+    public void recargar() {
+        synchronized (this) {
+            if (recargando) {
+                recargaPendiente = true;
+                return;
+            }
+            recargando = true;
+        }
+        recargas.execute(this::cargarHastaEstable);
+    }
+    
+    /**
+     * Recargar y esperar a que termine
+     */
+    public void cargar() {
+        recargar();
+        try {
+            // El hilo de recargas es uno solo: esta tarea vacía corre después de la recarga
+            recargas.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("❌ Error esperando la recarga de estadísticas: " + e.getMessage());
+        }
+    }
+    
+    private void cargarHastaEstable() {
+        boolean otraVez;
+        do {
+            synchronized (this) {
+                recargaPendiente = false;
+            }
+            Map<String, Integer> modalidades = postulanteDAO.contarPorModalidad();
+            Map<String, Integer> estados = postulanteDAO.contarPorEstadoAcademico();
+            Map<String, int[]> carreras = postulanteDAO.contarPorCarrera();
+            Map<Long, Integer> notas = postulanteDAO.contarPorNotaFinal();
+            
+            synchronized (this) {
+                porModalidad.clear();
+                porModalidad.putAll(modalidades);
+                porEstadoAcademico.clear();
+                porEstadoAcademico.putAll(estados);
+                porCarrera.clear();
+                porCarrera.putAll(carreras);
+                total = 0;
+                for (int cantidad : modalidades.values()) {
+                    total += cantidad;
+                }
+                porNota.clear();
+                examinados = 0;
+                sumaCentesimas = 0;
+                ingresantes = 0;
+                notas.forEach(this::sumarNota);
+                instantanea = null;
+                
+                otraVez = recargaPendiente;
+                if (!otraVez) {
+                    recargando = false;
+                }
+            }
+        } while (otraVez);
+        notificar();
+    }
+    
+    private void sumarNota(long centesimas, int cantidad) {
+        porNota.merge(centesimas, cantidad, Integer::sum);
+        if (porNota.get(centesimas) <= 0) {
+            porNota.remove(centesimas);
+        }
+        if (centesimas > 0) {
+            examinados += cantidad;
+            sumaCentesimas += centesimas * cantidad;
+            if (centesimas >= CENTESIMAS_MINIMAS_INGRESO) {
+                ingresantes += cantidad;
+            }
+        }
+    }
+    
+    private void sumarCarrera(String carrera, int opcion, int cantidad) {
+        if (carrera == null) return;
+        int[] conteo = porCarrera.computeIfAbsent(carrera, k -> new int[2]);
+        conteo[opcion] += cantidad;
+        if (conteo[0] <= 0 && conteo[1] <= 0) {
+            porCarrera.remove(carrera);
+        }
+    }
+    
+    private static void sumar(Map<String, Integer> conteo, String clave, int cantidad) {
+        int nuevo = conteo.getOrDefault(clave, 0) + cantidad;
+        if (nuevo > 0) {
+            conteo.put(clave, nuevo);
+        } else {
+            conteo.remove(clave);
+        }
+    }
+    
+    private void notificar() {
+        for (Runnable observador : observadores) {
+            observador.run();
+        }
+    }
+    
+    private synchronized Instantanea construirInstantanea() {
+        Map<String, int[]> carreras = new HashMap<>();
+        porCarrera.forEach((carrera, conteo) -> carreras.put(carrera, conteo.clone()));
+        long maxima = porNota.isEmpty() ? 0 : Math.max(0, porNota.lastKey());
+        return new Instantanea(total, new HashMap<>(porModalidad), new HashMap<>(porEstadoAcademico),
+            carreras, examinados, ingresantes, sumaCentesimas, maxima);
+    }
+    
+    /**
+     * Estadísticas en un momento dado (inmutable)
+     */
+    public static class Instantanea {
+        private final int total;
+        private final Map<String, Integer> porModalidad;
+        private final Map<String, Integer> porEstadoAcademico;
+        private final Map<String, int[]> porCarrera;
+        private final int examinados;
+        private final int ingresantes;
+        private final long sumaCentesimas;
+        private final long maximaCentesimas;
+        
+        Instantanea(int total, Map<String, Integer> porModalidad, Map<String, Integer> porEstadoAcademico,
+                    Map<String, int[]> porCarrera, int examinados, int ingresantes,
+                    long sumaCentesimas, long maximaCentesimas) {
+            this.total = total;
+            this.porModalidad = Collections.unmodifiableMap(porModalidad);
+            this.porEstadoAcademico = Collections.unmodifiableMap(porEstadoAcademico);
+            this.porCarrera = porCarrera;
+            this.examinados = examinados;
+            this.ingresantes = ingresantes;
+            this.sumaCentesimas = sumaCentesimas;
+            this.maximaCentesimas = maximaCentesimas;
+        }
+        
+        public int getTotal() { return total; }
+        public Map<String, Integer> getPorModalidad() { return porModalidad; }
+        public Map<String, Integer> getPorEstadoAcademico() { return porEstadoAcademico; }
+        public int getExaminados() { return examinados; }
+        public int getIngresantes() { return ingresantes; }
+        public int getNoIngresantes() { return examinados - ingresantes; }
+        public double getSumaNotas() { return sumaCentesimas / 100.0; }
+        public double getNotaMaxima() { return maximaCentesimas / 100.0; }
+        
+        /**
+         * Promedio de la nota final de los examinados (nota mayor que 0)
+         */
+        public double getNotaPromedio() {
+            return examinados > 0 ? getSumaNotas() / examinados : 0.0;
+        }
+        
+        public int getPorEstadoAcademico(String estado) {
+            return porEstadoAcademico.getOrDefault(estado, 0);
+        }
+        
+        public int getPrimeraOpcion(String carrera) {
+            int[] conteo = porCarrera.get(carrera);
+            return conteo != null ? conteo[0] : 0;
+        }
+        
+        public int getSegundaOpcion(String carrera) {
+            int[] conteo = porCarrera.get(carrera);
+            return conteo != null ? conteo[1] : 0;
+        }
+        
+        /**
+         * Carreras ordenadas de mayor a menor demanda en primera opción
+         */
+        public List<String> getCarrerasPorDemanda() {
+            List<String> carreras = new ArrayList<>(porCarrera.keySet());
+            carreras.sort((a, b) -> Integer.compare(getPrimeraOpcion(b), getPrimeraOpcion(a)));
+            return carreras;
+        }
+    }
+}
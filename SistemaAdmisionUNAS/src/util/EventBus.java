@@ -1,67 +1,331 @@
 package util;
 
+import model.Postulante;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
 
 /**
  * Sistema de eventos para sincronización entre módulos
+ * - Temas tipados (CARRERAS, POSTULANTES): cada tema tiene su clase de evento
+ * - Se puede publicar y suscribirse desde cualquier hilo (listas copy-on-write)
+ * - Cada suscripción elige dónde se entrega: en el hilo que publica, en el
+ *   hilo de Swing (EDT) o en un Executor
+ * - Una suscripción puede agrupar los eventos de una ventana de tiempo en uno
+ *   solo (p. ej. miles de POSTULANTE_AGREGADO durante una importación)
+ * - Métricas por tema: publicados, entregados, agrupados y latencia
+ *   desde la publicación hasta la entrega
  * @author joe-696
  */
 public class EventBus {
     
-    private static EventBus instance;
-    private List<Consumer<CarreraEvent>> carreraListeners;
-    private List<Consumer<PostulanteEvent>> postulanteListeners;
+    public static final Tema<CarreraEvent> CARRERAS = new Tema<>("carreras");
+    public static final Tema<PostulanteEvent> POSTULANTES = new Tema<>("postulantes");
+    
+    // Dónde se entregan los eventos
+    public static final Executor EN_HILO_PUBLICADOR = Runnable::run;
+    public static final Executor EN_HILO_SWING = SwingUtilities::invokeLater;
+    
+    private static final EventBus instance = new EventBus();
+    
+    private final Map<Tema<?>, List<Suscripcion<?>>> suscripciones = new ConcurrentHashMap<>();
+    private final Map<Tema<?>, ContadoresTema> contadores = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService temporizador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "eventbus-agrupador");
+        hilo.setDaemon(true);
+        return hilo;
+    });
     
     private EventBus() {
-        this.carreraListeners = new ArrayList<>();
-        this.postulanteListeners = new ArrayList<>();
     }
     
     public static EventBus getInstance() {
-        if (instance == null) {
-            instance = new EventBus();
-        }
         return instance;
     }
     
+    // ===== API GENÉRICA POR TEMAS =====
+    
+    /**
+     * Suscribirse a un tema; el oyente se llama en el hilo que publica
+     */
+    public <E> Suscripcion<E> suscribir(Tema<E> tema, Consumer<E> oyente) {
+        return suscribir(tema, oyente, EN_HILO_PUBLICADOR);
+    }
+    
+    /**
+     * Suscribirse a un tema entregando los eventos en el Executor indicado
+     * (EN_HILO_PUBLICADOR, EN_HILO_SWING o cualquier otro)
+     */
+    public <E> Suscripcion<E> suscribir(Tema<E> tema, Consumer<E> oyente, Executor entrega) {
+        return registrar(new Suscripcion<>(this, tema, oyente, entrega, 0, null));
+    }
+    
+    /**
+     * Suscribirse agrupando: los eventos que llegan dentro de la ventana se
+     * combinan con 'combinar' y se entregan como uno solo al cerrarse la ventana
+     */
+    public <E> Suscripcion<E> suscribirAgrupando(Tema<E> tema, Consumer<E> oyente, Executor entrega,
+                                                  long ventanaMs, BinaryOperator<E> combinar) {
+        if (ventanaMs <= 0 || combinar == null) {
+            throw new IllegalArgumentException("La ventana debe ser positiva y se necesita una función para combinar");
+        }
+        return registrar(new Suscripcion<>(this, tema, oyente, entrega, ventanaMs, combinar));
+    }
+    
+    /**
+     * Publicar un evento a todas las suscripciones del tema
+     */
+    public <E> void publicar(Tema<E> tema, E evento) {
+        long publicado = System.nanoTime();
+        contadores(tema).publicados.increment();
+        
+        List<Suscripcion<?>> lista = suscripciones.get(tema);
+        if (lista == null) return;
+        for (Suscripcion<?> suscripcion : lista) {
+            @SuppressWarnings("unchecked")
+            Suscripcion<E> tipada = (Suscripcion<E>) suscripcion;
+            tipada.recibir(evento, publicado);
+        }
+    }
+    
+    /**
+     * Métricas acumuladas de un tema
+     */
+    public Metricas getMetricas(Tema<?> tema) {
+        return contadores(tema).foto(tema.getNombre());
+    }
+    
+    private <E> Suscripcion<E> registrar(Suscripcion<E> suscripcion) {
+        suscripciones.computeIfAbsent(suscripcion.tema, t -> new CopyOnWriteArrayList<>()).add(suscripcion);
+        return suscripcion;
+    }
+    
+    private ContadoresTema contadores(Tema<?> tema) {
+        return contadores.computeIfAbsent(tema, t -> new ContadoresTema());
+    }
+    
+    // ===== API DE LOS PANELES =====
+    
     // Eventos de carreras
     public void suscribirCarreras(Consumer<CarreraEvent> listener) {
-        carreraListeners.add(listener);
+        suscribir(CARRERAS, listener);
     }
     
     public void publicarCarreraAgregada(String nombreCarrera) {
-        CarreraEvent event = new CarreraEvent("CARRERA_AGREGADA", nombreCarrera);
-        carreraListeners.forEach(listener -> listener.accept(event));
+        publicar(CARRERAS, new CarreraEvent("CARRERA_AGREGADA", nombreCarrera));
     }
     
     public void publicarCarreraEliminada(String nombreCarrera) {
-        CarreraEvent event = new CarreraEvent("CARRERA_ELIMINADA", nombreCarrera);
-        carreraListeners.forEach(listener -> listener.accept(event));
+        publicar(CARRERAS, new CarreraEvent("CARRERA_ELIMINADA", nombreCarrera));
     }
     
     // Eventos de postulantes
     public void suscribirPostulantes(Consumer<PostulanteEvent> listener) {
-        postulanteListeners.add(listener);
+        suscribir(POSTULANTES, listener);
     }
     
     public void publicarPostulanteAgregado() {
-        PostulanteEvent event = new PostulanteEvent("POSTULANTE_AGREGADO");
-        postulanteListeners.forEach(listener -> listener.accept(event));
+        publicarPostulanteAgregado(null);
+    }
+    
+    public void publicarPostulanteAgregado(Postulante postulante) {
+        publicar(POSTULANTES, new PostulanteEvent("POSTULANTE_AGREGADO", postulante));
+    }
+    
+    public void publicarPostulanteEliminado(Postulante postulante) {
+        publicar(POSTULANTES, new PostulanteEvent("POSTULANTE_ELIMINADO", postulante));
     }
     
     public void publicarPostulantesImportados(int cantidad) {
-        PostulanteEvent event = new PostulanteEvent("POSTULANTES_IMPORTADOS", cantidad);
-        postulanteListeners.forEach(listener -> listener.accept(event));
+        publicar(POSTULANTES, new PostulanteEvent("POSTULANTES_IMPORTADOS", cantidad));
     }
     
     public void notificarPostulante(String tipo, Object data) {
-        PostulanteEvent event = new PostulanteEvent(tipo);
-        postulanteListeners.forEach(listener -> listener.accept(event));
+        publicar(POSTULANTES, new PostulanteEvent(tipo));
+    }
+    
+    // ===== TEMAS Y SUSCRIPCIONES =====
+    
+    /**
+     * Tema del bus; el parámetro de tipo es la clase de evento que transporta
+     */
+    public static final class Tema<E> {
+        private final String nombre;
+        
+        public Tema(String nombre) {
+            this.nombre = nombre;
+        }
+        
+        public String getNombre() { return nombre; }
+        
+        @Override
+        public String toString() {
+            return nombre;
+        }
+    }
+    
+    /**
+     * Suscripción a un tema; cancelar() deja de entregar eventos
+     */
+    public static final class Suscripcion<E> {
+        private final EventBus bus;
+        private final Tema<E> tema;
+        private final Consumer<E> oyente;
+        private final Executor entrega;
+        private final long ventanaMs;
+        private final BinaryOperator<E> combinar;
+        private volatile boolean cancelada = false;
+        
+        // Ventana de agrupación abierta, protegida por this
+        private E pendiente;
+        private long primerPublicado;
+        
+        private Suscripcion(EventBus bus, Tema<E> tema, Consumer<E> oyente, Executor entrega,
+                            long ventanaMs, BinaryOperator<E> combinar) {
+            this.bus = bus;
+            this.tema = tema;
+            this.oyente = oyente;
+            this.entrega = entrega;
+            this.ventanaMs = ventanaMs;
+            this.combinar = combinar;
+        }
+        
+        public void cancelar() {
+            cancelada = true;
+            List<Suscripcion<?>> lista = bus.suscripciones.get(tema);
+            if (lista != null) {
+                lista.remove(this);
+            }
+        }
+        
+        private void recibir(E evento, long publicado) {
+            if (cancelada) return;
+            if (combinar == null) {
+                entrega.execute(() -> entregar(evento, publicado));
+                return;
+            }
+            
+            synchronized (this) {
+                if (pendiente == null) {
+                    pendiente = evento;
+                    primerPublicado = publicado;
+                    bus.temporizador.schedule(this::cerrarVentana, ventanaMs, TimeUnit.MILLISECONDS);
+                } else {
+                    pendiente = combinar.apply(pendiente, evento);
+                    bus.contadores(tema).agrupados.increment();
+                }
+            }
+        }
+        
+        private void cerrarVentana() {
+            E evento;
+            long publicado;
+            synchronized (this) {
+                evento = pendiente;
+                publicado = primerPublicado;
+                pendiente = null;
+            }
+            if (evento != null && !cancelada) {
+                entrega.execute(() -> entregar(evento, publicado));
+            }
+        }
+        
+        private void entregar(E evento, long publicado) {
+            if (cancelada) return;
+            ContadoresTema contadores = bus.contadores(tema);
+            try {
+                oyente.accept(evento);
+            } catch (RuntimeException e) {
+                // Un oyente con error no impide que los demás reciban el evento
+                contadores.errores.increment();
+                System.err.println("❌ Error en un oyente del tema '" + tema + "': " + e.getMessage());
+                e.printStackTrace();
+            }
+            contadores.registrarEntrega(System.nanoTime() - publicado);
+        }
+    }
+    
+    // ===== MÉTRICAS =====
+    
+    private static final class ContadoresTema {
+        // LongAdder: muchos hilos publicando no compiten por el mismo contador
+        private final LongAdder publicados = new LongAdder();
+        private final LongAdder entregados = new LongAdder();
+        private final LongAdder agrupados = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder latenciaTotalNanos = new LongAdder();
+        private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+        
+        void registrarEntrega(long latenciaNanos) {
+            entregados.increment();
+            latenciaTotalNanos.add(latenciaNanos);
+            if (latenciaNanos > latenciaMaximaNanos.get()) {
+                latenciaMaximaNanos.accumulateAndGet(latenciaNanos, Math::max);
+            }
+        }
+        
+        Metricas foto(String tema) {
+            long entregas = entregados.sum();
+            double promedioMs = entregas > 0 ? latenciaTotalNanos.sum() / 1e6 / entregas : 0.0;
+            return new Metricas(tema, publicados.sum(), entregas, agrupados.sum(), errores.sum(),
+                promedioMs, latenciaMaximaNanos.get() / 1e6);
+        }
+    }
+    
+    /**
+     * Foto inmutable de las métricas de un tema
+     * (una entrega agrupada cuenta como una sola entrega; su latencia se mide
+     * desde el primer evento de la ventana)
+     */
+    public static class Metricas {
+        private final String tema;
+        private final long publicados;
+        private final long entregados;
+        private final long agrupados;
+        private final long errores;
+        private final double latenciaPromedioMs;
+        private final double latenciaMaximaMs;
+        
+        public Metricas(String tema, long publicados, long entregados, long agrupados, long errores,
+                        double latenciaPromedioMs, double latenciaMaximaMs) {
+            this.tema = tema;
+            this.publicados = publicados;
+            this.entregados = entregados;
+            this.agrupados = agrupados;
+            this.errores = errores;
+            this.latenciaPromedioMs = latenciaPromedioMs;
+            this.latenciaMaximaMs = latenciaMaximaMs;
+        }
+        
+        public String getTema() { return tema; }
+        public long getPublicados() { return publicados; }
+        public long getEntregados() { return entregados; }
+        public long getAgrupados() { return agrupados; }
+        public long getErrores() { return errores; }
+        public double getLatenciaPromedioMs() { return latenciaPromedioMs; }
+        public double getLatenciaMaximaMs() { return latenciaMaximaMs; }
+        
+        @Override
+        public String toString() {
+            return String.format("EventBus[%s]{publicados=%d, entregados=%d, agrupados=%d, errores=%d, " +
+                "latenciaProm=%.3fms, latenciaMax=%.3fms}",
+                tema, publicados, entregados, agrupados, errores, latenciaPromedioMs, latenciaMaximaMs);
+        }
     }
     
-    // Clases de eventos
+    // ===== CLASES DE EVENTOS =====
+    
     public static class CarreraEvent {
         private String tipo;
         private String nombreCarrera;
@@ -78,6 +342,13 @@ public class EventBus {
     public static class PostulanteEvent {
         private String tipo;
         private int cantidad;
+        private Postulante postulante; // null si el evento no trae el postulante
+        
+        // Solo en eventos combinados: los postulantes agregados y eliminados de
+        // la ventana, o null si algún evento llegó sin el postulante
+        private List<Postulante> agregados;
+        private List<Postulante> eliminados;
+        private boolean combinado = false;
         
         public PostulanteEvent(String tipo) {
             this.tipo = tipo;
@@ -89,7 +360,78 @@ public class EventBus {
             this.cantidad = cantidad;
         }
         
+        public PostulanteEvent(String tipo, Postulante postulante) {
+            this.tipo = tipo;
+            this.cantidad = 1;
+            this.postulante = postulante;
+        }
+        
         public String getTipo() { return tipo; }
         public int getCantidad() { return cantidad; }
+        public Postulante getPostulante() { return postulante; }
+        
+        /**
+         * Si el evento (o todos los que se combinaron en él) trae los
+         * postulantes agregados/eliminados, de modo que se pueden aplicar
+         * como cambio sin volver a consultar todo
+         */
+        public boolean tieneDetalle() {
+            return combinado ? agregados != null : postulante != null && esAltaOBaja(tipo);
+        }
+        
+        /**
+         * Postulantes agregados (vacío si no tieneDetalle)
+         */
+        public List<Postulante> getAgregados() {
+            if (combinado) return agregados != null ? agregados : List.of();
+            return postulante != null && "POSTULANTE_AGREGADO".equals(tipo) ? List.of(postulante) : List.of();
+        }
+        
+        /**
+         * Postulantes eliminados (vacío si no tieneDetalle)
+         */
+        public List<Postulante> getEliminados() {
+            if (combinado) return eliminados != null ? eliminados : List.of();
+            return postulante != null && "POSTULANTE_ELIMINADO".equals(tipo) ? List.of(postulante) : List.of();
+        }
+        
+        /**
+         * Combinar dos eventos de una ventana de agrupación: se suman las
+         * cantidades; si son de distinto tipo queda POSTULANTES_MODIFICADOS.
+         * Los postulantes de las altas y bajas se acumulan; el evento combinado
+         * pertenece a la ventana, por eso se reutiliza en vez de copiar las listas
+         */
+        public static PostulanteEvent combinar(PostulanteEvent a, PostulanteEvent b) {
+            PostulanteEvent resultado = a;
+            if (!a.combinado) {
+                resultado = new PostulanteEvent(a.tipo, 0);
+                resultado.combinado = true;
+                resultado.agregados = new ArrayList<>();
+                resultado.eliminados = new ArrayList<>();
+                resultado.acumular(a);
+            }
+            if (!resultado.tipo.equals(b.tipo)) {
+                resultado.tipo = "POSTULANTES_MODIFICADOS";
+            }
+            resultado.acumular(b);
+            return resultado;
+        }
+        
+        private void acumular(PostulanteEvent evento) {
+            cantidad += evento.cantidad;
+            if (agregados == null) return;
+            if (!evento.tieneDetalle()) {
+                // Sin el detalle de este evento ya no se puede aplicar como cambio
+                agregados = null;
+                eliminados = null;
+                return;
+            }
+            agregados.addAll(evento.getAgregados());
+            eliminados.addAll(evento.getEliminados());
+        }
+        
+        private static boolean esAltaOBaja(String tipo) {
+            return "POSTULANTE_AGREGADO".equals(tipo) || "POSTULANTE_ELIMINADO".equals(tipo);
+        }
     }
 }
@@ -1,9 +1,11 @@
 package util;
 
+import model.Fechas;
 import model.Postulante;
 import java.util.*;
-import java.text.SimpleDateFormat;
-import java.text.ParseException;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.time.LocalDate;
 import java.io.*;
 import javax.swing.JOptionPane;
 
@@ -14,21 +16,36 @@ import javax.swing.JOptionPane;
  */
 public class ExcelUtils {
     
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("dd/MM/yyyy");
+    private static final String[] COLUMNAS_EXPORTACION = {
+        "CODIGO", "APELLIDOS_NOMBRES", "OPCION1", "OPCION2", "MODALIDAD", "DNI", "SEXO", "ESTADO_ACADEMICO",
+        "NOTA_AC", "NOTA_CO", "PUNTAJE_FINAL", "ESTADO_INGRESO", "FECHA_INSCRIPCION"
+    };
+    
+    // Columnas del formato UNAS (CODIGO ... ESTADO_ACADEMICO); un registro de
+    // varias líneas con más campos que esto no cerró sus comillas
+    static final int CAMPOS_FORMATO_UNAS = 28;
+    
+    // Nota de una celda vacía cuando hay que distinguirla de un 0 escrito
+    // (al combinar, la vacía conserva la nota guardada y el 0 la corrige)
+    public static final double NOTA_VACIA = Double.NaN;
     
     /**
      * Exportar postulantes a CSV/Excel
+     * Si la ruta termina en .xlsx se genera un libro de Excel real
      */
     public static boolean exportarPostulantesAExcel(List<Postulante> postulantes, String rutaArchivo) {
+        if (obtenerExtension(rutaArchivo).equalsIgnoreCase("xlsx")) {
+            return exportarPostulantesAXLSX(postulantes, rutaArchivo);
+        }
+        
         try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
             
             // Encabezados detallados
             writer.println("CODIGO,APELLIDOS_NOMBRES,OPCION1,OPCION2,MODALIDAD,DNI,SEXO,ESTADO_ACADEMICO,NOTA_AC,NOTA_CO,PUNTAJE_FINAL,ESTADO_INGRESO,FECHA_INSCRIPCION");
             
             // Datos
-            SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
             for (Postulante p : postulantes) {
-                String fechaInscripcion = p.getInscripcion() != null ? sdf.format(p.getInscripcion()) : "";
+                String fechaInscripcion = Fechas.formatear(p.getInscripcionDia());
                 String estadoIngreso = p.getNotaFinal() >= 11.0 ? "INGRESO" : "NO INGRESO";
                 
                 writer.printf("%s,\"%s\",\"%s\",\"%s\",%s,%s,%s,%s,%.2f,%.2f,%.2f,%s,%s%n",
@@ -50,19 +67,105 @@ public class ExcelUtils {
             
             System.out.println("Archivo exportado: " + rutaArchivo);
             return true;
+        
+        } catch (Exception e) {
+            System.err.println("Error exportando: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Exportar postulantes a un archivo .xlsx (una sola hoja)
+     * Las filas se escriben por streaming, sin armar el libro en memoria
+     */
+    public static boolean exportarPostulantesAXLSX(List<Postulante> postulantes, String rutaArchivo) {
+        try (EscritorXLSX xlsx = new EscritorXLSX(rutaArchivo)) {
+            xlsx.nuevaHoja("Postulantes");
+            escribirHojaPostulantes(xlsx, postulantes);
             
+            System.out.println("Archivo exportado: " + rutaArchivo + " (" + postulantes.size() + " filas)");
+            return true;
+        
         } catch (Exception e) {
             System.err.println("Error exportando: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Exportar los ingresantes de un proceso de admisión a .xlsx:
+     * una hoja de resumen y una hoja por carrera
+     */
+    public static boolean exportarIngresantesPorCarrera(AlgoritmoAdmision.ResultadoAdmision resultado, String rutaArchivo) {
+        Map<String, List<Postulante>> ingresantesPorCarrera = resultado.getIngresantesPorCarrera();
+        
+        try (EscritorXLSX xlsx = new EscritorXLSX(rutaArchivo)) {
+            xlsx.nuevaHoja("Resumen");
+            xlsx.escribirEncabezado("CARRERA", "INGRESANTES", "VACANTES", "OCUPACION_%");
+            for (Map.Entry<String, List<Postulante>> entry : ingresantesPorCarrera.entrySet()) {
+                model.Carrera carrera = resultado.getCarreras().get(entry.getKey());
+                xlsx.escribirFila(
+                    entry.getKey(),
+                    entry.getValue().size(),
+                    carrera != null ? carrera.getVacantesDisponibles() : null,
+                    carrera != null ? carrera.getPorcentajeOcupacion() : null
+                );
+            }
+            
+            for (Map.Entry<String, List<Postulante>> entry : ingresantesPorCarrera.entrySet()) {
+                xlsx.nuevaHoja(entry.getKey());
+                escribirHojaPostulantes(xlsx, entry.getValue());
+            }
+            
+            System.out.println("Archivo exportado: " + rutaArchivo + " (" + ingresantesPorCarrera.size() + " carreras)");
+            return true;
+        
+        } catch (Exception e) {
+            System.err.println("Error exportando: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Escribir encabezado y filas de postulantes en la hoja actual
+     * (mismas columnas que la exportación CSV)
+     */
+    private static void escribirHojaPostulantes(EscritorXLSX xlsx, List<Postulante> postulantes) throws IOException {
+        xlsx.escribirEncabezado(COLUMNAS_EXPORTACION);
+        for (Postulante p : postulantes) {
+            xlsx.escribirFila(
+                p.getCodigo(),
+                p.getApellidosNombres(),
+                p.getOpcion1(),
+                p.getOpcion2(),
+                p.getModalidad(),
+                p.getDni(),
+                p.getSexo(),
+                p.getEstadoAcademico(),
+                p.getNotaAC(),
+                p.getNotaCO(),
+                p.getNotaFinal(),
+                p.getNotaFinal() >= 11.0 ? "INGRESO" : "NO INGRESO",
+                p.getInscripcion()
+            );
+        }
+    }
+    
     /**
      * Importar postulantes desde archivo Excel/CSV con formato específico UNAS
      * Soporta archivos .xlsx, .xls, .csv y .txt
      * MEJORADO: Maneja campos en blanco de forma robusta
      */
     public static List<Postulante> importarPostulantesDesdeExcel(String rutaArchivo) {
+        return importarPostulantesDesdeExcel(rutaArchivo, 1);
+    }
+    
+    /**
+     * Importar postulantes indicando el grado de paralelismo
+     * Con paralelismo > 1 los archivos CSV/TXT se parsean por bloques en varios hilos;
+     * el orden de los postulantes y los números de línea son los mismos que en la lectura secuencial
+     */
+    public static List<Postulante> importarPostulantesDesdeExcel(String rutaArchivo, int paralelismo) {
         List<Postulante> postulantes = new ArrayList<>();
         
         try {
@@ -74,7 +177,11 @@ public class ExcelUtils {
             switch (extension) {
                 case "csv":
                 case "txt":
-                    postulantes = importarDesdeCSV(rutaArchivo);
+                    if (paralelismo > 1) {
+                        LectorCSVParalelo.procesar(rutaArchivo, paralelismo, postulantes::add);
+                    } else {
+                        postulantes = importarDesdeCSV(rutaArchivo);
+                    }
                     break;
                 case "xlsx":
                 case "xls":
@@ -94,7 +201,7 @@ public class ExcelUtils {
                 System.out.println("- Tenga al menos CODIGO y NOMBRES");
                 System.out.println("- Use el formato correcto de separadores");
             }
-            
+        
         } catch (Exception e) {
             System.err.println("Error importando archivo: " + e.getMessage());
             System.out.println("Sugerencias:");
@@ -111,65 +218,159 @@ public class ExcelUtils {
      */
     private static List<Postulante> importarDesdeCSV(String rutaArchivo) throws IOException {
         List<Postulante> postulantes = new ArrayList<>();
-        int procesados = 0;
-        int errores = 0;
+        procesarCSV(rutaArchivo, postulantes::add);
+        return postulantes;
+    }
+    
+    /**
+     * Recorrer un archivo CSV/TXT entregando cada postulante al destino
+     * a medida que se lee, sin acumularlos en memoria
+     */
+    static ResultadoLectura procesarCSV(String rutaArchivo, Consumer<Postulante> destino) throws IOException {
+        return procesarCSV(rutaArchivo, destino, false);
+    }
+    
+    /**
+     * Igual que procesarCSV; con notasVacias las notas en blanco se leen como NOTA_VACIA
+     */
+    static ResultadoLectura procesarCSV(String rutaArchivo, Consumer<Postulante> destino,
+                                        boolean notasVacias) throws IOException {
+        ResultadoLectura resultado = new ResultadoLectura();
         
         try (BufferedReader reader = new BufferedReader(new FileReader(rutaArchivo, java.nio.charset.StandardCharsets.UTF_8))) {
             String linea;
             boolean esPrimeraLinea = true;
             int lineaNumero = 0;
+            TokenizadorCSV tokenizador = null;
+            int camposEsperados = CAMPOS_FORMATO_UNAS;
+            StringBuilder registro = new StringBuilder(256);
+            // Líneas que se vuelven a leer cuando un registro de varias líneas no cerró
+            Deque<String> releer = new ArrayDeque<>();
+            List<String> continuacion = new ArrayList<>();
             
             System.out.println("📖 Procesando archivo CSV: " + rutaArchivo);
             
-            while ((linea = reader.readLine()) != null) {
+            while ((linea = releer.isEmpty() ? reader.readLine() : releer.poll()) != null) {
                 lineaNumero++;
                 
-                // Saltar encabezados
+                // Saltar encabezados y detectar el separador una sola vez
                 if (esPrimeraLinea) {
                     esPrimeraLinea = false;
+                    tokenizador = new TokenizadorCSV(TokenizadorCSV.detectarSeparador(linea));
+                    camposEsperados = Math.max(camposEsperados, tokenizador.tokenizar(linea));
                     System.out.println("📋 Encabezados detectados: " + linea.substring(0, Math.min(linea.length(), 100)) + "...");
                     continue;
                 }
                 
                 // Saltar líneas completamente vacías
-                if (linea.trim().isEmpty()) {
+                if (linea.isBlank()) {
                     continue;
                 }
                 
-                try {
-                    Postulante postulante = parsearLineaExcel(linea, lineaNumero);
-                    if (postulante != null) {
-                        postulantes.add(postulante);
-                        procesados++;
-                        
-                        if (procesados % 10 == 0) {
-                            System.out.println("📊 Procesados: " + procesados + " postulantes");
-                        }
-                    } else {
-                        errores++;
+                // Un campo entre comillas puede continuar en las líneas siguientes
+                int lineaInicio = lineaNumero;
+                registro.setLength(0);
+                registro.append(linea);
+                tokenizador.tokenizar(registro);
+                continuacion.clear();
+                while (tokenizador.continuaEnSiguienteLinea(continuacion.size() + 1, camposEsperados)
+                        && (linea = releer.isEmpty() ? reader.readLine() : releer.poll()) != null) {
+                    lineaNumero++;
+                    continuacion.add(linea);
+                    registro.append('\n').append(linea);
+                    tokenizador.tokenizar(registro);
+                }
+                if (!tokenizador.registroCompleto(continuacion.size() + 1, camposEsperados)) {
+                    // Comilla sin cerrar: solo esta línea es un error
+                    resultado.errores++;
+                    System.err.println("❌ Error en línea " + lineaInicio + ": comilla sin cerrar");
+                    for (int i = continuacion.size() - 1; i >= 0; i--) {
+                        releer.addFirst(continuacion.get(i));
                     }
+                    lineaNumero = lineaInicio;
+                    continue;
+                }
+                
+                Postulante postulante;
+                try {
+                    postulante = parsearRegistro(tokenizador, lineaInicio, registro, resultado.fechas, notasVacias);
                 } catch (Exception e) {
-                    errores++;
-                    System.err.println("❌ Error en línea " + lineaNumero + ": " + e.getMessage());
+                    resultado.errores++;
+                    System.err.println("❌ Error en línea " + lineaInicio + ": " + e.getMessage());
+                    continue;
+                }
+                
+                if (postulante != null) {
+                    destino.accept(postulante);
+                    resultado.procesados++;
+                    
+                    if (resultado.procesados % 10 == 0) {
+                        System.out.println("📊 Procesados: " + resultado.procesados + " postulantes");
+                    }
+                } else {
+                    resultado.errores++;
                 }
             }
         }
         
         System.out.println("✅ Importación CSV completada:");
-        System.out.println("   📊 Procesados exitosamente: " + procesados);
-        System.out.println("   ⚠️ Líneas con errores: " + errores);
+        System.out.println("   📊 Procesados exitosamente: " + resultado.procesados);
+        System.out.println("   ⚠️ Líneas con errores: " + resultado.errores);
+        System.out.println("   📅 Fechas: " + resultado.fechas);
         
-        return postulantes;
+        return resultado;
     }
     
     /**
-     * Importar archivos Excel directamente (simulado)
-     * En un proyecto real usaríamos Apache POI
+     * Recorrer cualquier archivo soportado entregando cada postulante al destino
+     * Los .xlsx se leen con LectorXLSX; los .xls (formato binario antiguo)
+     * se intentan leer como texto, igual que importarExcelDirecto
+     * Con notasVacias las notas en blanco se leen como NOTA_VACIA en vez de 0
+     */
+    static ResultadoLectura procesarArchivo(String rutaArchivo, boolean notasVacias,
+                                            Consumer<Postulante> destino) throws IOException {
+        String extension = obtenerExtension(rutaArchivo).toLowerCase();
+        
+        switch (extension) {
+            case "xlsx":
+                return LectorXLSX.procesar(rutaArchivo, destino, notasVacias);
+            case "csv":
+            case "txt":
+            case "xls":
+                return procesarCSV(rutaArchivo, destino, notasVacias);
+            default:
+                throw new IllegalArgumentException("Formato no soportado: " + extension);
+        }
+    }
+    
+    /**
+     * Conteo de una lectura de archivo y formatos de fecha encontrados
+     */
+    static class ResultadoLectura {
+        int procesados = 0;
+        int errores = 0;
+        final LectorFechas fechas = new LectorFechas();
+        
+        public int getProcesados() { return procesados; }
+        public int getErrores() { return errores; }
+        public LectorFechas getFechas() { return fechas; }
+    }
+    
+    /**
+     * Importar archivos Excel directamente
+     * .xlsx se lee de forma nativa (LectorXLSX, sin Apache POI);
+     * .xls (binario) se intenta leer como texto plano
      */
     private static List<Postulante> importarExcelDirecto(String rutaArchivo) throws IOException {
         System.out.println("Intentando importacion directa de Excel...");
         
         try {
+            if (obtenerExtension(rutaArchivo).equalsIgnoreCase("xlsx")) {
+                List<Postulante> postulantes = new ArrayList<>();
+                LectorXLSX.procesar(rutaArchivo, postulantes::add);
+                return postulantes;
+            }
+            
             // Intentar leer como texto plano (a veces funciona con archivos Excel simples)
             return importarDesdeCSV(rutaArchivo);
         } catch (Exception e) {
@@ -197,30 +398,43 @@ public class ExcelUtils {
      * Parsear una línea del Excel/CSV según el formato UNAS
      * MEJORADO: Manejo ultra-robusto de campos en blanco
      * Soporta separación por comas, tabulaciones o punto y coma
+     * Detecta el separador en cada llamada; para archivos completos usar
+     * procesarCSV, que lo detecta una vez y reutiliza el tokenizador
+     */
+    static Postulante parsearLineaExcel(String linea, int numeroLinea) {
+        TokenizadorCSV tokenizador = new TokenizadorCSV(TokenizadorCSV.detectarSeparador(linea));
+        tokenizador.tokenizar(linea);
+        return parsearRegistro(tokenizador, numeroLinea, linea, new LectorFechas());
+    }
+    
+    /**
+     * Construir un postulante a partir de los campos ya tokenizados
+     * Las fechas se leen con el LectorFechas del archivo
+     */
+    static Postulante parsearRegistro(CamposRegistro campos, int numeroLinea, CharSequence linea, LectorFechas fechas) {
+        return parsearRegistro(campos, numeroLinea, linea, fechas, false);
+    }
+    
+    /**
+     * Con notasVacias, una nota en blanco queda como NOTA_VACIA en vez de 0
      */
-    private static Postulante parsearLineaExcel(String linea, int numeroLinea) {
+    static Postulante parsearRegistro(CamposRegistro campos, int numeroLinea, CharSequence linea,
+                                      LectorFechas fechas, boolean notasVacias) {
         try {
-            // Detectar separador automáticamente
-            String separador = detectarSeparador(linea);
-            String[] campos = linea.split(separador, -1); // -1 mantiene campos vacíos al final
-            
             // Información de debug
             if (numeroLinea <= 5) {
-                System.out.println("🔍 Línea " + numeroLinea + " - Separador: '" + 
-                    (separador.equals("\t") ? "TAB" : separador) + "', Campos: " + campos.length);
-            }
-            
-            // Expandir array si es necesario (asegurar mínimo 30 campos)
-            String[] camposExpandidos = new String[Math.max(30, campos.length)];
-            System.arraycopy(campos, 0, camposExpandidos, 0, campos.length);
-            for (int i = campos.length; i < camposExpandidos.length; i++) {
-                camposExpandidos[i] = ""; // Rellenar con vacíos
+                if (campos instanceof TokenizadorCSV tokenizador) {
+                    char separador = tokenizador.getSeparador();
+                    System.out.println("🔍 Línea " + numeroLinea + " - Separador: '" + 
+                        (separador == '\t' ? "TAB" : String.valueOf(separador)) + "', Campos: " + campos.getNumeroCampos());
+                } else {
+                    System.out.println("🔍 Línea " + numeroLinea + " - Campos: " + campos.getNumeroCampos());
+                }
             }
-            campos = camposExpandidos;
             
             // Validar campos mínimos requeridos
-            String codigo = limpiarCampo(campos[0]);
-            String nombres = limpiarCampo(campos[1]);
+            String codigo = campos.campo(0);
+            String nombres = campos.campo(1);
             
             if (codigo.isEmpty() && nombres.isEmpty()) {
                 System.out.println("⚠️ Línea " + numeroLinea + " - Ambos campos principales vacíos, omitiendo");
@@ -247,49 +461,47 @@ public class ExcelUtils {
             postulante.setApellidosNombres(nombres);
             
             // Campos principales con valores por defecto inteligentes
-            postulante.setOpcion1(limpiarCampoConDefault(campos[2], "SIN ESPECIFICAR"));
-            postulante.setOpcion2(limpiarCampoConDefault(campos[3], ""));
-            postulante.setModalidad(limpiarCampoConDefault(campos[4], "ORDINARIO"));
-            postulante.setDni(limpiarCampoConDefault(campos[5], generarDniTemporal()));
+            postulante.setOpcion1(campos.campoODefecto(2, "SIN ESPECIFICAR"));
+            postulante.setOpcion2(campos.campoODefecto(3, ""));
+            postulante.setModalidad(campos.campoODefecto(4, "ORDINARIO"));
+            postulante.setDni(campos.campoODefecto(5, generarDniTemporal()));
             
             // Campos adicionales permitiendo valores vacíos
-            postulante.setCodSede(parsearEnteroSeguro(campos[6], 1));
-            postulante.setInscripcion(parsearFechaSegura(campos[7]));
-            postulante.setUbigeoProcedencia(limpiarCampo(campos[8]));
-            postulante.setCodColegio(limpiarCampo(campos[9]));
-            postulante.setFechaEgresoColegio(parsearFechaSegura(campos[10]));
-            postulante.setTipoColegio(parsearEnteroSeguro(campos[11], 1));
-            postulante.setUbigeoColegio(limpiarCampo(campos[12]));
-            postulante.setEstadoCivil(limpiarCampoConDefault(campos[13], "SOLTERO"));
-            postulante.setEncuesta(limpiarCampo(campos[14]));
-            postulante.setIngreso(parsearEnteroSeguro(campos[15], 0));
-            postulante.setIngresoA(limpiarCampo(campos[16]));
-            postulante.setSexo(normalizarSexo(limpiarCampo(campos[17])));
-            postulante.setNombreColegio(limpiarCampoConDefault(campos[18], "SIN ESPECIFICAR"));
-            postulante.setIdiomaMat(limpiarCampo(campos[19]));
-            postulante.setTelCelular(limpiarCampo(campos[20]));
-            postulante.setDireccion(limpiarCampo(campos[21]));
-            postulante.setUbigeo(limpiarCampo(campos[22]));
-            postulante.setFecNac(parsearFechaSegura(campos[23]));
+            postulante.setCodSede(parsearEnteroSeguro(campos.campo(6), 1));
+            postulante.setInscripcionDia(parsearDiaSeguro(campos.campo(7), fechas));
+            postulante.setUbigeoProcedencia(campos.campo(8));
+            postulante.setCodColegio(campos.campo(9));
+            postulante.setFechaEgresoColegioDia(parsearDiaSeguro(campos.campo(10), fechas));
+            postulante.setTipoColegio(parsearEnteroSeguro(campos.campo(11), 1));
+            postulante.setUbigeoColegio(campos.campo(12));
+            postulante.setEstadoCivil(campos.campoODefecto(13, "SOLTERO"));
+            postulante.setEncuesta(campos.campo(14));
+            postulante.setIngreso(parsearEnteroSeguro(campos.campo(15), 0));
+            postulante.setIngresoA(campos.campo(16));
+            postulante.setSexo(normalizarSexo(campos.campo(17)));
+            postulante.setNombreColegio(campos.campoODefecto(18, "SIN ESPECIFICAR"));
+            postulante.setIdiomaMat(campos.campo(19));
+            postulante.setTelCelular(campos.campo(20));
+            postulante.setDireccion(campos.campo(21));
+            postulante.setUbigeo(campos.campo(22));
+            postulante.setFecNacDia(parsearDiaSeguro(campos.campo(23), fechas));
             
             // Notas - campos críticos para el cálculo
-            postulante.setNotaAC(parsearDoubleSeguro(campos[24]));
-            postulante.setNotaCO(parsearDoubleSeguro(campos[25]));
+            postulante.setNotaAC(parsearNota(campos.campo(24), notasVacias));
+            postulante.setNotaCO(parsearNota(campos.campo(25), notasVacias));
             
             // Campos finales
-            postulante.setRespuesta(limpiarCampo(campos[26]));
-            postulante.setEstadoAcademico(limpiarCampoConDefault(campos[27], "POSTULANTE"));
+            postulante.setRespuesta(campos.campo(26));
+            postulante.setEstadoAcademico(campos.campoODefecto(27, "POSTULANTE"));
             
             // Asegurar valores por defecto críticos
-            if (postulante.getInscripcion() == null) {
-                postulante.setInscripcion(new Date());
+            if (postulante.getInscripcionDia() == Fechas.SIN_FECHA) {
+                postulante.setInscripcionDia(Fechas.hoy());
             }
             
-            if (postulante.getFecNac() == null) {
+            if (postulante.getFecNacDia() == Fechas.SIN_FECHA) {
                 // Fecha de nacimiento por defecto (18 años atrás)
-                Calendar cal = Calendar.getInstance();
-                cal.add(Calendar.YEAR, -18);
-                postulante.setFecNac(cal.getTime());
+                postulante.setFecNacDia(Fechas.dia(LocalDate.ofEpochDay(Fechas.hoy()).minusYears(18)));
             }
             
             // Calcular puntaje final
@@ -303,33 +515,14 @@ public class ExcelUtils {
             }
             
             return postulante;
-            
+        
         } catch (Exception e) {
             System.err.println("❌ Error parseando línea " + numeroLinea + ": " + e.getMessage());
-            System.err.println("   📝 Contenido: " + linea.substring(0, Math.min(linea.length(), 100)) + "...");
+            System.err.println("   📝 Contenido: " + linea.subSequence(0, Math.min(linea.length(), 100)) + "...");
             return null;
         }
     }
     
-    /**
-     * Detectar separador automáticamente
-     */
-    private static String detectarSeparador(String linea) {
-        // Contar ocurrencias de posibles separadores
-        int comas = (int) linea.chars().filter(ch -> ch == ',').count();
-        int tabs = (int) linea.chars().filter(ch -> ch == '\t').count();
-        int puntoComas = (int) linea.chars().filter(ch -> ch == ';').count();
-        
-        // Retornar el más común
-        if (tabs > comas && tabs > puntoComas) {
-            return "\t";
-        } else if (puntoComas > comas) {
-            return ";";
-        } else {
-            return ",";
-        }
-    }
-    
     /**
      * Normalizar valores de sexo
      */
@@ -350,11 +543,8 @@ public class ExcelUtils {
     
     // Métodos auxiliares para parseo MEJORADOS Y SEGUROS
     private static String limpiarCampo(String campo) {
-        if (campo == null) return "";
-        String limpio = campo.trim().replaceAll("\"", "").replaceAll("'", "");
-        // Remover caracteres de control y espacios múltiples
-        limpio = limpio.replaceAll("\\s+", " ").trim();
-        return limpio;
+        // Sin comillas, espacios múltiples colapsados y recortado (sin regex)
+        return TokenizadorCSV.limpiar(campo);
     }
     
     /**
@@ -408,45 +598,37 @@ public class ExcelUtils {
     }
     
     /**
-     * Parsear fecha de forma ultra-segura
+     * Nota de una celda: vacía vale 0, o NOTA_VACIA si hay que distinguirla
      */
-    private static Date parsearFechaSegura(String campo) {
-        try {
-            String limpio = limpiarCampo(campo);
-            if (limpio.isEmpty()) return new Date();
-            
-            // Intentar múltiples formatos de fecha
-            String[] formatos = {
-                "dd/MM/yyyy", "dd-MM-yyyy", "yyyy-MM-dd", 
-                "MM/dd/yyyy", "dd.MM.yyyy", "yyyy/MM/dd",
-                "dd/MM/yy", "dd-MM-yy", "yy-MM-dd"
-            };
-            
-            for (String formato : formatos) {
-                try {
-                    SimpleDateFormat sdf = new SimpleDateFormat(formato);
-                    sdf.setLenient(false); // Validación estricta
-                    Date fecha = sdf.parse(limpio);
-                    
-                    // Validar que la fecha sea razonable (entre 1900 y 2030)
-                    Calendar cal = Calendar.getInstance();
-                    cal.setTime(fecha);
-                    int año = cal.get(Calendar.YEAR);
-                    
-                    if (año >= 1900 && año <= 2030) {
-                        return fecha;
-                    }
-                } catch (ParseException ignored) {
-                    // Continuar con siguiente formato
-                }
-            }
-            
+    private static double parsearNota(String campo, boolean notasVacias) {
+        if (notasVacias && limpiarCampo(campo).isEmpty()) {
+            return NOTA_VACIA;
+        }
+        return parsearDoubleSeguro(campo);
+    }
+    
+    /**
+     * Parsear fecha de forma ultra-segura, como días desde 1970-01-01
+     * (hoy si está vacía o no se reconoce)
+     */
+    private static int parsearDiaSeguro(String campo, LectorFechas fechas) {
+        String limpio = limpiarCampo(campo);
+        if (limpio.isEmpty()) return Fechas.hoy();
+        
+        int dia = fechas.parsear(limpio);
+        if (dia == Fechas.SIN_FECHA) {
             System.out.println("⚠️ Fecha no reconocida: '" + limpio + "', usando fecha actual");
-            return new Date(); // Fecha actual si no se puede parsear
-            
-        } catch (Exception e) {
-            return new Date();
+            return Fechas.hoy(); // Fecha actual si no se puede parsear
         }
+        return dia;
+    }
+    
+    /**
+     * Días desde 1970-01-01 del primer formato que reconoce el texto
+     * (SIN_FECHA si ninguno); ver LectorFechas.parsearDia
+     */
+    public static int parsearDia(String texto) {
+        return LectorFechas.parsearDia(texto);
     }
     
     /**
@@ -466,7 +648,7 @@ public class ExcelUtils {
     }
     
     private static Date parsearFecha(String campo) {
-        return parsearFechaSegura(campo);
+        return Fechas.fecha(parsearDiaSeguro(campo, new LectorFechas()));
     }
     
     /**
@@ -474,6 +656,30 @@ public class ExcelUtils {
      * En un proyecto real usaríamos Apache POI
      */
     public static List<Postulante> importarPostulantesSimulado() {
+        return importarPostulantesSimulado(50, System.currentTimeMillis(), new Date());
+    }
+    
+    /**
+     * Versión reproducible de la simulación: con la misma cantidad y semilla
+     * genera exactamente los mismos postulantes (benchmarks y pruebas de carga)
+     * Las fechas se calculan respecto del 15/01/2025 en lugar de la fecha actual
+     */
+    public static List<Postulante> importarPostulantesSimulado(int cantidad, long semilla) {
+        return importarPostulantesSimulado(cantidad, semilla, fechaReferenciaSimulacion());
+    }
+    
+    /**
+     * Fecha fija (15/01/2025) desde la que se calculan edades y egresos
+     * en las simulaciones reproducibles
+     */
+    static Date fechaReferenciaSimulacion() {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2025, Calendar.JANUARY, 15);
+        return cal.getTime();
+    }
+    
+    private static List<Postulante> importarPostulantesSimulado(int cantidad, long semilla, Date referencia) {
         System.out.println("📊 Generando datos simulados de postulantes...");
         
         List<Postulante> postulantes = new ArrayList<>();
@@ -512,10 +718,10 @@ public class ExcelUtils {
         String[] sexos = {"M", "F"};
         String[] estadosCivil = {"SOLTERO", "SOLTERO", "SOLTERO", "CASADO"};
         
-        Random random = new Random(System.currentTimeMillis());
+        Random random = new Random(semilla);
         
-        // Generar 50 postulantes de prueba
-        for (int i = 0; i < 50; i++) {
+        // Generar los postulantes de prueba
+        for (int i = 0; i < cantidad; i++) {
             Postulante p = new Postulante();
             
             // Código secuencial
@@ -545,11 +751,11 @@ public class ExcelUtils {
             // Sede y colegio
             p.setCodSede(random.nextInt(3) + 1);
             p.setTipoColegio(random.nextInt(2) + 1); // 1=Estatal, 2=Particular
-            p.setNombreColegio(generarNombreColegio(p.getTipoColegio()));
+            p.setNombreColegio(generarNombreColegio(p.getTipoColegio(), random));
             
             // Fechas
             p.setInscripcion(generarFechaInscripcion(random));
-            p.setFecNac(generarFechaNacimiento(random));
+            p.setFecNac(generarFechaNacimiento(random, referencia));
             p.setFechaEgresoColegio(generarFechaEgreso(random));
             
             // Notas realistas según distribución normal
@@ -557,7 +763,7 @@ public class ExcelUtils {
             p.setNotaCO(generarNotaRealista(random, 11.5, 2.5));
             
             // Determinar estado académico
-            determinarEstadoAcademico(p);
+            determinarEstadoAcademico(p, referencia);
             
             // Contacto
             p.setTelCelular(String.format("9%08d", random.nextInt(100000000)));
@@ -567,7 +773,7 @@ public class ExcelUtils {
         }
         
         // Agregar algunos casos especiales
-        agregarCasosEspeciales(postulantes);
+        agregarCasosEspeciales(postulantes, referencia);
         
         System.out.println("✅ " + postulantes.size() + " postulantes simulados generados");
         return postulantes;
@@ -576,7 +782,7 @@ public class ExcelUtils {
     /**
      * Genera una nota realista usando distribución normal
      */
-    private static double generarNotaRealista(Random random, double media, double desviacion) {
+    static double generarNotaRealista(Random random, double media, double desviacion) {
         double nota = random.nextGaussian() * desviacion + media;
         // Limitar entre 0 y 20
         nota = Math.max(0, Math.min(20, nota));
@@ -587,9 +793,8 @@ public class ExcelUtils {
     /**
      * Determina si es POSTULANTE o ALUMNO_LIBRE
      */
-    private static void determinarEstadoAcademico(Postulante postulante) {
+    static void determinarEstadoAcademico(Postulante postulante, Date fechaActual) {
         Date fechaEgreso = postulante.getFechaEgresoColegio();
-        Date fechaActual = new Date();
         
         if (fechaEgreso == null) {
             postulante.setEstadoAcademico("ALUMNO_LIBRE");
@@ -609,8 +814,9 @@ public class ExcelUtils {
     /**
      * Genera fechas de inscripción realistas
      */
-    private static Date generarFechaInscripcion(Random random) {
+    static Date generarFechaInscripcion(Random random) {
         Calendar cal = Calendar.getInstance();
+        cal.clear(); // Sin la hora actual, para que la semilla determine la fecha
         cal.set(2025, Calendar.JANUARY, 15); // Base: 15 de enero 2025
         cal.add(Calendar.DAY_OF_YEAR, random.nextInt(30)); // +0 a 30 días
         return cal.getTime();
@@ -619,8 +825,9 @@ public class ExcelUtils {
     /**
      * Genera fechas de nacimiento realistas (17-25 años)
      */
-    private static Date generarFechaNacimiento(Random random) {
+    static Date generarFechaNacimiento(Random random, Date referencia) {
         Calendar cal = Calendar.getInstance();
+        cal.setTime(referencia);
         int edad = 17 + random.nextInt(9); // 17-25 años
         cal.add(Calendar.YEAR, -edad);
         cal.add(Calendar.DAY_OF_YEAR, random.nextInt(365));
@@ -630,8 +837,9 @@ public class ExcelUtils {
     /**
      * Genera fechas de egreso de colegio
      */
-    private static Date generarFechaEgreso(Random random) {
+    static Date generarFechaEgreso(Random random) {
         Calendar cal = Calendar.getInstance();
+        cal.clear();
         cal.set(Calendar.MONTH, Calendar.DECEMBER);
         cal.set(Calendar.DAY_OF_MONTH, 20);
         
@@ -645,7 +853,7 @@ public class ExcelUtils {
     /**
      * Genera nombres de colegios realistas
      */
-    private static String generarNombreColegio(int tipo) {
+    static String generarNombreColegio(int tipo, Random random) {
         if (tipo == 1) { // Estatal
             String[] colegiosEstatales = {
                 "I.E. LEONCIO PRADO",
@@ -654,7 +862,7 @@ public class ExcelUtils {
                 "I.E. JUANA MORENO",
                 "I.E. MILAGRO DE FATIMA"
             };
-            return colegiosEstatales[new Random().nextInt(colegiosEstatales.length)];
+            return colegiosEstatales[random.nextInt(colegiosEstatales.length)];
         } else { // Particular
             String[] colegiosParticulares = {
                 "COLEGIO CLARETIANO",
@@ -663,14 +871,14 @@ public class ExcelUtils {
                 "COLEGIO PERUANO BRITANICO",
                 "COLEGIO ROBERT M. SMITH"
             };
-            return colegiosParticulares[new Random().nextInt(colegiosParticulares.length)];
+            return colegiosParticulares[random.nextInt(colegiosParticulares.length)];
         }
     }
     
     /**
      * Agrega casos especiales para testing
      */
-    private static void agregarCasosEspeciales(List<Postulante> postulantes) {
+    private static void agregarCasosEspeciales(List<Postulante> postulantes, Date referencia) {
         // Caso 1: Postulante con nota muy alta
         Postulante excelente = new Postulante();
         excelente.setCodigo("EXCEL001");
@@ -683,7 +891,7 @@ public class ExcelUtils {
         excelente.setNotaAC(19.5);
         excelente.setNotaCO(19.8);
         excelente.setEstadoAcademico("POSTULANTE");
-        excelente.setInscripcion(new Date());
+        excelente.setInscripcion(referencia);
         postulantes.add(excelente);
         
         // Caso 2: Alumno libre con buena nota
@@ -698,7 +906,7 @@ public class ExcelUtils {
         alumnoLibre.setNotaAC(16.5);
         alumnoLibre.setNotaCO(17.0);
         alumnoLibre.setEstadoAcademico("ALUMNO_LIBRE");
-        alumnoLibre.setInscripcion(new Date());
+        alumnoLibre.setInscripcion(referencia);
         postulantes.add(alumnoLibre);
         
         // Caso 3: Postulante con nota límite
@@ -713,7 +921,7 @@ public class ExcelUtils {
         limite.setNotaAC(5.5);
         limite.setNotaCO(5.5);
         limite.setEstadoAcademico("POSTULANTE");
-        limite.setInscripcion(new Date());
+        limite.setInscripcion(referencia);
         postulantes.add(limite);
     }
     
@@ -721,29 +929,42 @@ public class ExcelUtils {
      * Generar reporte estadístico
      */
     public static void generarReporteEstadistico(List<Postulante> postulantes) {
+        generarReporteEstadistico(ColumnasPostulantes.desdeLista(postulantes));
+    }
+    
+    /**
+     * Generar reporte estadístico recorriendo las columnas (mismos promedios
+     * que con la lista: DoubleStream.average sobre los mismos valores)
+     */
+    public static void generarReporteEstadistico(ColumnasPostulantes postulantes) {
         System.out.println("\n📊 REPORTE ESTADÍSTICO DE POSTULANTES:");
         System.out.println("==========================================");
         
         // Estadísticas básicas
         int totalPostulantes = postulantes.size();
-        int postulantesDirectos = (int) postulantes.stream().filter(Postulante::esPostulante).count();
-        int alumnosLibres = (int) postulantes.stream().filter(Postulante::esAlumnoLibre).count();
+        int postulantesDirectos = 0;
+        int alumnosLibres = 0;
+        long aprobatorios = 0;
+        for (int i = 0; i < totalPostulantes; i++) {
+            if (postulantes.esPostulante(i)) postulantesDirectos++;
+            if (postulantes.esAlumnoLibre(i)) alumnosLibres++;
+            if (postulantes.getNotaFinal(i) >= 11.0) aprobatorios++;
+        }
         
         System.out.println("👥 Total postulantes: " + totalPostulantes);
         System.out.println("📚 Postulantes directos: " + postulantesDirectos);
         System.out.println("🎓 Alumnos libres: " + alumnosLibres);
         
         // Estadísticas de notas
-        double promedioAC = postulantes.stream().mapToDouble(Postulante::getNotaAC).average().orElse(0);
-        double promedioCO = postulantes.stream().mapToDouble(Postulante::getNotaCO).average().orElse(0);
-        double promedioFinal = postulantes.stream().mapToDouble(Postulante::getNotaFinal).average().orElse(0);
+        double promedioAC = IntStream.range(0, totalPostulantes).mapToDouble(postulantes::getNotaAC).average().orElse(0);
+        double promedioCO = IntStream.range(0, totalPostulantes).mapToDouble(postulantes::getNotaCO).average().orElse(0);
+        double promedioFinal = IntStream.range(0, totalPostulantes).mapToDouble(postulantes::getNotaFinal).average().orElse(0);
         
         System.out.printf("📊 Promedio Aptitud Académica: %.2f%n", promedioAC);
         System.out.printf("📊 Promedio Conocimientos: %.2f%n", promedioCO);
         System.out.printf("📊 Promedio Final: %.2f%n", promedioFinal);
         
         // Postulantes con puntaje aprobatorio
-        long aprobatorios = postulantes.stream().filter(p -> p.getNotaFinal() >= 11.0).count();
         System.out.println("✅ Postulantes con puntaje aprobatorio (≥11): " + aprobatorios);
     }
     
@@ -751,25 +972,59 @@ public class ExcelUtils {
      * Validar integridad de datos
      */
     public static List<String> validarIntegridad(List<Postulante> postulantes) {
+        return validarIntegridad(ColumnasPostulantes.desdeLista(postulantes));
+    }
+    
+    /**
+     * Validar integridad de datos sobre las columnas
+     * Los repetidos se buscan ordenando claves numéricas (long[]), sin un
+     * HashSet de Strings; los errores salen en el mismo orden que recorriendo
+     * la lista
+     */
+    public static List<String> validarIntegridad(ColumnasPostulantes postulantes) {
         List<String> errores = new ArrayList<>();
-        Set<String> codigosUsados = new HashSet<>();
-        Set<String> dnisUsados = new HashSet<>();
+        int total = postulantes.size();
         
-        for (Postulante p : postulantes) {
+        // Filas cuyo DNI ya apareció en una fila anterior
+        long[] pares = new long[total];
+        for (int i = 0; i < total; i++) {
+            pares[i] = ((long) postulantes.getClaveDni(i) << 32) | i;
+        }
+        Arrays.sort(pares);
+        boolean[] dniRepetido = new boolean[total];
+        for (int k = 1; k < total; k++) {
+            if ((pares[k] >> 32) == (pares[k - 1] >> 32)) {
+                dniRepetido[(int) pares[k]] = true;
+            }
+        }
+        
+        // Códigos que aparecen más de una vez (casi nunca hay); de esos se
+        // recuerda cuáles ya se vieron al recorrer las filas en orden
+        long[] codigos = new long[total];
+        for (int i = 0; i < total; i++) {
+            codigos[i] = postulantes.getClaveCodigo(i);
+        }
+        Arrays.sort(codigos);
+        Set<Long> codigosRepetidos = new HashSet<>();
+        for (int k = 1; k < total; k++) {
+            if (codigos[k] == codigos[k - 1]) codigosRepetidos.add(codigos[k]);
+        }
+        Set<Long> codigosVistos = new HashSet<>();
+        
+        for (int i = 0; i < total; i++) {
             // Verificar duplicados
-            if (codigosUsados.contains(p.getCodigo())) {
-                errores.add("Código duplicado: " + p.getCodigo());
+            long codigo = postulantes.getClaveCodigo(i);
+            if (codigosRepetidos.contains(codigo) && !codigosVistos.add(codigo)) {
+                errores.add("Código duplicado: " + postulantes.getCodigo(i));
             }
-            codigosUsados.add(p.getCodigo());
             
-            if (dnisUsados.contains(p.getDni())) {
-                errores.add("DNI duplicado: " + p.getDni());
+            if (dniRepetido[i]) {
+                errores.add("DNI duplicado: " + postulantes.getDni(i));
             }
-            dnisUsados.add(p.getDni());
             
             // Verificar datos requeridos
-            if (!p.validarDatos()) {
-                errores.add("Datos incompletos: " + p.getCodigo());
+            if (!postulantes.tieneDatosCompletos(i)) {
+                errores.add("Datos incompletos: " + postulantes.getCodigo(i));
             }
         }
         
@@ -781,4 +1036,4 @@ public class ExcelUtils {
         
         return errores;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,446 @@
+package util;
+
+import dao.PostulanteDAO;
+import model.Carrera;
+import model.Fechas;
+import model.Postulante;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Generador de postulantes sintéticos para pruebas de carga
+ * - Reproducible: con la misma semilla y configuración genera exactamente los
+ *   mismos postulantes, sin importar el número de hilos
+ * - Por streaming: se genera en bloques de tamaño fijo y solo hay unos pocos
+ *   bloques en memoria a la vez, así que producir millones usa memoria constante
+ * - Los bloques se generan en paralelo (ForkJoinPool) y se entregan en orden
+ * Usa los mismos generadores de notas, fechas y colegios que
+ * ExcelUtils.importarPostulantesSimulado, con fechas respecto del 15/01/2025
+ * @author joe-696
+ */
+public class GeneradorPostulantes {
+    
+    private static final int TAMANO_BLOQUE = 10_000;
+    // Bloques en proceso por hilo: limita la memoria sin dejar hilos ociosos
+    private static final int BLOQUES_POR_HILO = 2;
+    // Un DNI duplicado repite el de alguno de los últimos postulantes generados
+    private static final int VENTANA_DUPLICADOS = 1_000;
+    private static final int BLOQUES_POR_REPORTE = 50;
+    
+    private static final long DNI_BASE = 10_000_000L;
+    private static final long DNIS_DISPONIBLES = 90_000_000L;
+    
+    static final String ENCABEZADO_CSV = "CODIGO,APELLIDOS_NOMBRES,OPCION1,OPCION2,MODALIDAD,DNI,COD_SEDE,"
+        + "INSCRIPCION,UBIGEO_PROCEDENCIA,COD_COLEGIO,FECHA_EGRESO_COLEGIO,TIPO_COLEGIO,UBIGEO_COLEGIO,"
+        + "ESTADO_CIVIL,ENCUESTA,INGRESO,INGRESO_A,SEXO,NOMBRE_COLEGIO,IDIOMA_MAT,TEL_CELULAR,DIRECCION,"
+        + "UBIGEO,FEC_NAC,NOTA_AC,NOTA_CO,RESPUESTA,ESTADO_ACADEMICO";
+    
+    private static final String[] APELLIDOS = {
+        "GARCIA", "RODRIGUEZ", "MARTINEZ", "TORRES", "GOMEZ", "VARGAS", "MORALES", "HERRERA",
+        "JIMENEZ", "SANTOS", "MENDOZA", "CHAVEZ", "RUIZ", "ORTEGA", "SILVA", "PAREDES",
+        "FERNANDEZ", "RAMIREZ", "CASTILLO", "AGUIRRE", "QUISPE", "HUAMAN", "SALVADOR", "PONTE",
+        "ROJAS", "LEON", "FLORES", "ESPINOZA", "CAMPOS", "VILLANUEVA", "LOPEZ", "PEREZ"
+    };
+    
+    private static final String[] NOMBRES = {
+        "JUAN", "MARIA", "CARLOS", "ANA", "LUIS", "SOFIA", "DIEGO", "VALERIA", "MIGUEL", "ISABELLA",
+        "ADRIAN", "CAMILA", "DANIEL", "NATALIA", "KEVIN", "ANDREA", "SEBASTIAN", "LUCIANA",
+        "BRANDON", "ANTONELLA", "JOSE", "CARLA", "FRANCO", "ALEJANDRA", "RICARDO", "ELENA"
+    };
+    
+    private static final String[] MODALIDADES = {"ORDINARIO", "ORDINARIO", "ORDINARIO", "EXONERADO", "BECA 18"};
+    private static final String[] ESTADOS_CIVIL = {"SOLTERO", "SOLTERO", "SOLTERO", "CASADO"};
+    
+    private final long semilla;
+    private final Date referencia = ExcelUtils.fechaReferenciaSimulacion();
+    
+    private String[] carreras;
+    private double sesgoDemanda = 1.0;
+    private double proporcionAlumnosLibres = 0.15;
+    private double densidadEmpates = 0.0;
+    private double tasaDniDuplicado = 0.0;
+    private int hilos = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * Generador con las carreras de UNAS y la configuración por defecto
+     */
+    public GeneradorPostulantes(long semilla) {
+        this.semilla = semilla;
+        List<String> nombres = new ArrayList<>();
+        for (Carrera carrera : AlgoritmoAdmision.carrerasPorDefecto()) {
+            nombres.add(carrera.getNombre());
+        }
+        this.carreras = nombres.toArray(new String[0]);
+    }
+    
+    /**
+     * Carreras que se piden como opción 1 y 2; la primera es la más demandada
+     */
+    public void setCarreras(List<String> carreras) {
+        if (carreras == null || carreras.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una carrera");
+        }
+        this.carreras = carreras.toArray(new String[0]);
+    }
+    
+    /**
+     * Sesgo de la demanda (ley de Zipf): la carrera i se pide con peso 1/(i+1)^sesgo
+     * 0 = demanda uniforme; 1 = la primera carrera tiene el doble que la segunda
+     */
+    public void setSesgoDemanda(double sesgoDemanda) {
+        if (!(sesgoDemanda >= 0)) {
+            throw new IllegalArgumentException("El sesgo de la demanda no puede ser negativo");
+        }
+        this.sesgoDemanda = sesgoDemanda;
+    }
+    
+    /**
+     * Fracción de postulantes que egresaron hace menos de un año (ALUMNO_LIBRE)
+     */
+    public void setProporcionAlumnosLibres(double proporcion) {
+        this.proporcionAlumnosLibres = validarFraccion(proporcion, "proporción de alumnos libres");
+    }
+    
+    /**
+     * Fracción de postulantes con notas enteras y fechas redondeadas, que
+     * producen empates en todos los criterios de desempate
+     */
+    public void setDensidadEmpates(double densidad) {
+        this.densidadEmpates = validarFraccion(densidad, "densidad de empates");
+    }
+    
+    /**
+     * Fracción de postulantes que repiten el DNI de otro postulante reciente
+     */
+    public void setTasaDniDuplicado(double tasa) {
+        this.tasaDniDuplicado = validarFraccion(tasa, "tasa de DNI duplicados");
+    }
+    
+    /**
+     * Hilos que generan bloques (1 = todo en el hilo que llama)
+     */
+    public void setHilos(int hilos) {
+        this.hilos = Math.max(1, hilos);
+    }
+    
+    private static double validarFraccion(double valor, String nombre) {
+        if (!(valor >= 0 && valor <= 1)) {
+            throw new IllegalArgumentException("La " + nombre + " debe estar entre 0 y 1: " + valor);
+        }
+        return valor;
+    }
+    
+    /**
+     * Entregar los postulantes generados al destino, en orden y desde el hilo que llama
+     */
+    public void generar(long cantidad, Consumer<Postulante> destino) {
+        procesarBloques(cantidad, bloque -> bloque, bloque -> bloque.forEach(destino));
+    }
+    
+    /**
+     * Escribir los postulantes en un CSV con las 28 columnas del formato UNAS,
+     * importable con ExcelUtils.importarPostulantesDesdeExcel
+     * Las líneas se arman en los hilos generadores; aquí solo se escriben
+     */
+    public boolean generarCSV(long cantidad, String rutaArchivo) {
+        long inicio = System.nanoTime();
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(Path.of(rutaArchivo), StandardCharsets.UTF_8), 1 << 16)) {
+            writer.write(ENCABEZADO_CSV);
+            writer.write('\n');
+            
+            procesarBloques(cantidad, GeneradorPostulantes::formatearBloque, texto -> {
+                try {
+                    writer.write(texto);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+        
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("❌ Error generando " + rutaArchivo + ": " + e.getMessage());
+            return false;
+        }
+        
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("✅ %,d postulantes generados en %s (%.1f s, %,.0f filas/s)%n",
+            cantidad, rutaArchivo, segundos, cantidad / segundos);
+        return true;
+    }
+    
+    /**
+     * Guardar los postulantes en la base de datos por lotes
+     * Los DNI duplicados se rechazan por la restricción UNIQUE y quedan en el resumen
+     */
+    public ImportadorStreaming.ResumenImportacion generarEnBaseDatos(long cantidad, PostulanteDAO dao) {
+        ImportadorStreaming.ResumenImportacion resumen = new ImportadorStreaming.ResumenImportacion();
+        long inicio = System.nanoTime();
+        
+        procesarBloques(cantidad, bloque -> bloque, bloque -> {
+            resumen.acumular(dao.guardarLote(bloque, PostulanteDAO.TAMANO_LOTE_DEFECTO));
+            for (Postulante p : bloque) {
+                resumen.acumularEstadisticas(p);
+            }
+        });
+        
+        resumen.finalizar(cantidad, (System.nanoTime() - inicio) / 1e9);
+        System.out.printf("✅ %,d postulantes generados en la base de datos (%,d insertados, %,d rechazados, %.1f s)%n",
+            cantidad, resumen.getInsertados(), resumen.getRechazados(), resumen.getSegundos());
+        return resumen;
+    }
+    
+    /**
+     * Generar los bloques en el pool y entregar cada resultado al consumidor
+     * en orden, con a lo sumo hilos * BLOQUES_POR_HILO bloques pendientes
+     */
+    private <T> void procesarBloques(long cantidad, Function<List<Postulante>, T> preparar, Consumer<T> consumir) {
+        long totalBloques = (cantidad + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+        
+        if (hilos == 1) {
+            for (long b = 0; b < totalBloques; b++) {
+                consumir.accept(preparar.apply(generarBloque(b, cantidad)));
+                reportarProgreso(b, cantidad);
+            }
+            return;
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        ArrayDeque<Future<T>> pendientes = new ArrayDeque<>();
+        try {
+            long siguiente = 0;
+            for (; siguiente < totalBloques && pendientes.size() < hilos * BLOQUES_POR_HILO; siguiente++) {
+                pendientes.add(pool.submit(tarea(siguiente, cantidad, preparar)));
+            }
+            
+            for (long b = 0; b < totalBloques; b++) {
+                T resultado = pendientes.poll().get();
+                if (siguiente < totalBloques) {
+                    pendientes.add(pool.submit(tarea(siguiente++, cantidad, preparar)));
+                }
+                consumir.accept(resultado);
+                reportarProgreso(b, cantidad);
+            }
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generación interrumpida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException("Error generando postulantes: " + causa.getMessage(), causa);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private <T> Callable<T> tarea(long bloque, long cantidad, Function<List<Postulante>, T> preparar) {
+        return () -> preparar.apply(generarBloque(bloque, cantidad));
+    }
+    
+    private void reportarProgreso(long bloque, long cantidad) {
+        if ((bloque + 1) % BLOQUES_POR_REPORTE == 0) {
+            System.out.printf("📊 Generados: %,d de %,d%n", Math.min((bloque + 1) * TAMANO_BLOQUE, cantidad), cantidad);
+        }
+    }
+    
+    /**
+     * Generar el bloque número "bloque"; depende solo de la semilla y del
+     * número de bloque, no del hilo ni del orden en que se ejecute
+     */
+    List<Postulante> generarBloque(long bloque, long cantidad) {
+        long desde = bloque * TAMANO_BLOQUE;
+        long hasta = Math.min(desde + TAMANO_BLOQUE, cantidad);
+        Random random = new Random(new SplittableRandom(semilla + bloque * 0x9E3779B97F4A7C15L).nextLong());
+        
+        double[] acumulado = pesosAcumulados();
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(referencia);
+        int anioReferencia = cal.get(Calendar.YEAR);
+        
+        List<Postulante> postulantes = new ArrayList<>((int) (hasta - desde));
+        for (long i = desde; i < hasta; i++) {
+            Postulante p = new Postulante();
+            p.setCodigo(anioReferencia + rellenar(i + 1, 8));
+            p.setApellidosNombres(APELLIDOS[random.nextInt(APELLIDOS.length)] + " "
+                + APELLIDOS[random.nextInt(APELLIDOS.length)] + ", "
+                + NOMBRES[random.nextInt(NOMBRES.length)] + " " + NOMBRES[random.nextInt(NOMBRES.length)]);
+            
+            // DNI propio o repetido de uno de los últimos postulantes
+            long dueno = i;
+            if (i > 0 && random.nextDouble() < tasaDniDuplicado) {
+                dueno = i - 1 - random.nextInt((int) Math.min(i, VENTANA_DUPLICADOS));
+            }
+            p.setDni(rellenar(DNI_BASE + dueno % DNIS_DISPONIBLES, 8));
+            
+            // Opciones de carrera según la demanda
+            int opcion1 = elegirCarrera(acumulado, random, -1);
+            p.setOpcion1(carreras[opcion1]);
+            p.setOpcion2(carreras.length > 1 ? carreras[elegirCarrera(acumulado, random, opcion1)] : "");
+            
+            p.setModalidad(MODALIDADES[random.nextInt(MODALIDADES.length)]);
+            p.setSexo(random.nextBoolean() ? "M" : "F");
+            p.setEstadoCivil(ESTADOS_CIVIL[random.nextInt(ESTADOS_CIVIL.length)]);
+            p.setCodSede(random.nextInt(3) + 1);
+            p.setTipoColegio(random.nextInt(2) + 1);
+            p.setNombreColegio(ExcelUtils.generarNombreColegio(p.getTipoColegio(), random));
+            
+            // Egreso: los alumnos libres terminaron el colegio el año anterior a la referencia
+            boolean libre = random.nextDouble() < proporcionAlumnosLibres;
+            cal.clear();
+            cal.set(anioReferencia - 1 - (libre ? 0 : 1 + random.nextInt(4)), Calendar.DECEMBER, 20);
+            p.setFechaEgresoColegio(cal.getTime());
+            ExcelUtils.determinarEstadoAcademico(p, referencia);
+            
+            p.setInscripcion(ExcelUtils.generarFechaInscripcion(random));
+            p.setFecNac(ExcelUtils.generarFechaNacimiento(random, referencia));
+            p.setNotaAC(ExcelUtils.generarNotaRealista(random, 12.0, 3.0));
+            p.setNotaCO(ExcelUtils.generarNotaRealista(random, 11.5, 2.5));
+            
+            // Empates: notas enteras, nacimiento el 1 de enero y la primera fecha de inscripción
+            if (random.nextDouble() < densidadEmpates) {
+                p.setNotaAC(Math.rint(p.getNotaAC()));
+                p.setNotaCO(Math.rint(p.getNotaCO()));
+                cal.setTime(p.getFecNac());
+                int anioNacimiento = cal.get(Calendar.YEAR);
+                cal.clear();
+                cal.set(anioNacimiento, Calendar.JANUARY, 1);
+                p.setFecNac(cal.getTime());
+                cal.clear();
+                cal.set(anioReferencia, Calendar.JANUARY, 15);
+                p.setInscripcion(cal.getTime());
+            }
+            p.calcularPuntajeFinal();
+            
+            p.setTelCelular("9" + rellenar(random.nextInt(100_000_000), 8));
+            p.setDireccion("JR. " + (random.nextInt(20) + 1) + " DE ENERO " + (random.nextInt(500) + 100));
+            
+            postulantes.add(p);
+        }
+        return postulantes;
+    }
+    
+    private double[] pesosAcumulados() {
+        double[] acumulado = new double[carreras.length];
+        double total = 0;
+        for (int i = 0; i < carreras.length; i++) {
+            total += Math.pow(i + 1, -sesgoDemanda);
+            acumulado[i] = total;
+        }
+        return acumulado;
+    }
+    
+    /**
+     * Elegir una carrera según los pesos, sin repetir "excluida"
+     * (se sortea sobre el total menos su peso y luego se salta su tramo)
+     */
+    private static int elegirCarrera(double[] acumulado, Random random, int excluida) {
+        double total = acumulado[acumulado.length - 1];
+        double inicioExcluida = 0;
+        double pesoExcluida = 0;
+        if (excluida >= 0) {
+            inicioExcluida = excluida > 0 ? acumulado[excluida - 1] : 0;
+            pesoExcluida = acumulado[excluida] - inicioExcluida;
+        }
+        
+        double x = random.nextDouble() * (total - pesoExcluida);
+        if (excluida >= 0 && x >= inicioExcluida) {
+            x += pesoExcluida;
+        }
+        
+        int indice = Arrays.binarySearch(acumulado, x);
+        indice = indice >= 0 ? indice + 1 : -indice - 1;
+        indice = Math.min(indice, acumulado.length - 1);
+        // Por redondeo podría caer justo en el borde de la excluida
+        if (indice == excluida) {
+            indice = excluida + 1 < acumulado.length ? excluida + 1 : excluida - 1;
+        }
+        return indice;
+    }
+    
+    /**
+     * Número con ceros a la izquierda (más rápido que String.format para millones de filas)
+     */
+    private static String rellenar(long valor, int digitos) {
+        String texto = Long.toString(valor);
+        if (texto.length() >= digitos) {
+            return texto;
+        }
+        StringBuilder sb = new StringBuilder(digitos);
+        for (int i = texto.length(); i < digitos; i++) {
+            sb.append('0');
+        }
+        return sb.append(texto).toString();
+    }
+    
+    /**
+     * Líneas CSV de un bloque (con el salto de línea final)
+     */
+    private static String formatearBloque(List<Postulante> bloque) {
+        StringBuilder sb = new StringBuilder(bloque.size() * 256);
+        for (Postulante p : bloque) {
+            sb.append(lineaCSV(p)).append('\n');
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Una línea con las 28 columnas de ENCABEZADO_CSV, en el orden que espera
+     * ExcelUtils.parsearRegistro
+     */
+    static String lineaCSV(Postulante p) {
+        String[] campos = {
+            p.getCodigo(), p.getApellidosNombres(), p.getOpcion1(), p.getOpcion2(), p.getModalidad(),
+            p.getDni(), String.valueOf(p.getCodSede()), Fechas.formatear(p.getInscripcionDia()),
+            p.getUbigeoProcedencia(), p.getCodColegio(), Fechas.formatear(p.getFechaEgresoColegioDia()),
+            String.valueOf(p.getTipoColegio()), p.getUbigeoColegio(), p.getEstadoCivil(), p.getEncuesta(),
+            String.valueOf(p.getIngreso()), p.getIngresoA(), p.getSexo(), p.getNombreColegio(), p.getIdiomaMat(),
+            p.getTelCelular(), p.getDireccion(), p.getUbigeo(), Fechas.formatear(p.getFecNacDia()),
+            notaCSV(p.getNotaAC()), notaCSV(p.getNotaCO()), p.getRespuesta(), p.getEstadoAcademico()
+        };
+        
+        StringBuilder sb = new StringBuilder(256);
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) sb.append(',');
+            agregarCampo(sb, campos[i]);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Nota como texto; una nota vacía (ExcelUtils.NOTA_VACIA) queda en blanco
+     */
+    private static String notaCSV(double nota) {
+        return Double.isNaN(nota) ? "" : String.valueOf(nota);
+    }
+    
+    /**
+     * Agregar un campo, entre comillas si contiene separadores o comillas
+     */
+    private static void agregarCampo(StringBuilder sb, String campo) {
+        if (campo == null) return;
+        if (campo.indexOf(',') < 0 && campo.indexOf('"') < 0 && campo.indexOf('\n') < 0) {
+            sb.append(campo);
+            return;
+        }
+        sb.append('"').append(campo.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,409 @@
+package util;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Importación por streaming de archivos de postulantes
+ * Una etapa lectora parsea el archivo y deposita postulantes en una cola acotada;
+ * la etapa de persistencia los toma y los guarda por lotes con PostulanteDAO.
+ * La memoria usada depende del tamaño de la cola y del lote, no del archivo.
+ * Antes de guardar, cada lote pasa por ValidadorImportacion: las filas con
+ * datos inválidos o código/DNI repetido no llegan a la base y se escriben en
+ * un archivo de rechazos junto al original (nombre_rechazados.csv).
+ * En modo COMBINAR (archivos de notas que se vuelven a subir) los códigos ya
+ * registrados no se rechazan: PostulanteDAO.combinarLote actualiza solo sus notas.
+ * @author joe-696
+ */
+public class ImportadorStreaming {
+    
+    public static final int CAPACIDAD_COLA_DEFECTO = 2000;
+    private static final int MAX_RECHAZOS_REPORTADOS = 100;
+    
+    // Marca de fin de archivo en la cola
+    private static final Postulante FIN = new Postulante();
+    
+    /**
+     * Qué hacer con los códigos que ya están en la base
+     */
+    public enum Modo {
+        INSERTAR,   // Se rechazan (CODIGO_EXISTENTE)
+        COMBINAR    // Se actualizan las notas que cambiaron
+    }
+    
+    private final PostulanteDAO postulanteDAO;
+    private final int tamanoLote;
+    private final int capacidadCola;
+    private final Modo modo;
+    
+    /**
+     * Constructor con valores por defecto
+     */
+    public ImportadorStreaming(PostulanteDAO postulanteDAO) {
+        this(postulanteDAO, Modo.INSERTAR);
+    }
+    
+    public ImportadorStreaming(PostulanteDAO postulanteDAO, Modo modo) {
+        this(postulanteDAO, PostulanteDAO.TAMANO_LOTE_DEFECTO, CAPACIDAD_COLA_DEFECTO, modo);
+    }
+    
+    public ImportadorStreaming(PostulanteDAO postulanteDAO, int tamanoLote, int capacidadCola) {
+        this(postulanteDAO, tamanoLote, capacidadCola, Modo.INSERTAR);
+    }
+    
+    /**
+     * Constructor completo
+     */
+    public ImportadorStreaming(PostulanteDAO postulanteDAO, int tamanoLote, int capacidadCola, Modo modo) {
+        this.postulanteDAO = postulanteDAO;
+        this.tamanoLote = tamanoLote > 0 ? tamanoLote : PostulanteDAO.TAMANO_LOTE_DEFECTO;
+        this.capacidadCola = Math.max(capacidadCola, this.tamanoLote);
+        this.modo = modo != null ? modo : Modo.INSERTAR;
+    }
+    
+    /**
+     * Importar un archivo guardando por lotes mientras se lee
+     * El observador recibe el progreso después de cada lote guardado
+     * (desde el hilo que llama a este método, p. ej. un SwingWorker)
+     */
+    public ResumenImportacion importar(String rutaArchivo, Consumer<Progreso> observador) throws IOException {
+        BlockingQueue<Postulante> cola = new ArrayBlockingQueue<>(capacidadCola);
+        AtomicLong filasLeidas = new AtomicLong();
+        ResumenImportacion resumen = new ResumenImportacion();
+        Throwable[] errorLector = new Throwable[1];
+        long inicio = System.nanoTime();
+        File archivoRechazos = archivoRechazos(rutaArchivo);
+        Files.deleteIfExists(archivoRechazos.toPath());
+        
+        // ETAPA 1: lector
+        Thread lector = new Thread(() -> {
+            try {
+                // Al combinar, una nota en blanco conserva la guardada y un 0 la corrige
+                ExcelUtils.ResultadoLectura lectura = ExcelUtils.procesarArchivo(rutaArchivo, modo == Modo.COMBINAR, p -> {
+                    try {
+                        cola.put(p);
+                        filasLeidas.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ImportacionCanceladaException();
+                    }
+                });
+                resumen.lineasConError = lectura.getErrores();
+                resumen.fechas = lectura.getFechas();
+            } catch (ImportacionCanceladaException e) {
+                // La etapa de persistencia se detuvo, no hay nada más que hacer
+                return;
+            } catch (Throwable e) {
+                errorLector[0] = e;
+            }
+            
+            try {
+                cola.put(FIN);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "importador-lector");
+        lector.setDaemon(true);
+        lector.start();
+        
+        // ETAPA 2: validación y persistencia por lotes
+        // (las claves de la base se leen mientras el lector avanza)
+        ValidadorImportacion validador = new ValidadorImportacion(modo == Modo.COMBINAR);
+        validador.cargarClavesExistentes(postulanteDAO);
+        List<Postulante> lote = new ArrayList<>(tamanoLote);
+        try (EscritorRechazos rechazos = new EscritorRechazos(archivoRechazos)) {
+            while (true) {
+                Postulante p = cola.take();
+                if (p == FIN) {
+                    break;
+                }
+                
+                lote.add(p);
+                if (lote.size() >= tamanoLote) {
+                    guardarLote(lote, resumen, validador, rechazos);
+                    notificar(observador, filasLeidas.get(), resumen, inicio, false);
+                }
+            }
+            
+            if (!lote.isEmpty()) {
+                guardarLote(lote, resumen, validador, rechazos);
+            }
+            
+            lector.join();
+            if (rechazos.isAbierto()) {
+                resumen.archivoRechazos = archivoRechazos.getPath();
+            }
+        
+        } catch (IOException e) {
+            lector.interrupt();
+            throw e;
+        } catch (InterruptedException e) {
+            lector.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IOException("Importación interrumpida", e);
+        } catch (RuntimeException e) {
+            lector.interrupt();
+            throw e;
+        }
+        
+        if (errorLector[0] != null) {
+            if (errorLector[0] instanceof IOException) {
+                throw (IOException) errorLector[0];
+            }
+            throw new IOException("Error leyendo archivo: " + errorLector[0].getMessage(), errorLector[0]);
+        }
+        
+        resumen.filasLeidas = filasLeidas.get();
+        resumen.segundos = (System.nanoTime() - inicio) / 1e9;
+        notificar(observador, resumen.filasLeidas, resumen, inicio, true);
+        
+        return resumen;
+    }
+    
+    /**
+     * Validar y guardar un lote y acumular estadísticas; el lote se vacía para reutilizarlo
+     */
+    private void guardarLote(List<Postulante> lote, ResumenImportacion resumen,
+                             ValidadorImportacion validador, EscritorRechazos rechazos) throws IOException {
+        for (Postulante p : lote) {
+            resumen.acumularEstadisticas(p);
+        }
+        
+        List<ValidadorImportacion.Rechazo> rechazados = validador.validar(lote);
+        if (!rechazados.isEmpty()) {
+            resumen.acumularRechazos(rechazados);
+            rechazos.escribir(rechazados);
+        }
+        
+        if (!lote.isEmpty()) {
+            resumen.acumular(modo == Modo.COMBINAR
+                ? postulanteDAO.combinarLote(lote, tamanoLote)
+                : postulanteDAO.guardarLote(lote, tamanoLote));
+        }
+        lote.clear();
+    }
+    
+    /**
+     * Archivo de rechazos junto al importado: datos.csv -> datos_rechazados.csv
+     */
+    static File archivoRechazos(String rutaArchivo) {
+        File archivo = new File(rutaArchivo);
+        String nombre = archivo.getName();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto > 0 ? nombre.substring(0, punto) : nombre;
+        return new File(archivo.getAbsoluteFile().getParentFile(), base + "_rechazados.csv");
+    }
+    
+    /**
+     * Archivo de rechazos que se crea recién con el primer rechazo
+     */
+    private static class EscritorRechazos implements Closeable {
+        private final File archivo;
+        private BufferedWriter writer;
+        
+        EscritorRechazos(File archivo) {
+            this.archivo = archivo;
+        }
+        
+        void escribir(List<ValidadorImportacion.Rechazo> rechazados) throws IOException {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(archivo.toPath(), StandardCharsets.UTF_8);
+                writer.write(ValidadorImportacion.ENCABEZADO_RECHAZOS);
+                writer.newLine();
+            }
+            for (ValidadorImportacion.Rechazo rechazo : rechazados) {
+                writer.write(rechazo.lineaCSV());
+                writer.newLine();
+            }
+        }
+        
+        boolean isAbierto() {
+            return writer != null;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+    
+    private void notificar(Consumer<Progreso> observador, long leidas, ResumenImportacion resumen,
+                           long inicio, boolean terminado) {
+        if (observador == null) return;
+        
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long guardadas = resumen.getFilasProcesadas();
+        observador.accept(new Progreso(leidas, resumen.getInsertados() + resumen.getActualizados(), resumen.getRechazados(),
+            segundos > 0 ? guardadas / segundos : 0, terminado));
+    }
+    
+    /**
+     * Señal interna para detener la etapa lectora
+     */
+    private static class ImportacionCanceladaException extends RuntimeException {
+        ImportacionCanceladaException() {
+            super("Importación cancelada");
+        }
+    }
+    
+    /**
+     * Progreso de una importación en curso
+     */
+    public static class Progreso {
+        private final long filasLeidas;
+        private final long filasGuardadas;
+        private final long filasRechazadas;
+        private final double filasPorSegundo;
+        private final boolean terminado;
+        
+        public Progreso(long filasLeidas, long filasGuardadas, long filasRechazadas,
+                        double filasPorSegundo, boolean terminado) {
+            this.filasLeidas = filasLeidas;
+            this.filasGuardadas = filasGuardadas;
+            this.filasRechazadas = filasRechazadas;
+            this.filasPorSegundo = filasPorSegundo;
+            this.terminado = terminado;
+        }
+        
+        public long getFilasLeidas() { return filasLeidas; }
+        public long getFilasGuardadas() { return filasGuardadas; }
+        public long getFilasRechazadas() { return filasRechazadas; }
+        public double getFilasPorSegundo() { return filasPorSegundo; }
+        public boolean isTerminado() { return terminado; }
+        
+        @Override
+        public String toString() {
+            return String.format("📊 Leídas: %d | Guardadas: %d | Rechazadas: %d | %.0f filas/s",
+                filasLeidas, filasGuardadas, filasRechazadas, filasPorSegundo);
+        }
+    }
+    
+    /**
+     * Resumen final de la importación con estadísticas acumuladas por fila
+     * (sin conservar los postulantes)
+     */
+    public static class ResumenImportacion {
+        private long filasLeidas;
+        private int lineasConError;
+        private int insertados;
+        private int actualizados;
+        private int sinCambios;
+        private int duplicados;
+        private int restricciones;
+        private int errores;
+        private int invalidos;
+        private double segundos;
+        private final List<String> primerosRechazos = new ArrayList<>();
+        private final Map<ValidadorImportacion.Motivo, Integer> rechazosPorMotivo =
+            new EnumMap<>(ValidadorImportacion.Motivo.class);
+        private String archivoRechazos;
+        
+        // Estadísticas de calidad de datos
+        private long conDni;
+        private long conNotas;
+        private long conCarrera;
+        private double sumaAC;
+        private long cantidadAC;
+        private double sumaCO;
+        private long cantidadCO;
+        private final Map<String, Long> demandaPorCarrera = new HashMap<>();
+        private final Map<String, Long> porModalidad = new HashMap<>();
+        private LectorFechas fechas;
+        
+        void acumular(PostulanteDAO.ResultadoLote resultado) {
+            insertados += resultado.getInsertados();
+            actualizados += resultado.getActualizados();
+            sinCambios += resultado.getSinCambios();
+            duplicados += resultado.getDuplicados();
+            restricciones += resultado.getRestricciones();
+            errores += resultado.getErrores();
+            
+            for (PostulanteDAO.ResultadoFila fila : resultado.getRechazados()) {
+                if (primerosRechazos.size() >= MAX_RECHAZOS_REPORTADOS) break;
+                primerosRechazos.add(fila.getPostulante().getCodigo() + " - " + fila.getEstado() + ": " + fila.getMensaje());
+            }
+        }
+        
+        /**
+         * Filas rechazadas por la validación: las repetidas cuentan como duplicados
+         */
+        void acumularRechazos(List<ValidadorImportacion.Rechazo> rechazados) {
+            for (ValidadorImportacion.Rechazo rechazo : rechazados) {
+                rechazosPorMotivo.merge(rechazo.getMotivo(), 1, Integer::sum);
+                if (rechazo.getMotivo() == ValidadorImportacion.Motivo.DATOS_INVALIDOS) {
+                    invalidos++;
+                } else {
+                    duplicados++;
+                }
+                if (primerosRechazos.size() < MAX_RECHAZOS_REPORTADOS) {
+                    primerosRechazos.add(rechazo.toString());
+                }
+            }
+        }
+        
+        void acumularEstadisticas(Postulante p) {
+            if (p.getDni() != null && !p.getDni().startsWith("TEMP")) conDni++;
+            if (p.getNotaAC() > 0 || p.getNotaCO() > 0) conNotas++;
+            if (p.getNotaAC() > 0) { sumaAC += p.getNotaAC(); cantidadAC++; }
+            if (p.getNotaCO() > 0) { sumaCO += p.getNotaCO(); cantidadCO++; }
+            
+            if (p.getOpcion1() != null && !p.getOpcion1().equals("SIN ESPECIFICAR")) {
+                conCarrera++;
+                demandaPorCarrera.merge(p.getOpcion1(), 1L, Long::sum);
+            }
+            if (p.getModalidad() != null) {
+                porModalidad.merge(p.getModalidad(), 1L, Long::sum);
+            }
+        }
+        
+        void finalizar(long filasLeidas, double segundos) {
+            this.filasLeidas = filasLeidas;
+            this.segundos = segundos;
+        }
+        
+        public long getFilasLeidas() { return filasLeidas; }
+        public int getLineasConError() { return lineasConError; }
+        public int getInsertados() { return insertados; }
+        // Códigos existentes con alguna columna distinta / idénticos (modo COMBINAR)
+        public int getActualizados() { return actualizados; }
+        public int getSinCambios() { return sinCambios; }
+        public int getDuplicados() { return duplicados; }
+        public int getRestricciones() { return restricciones; }
+        public int getErrores() { return errores; }
+        public int getInvalidos() { return invalidos; }
+        public int getRechazados() { return duplicados + restricciones + errores + invalidos; }
+        public long getFilasProcesadas() { return insertados + actualizados + sinCambios + getRechazados(); }
+        public double getSegundos() { return segundos; }
+        public double getFilasPorSegundo() { return segundos > 0 ? getFilasProcesadas() / segundos : 0; }
+        public List<String> getPrimerosRechazos() { return primerosRechazos; }
+        public Map<ValidadorImportacion.Motivo, Integer> getRechazosPorMotivo() { return rechazosPorMotivo; }
+        // Ruta del archivo de rechazos (null si no hubo)
+        public String getArchivoRechazos() { return archivoRechazos; }
+        public long getConDni() { return conDni; }
+        public long getConNotas() { return conNotas; }
+        public long getConCarrera() { return conCarrera; }
+        public double getPromedioAC() { return cantidadAC > 0 ? sumaAC / cantidadAC : 0; }
+        public double getPromedioCO() { return cantidadCO > 0 ? sumaCO / cantidadCO : 0; }
+        public Map<String, Long> getDemandaPorCarrera() { return demandaPorCarrera; }
+        public Map<String, Long> getPorModalidad() { return porModalidad; }
+        // Formatos de fecha del archivo (null si la lectura falló)
+        public LectorFechas getFechas() { return fechas; }
+    }
+}
@@ -0,0 +1,374 @@
+package util;
+
+import model.Postulante;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Lectura paralela de archivos CSV/TXT grandes
+ * - El archivo se mapea en memoria con NIO (sin copiarlo a un buffer propio)
+ * - Se divide en bloques que terminan en un fin de registro, con las mismas
+ *   reglas de comillas y el mismo límite de líneas por registro que
+ *   TokenizadorCSV, así un campo con saltos de línea nunca queda partido entre
+ *   dos bloques y una comilla sin cerrar solo afecta a su propia línea
+ * - Cada bloque se parsea en un ForkJoinPool con su propio TokenizadorCSV
+ * - Los resultados se entregan en el orden original del archivo y cada bloque
+ *   conoce su primera línea, por lo que los números de línea coinciden con
+ *   los de la lectura secuencial
+ * @author joe-696
+ */
+class LectorCSVParalelo {
+    
+    // Tamaño mínimo de bloque: por debajo de esto no compensa repartir el trabajo
+    private static final int TAMANO_MINIMO_BLOQUE = 1 << 20;
+    
+    // Bloques por hilo, para equilibrar la carga si algunos bloques son más lentos
+    private static final int BLOQUES_POR_HILO = 4;
+    
+    private static final byte SALTO_LINEA = '\n';
+    private static final byte COMILLA = '"';
+    private static final byte APOSTROFE = '\'';
+    private static final int MAX_LINEAS_ERROR_REPORTADAS = 20;
+    
+    private LectorCSVParalelo() {
+    }
+    
+    /**
+     * Procesar el archivo con el grado de paralelismo indicado,
+     * entregando los postulantes al destino en el orden del archivo
+     */
+    static ExcelUtils.ResultadoLectura procesar(String rutaArchivo, int paralelismo,
+                                                Consumer<Postulante> destino) throws IOException {
+        ExcelUtils.ResultadoLectura resultado = new ExcelUtils.ResultadoLectura();
+        
+        try (FileChannel canal = FileChannel.open(Path.of(rutaArchivo), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE) {
+                // Un solo MappedByteBuffer no puede superar 2 GB
+                System.out.println("⚠️ Archivo mayor a 2 GB, usando lectura secuencial");
+                return ExcelUtils.procesarCSV(rutaArchivo, destino);
+            }
+            
+            System.out.println("📖 Procesando archivo CSV en paralelo (" + paralelismo + " hilos): " + rutaArchivo);
+            
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+            
+            // Encabezado: detectar separador una sola vez
+            int finEncabezado = buscarFinDeLinea(mapa, 0);
+            if (finEncabezado == 0) {
+                return resultado;
+            }
+            String lineaEncabezado = decodificar(mapa, 0, finEncabezado).toString();
+            String encabezado = lineaEncabezado.strip();
+            char separador = TokenizadorCSV.detectarSeparador(encabezado);
+            int camposEsperados = Math.max(ExcelUtils.CAMPOS_FORMATO_UNAS,
+                new TokenizadorCSV(separador).tokenizar(lineaEncabezado));
+            System.out.println("📋 Encabezados detectados: " + encabezado.substring(0, Math.min(encabezado.length(), 100)) + "...");
+            
+            List<Bloque> bloques = dividirEnBloques(mapa, finEncabezado, paralelismo, (byte) separador, camposEsperados);
+            
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                List<Future<ResultadoBloque>> tareas = new ArrayList<>(bloques.size());
+                for (Bloque bloque : bloques) {
+                    tareas.add(pool.submit(() -> parsearBloque(mapa, bloque, separador, camposEsperados, resultado.getFechas())));
+                }
+                
+                // Combinar en orden: cada bloque se entrega completo antes del siguiente
+                List<Integer> lineasConError = new ArrayList<>();
+                for (Future<ResultadoBloque> tarea : tareas) {
+                    ResultadoBloque parcial = tarea.get();
+                    for (Postulante postulante : parcial.postulantes) {
+                        destino.accept(postulante);
+                    }
+                    resultado.procesados += parcial.postulantes.size();
+                    resultado.errores += parcial.lineasConError.size();
+                    for (Integer linea : parcial.lineasConError) {
+                        if (lineasConError.size() >= MAX_LINEAS_ERROR_REPORTADAS) break;
+                        lineasConError.add(linea);
+                    }
+                }
+                
+                System.out.println("✅ Importación CSV paralela completada:");
+                System.out.println("   📦 Bloques: " + bloques.size());
+                System.out.println("   📊 Procesados exitosamente: " + resultado.procesados);
+                System.out.println("   ⚠️ Líneas con errores: " + resultado.errores
+                    + (lineasConError.isEmpty() ? "" : " (primeras: " + lineasConError + ")"));
+                System.out.println("   📅 Fechas: " + resultado.getFechas());
+            
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Lectura paralela interrumpida", e);
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof RuntimeException) {
+                    throw (RuntimeException) causa;
+                }
+                throw new IOException("Error en lectura paralela: " + causa.getMessage(), causa);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        
+        return resultado;
+    }
+    
+    /**
+     * Dividir el contenido (después del encabezado) en bloques de tamaño similar
+     * que terminan donde termina un registro en la lectura secuencial.
+     * Recorre los bytes con las reglas de TokenizadorCSV: en UTF-8 los bytes de
+     * comillas, separadores, espacios y '\n' nunca forman parte de un carácter
+     * multibyte. Si un registro no cierra (comilla abierta tras
+     * MAX_LINEAS_POR_REGISTRO líneas o más campos de los esperados), su primera
+     * línea queda sola y el recorrido sigue desde la línea siguiente.
+     */
+    private static List<Bloque> dividirEnBloques(ByteBuffer mapa, int inicioDatos, int paralelismo,
+                                                 byte separador, int camposEsperados) {
+        int tamano = mapa.limit();
+        int tamanoDatos = tamano - inicioDatos;
+        int tamanoObjetivo = Math.max(TAMANO_MINIMO_BLOQUE, tamanoDatos / (paralelismo * BLOQUES_POR_HILO));
+        
+        List<Bloque> bloques = new ArrayList<>();
+        int inicio = inicioDatos;
+        int lineaInicio = 2; // la línea 1 es el encabezado
+        
+        // Registro en curso
+        int lineaRegistro = lineaInicio;
+        int finPrimeraLinea = -1;
+        int lineas = 1;
+        int campos = 1;
+        boolean enComillas = false;
+        boolean inicioCampo = true;
+        
+        int i = inicioDatos;
+        while (i < tamano || (i == tamano && lineas > 1 && !registroCompleto(enComillas, lineas, campos, camposEsperados))) {
+            if (i == tamano) {
+                // El archivo terminó dentro de un registro que no cierra
+                i = finPrimeraLinea;
+                lineaRegistro++;
+                lineas = 1;
+                campos = 1;
+                enComillas = false;
+                inicioCampo = true;
+                continue;
+            }
+            
+            byte b = mapa.get(i);
+            if (b == SALTO_LINEA) {
+                if (lineas == 1) {
+                    finPrimeraLinea = i + 1;
+                }
+                if (enComillas && lineas < TokenizadorCSV.MAX_LINEAS_POR_REGISTRO && campos <= camposEsperados) {
+                    lineas++; // El campo entre comillas sigue en la línea siguiente
+                    i++;
+                    continue;
+                }
+                
+                int siguiente;
+                if (registroCompleto(enComillas, lineas, campos, camposEsperados)) {
+                    siguiente = i + 1;
+                    lineaRegistro += lineas;
+                } else {
+                    // Solo la primera línea es un error; seguir desde la segunda
+                    siguiente = finPrimeraLinea;
+                    lineaRegistro++;
+                }
+                if (siguiente - inicio >= tamanoObjetivo) {
+                    bloques.add(new Bloque(inicio, siguiente, lineaInicio));
+                    inicio = siguiente;
+                    lineaInicio = lineaRegistro;
+                }
+                
+                i = siguiente;
+                lineas = 1;
+                campos = 1;
+                enComillas = false;
+                inicioCampo = true;
+                continue;
+            }
+            
+            if (enComillas) {
+                if (b == COMILLA) {
+                    if (i + 1 < tamano && mapa.get(i + 1) == COMILLA) {
+                        i++; // Comilla escapada
+                    } else {
+                        enComillas = false;
+                    }
+                }
+            } else if (b == COMILLA) {
+                if (inicioCampo) {
+                    enComillas = true;
+                    inicioCampo = false;
+                }
+            } else if (b == separador) {
+                campos++;
+                inicioCampo = true;
+            } else if (!esEspacio(b) && b != APOSTROFE) {
+                inicioCampo = false;
+            }
+            i++;
+        }
+        
+        if (inicio < tamano) {
+            bloques.add(new Bloque(inicio, tamano, lineaInicio));
+        }
+        
+        return bloques;
+    }
+    
+    /**
+     * Mismo criterio que TokenizadorCSV.registroCompleto
+     */
+    private static boolean registroCompleto(boolean enComillas, int lineas, int campos, int camposEsperados) {
+        return !enComillas && (lineas == 1 || campos <= camposEsperados);
+    }
+    
+    /**
+     * Mismos espacios que TokenizadorCSV (sin '\n', que termina la línea)
+     */
+    private static boolean esEspacio(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+    
+    /**
+     * Parsear un bloque con las mismas reglas que ExcelUtils.procesarCSV
+     */
+    private static ResultadoBloque parsearBloque(ByteBuffer mapa, Bloque bloque, char separador, int camposEsperados,
+                                                 LectorFechas fechas) {
+        CharBuffer texto = decodificar(mapa, bloque.inicio, bloque.fin);
+        TokenizadorCSV tokenizador = new TokenizadorCSV(separador);
+        StringBuilder registro = new StringBuilder(256);
+        ResultadoBloque resultado = new ResultadoBloque();
+        
+        int numeroLinea = bloque.primeraLinea - 1;
+        int posicion = 0;
+        int longitud = texto.length();
+        
+        while (posicion < longitud) {
+            int lineaInicio = ++numeroLinea;
+            registro.setLength(0);
+            posicion = agregarLinea(texto, posicion, registro);
+            int finPrimeraLinea = posicion;
+            
+            // Saltar líneas completamente vacías
+            if (esBlanco(registro)) {
+                continue;
+            }
+            
+            // Un campo entre comillas puede continuar en las líneas siguientes
+            tokenizador.tokenizar(registro);
+            int lineas = 1;
+            while (tokenizador.continuaEnSiguienteLinea(lineas, camposEsperados) && posicion < longitud) {
+                numeroLinea++;
+                lineas++;
+                registro.append('\n');
+                posicion = agregarLinea(texto, posicion, registro);
+                tokenizador.tokenizar(registro);
+            }
+            if (!tokenizador.registroCompleto(lineas, camposEsperados)) {
+                // Comilla sin cerrar: solo esta línea es un error
+                resultado.lineasConError.add(lineaInicio);
+                posicion = finPrimeraLinea;
+                numeroLinea = lineaInicio;
+                continue;
+            }
+            
+            Postulante postulante;
+            try {
+                postulante = ExcelUtils.parsearRegistro(tokenizador, lineaInicio, registro, fechas);
+            } catch (Exception e) {
+                postulante = null;
+            }
+            
+            if (postulante != null) {
+                resultado.postulantes.add(postulante);
+            } else {
+                resultado.lineasConError.add(lineaInicio);
+            }
+        }
+        
+        return resultado;
+    }
+    
+    /**
+     * Copiar una línea (sin el salto final ni '\r') al registro
+     * @return posición del inicio de la siguiente línea
+     */
+    private static int agregarLinea(CharBuffer texto, int desde, StringBuilder registro) {
+        int longitud = texto.length();
+        int fin = desde;
+        while (fin < longitud && texto.get(fin) != '\n') {
+            fin++;
+        }
+        
+        int finContenido = fin;
+        if (finContenido > desde && texto.get(finContenido - 1) == '\r') {
+            finContenido--;
+        }
+        registro.append(texto, desde, finContenido);
+        
+        return fin < longitud ? fin + 1 : fin;
+    }
+    
+    private static boolean esBlanco(CharSequence texto) {
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            if (!Character.isWhitespace(texto.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Posición siguiente al primer salto de línea desde 'desde' (o el final)
+     */
+    private static int buscarFinDeLinea(ByteBuffer mapa, int desde) {
+        for (int i = desde, n = mapa.limit(); i < n; i++) {
+            if (mapa.get(i) == SALTO_LINEA) {
+                return i + 1;
+            }
+        }
+        return mapa.limit();
+    }
+    
+    private static CharBuffer decodificar(ByteBuffer mapa, int inicio, int fin) {
+        ByteBuffer vista = mapa.duplicate();
+        vista.position(inicio).limit(fin);
+        return StandardCharsets.UTF_8.decode(vista);
+    }
+    
+    /**
+     * Rango de bytes [inicio, fin) y número de su primera línea
+     */
+    private static class Bloque {
+        final int inicio;
+        final int fin;
+        final int primeraLinea;
+        
+        Bloque(int inicio, int fin, int primeraLinea) {
+            this.inicio = inicio;
+            this.fin = fin;
+            this.primeraLinea = primeraLinea;
+        }
+    }
+    
+    /**
+     * Resultado parcial de un bloque
+     */
+    private static class ResultadoBloque {
+        final List<Postulante> postulantes = new ArrayList<>();
+        final List<Integer> lineasConError = new ArrayList<>();
+    }
+}
@@ -0,0 +1,342 @@
+package util;
+
+import model.Fechas;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lectura de las fechas de un archivo de importación (una instancia por archivo)
+ * - Con las primeras MUESTRA fechas aprende el formato dominante del archivo
+ * - Después, las fechas con el separador de ese formato se leen recorriendo los
+ *   dígitos a mano, sin DateTimeFormatter ni objetos intermedios; solo las que
+ *   tienen otra forma van por parsearDia, que prueba todos los formatos
+ * - Los dos caminos dan el mismo día: el formato aprendido elige el camino, no
+ *   la interpretación, así la lectura paralela y la secuencial coinciden
+ * - Cuenta cuántas fechas reconoció cada formato para el resumen de importación
+ * - Segura para varios hilos (LectorCSVParalelo comparte una instancia)
+ * @author joe-696
+ */
+public final class LectorFechas {
+    
+    // Fechas que se leen por el camino general antes de elegir el formato dominante
+    static final int MUESTRA = 200;
+    
+    // Formatos que se aceptan al importar, en el orden en que se prueban.
+    // DateTimeFormatter es inmutable: los usan a la vez todos los hilos de importación
+    private static final FormatoFecha[] FORMATOS = {
+        new FormatoFecha("dd/MM/yyyy"), new FormatoFecha("dd-MM-yyyy"), new FormatoFecha("yyyy-MM-dd"),
+        new FormatoFecha("MM/dd/yyyy"), new FormatoFecha("dd.MM.yyyy"), new FormatoFecha("yyyy/MM/dd"),
+        new FormatoFecha("dd/MM/yy"), new FormatoFecha("dd-MM-yy"), new FormatoFecha("yy-MM-dd")
+    };
+    private static final int ANIO_MINIMO = 1900;
+    private static final int ANIO_MAXIMO = 2030;
+    // Años de dos dígitos: como SimpleDateFormat, desde 80 años atrás (sin incluir ese día) hasta 20 adelante
+    private static final LocalDate INICIO_SIGLO_CORTO = LocalDate.now().minusYears(80);
+    
+    // Resultado del camino rápido cuando el texto no tiene la forma esperada
+    private static final int NO_APLICA = Integer.MAX_VALUE;
+    private static final int MAXIMO_DIGITOS = 9;
+    
+    private final AtomicInteger muestreadas = new AtomicInteger();
+    private final AtomicIntegerArray votos = new AtomicIntegerArray(FORMATOS.length);
+    private volatile FormatoFecha dominante;
+    
+    private final LongAdder[] porFormato = new LongAdder[FORMATOS.length];
+    private final LongAdder rapidas = new LongAdder();
+    private final LongAdder lentas = new LongAdder();
+    private final LongAdder noReconocidas = new LongAdder();
+    
+    public LectorFechas() {
+        for (int i = 0; i < porFormato.length; i++) {
+            porFormato[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Días desde 1970-01-01 del texto (ya limpio), igual que parsearDia;
+     * SIN_FECHA si ningún formato lo reconoce
+     */
+    public int parsear(String texto) {
+        FormatoFecha formato = dominante;
+        if (formato != null) {
+            int dia = parsearRapido(texto, formato.separador);
+            if (dia != NO_APLICA) {
+                rapidas.increment();
+                return dia;
+            }
+        }
+        
+        lentas.increment();
+        for (int i = 0; i < FORMATOS.length; i++) {
+            int dia = FORMATOS[i].parsear(texto);
+            if (dia == Fechas.SIN_FECHA) continue;
+            
+            if (formato == null) {
+                aprender(i);
+            }
+            porFormato[i].increment();
+            return dia;
+        }
+        noReconocidas.increment();
+        return Fechas.SIN_FECHA;
+    }
+    
+    /**
+     * Días desde 1970-01-01 del primer formato que reconoce el texto, con
+     * validación estricta (sin 31/02) y año razonable (entre 1900 y 2030);
+     * SIN_FECHA si ninguno lo reconoce. Como SimpleDateFormat.parse, se ignora
+     * lo que siga a la fecha (p. ej. una hora). No lanza excepciones por cada
+     * formato que no coincide
+     */
+    public static int parsearDia(String texto) {
+        for (FormatoFecha formato : FORMATOS) {
+            int dia = formato.parsear(texto);
+            if (dia != Fechas.SIN_FECHA) return dia;
+        }
+        return Fechas.SIN_FECHA;
+    }
+    
+    /**
+     * Votar por el formato de una fecha de la muestra; al completarla se elige
+     * el más votado (con empate, el que se prueba primero)
+     */
+    private void aprender(int indice) {
+        votos.incrementAndGet(indice);
+        if (muestreadas.incrementAndGet() != MUESTRA) return;
+        
+        int elegido = 0;
+        for (int i = 1; i < FORMATOS.length; i++) {
+            if (votos.get(i) > votos.get(elegido)) elegido = i;
+        }
+        dominante = FORMATOS[elegido];
+    }
+    
+    /**
+     * Leer número, separador, número, separador, número con el separador
+     * aprendido y probar los formatos de ese separador en el orden general.
+     * Ningún formato con otro separador reconoce ese texto, así el resultado es
+     * el de parsearDia. NO_APLICA si el texto tiene otra forma
+     */
+    private int parsearRapido(String texto, char separador) {
+        int longitud = texto.length();
+        int posicion = 0;
+        
+        int primero = 0;
+        int digitosPrimero = 0;
+        char c;
+        while (posicion < longitud && (c = texto.charAt(posicion)) >= '0' && c <= '9') {
+            primero = primero * 10 + (c - '0');
+            digitosPrimero++;
+            posicion++;
+        }
+        if (digitosPrimero == 0 || digitosPrimero > MAXIMO_DIGITOS
+                || posicion == longitud || texto.charAt(posicion++) != separador) {
+            return NO_APLICA;
+        }
+        
+        int segundo = 0;
+        int digitosSegundo = 0;
+        while (posicion < longitud && (c = texto.charAt(posicion)) >= '0' && c <= '9') {
+            segundo = segundo * 10 + (c - '0');
+            digitosSegundo++;
+            posicion++;
+        }
+        if (digitosSegundo == 0 || digitosSegundo > MAXIMO_DIGITOS
+                || posicion == longitud || texto.charAt(posicion++) != separador) {
+            return NO_APLICA;
+        }
+        
+        // Como el formateador, el último número toma hasta 9 dígitos y se ignora el resto
+        int tercero = 0;
+        int digitosTercero = 0;
+        while (posicion < longitud && digitosTercero < MAXIMO_DIGITOS
+                && (c = texto.charAt(posicion)) >= '0' && c <= '9') {
+            tercero = tercero * 10 + (c - '0');
+            digitosTercero++;
+            posicion++;
+        }
+        if (digitosTercero == 0) {
+            return NO_APLICA;
+        }
+        
+        for (int i = 0; i < FORMATOS.length; i++) {
+            FormatoFecha formato = FORMATOS[i];
+            if (formato.separador != separador) continue;
+            
+            int dia = formato.dia(primero, segundo, tercero, formato.anioPrimero ? digitosPrimero : digitosTercero);
+            if (dia != Fechas.SIN_FECHA) {
+                porFormato[i].increment();
+                return dia;
+            }
+        }
+        noReconocidas.increment();
+        return Fechas.SIN_FECHA;
+    }
+    
+    /**
+     * Patrón del formato aprendido (null mientras se arma la muestra)
+     */
+    public String getFormatoDominante() {
+        FormatoFecha formato = dominante;
+        return formato != null ? formato.patron : null;
+    }
+    
+    /**
+     * Fechas reconocidas por cada formato, en el orden en que se prueban (solo los usados)
+     */
+    public Map<String, Long> getPorFormato() {
+        Map<String, Long> mezcla = new LinkedHashMap<>();
+        for (int i = 0; i < FORMATOS.length; i++) {
+            long cantidad = porFormato[i].sum();
+            if (cantidad > 0) mezcla.put(FORMATOS[i].patron, cantidad);
+        }
+        return mezcla;
+    }
+    
+    public long getRapidas() { return rapidas.sum(); }
+    public long getLentas() { return lentas.sum(); }
+    public long getNoReconocidas() { return noReconocidas.sum(); }
+    public long getTotal() { return rapidas.sum() + lentas.sum(); }
+    
+    @Override
+    public String toString() {
+        long total = getTotal();
+        if (total == 0) return "sin fechas";
+        
+        StringBuilder sb = new StringBuilder();
+        getPorFormato().forEach((patron, cantidad) -> sb.append(sb.length() > 0 ? ", " : "")
+            .append(patron).append(String.format(" %.1f%%", 100.0 * cantidad / total)));
+        if (getNoReconocidas() > 0) {
+            sb.append(sb.length() > 0 ? ", " : "").append(getNoReconocidas()).append(" no reconocidas");
+        }
+        String formato = getFormatoDominante();
+        sb.append(" | formato del archivo: ").append(formato != null ? formato : "sin aprender")
+            .append(String.format(", %.1f%% por el camino rápido", 100.0 * getRapidas() / total));
+        return sb.toString();
+    }
+    
+    /**
+     * Formato de fecha a partir de un patrón como "dd/MM/yyyy" (d día, M mes, y año)
+     * Como en SimpleDateFormat los números aceptan cualquier cantidad de dígitos;
+     * con año corto (yy) solo un año de exactamente dos dígitos usa la ventana de siglo
+     */
+    private static final class FormatoFecha {
+        private final String patron;
+        private final DateTimeFormatter formato;
+        private final char separador;
+        private final boolean anioCorto;
+        private final boolean anioPrimero;
+        // Posición (0, 1 o 2) de cada campo en el texto
+        private final int posicionDia;
+        private final int posicionMes;
+        private final int posicionAnio;
+        
+        FormatoFecha(String patron) {
+            this.patron = patron;
+            this.anioCorto = !patron.contains("yyyy");
+            this.anioPrimero = patron.charAt(0) == 'y';
+            
+            DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+            char separadorPatron = 0;
+            int[] posiciones = new int[3];
+            int campo = 0;
+            for (int i = 0; i < patron.length(); i++) {
+                char letra = patron.charAt(i);
+                if (i > 0 && letra == patron.charAt(i - 1)) continue;
+                if (letra != 'd' && letra != 'M' && letra != 'y') {
+                    separadorPatron = letra;
+                    builder.appendLiteral(letra);
+                    continue;
+                }
+                int indice = letra == 'd' ? 0 : letra == 'M' ? 1 : 2;
+                posiciones[indice] = campo++;
+                builder.appendValue(indice == 0 ? ChronoField.DAY_OF_MONTH
+                    : indice == 1 ? ChronoField.MONTH_OF_YEAR : ChronoField.YEAR, 1, MAXIMO_DIGITOS, SignStyle.NOT_NEGATIVE);
+            }
+            this.separador = separadorPatron;
+            this.posicionDia = posiciones[0];
+            this.posicionMes = posiciones[1];
+            this.posicionAnio = posiciones[2];
+            this.formato = builder.toFormatter();
+        }
+        
+        /**
+         * Camino general: días desde 1970-01-01 o SIN_FECHA
+         */
+        int parsear(String texto) {
+            ParsePosition posicion = new ParsePosition(0);
+            TemporalAccessor campos = formato.parseUnresolved(texto, posicion);
+            if (campos == null || posicion.getErrorIndex() >= 0) return Fechas.SIN_FECHA;
+            
+            long anio = campos.getLong(ChronoField.YEAR);
+            long mes = campos.getLong(ChronoField.MONTH_OF_YEAR);
+            long diaMes = campos.getLong(ChronoField.DAY_OF_MONTH);
+            return validar(anio, mes, diaMes, digitosAnio(texto, posicion.getIndex()));
+        }
+        
+        /**
+         * Camino rápido: los tres números en el orden del texto
+         */
+        int dia(int primero, int segundo, int tercero, int digitosAnio) {
+            return validar(elegir(posicionAnio, primero, segundo, tercero), elegir(posicionMes, primero, segundo, tercero),
+                elegir(posicionDia, primero, segundo, tercero), digitosAnio);
+        }
+        
+        private static int elegir(int posicion, int primero, int segundo, int tercero) {
+            return posicion == 0 ? primero : posicion == 1 ? segundo : tercero;
+        }
+        
+        private int validar(long anio, long mes, long diaMes, int digitosAnio) {
+            if (anioCorto && anio < 100 && digitosAnio == 2) {
+                int inicio = INICIO_SIGLO_CORTO.getYear();
+                anio += inicio - inicio % 100;
+                if (anio < inicio || anio == inicio && mes * 100 + diaMes
+                        <= INICIO_SIGLO_CORTO.getMonthValue() * 100 + INICIO_SIGLO_CORTO.getDayOfMonth()) {
+                    anio += 100;
+                }
+            }
+            if (anio < ANIO_MINIMO || anio > ANIO_MAXIMO || mes < 1 || mes > 12 || diaMes < 1
+                    || diaMes > Month.of((int) mes).length(Year.isLeap(anio))) {
+                return Fechas.SIN_FECHA;
+            }
+            return diasDesde1970((int) anio, (int) mes, (int) diaMes);
+        }
+        
+        /**
+         * Dígitos del año en el texto reconocido (fin: posición después de la fecha)
+         */
+        private int digitosAnio(String texto, int fin) {
+            int digitos = 0;
+            if (anioPrimero) {
+                while (digitos < fin && Character.isDigit(texto.charAt(digitos))) digitos++;
+            } else {
+                while (digitos < fin && Character.isDigit(texto.charAt(fin - 1 - digitos))) digitos++;
+            }
+            return digitos;
+        }
+    }
+    
+    /**
+     * Mismo cálculo que LocalDate.toEpochDay (años positivos) sin crear el LocalDate
+     */
+    private static int diasDesde1970(int anio, int mes, int diaMes) {
+        long dias = 365L * anio + (anio + 3) / 4 - (anio + 99) / 100 + (anio + 399) / 400
+            + (367 * mes - 362) / 12 + diaMes - 1;
+        if (mes > 2) {
+            dias -= Year.isLeap(anio) ? 1 : 2;
+        }
+        return (int) (dias - 719_528); // Días del año 0 al 1970-01-01
+    }
+}
@@ -0,0 +1,586 @@
+package util;
+
+import model.Postulante;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Lector nativo de archivos .xlsx (Office Open XML) sin librerías externas
+ * - El .xlsx es un zip: se leen la tabla de textos compartidos, los estilos
+ *   (para reconocer celdas con formato de fecha) y la primera hoja
+ * - La hoja se recorre con StAX (lectura por eventos, sin DOM), de modo que
+ *   la memoria no crece con el número de filas
+ * - Cada fila se convierte en un CamposRegistro y pasa por el mismo mapeo
+ *   que el CSV (ExcelUtils.parsearRegistro)
+ * - Los errores se informan con coordenadas de la hoja (Hoja1!C15)
+ * @author joe-696
+ */
+class LectorXLSX {
+    
+    private static final String RUTA_LIBRO = "xl/workbook.xml";
+    private static final String RUTA_RELACIONES = "xl/_rels/workbook.xml.rels";
+    private static final String RUTA_TEXTOS = "xl/sharedStrings.xml";
+    private static final String RUTA_ESTILOS = "xl/styles.xml";
+    private static final String HOJA_POR_DEFECTO = "xl/worksheets/sheet1.xml";
+    
+    private static final String NS_RELACIONES = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    
+    // Día 0 de las fechas seriales de Excel (incluye el 29/02/1900 inexistente)
+    private static final LocalDate BASE_FECHAS = LocalDate.of(1899, 12, 30);
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int MAX_ERRORES_REPORTADOS = 50;
+    
+    private static final XMLInputFactory FABRICA_XML = crearFabricaXML();
+    
+    private LectorXLSX() {
+    }
+    
+    /**
+     * Recorrer la primera hoja entregando cada postulante al destino
+     * La primera fila con datos se toma como encabezado
+     */
+    static ExcelUtils.ResultadoLectura procesar(String rutaArchivo, Consumer<Postulante> destino) throws IOException {
+        return procesar(rutaArchivo, destino, false);
+    }
+    
+    /**
+     * Con notasVacias las notas en blanco se leen como ExcelUtils.NOTA_VACIA
+     */
+    static ExcelUtils.ResultadoLectura procesar(String rutaArchivo, Consumer<Postulante> destino,
+                                                boolean notasVacias) throws IOException {
+        ExcelUtils.ResultadoLectura resultado = new ExcelUtils.ResultadoLectura();
+        
+        try (ZipFile zip = new ZipFile(rutaArchivo)) {
+            Hoja hoja = buscarPrimeraHoja(zip);
+            List<String> textos = leerTextosCompartidos(zip);
+            BitSet estilosFecha = leerEstilosFecha(zip);
+            
+            ZipEntry entrada = zip.getEntry(hoja.ruta);
+            if (entrada == null) {
+                throw new IOException("El libro no contiene la hoja " + hoja.ruta);
+            }
+            
+            System.out.println("📖 Procesando hoja '" + hoja.nombre + "' de " + rutaArchivo
+                + " (" + textos.size() + " textos compartidos)");
+            
+            try (InputStream in = zip.getInputStream(entrada)) {
+                new RecorridoHoja(hoja.nombre, textos, estilosFecha, notasVacias, destino, resultado).recorrer(in);
+            }
+        
+        } catch (XMLStreamException e) {
+            throw new IOException("XML inválido en el archivo Excel: " + e.getMessage(), e);
+        }
+        
+        System.out.println("✅ Importación Excel completada:");
+        System.out.println("   📊 Procesados exitosamente: " + resultado.procesados);
+        System.out.println("   ⚠️ Filas con errores: " + resultado.errores);
+        System.out.println("   📅 Fechas: " + resultado.getFechas());
+        
+        return resultado;
+    }
+    
+    /**
+     * Recorrido de una hoja fila por fila
+     */
+    private static class RecorridoHoja {
+        private final String nombreHoja;
+        private final List<String> textos;
+        private final BitSet estilosFecha;
+        private final boolean notasVacias;
+        private final Consumer<Postulante> destino;
+        private final ExcelUtils.ResultadoLectura resultado;
+        
+        private final FilaXLSX fila = new FilaXLSX();
+        private final StringBuilder valor = new StringBuilder(64);
+        private boolean encabezadoLeido = false;
+        private int erroresReportados = 0;
+        
+        RecorridoHoja(String nombreHoja, List<String> textos, BitSet estilosFecha, boolean notasVacias,
+                      Consumer<Postulante> destino, ExcelUtils.ResultadoLectura resultado) {
+            this.nombreHoja = nombreHoja;
+            this.textos = textos;
+            this.estilosFecha = estilosFecha;
+            this.notasVacias = notasVacias;
+            this.destino = destino;
+            this.resultado = resultado;
+        }
+        
+        void recorrer(InputStream in) throws XMLStreamException {
+            XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(in);
+            try {
+                int numeroFila = 0;
+                int columna = -1;
+                String tipo = null;
+                int estilo = 0;
+                boolean enValor = false;
+                boolean enTextoEnLinea = false;
+                boolean filaConError = false;
+                
+                while (xml.hasNext()) {
+                    int evento = xml.next();
+                    
+                    if (evento == XMLStreamConstants.START_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "row":
+                                String r = xml.getAttributeValue(null, "r");
+                                numeroFila = r != null ? Integer.parseInt(r) : numeroFila + 1;
+                                columna = -1;
+                                filaConError = false;
+                                fila.limpiar();
+                                break;
+                            case "c":
+                                String referencia = xml.getAttributeValue(null, "r");
+                                columna = referencia != null ? columnaDeReferencia(referencia) : columna + 1;
+                                tipo = xml.getAttributeValue(null, "t");
+                                String s = xml.getAttributeValue(null, "s");
+                                estilo = s != null ? Integer.parseInt(s) : 0;
+                                valor.setLength(0);
+                                break;
+                            case "v":
+                                enValor = true;
+                                break;
+                            case "is":
+                                enTextoEnLinea = true;
+                                break;
+                            case "t":
+                                // Texto en línea: <is><t>..</t></is> o <is><r><t>..</t></r></is>
+                                enValor = enTextoEnLinea;
+                                break;
+                            default:
+                                break;
+                        }
+                    
+                    } else if (evento == XMLStreamConstants.CHARACTERS || evento == XMLStreamConstants.CDATA) {
+                        if (enValor) {
+                            valor.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                        }
+                    
+                    } else if (evento == XMLStreamConstants.END_ELEMENT) {
+                        switch (xml.getLocalName()) {
+                            case "v":
+                            case "t":
+                                enValor = false;
+                                break;
+                            case "is":
+                                enTextoEnLinea = false;
+                                break;
+                            case "c":
+                                try {
+                                    fila.poner(columna, resolverCelda(tipo, estilo, valor));
+                                } catch (IllegalArgumentException e) {
+                                    filaConError = true;
+                                    reportar("❌ Celda " + coordenada(columna, numeroFila) + ": " + e.getMessage());
+                                }
+                                break;
+                            case "row":
+                                procesarFila(numeroFila, filaConError);
+                                break;
+                            default:
+                                break;
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        
+        private void procesarFila(int numeroFila, boolean filaConError) {
+            if (fila.estaVacia()) {
+                return;
+            }
+            
+            if (!encabezadoLeido) {
+                encabezadoLeido = true;
+                System.out.println("📋 Encabezados detectados en " + nombreHoja + "!" + numeroFila
+                    + " (" + fila.getNumeroCampos() + " columnas)");
+                return;
+            }
+            
+            String coordenadaFila = coordenada(0, numeroFila);
+            if (filaConError) {
+                resultado.errores++;
+                reportar("⚠️ Fila omitida por celdas inválidas: " + coordenadaFila);
+                return;
+            }
+            
+            Postulante postulante = ExcelUtils.parsearRegistro(fila, numeroFila, coordenadaFila,
+                resultado.getFechas(), notasVacias);
+            if (postulante != null) {
+                destino.accept(postulante);
+                resultado.procesados++;
+            } else {
+                resultado.errores++;
+                reportar("⚠️ Fila omitida: " + coordenadaFila);
+            }
+        }
+        
+        /**
+         * Convertir el valor crudo de una celda según su tipo
+         */
+        private String resolverCelda(String tipo, int estilo, CharSequence crudo) {
+            if (tipo == null || tipo.equals("n")) {
+                if (crudo.length() == 0) {
+                    return "";
+                }
+                String numero = crudo.toString();
+                if (estilosFecha.get(estilo)) {
+                    return fechaDesdeSerial(numero);
+                }
+                return normalizarNumero(numero);
+            }
+            
+            switch (tipo) {
+                case "s":
+                    int indice;
+                    try {
+                        indice = Integer.parseInt(crudo.toString().trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("índice de texto compartido inválido '" + crudo + "'");
+                    }
+                    if (indice < 0 || indice >= textos.size()) {
+                        throw new IllegalArgumentException("índice de texto compartido fuera de rango: " + indice);
+                    }
+                    return TokenizadorCSV.limpiar(textos.get(indice));
+                case "inlineStr":
+                case "str":
+                    return TokenizadorCSV.limpiar(crudo.toString());
+                case "b":
+                    return "1".contentEquals(crudo) ? "TRUE" : "FALSE";
+                case "e":
+                    throw new IllegalArgumentException("la celda contiene un error de Excel " + crudo);
+                case "d":
+                    // Fecha ISO 8601 (yyyy-MM-dd...)
+                    return crudo.length() >= 10 ? crudo.subSequence(0, 10).toString() : crudo.toString();
+                default:
+                    return TokenizadorCSV.limpiar(crudo.toString());
+            }
+        }
+        
+        private String coordenada(int columna, int numeroFila) {
+            return nombreHoja + "!" + letrasDeColumna(Math.max(columna, 0)) + numeroFila;
+        }
+        
+        private void reportar(String mensaje) {
+            if (erroresReportados < MAX_ERRORES_REPORTADOS) {
+                System.err.println(mensaje);
+            } else if (erroresReportados == MAX_ERRORES_REPORTADOS) {
+                System.err.println("⚠️ Demasiados errores, se omiten los siguientes mensajes");
+            }
+            erroresReportados++;
+        }
+    }
+    
+    /**
+     * Valores de una fila indexados por columna (A = 0)
+     * Los arreglos se reutilizan entre filas
+     */
+    private static class FilaXLSX implements CamposRegistro {
+        private String[] valores = new String[32];
+        private int numeroCampos = 0;
+        
+        void limpiar() {
+            for (int i = 0; i < numeroCampos; i++) {
+                valores[i] = null;
+            }
+            numeroCampos = 0;
+        }
+        
+        void poner(int columna, String valor) {
+            if (columna < 0 || valor.isEmpty()) {
+                return;
+            }
+            if (columna >= valores.length) {
+                String[] nuevos = new String[Math.max(valores.length * 2, columna + 1)];
+                System.arraycopy(valores, 0, nuevos, 0, valores.length);
+                valores = nuevos;
+            }
+            valores[columna] = valor;
+            numeroCampos = Math.max(numeroCampos, columna + 1);
+        }
+        
+        boolean estaVacia() {
+            return numeroCampos == 0;
+        }
+        
+        @Override
+        public int getNumeroCampos() {
+            return numeroCampos;
+        }
+        
+        @Override
+        public String campo(int indice) {
+            if (indice >= numeroCampos || valores[indice] == null) {
+                return "";
+            }
+            return valores[indice];
+        }
+    }
+    
+    /**
+     * Nombre y ruta de una hoja dentro del zip
+     */
+    private static class Hoja {
+        final String nombre;
+        final String ruta;
+        
+        Hoja(String nombre, String ruta) {
+            this.nombre = nombre;
+            this.ruta = ruta;
+        }
+    }
+    
+    /**
+     * Ubicar la primera hoja declarada en workbook.xml a través de sus relaciones
+     */
+    private static Hoja buscarPrimeraHoja(ZipFile zip) throws IOException, XMLStreamException {
+        String nombre = "Hoja1";
+        String idRelacion = null;
+        
+        ZipEntry libro = zip.getEntry(RUTA_LIBRO);
+        if (libro == null) {
+            throw new IOException("No es un archivo .xlsx válido (falta " + RUTA_LIBRO + ")");
+        }
+        
+        try (InputStream in = zip.getInputStream(libro)) {
+            XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("sheet")) {
+                        nombre = xml.getAttributeValue(null, "name");
+                        idRelacion = xml.getAttributeValue(NS_RELACIONES, "id");
+                        break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        
+        ZipEntry relaciones = zip.getEntry(RUTA_RELACIONES);
+        if (idRelacion == null || relaciones == null) {
+            return new Hoja(nombre, HOJA_POR_DEFECTO);
+        }
+        
+        try (InputStream in = zip.getInputStream(relaciones)) {
+            XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("Relationship")
+                            && idRelacion.equals(xml.getAttributeValue(null, "Id"))) {
+                        String destino = xml.getAttributeValue(null, "Target");
+                        String ruta = destino.startsWith("/") ? destino.substring(1) : "xl/" + destino;
+                        return new Hoja(nombre, ruta);
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        
+        return new Hoja(nombre, HOJA_POR_DEFECTO);
+    }
+    
+    /**
+     * Leer la tabla de textos compartidos (cada <si> puede tener varios <t>)
+     */
+    private static List<String> leerTextosCompartidos(ZipFile zip) throws IOException, XMLStreamException {
+        List<String> textos = new ArrayList<>();
+        ZipEntry entrada = zip.getEntry(RUTA_TEXTOS);
+        if (entrada == null) {
+            return textos;
+        }
+        
+        try (InputStream in = zip.getInputStream(entrada)) {
+            XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(in);
+            try {
+                StringBuilder actual = new StringBuilder();
+                boolean enTexto = false;
+                boolean enFonetica = false;
+                
+                while (xml.hasNext()) {
+                    int evento = xml.next();
+                    if (evento == XMLStreamConstants.START_ELEMENT) {
+                        String nombre = xml.getLocalName();
+                        if (nombre.equals("si")) {
+                            actual.setLength(0);
+                        } else if (nombre.equals("rPh")) {
+                            // Guía fonética: no forma parte del valor
+                            enFonetica = true;
+                        } else if (nombre.equals("t")) {
+                            enTexto = !enFonetica;
+                        }
+                    } else if ((evento == XMLStreamConstants.CHARACTERS || evento == XMLStreamConstants.CDATA) && enTexto) {
+                        actual.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                    } else if (evento == XMLStreamConstants.END_ELEMENT) {
+                        String nombre = xml.getLocalName();
+                        if (nombre.equals("t")) {
+                            enTexto = false;
+                        } else if (nombre.equals("rPh")) {
+                            enFonetica = false;
+                        } else if (nombre.equals("si")) {
+                            textos.add(actual.toString());
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        
+        return textos;
+    }
+    
+    /**
+     * Índices de estilo de celda (cellXfs) cuyo formato numérico es una fecha
+     */
+    private static BitSet leerEstilosFecha(ZipFile zip) throws IOException, XMLStreamException {
+        BitSet estilosFecha = new BitSet();
+        ZipEntry entrada = zip.getEntry(RUTA_ESTILOS);
+        if (entrada == null) {
+            return estilosFecha;
+        }
+        
+        Map<Integer, Boolean> formatosPropios = new HashMap<>();
+        try (InputStream in = zip.getInputStream(entrada)) {
+            XMLStreamReader xml = FABRICA_XML.createXMLStreamReader(in);
+            try {
+                boolean enCellXfs = false;
+                int indiceXf = 0;
+                
+                while (xml.hasNext()) {
+                    int evento = xml.next();
+                    if (evento == XMLStreamConstants.START_ELEMENT) {
+                        String nombre = xml.getLocalName();
+                        if (nombre.equals("numFmt")) {
+                            int id = Integer.parseInt(xml.getAttributeValue(null, "numFmtId"));
+                            formatosPropios.put(id, esCodigoFecha(xml.getAttributeValue(null, "formatCode")));
+                        } else if (nombre.equals("cellXfs")) {
+                            enCellXfs = true;
+                        } else if (nombre.equals("xf") && enCellXfs) {
+                            String id = xml.getAttributeValue(null, "numFmtId");
+                            if (id != null && esFormatoFecha(Integer.parseInt(id), formatosPropios)) {
+                                estilosFecha.set(indiceXf);
+                            }
+                            indiceXf++;
+                        }
+                    } else if (evento == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("cellXfs")) {
+                        break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+        
+        return estilosFecha;
+    }
+    
+    private static boolean esFormatoFecha(int numFmtId, Map<Integer, Boolean> formatosPropios) {
+        // Formatos de fecha integrados en Excel
+        if ((numFmtId >= 14 && numFmtId <= 22) || (numFmtId >= 45 && numFmtId <= 47)) {
+            return true;
+        }
+        return formatosPropios.getOrDefault(numFmtId, false);
+    }
+    
+    /**
+     * Un código de formato es de fecha si usa d, m o y fuera de textos y colores
+     */
+    private static boolean esCodigoFecha(String codigo) {
+        if (codigo == null) return false;
+        
+        boolean enComillas = false;
+        boolean enCorchetes = false;
+        for (int i = 0; i < codigo.length(); i++) {
+            char c = codigo.charAt(i);
+            if (c == '"') {
+                enComillas = !enComillas;
+            } else if (!enComillas && c == '[') {
+                enCorchetes = true;
+            } else if (!enComillas && c == ']') {
+                enCorchetes = false;
+            } else if (!enComillas && !enCorchetes && c == '\\') {
+                i++;
+            } else if (!enComillas && !enCorchetes) {
+                char minuscula = Character.toLowerCase(c);
+                if (minuscula == 'd' || minuscula == 'y') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static String fechaDesdeSerial(String numero) {
+        try {
+            double serial = Double.parseDouble(numero);
+            return BASE_FECHAS.plusDays((long) Math.floor(serial)).format(FORMATO_FECHA);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("fecha serial inválida '" + numero + "'");
+        }
+    }
+    
+    /**
+     * Quitar notación científica y el ".0" de los enteros (códigos, DNI)
+     */
+    private static String normalizarNumero(String numero) {
+        if (numero.indexOf('E') < 0 && numero.indexOf('e') < 0 && !numero.endsWith(".0")) {
+            return numero;
+        }
+        try {
+            BigDecimal valor = new BigDecimal(numero).stripTrailingZeros();
+            return valor.scale() < 0 ? valor.setScale(0).toPlainString() : valor.toPlainString();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("número inválido '" + numero + "'");
+        }
+    }
+    
+    /**
+     * "C15" -> 2
+     */
+    static int columnaDeReferencia(String referencia) {
+        int columna = 0;
+        for (int i = 0; i < referencia.length(); i++) {
+            char c = referencia.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            columna = columna * 26 + (c - 'A' + 1);
+        }
+        return columna - 1;
+    }
+    
+    /**
+     * 2 -> "C"
+     */
+    static String letrasDeColumna(int columna) {
+        StringBuilder letras = new StringBuilder(3);
+        for (int n = columna + 1; n > 0; n = (n - 1) / 26) {
+            letras.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return letras.toString();
+    }
+    
+    private static XMLInputFactory crearFabricaXML() {
+        XMLInputFactory fabrica = XMLInputFactory.newInstance();
+        // El contenido del zip no es confiable: sin DTD ni entidades externas
+        fabrica.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        fabrica.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        fabrica.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return fabrica;
+    }
+}
@@ -0,0 +1,308 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migraciones versionadas del esquema de la base de datos H2
+ * - La tabla schema_version guarda las versiones ya aplicadas
+ * - Las migraciones se aplican en orden y cada una una sola vez
+ * - Para cambiar el esquema se agrega una migración al final de MIGRACIONES;
+ *   una migración ya publicada no se modifica
+ * - Al terminar se revisan los planes de consulta (EXPLAIN) de las consultas
+ *   principales y se avisa si alguna no usa el índice esperado
+ * @author joe-696
+ */
+public final class MigradorEsquema {
+    
+    /**
+     * Paso de una migración: normalmente sentencias SQL, o código cuando
+     * depende de los datos (p. ej. insertar valores solo si la tabla está vacía)
+     */
+    @FunctionalInterface
+    public interface Paso {
+        void aplicar(Connection conn) throws SQLException;
+    }
+    
+    /**
+     * Una versión del esquema
+     */
+    public static final class Migracion {
+        private final int version;
+        private final String descripcion;
+        private final Paso paso;
+        
+        public Migracion(int version, String descripcion, Paso paso) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.paso = paso;
+        }
+        
+        public int getVersion() { return version; }
+        public String getDescripcion() { return descripcion; }
+    }
+    
+    /**
+     * Consulta representativa y el índice que debería usar su plan
+     */
+    private static final class RevisionPlan {
+        private final String descripcion;
+        private final String sql;
+        private final String indiceEsperado;
+        
+        RevisionPlan(String descripcion, String sql, String indiceEsperado) {
+            this.descripcion = descripcion;
+            this.sql = sql;
+            this.indiceEsperado = indiceEsperado;
+        }
+    }
+    
+    private static final String SQL_TABLA_VERSIONES = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INTEGER PRIMARY KEY,
+            descripcion VARCHAR(200) NOT NULL,
+            fecha_aplicacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            duracion_ms BIGINT
+        )
+        """;
+    
+    private static final String[] CARRERAS_POR_DEFECTO = {
+        "INGENIERÍA DE SISTEMAS E INFORMÁTICA",
+        "MEDICINA HUMANA",
+        "INGENIERÍA CIVIL",
+        "ADMINISTRACIÓN",
+        "CONTABILIDAD",
+        "DERECHO Y CIENCIAS POLÍTICAS",
+        "PSICOLOGÍA",
+        "ENFERMERÍA",
+        "INGENIERÍA INDUSTRIAL",
+        "ECONOMÍA",
+        "AGRONOMÍA",
+        "INGENIERÍA FORESTAL",
+        "ZOOTECNIA",
+        "MEDICINA VETERINARIA"
+    };
+    
+    // Las versiones 1 y 2 reproducen el esquema que antes se creaba con
+    // CREATE TABLE IF NOT EXISTS, así una base ya existente las adopta sin cambios
+    private static final List<Migracion> MIGRACIONES = List.of(
+        new Migracion(1, "Tablas carreras y postulantes", sentencias(
+            """
+            CREATE TABLE IF NOT EXISTS carreras (
+                id INTEGER AUTO_INCREMENT PRIMARY KEY,
+                nombre VARCHAR(200) UNIQUE NOT NULL,
+                activa BOOLEAN DEFAULT TRUE,
+                fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS postulantes (
+                codigo VARCHAR(20) PRIMARY KEY,
+                apellidos_nombres VARCHAR(200) NOT NULL,
+                opcion1 VARCHAR(100),
+                opcion2 VARCHAR(100),
+                modalidad VARCHAR(50),
+                dni VARCHAR(8) UNIQUE,
+                cod_sede INTEGER DEFAULT 1,
+                inscripcion DATE,
+                ubigeo_procedencia VARCHAR(10),
+                cod_colegio VARCHAR(20),
+                fecha_egreso_colegio DATE,
+                tipo_colegio INTEGER DEFAULT 1,
+                ubigeo_colegio VARCHAR(10),
+                estado_civil VARCHAR(20),
+                encuesta VARCHAR(50),
+                ingreso INTEGER DEFAULT 0,
+                ingreso_a VARCHAR(100),
+                sexo VARCHAR(1),
+                nombre_colegio VARCHAR(200),
+                idioma_mat VARCHAR(2),
+                tel_celular VARCHAR(15),
+                direccion VARCHAR(200),
+                ubigeo VARCHAR(10),
+                fec_nac DATE,
+                nota_ac DECIMAL(4,2) DEFAULT 0.00,
+                nota_co DECIMAL(4,2) DEFAULT 0.00,
+                nota_final DECIMAL(4,2) DEFAULT 0.00,
+                estado_academico VARCHAR(20) DEFAULT 'POSTULANTE',
+                respuesta VARCHAR(100),
+                fecha_registro TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """)),
+        new Migracion(2, "Carreras por defecto", MigradorEsquema::insertarCarrerasPorDefecto),
+        new Migracion(3, "Índices secundarios de postulantes", sentencias(
+            "CREATE INDEX IF NOT EXISTS idx_postulantes_opcion1 ON postulantes (opcion1)",
+            "CREATE INDEX IF NOT EXISTS idx_postulantes_opcion2 ON postulantes (opcion2)",
+            "CREATE INDEX IF NOT EXISTS idx_postulantes_modalidad ON postulantes (modalidad)",
+            "CREATE INDEX IF NOT EXISTS idx_postulantes_estado ON postulantes (estado_academico)",
+            "CREATE INDEX IF NOT EXISTS idx_postulantes_nota_final ON postulantes (nota_final)"))
+    );
+    
+    private static final List<RevisionPlan> REVISIONES = List.of(
+        new RevisionPlan("Postulantes por primera opción",
+            "SELECT COUNT(*) FROM postulantes WHERE opcion1 = 'X'", "IDX_POSTULANTES_OPCION1"),
+        new RevisionPlan("Postulantes por segunda opción",
+            "SELECT COUNT(*) FROM postulantes WHERE opcion2 = 'X'", "IDX_POSTULANTES_OPCION2"),
+        new RevisionPlan("Filtro por modalidad",
+            "SELECT codigo FROM postulantes WHERE modalidad = 'X' ORDER BY codigo", "IDX_POSTULANTES_MODALIDAD"),
+        new RevisionPlan("Filtro por estado académico",
+            "SELECT codigo FROM postulantes WHERE estado_academico = 'X' ORDER BY codigo", "IDX_POSTULANTES_ESTADO"),
+        new RevisionPlan("Rango de nota final",
+            "SELECT codigo FROM postulantes WHERE nota_final >= 19.5", "IDX_POSTULANTES_NOTA_FINAL"),
+        new RevisionPlan("Página siguiente por código (keyset)",
+            "SELECT codigo FROM postulantes WHERE codigo > 'X' ORDER BY codigo LIMIT 200", "PRIMARY_KEY"),
+        new RevisionPlan("Búsqueda por DNI",
+            "SELECT codigo FROM postulantes WHERE dni = 'X'", "CONSTRAINT_INDEX")
+    );
+    
+    private MigradorEsquema() {
+    }
+    
+    /**
+     * Migraciones registradas, en orden de versión
+     */
+    public static List<Migracion> getMigraciones() {
+        return MIGRACIONES;
+    }
+    
+    /**
+     * Última versión conocida por esta versión del programa
+     */
+    public static int versionMasReciente() {
+        return MIGRACIONES.get(MIGRACIONES.size() - 1).getVersion();
+    }
+    
+    /**
+     * Aplicar las migraciones pendientes y revisar los planes de consulta
+     * @return cantidad de migraciones aplicadas
+     */
+    public static int migrar(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(SQL_TABLA_VERSIONES);
+        }
+        
+        int actual = versionActual(conn);
+        int aplicadas = 0;
+        for (Migracion migracion : MIGRACIONES) {
+            if (migracion.getVersion() > actual) {
+                aplicar(conn, migracion);
+                aplicadas++;
+            }
+        }
+        
+        if (aplicadas == 0) {
+            System.out.println("✅ Esquema al día (versión " + actual + ")");
+        } else {
+            System.out.println("✅ Esquema migrado de la versión " + actual + " a la " + versionMasReciente());
+        }
+        
+        revisarPlanes(conn);
+        return aplicadas;
+    }
+    
+    /**
+     * Versión más alta registrada en schema_version (0 si no hay ninguna)
+     */
+    public static int versionActual(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+    
+    /**
+     * Aplicar una migración y registrarla en la misma transacción
+     * (en H2 los CREATE/ALTER confirman la transacción por sí mismos,
+     * por eso los pasos usan IF NOT EXISTS y se pueden repetir)
+     */
+    private static void aplicar(Connection conn, Migracion migracion) throws SQLException {
+        System.out.println("🔧 Aplicando migración " + migracion.getVersion() + ": " + migracion.getDescripcion());
+        long inicio = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            migracion.paso.aplicar(conn);
+            
+            String sql = "INSERT INTO schema_version (version, descripcion, duracion_ms) VALUES (?, ?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, migracion.getVersion());
+                pstmt.setString(2, migracion.getDescripcion());
+                pstmt.setLong(3, (System.nanoTime() - inicio) / 1_000_000);
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Falló la migración " + migracion.getVersion() + " ("
+                + migracion.getDescripcion() + "): " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * Revisar con EXPLAIN que las consultas principales usan sus índices
+     * @return consultas cuyo plan no usa el índice esperado
+     */
+    public static List<String> revisarPlanes(Connection conn) throws SQLException {
+        List<String> sinIndice = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (RevisionPlan revision : REVISIONES) {
+                String plan;
+                try (ResultSet rs = stmt.executeQuery("EXPLAIN " + revision.sql)) {
+                    rs.next();
+                    plan = rs.getString(1);
+                }
+                if (!plan.toUpperCase().contains(revision.indiceEsperado)) {
+                    sinIndice.add(revision.descripcion);
+                    System.out.println("⚠️ Plan sin el índice " + revision.indiceEsperado + " para '"
+                        + revision.descripcion + "':");
+                    System.out.println("   " + plan.replace("\n", "\n   "));
+                }
+            }
+        }
+        
+        if (sinIndice.isEmpty()) {
+            System.out.println("✅ Planes de consulta revisados: " + REVISIONES.size() + " consultas usan sus índices");
+        }
+        return sinIndice;
+    }
+    
+    private static Paso sentencias(String... sql) {
+        return conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sentencia : sql) {
+                    stmt.execute(sentencia);
+                }
+            }
+        };
+    }
+    
+    /**
+     * Insertar las carreras por defecto solo si la tabla está vacía
+     */
+    private static void insertarCarrerasPorDefecto(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM carreras")) {
+            rs.next();
+            if (rs.getInt(1) > 0) {
+                return;
+            }
+        }
+        
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO carreras (nombre) VALUES (?)")) {
+            for (String carrera : CARRERAS_POR_DEFECTO) {
+                pstmt.setString(1, carrera);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+        System.out.println("✅ Carreras por defecto insertadas");
+    }
+}
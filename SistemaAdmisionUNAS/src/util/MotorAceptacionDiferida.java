@@ -0,0 +1,234 @@
+package util;
+
+import model.Carrera;
+import model.Postulante;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor de admisión por aceptación diferida (Gale–Shapley, proponen los postulantes)
+ * - La opción 1 y la opción 2 de cada postulante forman su lista de preferencias
+ * - Cada carrera guarda a sus admitidos provisionales en un montículo acotado por
+ *   sus vacantes, con el de menor prioridad en la raíz
+ * - Se recorre a los postulantes una sola vez: cada uno propone a su siguiente
+ *   opción; si desplaza a otro, el desplazado propone a la suya. Cada postulante
+ *   propone a lo sumo dos veces, así que el total es O(n log v)
+ * Prioridad de una carrera: postulantes directos antes que alumnos libres, luego
+ * el mismo mérito que AlgoritmoAdmision.compararPostulantes y, ante empate total,
+ * el que aparece primero en la lista
+ * Las curvas no cambian quién ingresa (solo participan aprobatorios), por eso
+ * este motor no las suma al puntaje
+ * @author joe-696
+ */
+public class MotorAceptacionDiferida implements MotorAdmision {
+    
+    private static final int OPCIONES = 2;
+    
+    private final Map<String, Carrera> carreras;
+    
+    /**
+     * Constructor con las carreras de UNAS
+     */
+    public MotorAceptacionDiferida() {
+        this(AlgoritmoAdmision.carrerasPorDefecto());
+    }
+    
+    /**
+     * Constructor con carreras y vacantes propias
+     */
+    public MotorAceptacionDiferida(Collection<Carrera> carreras) {
+        this.carreras = new HashMap<>();
+        for (Carrera carrera : carreras) {
+            this.carreras.put(carrera.getNombre(), carrera);
+        }
+    }
+    
+    @Override
+    public AlgoritmoAdmision.ResultadoAdmision procesarAdmision(List<Postulante> postulantes) {
+        System.out.println("\n🎯 INICIANDO ADMISIÓN POR ACEPTACIÓN DIFERIDA");
+        System.out.println("=====================================");
+        
+        // 1. Preparar: resetear estado y quedarse con los aprobatorios
+        List<Postulante> aprobatorios = new ArrayList<>();
+        for (Postulante p : postulantes) {
+            p.setPuntajeFinal(p.getNotaAC() + p.getNotaCO());
+            p.setIngreso(0);
+            p.setIngresoA(null);
+            
+            if (p.getPuntajeFinal() >= 11.0 && (p.isPostulante() || p.isAlumnoLibre())) {
+                aprobatorios.add(p);
+            }
+        }
+        System.out.println("   ✅ Aprobatorios: " + aprobatorios.size() + " de " + postulantes.size());
+        
+        // 2. Índices de carreras y listas de preferencias
+        List<Carrera> listaCarreras = new ArrayList<>(carreras.values());
+        Map<String, Integer> indiceCarrera = new HashMap<>();
+        Cola[] colas = new Cola[listaCarreras.size()];
+        
+        OrdenadorPostulantes claves = new OrdenadorPostulantes(aprobatorios);
+        boolean[] libre = new boolean[aprobatorios.size()];
+        for (int i = 0; i < libre.length; i++) {
+            libre[i] = aprobatorios.get(i).isAlumnoLibre();
+        }
+        
+        for (int c = 0; c < colas.length; c++) {
+            indiceCarrera.put(listaCarreras.get(c).getNombre(), c);
+            colas[c] = new Cola(Math.max(0, listaCarreras.get(c).getVacantesRestantes()), claves, libre);
+        }
+        
+        int m = aprobatorios.size();
+        int[] preferencias = new int[m * OPCIONES];
+        int sinCarrera = 0;
+        for (int i = 0; i < m; i++) {
+            Postulante p = aprobatorios.get(i);
+            int opcion1 = indiceDe(indiceCarrera, p.getOpcion1());
+            int opcion2 = indiceDe(indiceCarrera, p.getOpcion2());
+            preferencias[i * OPCIONES] = opcion1;
+            preferencias[i * OPCIONES + 1] = opcion2 != opcion1 ? opcion2 : -1;
+            if (opcion1 < 0 && opcion2 < 0) sinCarrera++;
+        }
+        if (sinCarrera > 0) {
+            System.out.println("   ⚠️ Postulantes sin ninguna carrera válida: " + sinCarrera);
+        }
+        
+        // 3. Aceptación diferida: una pasada, con cadenas de desplazamientos
+        byte[] siguienteOpcion = new byte[m];
+        for (int i = 0; i < m; i++) {
+            int actual = i;
+            while (actual >= 0 && siguienteOpcion[actual] < OPCIONES) {
+                int c = preferencias[actual * OPCIONES + siguienteOpcion[actual]++];
+                if (c >= 0) {
+                    actual = colas[c].proponer(actual);
+                }
+            }
+        }
+        
+        // 4. Confirmar admitidos, de mayor a menor prioridad en cada carrera
+        Map<String, List<Postulante>> ingresantesPorCarrera = new LinkedHashMap<>();
+        for (int c = 0; c < colas.length; c++) {
+            Carrera carrera = listaCarreras.get(c);
+            int[] admitidos = colas[c].ordenados();
+            if (admitidos.length == 0) continue;
+            
+            List<Postulante> ingresantes = new ArrayList<>(admitidos.length);
+            for (int indice : admitidos) {
+                Postulante postulante = aprobatorios.get(indice);
+                postulante.setIngreso(1);
+                postulante.setIngresoA(carrera.getNombre());
+                ingresantes.add(postulante);
+                carrera.ocuparVacante();
+            }
+            ingresantesPorCarrera.put(carrera.getNombre(), ingresantes);
+        }
+        
+        AlgoritmoAdmision.ResultadoAdmision resultado =
+            new AlgoritmoAdmision.ResultadoAdmision(ingresantesPorCarrera, carreras);
+        resultado.generarEstadisticas();
+        
+        System.out.println("✅ ADMISIÓN POR ACEPTACIÓN DIFERIDA COMPLETADA");
+        return resultado;
+    }
+    
+    private static int indiceDe(Map<String, Integer> indiceCarrera, String nombre) {
+        if (nombre == null) return -1;
+        Integer indice = indiceCarrera.get(nombre);
+        return indice != null ? indice : -1;
+    }
+    
+    /**
+     * Admitidos provisionales de una carrera: montículo de tamaño fijo con el
+     * de menor prioridad en la raíz
+     */
+    private static class Cola {
+        private final int[] monticulo;
+        private final OrdenadorPostulantes claves;
+        private final boolean[] libre;
+        private int tamano;
+        
+        Cola(int vacantes, OrdenadorPostulantes claves, boolean[] libre) {
+            this.monticulo = new int[vacantes];
+            this.claves = claves;
+            this.libre = libre;
+        }
+        
+        /**
+         * Proponer un postulante
+         * @return el postulante que queda fuera (él mismo o el desplazado), o -1
+         */
+        int proponer(int postulante) {
+            if (tamano < monticulo.length) {
+                monticulo[tamano] = postulante;
+                subir(tamano++);
+                return -1;
+            }
+            if (tamano == 0 || comparar(postulante, monticulo[0]) >= 0) {
+                return postulante;
+            }
+            int desplazado = monticulo[0];
+            monticulo[0] = postulante;
+            bajar(0);
+            return desplazado;
+        }
+        
+        /**
+         * Admitidos de mayor a menor prioridad
+         */
+        int[] ordenados() {
+            Integer[] admitidos = new Integer[tamano];
+            for (int i = 0; i < tamano; i++) {
+                admitidos[i] = monticulo[i];
+            }
+            Arrays.sort(admitidos, this::comparar);
+            
+            int[] resultado = new int[tamano];
+            for (int i = 0; i < tamano; i++) {
+                resultado[i] = admitidos[i];
+            }
+            return resultado;
+        }
+        
+        /**
+         * Negativo si a tiene más prioridad que b
+         */
+        private int comparar(int a, int b) {
+            if (libre[a] != libre[b]) {
+                return libre[a] ? 1 : -1;
+            }
+            int comparacion = claves.comparar(a, b);
+            return comparacion != 0 ? comparacion : Integer.compare(a, b);
+        }
+        
+        private void subir(int i) {
+            int elemento = monticulo[i];
+            while (i > 0) {
+                int padre = (i - 1) / 2;
+                // En la raíz queda el de menor prioridad (el que compara como mayor)
+                if (comparar(elemento, monticulo[padre]) <= 0) break;
+                monticulo[i] = monticulo[padre];
+                i = padre;
+            }
+            monticulo[i] = elemento;
+        }
+        
+        private void bajar(int i) {
+            int elemento = monticulo[i];
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= tamano) break;
+                if (hijo + 1 < tamano && comparar(monticulo[hijo + 1], monticulo[hijo]) > 0) {
+                    hijo++;
+                }
+                if (comparar(monticulo[hijo], elemento) <= 0) break;
+                monticulo[i] = monticulo[hijo];
+                i = hijo;
+            }
+            monticulo[i] = elemento;
+        }
+    }
+}
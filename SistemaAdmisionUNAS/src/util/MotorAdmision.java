@@ -0,0 +1,20 @@
+package util;
+
+import model.Postulante;
+import java.util.List;
+
+/**
+ * Motor de admisión: asigna a cada postulante aprobatorio una de sus carreras
+ * - AlgoritmoAdmision: pasadas sucesivas (primera opción, segunda opción,
+ *   curvas y alumnos libres)
+ * - MotorAceptacionDiferida: aceptación diferida (Gale–Shapley) en una sola pasada
+ * @author joe-696
+ */
+public interface MotorAdmision {
+    
+    /**
+     * Procesar la admisión: marca ingreso/ingresoA en cada postulante
+     * y ocupa las vacantes de las carreras
+     */
+    AlgoritmoAdmision.ResultadoAdmision procesarAdmision(List<Postulante> postulantes);
+}
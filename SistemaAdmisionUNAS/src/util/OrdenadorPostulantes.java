@@ -0,0 +1,307 @@
+package util;
+
+import model.Fechas;
+import model.Postulante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Ordenamiento por mérito con claves primitivas precalculadas
+ * - Cada criterio de AlgoritmoAdmision.compararPostulantes se calcula una sola
+ *   vez por postulante y se guarda en un long[] contiguo (5 claves por postulante)
+ * - Se ordenan índices (int[]) con un merge sort estable, sin tocar los objetos
+ *   ni las fechas durante las comparaciones
+ * - Mismo orden que compararPostulantes + List.sort, incluidos los empates
+ *   (se conserva el orden de la lista original)
+ * - Con un ExecutorService, los tramos y cada nivel de mezcla se reparten entre
+ *   hilos; el resultado es idéntico al secuencial (el orden estable es único)
+ * - También ordena filas de ColumnasPostulantes (las fechas son días desde
+ *   1970-01-01, igual que en Postulante)
+ * Si en una misma lista hay fechas nulas y no nulas, el comparador original no
+ * define un orden total y el resultado puede diferir del de List.sort
+ * @author joe-696
+ */
+public class OrdenadorPostulantes {
+    
+    private static final int CLAVES = 5;
+    private static final int PUNTAJE = 0;
+    private static final int NOTA_AC = 1;
+    private static final int NOTA_CO = 2;
+    private static final int NACIMIENTO = 3;
+    private static final int INSCRIPCION = 4;
+    
+    private static final byte CON_NACIMIENTO = 1;
+    private static final byte CON_INSCRIPCION = 2;
+    
+    // Tramos que se ordenan por inserción antes de empezar a mezclar
+    private static final int TRAMO_INSERCION = 32;
+    // Tamaño mínimo del bloque que ordena cada tarea en modo paralelo
+    private static final int BLOQUE_MINIMO = 16 * 1024;
+    private static final int BLOQUES_POR_HILO = 4;
+    
+    private final long[] claves;
+    private final byte[] fechas;
+    
+    /**
+     * Calcular las claves de todos los postulantes (posición i = postulantes.get(i))
+     */
+    OrdenadorPostulantes(List<Postulante> postulantes) {
+        int n = postulantes.size();
+        this.claves = new long[n * CLAVES];
+        this.fechas = new byte[n];
+        
+        for (int i = 0; i < n; i++) {
+            Postulante p = postulantes.get(i);
+            int base = i * CLAVES;
+            claves[base + PUNTAJE] = claveDecimal(p.getPuntajeFinal());
+            claves[base + NOTA_AC] = claveDecimal(p.getNotaAC());
+            claves[base + NOTA_CO] = claveDecimal(p.getNotaCO());
+            
+            if (p.getFecNacDia() != Fechas.SIN_FECHA) {
+                claves[base + NACIMIENTO] = p.getFecNacDia();
+                fechas[i] |= CON_NACIMIENTO;
+            }
+            if (p.getInscripcionDia() != Fechas.SIN_FECHA) {
+                claves[base + INSCRIPCION] = p.getInscripcionDia();
+                fechas[i] |= CON_INSCRIPCION;
+            }
+        }
+    }
+    
+    /**
+     * Calcular las claves de las filas indicadas (posición i = filas[i]);
+     * el puntaje es la nota final, como al empezar el proceso de admisión
+     */
+    OrdenadorPostulantes(ColumnasPostulantes columnas, int[] filas) {
+        int n = filas.length;
+        this.claves = new long[n * CLAVES];
+        this.fechas = new byte[n];
+        
+        for (int i = 0; i < n; i++) {
+            int fila = filas[i];
+            int base = i * CLAVES;
+            claves[base + PUNTAJE] = claveDecimal(columnas.getNotaFinal(fila));
+            claves[base + NOTA_AC] = claveDecimal(columnas.getNotaAC(fila));
+            claves[base + NOTA_CO] = claveDecimal(columnas.getNotaCO(fila));
+            
+            if (columnas.getFecNac(fila) != ColumnasPostulantes.SIN_FECHA) {
+                claves[base + NACIMIENTO] = columnas.getFecNac(fila);
+                fechas[i] |= CON_NACIMIENTO;
+            }
+            if (columnas.getInscripcion(fila) != ColumnasPostulantes.SIN_FECHA) {
+                claves[base + INSCRIPCION] = columnas.getInscripcion(fila);
+                fechas[i] |= CON_INSCRIPCION;
+            }
+        }
+    }
+    
+    /**
+     * Ordenar filas de las columnas por mérito
+     * @return las mismas filas, de mayor a menor mérito
+     */
+    public static int[] ordenarFilas(ColumnasPostulantes columnas, int[] filas) {
+        int[] orden = new OrdenadorPostulantes(columnas, filas).ordenarIndices(null, 1);
+        int[] resultado = new int[orden.length];
+        for (int i = 0; i < orden.length; i++) {
+            resultado[i] = filas[orden[i]];
+        }
+        return resultado;
+    }
+    
+    /**
+     * Ordenar postulantes por mérito (mismo criterio que compararPostulantes)
+     * @return nuevo arreglo ordenado; la lista original no se modifica
+     */
+    public static Postulante[] ordenar(List<Postulante> postulantes) {
+        return ordenar(postulantes, null, 1);
+    }
+    
+    /**
+     * Ordenar postulantes por mérito repartiendo el trabajo en el pool dado
+     * @param pool ejecutor para las tareas (null = secuencial)
+     * @param paralelismo hilos del pool, para decidir el tamaño de los bloques
+     */
+    public static Postulante[] ordenar(List<Postulante> postulantes, ExecutorService pool, int paralelismo) {
+        int[] orden = new OrdenadorPostulantes(postulantes).ordenarIndices(pool, paralelismo);
+        Postulante[] resultado = new Postulante[orden.length];
+        for (int i = 0; i < orden.length; i++) {
+            resultado[i] = postulantes.get(orden[i]);
+        }
+        return resultado;
+    }
+    
+    /**
+     * Ordenar por mérito y devolver las posiciones en la lista original
+     */
+    public static int[] ordenarIndices(List<Postulante> postulantes) {
+        return new OrdenadorPostulantes(postulantes).ordenarIndices(null, 1);
+    }
+    
+    private int[] ordenarIndices(ExecutorService pool, int paralelismo) {
+        int n = fechas.length;
+        int[] orden = new int[n];
+        int[] auxiliar = new int[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        
+        // 1. Cada bloque se ordena por separado y queda en "orden"
+        int bloque = n;
+        if (pool != null && paralelismo > 1) {
+            bloque = Math.max(BLOQUE_MINIMO, (n + paralelismo * BLOQUES_POR_HILO - 1) / (paralelismo * BLOQUES_POR_HILO));
+        }
+        List<Runnable> tareas = new ArrayList<>();
+        for (int inicio = 0; inicio < n; inicio += bloque) {
+            int desde = inicio;
+            int hasta = Math.min(inicio + bloque, n);
+            tareas.add(() -> ordenarBloque(orden, auxiliar, desde, hasta));
+        }
+        ejecutar(pool, tareas);
+        
+        // 2. Mezclar los bloques de a pares, un nivel a la vez
+        int[] origen = orden;
+        int[] destino = auxiliar;
+        for (int ancho = bloque; ancho < n; ancho *= 2) {
+            tareas.clear();
+            int[] nivelOrigen = origen;
+            int[] nivelDestino = destino;
+            for (int inicio = 0; inicio < n; inicio += 2 * ancho) {
+                int desde = inicio;
+                int medio = Math.min(inicio + ancho, n);
+                int hasta = Math.min(inicio + 2 * ancho, n);
+                tareas.add(() -> mezclar(nivelOrigen, nivelDestino, desde, medio, hasta));
+            }
+            ejecutar(pool, tareas);
+            origen = nivelDestino;
+            destino = nivelOrigen;
+        }
+        return origen;
+    }
+    
+    /**
+     * Ordenar orden[desde, hasta) usando auxiliar[desde, hasta) como espacio de trabajo
+     */
+    private void ordenarBloque(int[] orden, int[] auxiliar, int desde, int hasta) {
+        // Tramos cortos por inserción (estable)
+        for (int inicio = desde; inicio < hasta; inicio += TRAMO_INSERCION) {
+            int fin = Math.min(inicio + TRAMO_INSERCION, hasta);
+            for (int i = inicio + 1; i < fin; i++) {
+                int actual = orden[i];
+                int j = i - 1;
+                while (j >= inicio && comparar(orden[j], actual) > 0) {
+                    orden[j + 1] = orden[j];
+                    j--;
+                }
+                orden[j + 1] = actual;
+            }
+        }
+        
+        // Mezclas de abajo hacia arriba alternando entre dos arreglos
+        int[] origen = orden;
+        int[] destino = auxiliar;
+        for (int ancho = TRAMO_INSERCION; ancho < hasta - desde; ancho *= 2) {
+            for (int inicio = desde; inicio < hasta; inicio += 2 * ancho) {
+                int medio = Math.min(inicio + ancho, hasta);
+                int fin = Math.min(inicio + 2 * ancho, hasta);
+                mezclar(origen, destino, inicio, medio, fin);
+            }
+            int[] temporal = origen;
+            origen = destino;
+            destino = temporal;
+        }
+        if (origen != orden) {
+            System.arraycopy(origen, desde, orden, desde, hasta - desde);
+        }
+    }
+    
+    /**
+     * Ejecutar las tareas en el pool y esperar a todas (o en este hilo si no hay pool)
+     */
+    private static void ejecutar(ExecutorService pool, List<Runnable> tareas) {
+        if (pool == null || tareas.size() == 1) {
+            for (Runnable tarea : tareas) {
+                tarea.run();
+            }
+            return;
+        }
+        
+        List<Future<?>> pendientes = new ArrayList<>(tareas.size());
+        for (Runnable tarea : tareas) {
+            pendientes.add(pool.submit(tarea));
+        }
+        try {
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ordenamiento interrumpido", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException("Error en ordenamiento paralelo: " + causa.getMessage(), causa);
+        }
+    }
+    
+    private void mezclar(int[] origen, int[] destino, int inicio, int medio, int fin) {
+        int i = inicio;
+        int j = medio;
+        int k = inicio;
+        
+        // Si los dos tramos ya están en orden basta con copiar
+        if (medio < fin && comparar(origen[medio - 1], origen[medio]) <= 0) {
+            System.arraycopy(origen, inicio, destino, inicio, fin - inicio);
+            return;
+        }
+        
+        while (i < medio && j < fin) {
+            // Ante empate gana el de la izquierda para mantener la estabilidad
+            destino[k++] = comparar(origen[j], origen[i]) < 0 ? origen[j++] : origen[i++];
+        }
+        while (i < medio) destino[k++] = origen[i++];
+        while (j < fin) destino[k++] = origen[j++];
+    }
+    
+    /**
+     * Mismo resultado que AlgoritmoAdmision.compararPostulantes para las posiciones a y b
+     */
+    int comparar(int a, int b) {
+        int baseA = a * CLAVES;
+        int baseB = b * CLAVES;
+        
+        // 1-3. Puntaje final, nota AC y nota CO (descendente)
+        int comparacion = Long.compare(claves[baseB + PUNTAJE], claves[baseA + PUNTAJE]);
+        if (comparacion != 0) return comparacion;
+        comparacion = Long.compare(claves[baseB + NOTA_AC], claves[baseA + NOTA_AC]);
+        if (comparacion != 0) return comparacion;
+        comparacion = Long.compare(claves[baseB + NOTA_CO], claves[baseA + NOTA_CO]);
+        if (comparacion != 0) return comparacion;
+        
+        // 4. Más joven gana (solo si ambos tienen fecha)
+        if ((fechas[a] & fechas[b] & CON_NACIMIENTO) != 0) {
+            comparacion = Long.compare(claves[baseB + NACIMIENTO], claves[baseA + NACIMIENTO]);
+            if (comparacion != 0) return comparacion;
+        }
+        
+        // 5. Inscripción más temprana gana (solo si ambos tienen fecha)
+        if ((fechas[a] & fechas[b] & CON_INSCRIPCION) != 0) {
+            return Long.compare(claves[baseA + INSCRIPCION], claves[baseB + INSCRIPCION]);
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Convertir un double en un long que se ordena igual que Double.compare
+     * (incluye -0.0 < 0.0 y NaN al final)
+     */
+    private static long claveDecimal(double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+}
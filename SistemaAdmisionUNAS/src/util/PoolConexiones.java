@@ -0,0 +1,447 @@
+package util;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Pool de conexiones JDBC acotado para la base de datos H2
+ * - Tamaño máximo fijo (los hilos esperan un permiso si está lleno)
+ * - Validación de la conexión al prestarla
+ * - Desalojo de conexiones inactivas
+ * - Detección de fugas (conexiones prestadas por demasiado tiempo)
+ * Las conexiones entregadas se devuelven al pool al llamar close()
+ * @author joe-696
+ */
+public class PoolConexiones implements DataSource {
+    
+    private static final int TIMEOUT_VALIDACION_SEG = 2;
+    // El mantenimiento corre cada 15 s, o más seguido si los tiempos de
+    // inactividad o de fuga configurados son cortos
+    private static final long INTERVALO_MANTENIMIENTO_MS = 15_000;
+    private static final long INTERVALO_MANTENIMIENTO_MINIMO_MS = 50;
+    // -Dadmision.pool.rastrearFugas=true guarda la pila de cada préstamo (caro: solo para depurar);
+    // sin él, una fuga muestra dónde está ahora el hilo que tiene la conexión
+    private static final boolean RASTREAR_ORIGEN = Boolean.getBoolean("admision.pool.rastrearFugas");
+    
+    private final String url;
+    private final String usuario;
+    private final String password;
+    private final int tamanoMaximo;
+    private final int minimoInactivas;
+    private final long tiempoMaxInactivoMs;
+    private final long umbralFugaMs;
+    private final long tiempoEsperaMaxMs;
+    
+    private final Semaphore permisos;
+    private final LinkedBlockingDeque<ConexionFisica> inactivas = new LinkedBlockingDeque<>();
+    private final Set<Prestamo> prestadas = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado = false;
+    
+    // Métricas
+    private final AtomicLong prestamosTotales = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    private final AtomicLong conexionesCreadas = new AtomicLong();
+    private final AtomicLong conexionesDescartadas = new AtomicLong();
+    private final AtomicLong fugasDetectadas = new AtomicLong();
+    private final AtomicLong timeoutsEspera = new AtomicLong();
+    
+    /**
+     * Constructor
+     */
+    public PoolConexiones(String url, String usuario, String password, int tamanoMaximo,
+                          int minimoInactivas, long tiempoMaxInactivoMs, long umbralFugaMs,
+                          long tiempoEsperaMaxMs) {
+        if (tamanoMaximo <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo del pool debe ser positivo");
+        }
+        this.url = url;
+        this.usuario = usuario;
+        this.password = password;
+        this.tamanoMaximo = tamanoMaximo;
+        this.minimoInactivas = Math.max(0, Math.min(minimoInactivas, tamanoMaximo));
+        this.tiempoMaxInactivoMs = tiempoMaxInactivoMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.tiempoEsperaMaxMs = tiempoEsperaMaxMs;
+        this.permisos = new Semaphore(tamanoMaximo, true);
+        
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-conexiones-mantenimiento");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalo = Math.max(INTERVALO_MANTENIMIENTO_MINIMO_MS,
+            Math.min(INTERVALO_MANTENIMIENTO_MS, Math.min(tiempoMaxInactivoMs, umbralFugaMs) / 2));
+        this.mantenimiento.scheduleWithFixedDelay(this::ejecutarMantenimiento,
+            intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Prestar una conexión del pool (se devuelve con close())
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+        
+        long inicioEspera = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(tiempoEsperaMaxMs, TimeUnit.MILLISECONDS)) {
+                timeoutsEspera.incrementAndGet();
+                throw new SQLException("Tiempo de espera agotado obteniendo conexión (" +
+                    tiempoEsperaMaxMs + " ms, " + tamanoMaximo + " conexiones en uso)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión", e);
+        }
+        registrarEspera(System.nanoTime() - inicioEspera);
+        
+        try {
+            ConexionFisica fisica = obtenerConexionValida();
+            Prestamo prestamo = new Prestamo(fisica);
+            prestadas.add(prestamo);
+            prestamosTotales.incrementAndGet();
+            return prestamo.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("El pool usa credenciales fijas");
+    }
+    
+    /**
+     * Tomar una conexión inactiva válida o crear una nueva
+     */
+    private ConexionFisica obtenerConexionValida() throws SQLException {
+        ConexionFisica fisica;
+        while ((fisica = inactivas.pollFirst()) != null) {
+            if (esValida(fisica.conexion)) {
+                return fisica;
+            }
+            descartar(fisica);
+        }
+        
+        Connection nueva = DriverManager.getConnection(url, usuario, password);
+        conexionesCreadas.incrementAndGet();
+        return new ConexionFisica(nueva);
+    }
+    
+    private boolean esValida(Connection conexion) {
+        try {
+            return !conexion.isClosed() && conexion.isValid(TIMEOUT_VALIDACION_SEG);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Devolver una conexión al pool restaurando su estado
+     */
+    private void devolver(Prestamo prestamo) {
+        prestadas.remove(prestamo);
+        ConexionFisica fisica = prestamo.fisica;
+        
+        try {
+            if (cerrado || fisica.conexion.isClosed()) {
+                descartar(fisica);
+                return;
+            }
+            
+            // Deshacer trabajo pendiente y restaurar valores por defecto
+            if (!fisica.conexion.getAutoCommit()) {
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+            if (fisica.conexion.isReadOnly()) {
+                fisica.conexion.setReadOnly(false);
+            }
+            fisica.conexion.clearWarnings();
+            
+            fisica.ultimoUso = System.currentTimeMillis();
+            inactivas.offerFirst(fisica);
+        
+        } catch (SQLException e) {
+            System.err.println("⚠️ Conexión descartada al devolverla al pool: " + e.getMessage());
+            descartar(fisica);
+        } finally {
+            permisos.release();
+        }
+    }
+    
+    private void descartar(ConexionFisica fisica) {
+        conexionesDescartadas.incrementAndGet();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException ignored) {
+            // La conexión ya no es utilizable
+        }
+    }
+    
+    private void registrarEspera(long nanos) {
+        esperaTotalNanos.addAndGet(nanos);
+        esperaMaximaNanos.accumulateAndGet(nanos, Math::max);
+    }
+    
+    /**
+     * Tarea periódica: desalojar inactivas y reportar fugas
+     */
+    private void ejecutarMantenimiento() {
+        try {
+            desalojarInactivas();
+            detectarFugas();
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Error en mantenimiento del pool: " + e.getMessage());
+        }
+    }
+    
+    private void desalojarInactivas() {
+        long limite = System.currentTimeMillis() - tiempoMaxInactivoMs;
+        Iterator<ConexionFisica> it = inactivas.descendingIterator(); // Las más antiguas primero
+        while (it.hasNext() && inactivas.size() > minimoInactivas) {
+            ConexionFisica fisica = it.next();
+            if (fisica.ultimoUso < limite && inactivas.remove(fisica)) {
+                descartar(fisica);
+            }
+        }
+    }
+    
+    private void detectarFugas() {
+        long ahora = System.currentTimeMillis();
+        for (Prestamo prestamo : prestadas) {
+            if (!prestamo.fugaReportada && ahora - prestamo.inicio > umbralFugaMs) {
+                prestamo.fugaReportada = true;
+                fugasDetectadas.incrementAndGet();
+                System.err.println("⚠️ Posible fuga de conexión: prestada hace " + (ahora - prestamo.inicio) +
+                    " ms al hilo '" + prestamo.hilo.getName() + "'");
+                if (prestamo.origen != null) {
+                    prestamo.origen.printStackTrace();
+                } else {
+                    for (StackTraceElement elemento : prestamo.hilo.getStackTrace()) {
+                        System.err.println("\tahora en " + elemento);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Obtener una foto de las métricas del pool
+     */
+    public Metricas getMetricas() {
+        long prestamos = prestamosTotales.get();
+        return new Metricas(
+            prestadas.size(),
+            inactivas.size(),
+            tamanoMaximo,
+            permisos.getQueueLength(),
+            prestamos,
+            prestamos > 0 ? esperaTotalNanos.get() / 1_000_000.0 / prestamos : 0.0,
+            esperaMaximaNanos.get() / 1_000_000.0,
+            timeoutsEspera.get(),
+            conexionesCreadas.get(),
+            conexionesDescartadas.get(),
+            fugasDetectadas.get()
+        );
+    }
+    
+    /**
+     * Cerrar el pool y todas sus conexiones inactivas
+     * Las conexiones prestadas se cierran al devolverse
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica fisica;
+        while ((fisica = inactivas.pollFirst()) != null) {
+            descartar(fisica);
+        }
+    }
+    
+    public boolean isCerrado() {
+        return cerrado;
+    }
+    
+    // ===== DataSource =====
+    
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+    
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+    
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+    
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+    
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+    
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("No es un wrapper de " + iface.getName());
+    }
+    
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+    
+    // ===== Clases internas =====
+    
+    /**
+     * Conexión física administrada por el pool
+     */
+    private static class ConexionFisica {
+        final Connection conexion;
+        volatile long ultimoUso;
+        
+        ConexionFisica(Connection conexion) {
+            this.conexion = conexion;
+            this.ultimoUso = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * Préstamo de una conexión: proxy entregado al llamador
+     */
+    private class Prestamo implements InvocationHandler {
+        final ConexionFisica fisica;
+        final Connection proxy;
+        final long inicio = System.currentTimeMillis();
+        final Thread hilo = Thread.currentThread();
+        final Throwable origen = RASTREAR_ORIGEN ? new Throwable("Conexión obtenida aquí") : null;
+        volatile boolean fugaReportada = false;
+        private volatile boolean devuelta = false;
+        
+        Prestamo(ConexionFisica fisica) {
+            this.fisica = fisica;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!devuelta) {
+                        devuelta = true;
+                        devolver(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return devuelta || fisica.conexion.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPool[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+            
+            if (devuelta) {
+                throw new SQLException("La conexión ya fue devuelta al pool");
+            }
+            
+            try {
+                return method.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+    
+    /**
+     * Foto inmutable de las métricas del pool
+     */
+    public static class Metricas {
+        private final int activas;
+        private final int inactivas;
+        private final int maximo;
+        private final int hilosEsperando;
+        private final long prestamosTotales;
+        private final double esperaPromedioMs;
+        private final double esperaMaximaMs;
+        private final long timeoutsEspera;
+        private final long conexionesCreadas;
+        private final long conexionesDescartadas;
+        private final long fugasDetectadas;
+        
+        public Metricas(int activas, int inactivas, int maximo, int hilosEsperando, long prestamosTotales,
+                        double esperaPromedioMs, double esperaMaximaMs, long timeoutsEspera,
+                        long conexionesCreadas, long conexionesDescartadas, long fugasDetectadas) {
+            this.activas = activas;
+            this.inactivas = inactivas;
+            this.maximo = maximo;
+            this.hilosEsperando = hilosEsperando;
+            this.prestamosTotales = prestamosTotales;
+            this.esperaPromedioMs = esperaPromedioMs;
+            this.esperaMaximaMs = esperaMaximaMs;
+            this.timeoutsEspera = timeoutsEspera;
+            this.conexionesCreadas = conexionesCreadas;
+            this.conexionesDescartadas = conexionesDescartadas;
+            this.fugasDetectadas = fugasDetectadas;
+        }
+        
+        public int getActivas() { return activas; }
+        public int getInactivas() { return inactivas; }
+        public int getMaximo() { return maximo; }
+        public int getHilosEsperando() { return hilosEsperando; }
+        public long getPrestamosTotales() { return prestamosTotales; }
+        public double getEsperaPromedioMs() { return esperaPromedioMs; }
+        public double getEsperaMaximaMs() { return esperaMaximaMs; }
+        public long getTimeoutsEspera() { return timeoutsEspera; }
+        public long getConexionesCreadas() { return conexionesCreadas; }
+        public long getConexionesDescartadas() { return conexionesDescartadas; }
+        public long getFugasDetectadas() { return fugasDetectadas; }
+        
+        @Override
+        public String toString() {
+            return String.format("Pool{activas=%d, inactivas=%d, max=%d, esperando=%d, prestamos=%d, " +
+                "esperaProm=%.2fms, esperaMax=%.2fms, timeouts=%d, creadas=%d, descartadas=%d, fugas=%d}",
+                activas, inactivas, maximo, hilosEsperando, prestamosTotales, esperaPromedioMs,
+                esperaMaximaMs, timeoutsEspera, conexionesCreadas, conexionesDescartadas, fugasDetectadas);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package util;
+
+/**
+ * Tokenizador CSV a nivel de caracteres, sin expresiones regulares
+ * - El separador se detecta una sola vez por archivo
+ * - Respeta comillas: "GARCIA LOPEZ, JUAN CARLOS" es un único campo. Como en
+ *   RFC 4180, una comilla solo abre un campo entre comillas al inicio del campo
+ *   ("" dentro de él es una comilla escapada); en medio de un campo (O"BRIEN)
+ *   es un carácter más y se descarta al limpiar
+ * - Reutiliza los buffers de campos entre líneas
+ * - Limpia cada campo al vuelo con las mismas reglas que ExcelUtils.limpiarCampo
+ *   (sin comillas, espacios colapsados y recortados)
+ * No es seguro para hilos: usar una instancia por hilo
+ * @author joe-696
+ */
+public class TokenizadorCSV implements CamposRegistro {
+    
+    private static final int CAMPOS_INICIALES = 32;
+    
+    // Un registro con una comilla sin cerrar no puede tragarse el resto del archivo
+    public static final int MAX_LINEAS_POR_REGISTRO = 10;
+    
+    private final char separador;
+    private StringBuilder[] buffers;
+    private int numeroCampos;
+    private boolean comillaAbierta;
+    
+    /**
+     * Constructor
+     */
+    public TokenizadorCSV(char separador) {
+        this.separador = separador;
+        this.buffers = new StringBuilder[CAMPOS_INICIALES];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new StringBuilder(32);
+        }
+    }
+    
+    /**
+     * Detectar separador (coma, tabulación o punto y coma) contando
+     * solo los caracteres fuera de comillas
+     */
+    public static char detectarSeparador(CharSequence linea) {
+        int comas = 0;
+        int tabs = 0;
+        int puntoComas = 0;
+        boolean enComillas = false;
+        
+        for (int i = 0, n = linea.length(); i < n; i++) {
+            char c = linea.charAt(i);
+            if (c == '"') {
+                enComillas = !enComillas;
+            } else if (!enComillas) {
+                if (c == ',') comas++;
+                else if (c == '\t') tabs++;
+                else if (c == ';') puntoComas++;
+            }
+        }
+        
+        // Retornar el más común
+        if (tabs > comas && tabs > puntoComas) {
+            return '\t';
+        } else if (puntoComas > comas) {
+            return ';';
+        } else {
+            return ',';
+        }
+    }
+    
+    /**
+     * Separar una línea (o registro) en campos limpios
+     * @return número de campos encontrados
+     */
+    public int tokenizar(CharSequence linea) {
+        numeroCampos = 0;
+        comillaAbierta = false;
+        
+        StringBuilder actual = siguienteBuffer();
+        boolean espacioPendiente = false;
+        boolean inicioCampo = true;
+        
+        for (int i = 0, n = linea.length(); i < n; i++) {
+            char c = linea.charAt(i);
+            
+            if (c == '"') {
+                // Las comillas delimitan y nunca forman parte del valor
+                if (comillaAbierta) {
+                    if (i + 1 < n && linea.charAt(i + 1) == '"') {
+                        i++; // Comilla escapada
+                    } else {
+                        comillaAbierta = false;
+                    }
+                } else if (inicioCampo) {
+                    comillaAbierta = true;
+                    inicioCampo = false;
+                }
+                continue;
+            }
+            
+            if (c == separador && !comillaAbierta) {
+                actual = siguienteBuffer();
+                espacioPendiente = false;
+                inicioCampo = true;
+                continue;
+            }
+            
+            if (c == '\'') {
+                continue;
+            }
+            
+            if (esEspacio(c)) {
+                // Colapsar espacios y descartar los iniciales/finales
+                if (actual.length() > 0) {
+                    espacioPendiente = true;
+                }
+                continue;
+            }
+            
+            if (espacioPendiente) {
+                actual.append(' ');
+                espacioPendiente = false;
+            }
+            actual.append(c);
+            inicioCampo = false;
+        }
+        
+        return numeroCampos;
+    }
+    
+    /**
+     * Indica si el registro tokenizado, de 'lineas' líneas, debe seguir en la
+     * línea siguiente: quedó una comilla abierta y todavía no pasa de
+     * MAX_LINEAS_POR_REGISTRO líneas ni de los campos esperados
+     */
+    public boolean continuaEnSiguienteLinea(int lineas, int camposEsperados) {
+        return comillaAbierta && lineas < MAX_LINEAS_POR_REGISTRO && numeroCampos <= camposEsperados;
+    }
+    
+    /**
+     * Indica si el registro tokenizado es válido: cerró sus comillas y, si ocupó
+     * varias líneas, no pasa de los campos esperados. Si no lo es, la primera
+     * línea es un error y la lectura sigue desde la línea siguiente
+     */
+    public boolean registroCompleto(int lineas, int camposEsperados) {
+        return !comillaAbierta && (lineas == 1 || numeroCampos <= camposEsperados);
+    }
+    
+    private StringBuilder siguienteBuffer() {
+        if (numeroCampos == buffers.length) {
+            StringBuilder[] nuevos = new StringBuilder[buffers.length * 2];
+            System.arraycopy(buffers, 0, nuevos, 0, buffers.length);
+            for (int i = buffers.length; i < nuevos.length; i++) {
+                nuevos[i] = new StringBuilder(32);
+            }
+            buffers = nuevos;
+        }
+        
+        StringBuilder buffer = buffers[numeroCampos++];
+        buffer.setLength(0);
+        return buffer;
+    }
+    
+    /**
+     * Mismo conjunto de caracteres que \s en expresiones regulares
+     */
+    private static boolean esEspacio(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+    
+    /**
+     * Obtener un campo limpio; los campos inexistentes se devuelven vacíos
+     */
+    @Override
+    public String campo(int indice) {
+        if (indice >= numeroCampos || buffers[indice].length() == 0) {
+            return "";
+        }
+        return buffers[indice].toString();
+    }
+    
+    /**
+     * Obtener un campo o el valor por defecto si está vacío
+     */
+    @Override
+    public String campoODefecto(int indice, String valorDefault) {
+        return esVacio(indice) ? valorDefault : buffers[indice].toString();
+    }
+    
+    /**
+     * Verificar si un campo está vacío sin crear un String
+     */
+    @Override
+    public boolean esVacio(int indice) {
+        return indice >= numeroCampos || buffers[indice].length() == 0;
+    }
+    
+    /**
+     * Indica si la última línea terminó dentro de comillas
+     * (el registro continúa en la línea siguiente)
+     */
+    public boolean isComillaAbierta() {
+        return comillaAbierta;
+    }
+    
+    @Override
+    public int getNumeroCampos() {
+        return numeroCampos;
+    }
+    
+    public char getSeparador() {
+        return separador;
+    }
+    
+    /**
+     * Limpiar un campo suelto con las reglas del tokenizador
+     * Devuelve la misma instancia si ya estaba limpio
+     */
+    public static String limpiar(String campo) {
+        if (campo == null) return "";
+        
+        if (estaLimpio(campo)) {
+            return campo;
+        }
+        
+        StringBuilder sb = new StringBuilder(campo.length());
+        boolean espacioPendiente = false;
+        for (int i = 0, n = campo.length(); i < n; i++) {
+            char c = campo.charAt(i);
+            if (c == '"' || c == '\'') {
+                continue;
+            }
+            if (esEspacio(c)) {
+                if (sb.length() > 0) {
+                    espacioPendiente = true;
+                }
+                continue;
+            }
+            if (espacioPendiente) {
+                sb.append(' ');
+                espacioPendiente = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+    
+    private static boolean estaLimpio(String campo) {
+        int n = campo.length();
+        if (n == 0) return true;
+        if (esEspacio(campo.charAt(0)) || esEspacio(campo.charAt(n - 1))) return false;
+        
+        char anterior = 0;
+        for (int i = 0; i < n; i++) {
+            char c = campo.charAt(i);
+            if (c == '"' || c == '\'') return false;
+            if (esEspacio(c) && (c != ' ' || anterior == ' ')) return false;
+            anterior = c;
+        }
+        return true;
+    }
+}
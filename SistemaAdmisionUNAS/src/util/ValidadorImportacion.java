@@ -0,0 +1,188 @@
+package util;
+
+import dao.PostulanteDAO;
+import model.Postulante;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Validación de los postulantes de una importación antes de guardarlos
+ * - Reglas de Postulante.getValidationErrors (código, nombres, DNI de 8
+ *   caracteres, primera opción y modalidad)
+ * - Código o DNI repetido en el archivo: se queda la primera fila que lo usa
+ * - Código o DNI que ya existe en la base, leídos con una sola consulta; al
+ *   combinar (reimportar notas) un código existente es una actualización de
+ *   notas y su DNI no se revisa (no se escribe, y si está en blanco el lector
+ *   le pone uno temporal); en las filas nuevas se rechaza el DNI que la base
+ *   tiene con otro código
+ * Las filas de cada lote se revisan en paralelo; como ClavesVistas conserva
+ * la primera fila de cada clave, los rechazos son los mismos que recorriendo
+ * el archivo en orden
+ * @author joe-696
+ */
+public class ValidadorImportacion {
+    
+    static final String ENCABEZADO_RECHAZOS = GeneradorPostulantes.ENCABEZADO_CSV + ",FILA,MOTIVO,DETALLE";
+    
+    /**
+     * Motivo por el que una fila no llega a la base
+     */
+    public enum Motivo {
+        DATOS_INVALIDOS,
+        CODIGO_DUPLICADO,   // Repetido en el archivo
+        DNI_DUPLICADO,
+        CODIGO_EXISTENTE,   // Ya estaba en la base
+        DNI_EXISTENTE
+    }
+    
+    private final ClavesVistas codigos = new ClavesVistas();
+    private final ClavesVistas dnis = new ClavesVistas();
+    // Claves de la base: el valor es el número de fila leída, así el código y el
+    // DNI de un mismo postulante guardado tienen el mismo número
+    private final ClavesVistas codigosBase = new ClavesVistas();
+    private final ClavesVistas dnisBase = new ClavesVistas();
+    private final boolean combinar;
+    private long filas;
+    private boolean clavesCargadas;
+    
+    public ValidadorImportacion() {
+        this(false);
+    }
+    
+    /**
+     * @param combinar true si los códigos existentes se actualizan en vez de rechazarse
+     */
+    public ValidadorImportacion(boolean combinar) {
+        this.combinar = combinar;
+    }
+    
+    /**
+     * Leer los códigos y DNIs ya guardados; si la consulta falla solo se
+     * validan las filas del archivo (la base sigue rechazando los repetidos)
+     */
+    public boolean cargarClavesExistentes(PostulanteDAO dao) {
+        long[] leidas = {0};
+        clavesCargadas = dao.recorrerClaves((codigo, dni) -> {
+            codigosBase.registrar(codigo, leidas[0]);
+            dnisBase.registrar(dni, leidas[0]);
+            leidas[0]++;
+        });
+        return clavesCargadas;
+    }
+    
+    /**
+     * Validar el siguiente lote del archivo: los rechazados se quitan del lote
+     * (queda solo lo que se puede guardar) y se devuelven en orden
+     */
+    public List<Rechazo> validar(List<Postulante> lote) {
+        int n = lote.size();
+        long primera = filas;
+        filas += n;
+        
+        // Reglas y claves de cada fila en paralelo
+        Postulante[] postulantes = lote.toArray(new Postulante[0]);
+        String[] errores = new String[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Postulante p = postulantes[i];
+            errores[i] = p.getValidationErrors();
+            codigos.registrar(p.getCodigo(), primera + i);
+            if (!actualizaNotas(p)) {
+                dnis.registrar(p.getDni(), primera + i);
+            }
+        });
+        
+        List<Rechazo> rechazos = new ArrayList<>();
+        Iterator<Postulante> iterador = lote.iterator();
+        for (int i = 0; i < n; i++) {
+            Postulante p = iterador.next();
+            Rechazo rechazo = revisar(p, primera + i, errores[i]);
+            if (rechazo != null) {
+                rechazos.add(rechazo);
+                iterador.remove();
+            }
+        }
+        return rechazos;
+    }
+    
+    private Rechazo revisar(Postulante p, long fila, String errores) {
+        if (!errores.isEmpty()) {
+            return new Rechazo(p, fila, Motivo.DATOS_INVALIDOS, errores.replace("- ", "").trim().replace("\n", "; "));
+        }
+        
+        long codigoEnBase = codigosBase.primeraFila(p.getCodigo());
+        if (codigoEnBase != ClavesVistas.SIN_FILA && !combinar) {
+            return new Rechazo(p, fila, Motivo.CODIGO_EXISTENTE, "Código " + p.getCodigo() + " ya registrado");
+        }
+        long primeraCodigo = codigos.primeraFila(p.getCodigo());
+        if (primeraCodigo < fila) {
+            return new Rechazo(p, fila, Motivo.CODIGO_DUPLICADO,
+                "Código " + p.getCodigo() + " repetido (fila " + (primeraCodigo + 1) + ")");
+        }
+        
+        if (codigoEnBase != ClavesVistas.SIN_FILA) {
+            return null; // Al combinar solo se actualizan sus notas
+        }
+        
+        long dniEnBase = dnisBase.primeraFila(p.getDni());
+        if (dniEnBase != ClavesVistas.SIN_FILA) {
+            return new Rechazo(p, fila, Motivo.DNI_EXISTENTE, "DNI " + p.getDni()
+                + (combinar ? " ya registrado con otro código" : " ya registrado"));
+        }
+        long primeraDni = dnis.primeraFila(p.getDni());
+        if (primeraDni < fila) {
+            return new Rechazo(p, fila, Motivo.DNI_DUPLICADO,
+                "DNI " + p.getDni() + " repetido (fila " + (primeraDni + 1) + ")");
+        }
+        return null;
+    }
+    
+    /**
+     * Fila que al combinar solo actualiza las notas de un código guardado
+     */
+    private boolean actualizaNotas(Postulante p) {
+        return combinar && codigosBase.primeraFila(p.getCodigo()) != ClavesVistas.SIN_FILA;
+    }
+    
+    public long getFilasValidadas() { return filas; }
+    public boolean isClavesCargadas() { return clavesCargadas; }
+    public boolean isCombinar() { return combinar; }
+    
+    /**
+     * Fila rechazada antes de llegar a la base
+     */
+    public static class Rechazo {
+        private final Postulante postulante;
+        private final long fila;
+        private final Motivo motivo;
+        private final String detalle;
+        
+        Rechazo(Postulante postulante, long fila, Motivo motivo, String detalle) {
+            this.postulante = postulante;
+            this.fila = fila;
+            this.motivo = motivo;
+            this.detalle = detalle;
+        }
+        
+        public Postulante getPostulante() { return postulante; }
+        // Número de registro en el archivo (1 = primer postulante leído)
+        public long getFila() { return fila + 1; }
+        public Motivo getMotivo() { return motivo; }
+        public String getDetalle() { return detalle; }
+        
+        /**
+         * Línea del archivo de rechazos: las columnas de importación (se puede
+         * corregir y volver a importar) seguidas de FILA, MOTIVO y DETALLE
+         */
+        String lineaCSV() {
+            return GeneradorPostulantes.lineaCSV(postulante) + "," + getFila() + "," + motivo
+                + ",\"" + detalle.replace("\"", "\"\"") + "\"";
+        }
+        
+        @Override
+        public String toString() {
+            return postulante.getCodigo() + " - " + motivo + ": " + detalle;
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package view;
 
-import model.Postulante;
 import dao.PostulanteDAO;
-import util.ExcelUtils;
+import util.ImportadorStreaming;
 import util.EventBus;
 
 import javax.swing.*;
@@ -20,6 +19,7 @@ import java.util.List;
 public class ImportarPanel extends JPanel {
     
     private JButton btnSeleccionarArchivo, btnImportar, btnLimpiarBD;
+    private JCheckBox chkActualizarExistentes;
     private JTextField txtRutaArchivo;
     private JTextArea txtAreaResultado;
     private JProgressBar progressBar;
@@ -134,6 +134,12 @@ public class ImportarPanel extends JPanel {
         btnLimpiarBD.setForeground(Color.WHITE);
         btnLimpiarBD.addActionListener(this::limpiarBaseDatos);
         
+        // Reimportación de archivos de notas: los códigos existentes se actualizan
+        chkActualizarExistentes = new JCheckBox("🔄 Actualizar postulantes existentes");
+        chkActualizarExistentes.setToolTipText("Para archivos de notas que se vuelven a subir: "
+            + "actualiza solo las notas que cambiaron en vez de rechazar los códigos ya registrados");
+        
+        panelBotones.add(chkActualizarExistentes);
         panelBotones.add(btnImportar);
         panelBotones.add(btnLimpiarBD);
         
@@ -254,38 +260,49 @@ public class ImportarPanel extends JPanel {
             return;
         }
         
+        ImportadorStreaming.Modo modo = chkActualizarExistentes.isSelected()
+            ? ImportadorStreaming.Modo.COMBINAR : ImportadorStreaming.Modo.INSERTAR;
+        
         // Configurar UI para importación
         btnImportar.setEnabled(false);
         progressBar.setIndeterminate(true);
         lblEstado.setText("📥 Importando datos...");
         txtAreaResultado.setText("🔄 Iniciando importación...\n");
         
-        // Ejecutar importación en hilo separado
-        SwingWorker<List<Postulante>, String> worker = new SwingWorker<>() {
+        // Ejecutar importación en hilo separado: lectura y guardado por streaming
+        SwingWorker<ImportadorStreaming.ResumenImportacion, Object> worker = new SwingWorker<>() {
             @Override
-            protected List<Postulante> doInBackground() {
+            protected ImportadorStreaming.ResumenImportacion doInBackground() throws Exception {
                 publish("📖 Leyendo archivo: " + archivoSeleccionado.getName());
-                return ExcelUtils.importarPostulantesDesdeExcel(archivoSeleccionado.getAbsolutePath());
+                ImportadorStreaming importador = new ImportadorStreaming(postulanteDAO, modo);
+                return importador.importar(archivoSeleccionado.getAbsolutePath(), progreso -> publish(progreso));
             }
             
             @Override
-            protected void process(List<String> chunks) {
-                for (String mensaje : chunks) {
-                    txtAreaResultado.append(mensaje + "\n");
+            protected void process(List<Object> chunks) {
+                for (Object mensaje : chunks) {
+                    if (mensaje instanceof ImportadorStreaming.Progreso) {
+                        // Solo mostrar el avance más reciente en la barra de progreso
+                        progressBar.setString(mensaje.toString());
+                        lblEstado.setText("📥 Importando datos... " + 
+                            ((ImportadorStreaming.Progreso) mensaje).getFilasGuardadas() + " guardados");
+                    } else {
+                        txtAreaResultado.append(mensaje + "\n");
+                    }
                 }
             }
             
             @Override
             protected void done() {
                 try {
-                    List<Postulante> postulantes = get();
-                    procesarPostulantesImportados(postulantes);
+                    mostrarResumenImportacion(get());
                 } catch (Exception ex) {
                     txtAreaResultado.append("❌ Error durante la importación: " + ex.getMessage() + "\n");
                 } finally {
                     btnImportar.setEnabled(true);
                     progressBar.setIndeterminate(false);
                     progressBar.setValue(100);
+                    progressBar.setString("100%");
                     lblEstado.setText("✅ Importación completada");
                 }
             }
@@ -294,8 +311,10 @@ public class ImportarPanel extends JPanel {
         worker.execute();
     }
     
-    private void procesarPostulantesImportados(List<Postulante> postulantes) {
-        if (postulantes.isEmpty()) {
+    private void mostrarResumenImportacion(ImportadorStreaming.ResumenImportacion resumen) {
+        long total = resumen.getFilasLeidas();
+        
+        if (total == 0) {
             txtAreaResultado.append("⚠️ No se importaron postulantes.\n\n");
             txtAreaResultado.append("🔧 POSIBLES SOLUCIONES:\n");
             txtAreaResultado.append("• Verifique que el archivo tenga datos válidos\n");
@@ -307,40 +326,39 @@ public class ImportarPanel extends JPanel {
         
         txtAreaResultado.append("📊 RESUMEN DE IMPORTACIÓN:\n");
         txtAreaResultado.append("========================\n");
-        txtAreaResultado.append("✅ Postulantes procesados: " + postulantes.size() + "\n");
-        
-        // Analizar calidad de datos importados
-        long conDni = postulantes.stream().filter(p -> !p.getDni().startsWith("TEMP")).count();
-        long conNotas = postulantes.stream().filter(p -> p.getNotaAC() > 0 || p.getNotaCO() > 0).count();
-        long conCarrera = postulantes.stream().filter(p -> !p.getOpcion1().equals("SIN ESPECIFICAR")).count();
-        
-        txtAreaResultado.append("📋 Con DNI real: " + conDni + " (" + (conDni * 100 / postulantes.size()) + "%)\n");
-        txtAreaResultado.append("📝 Con notas: " + conNotas + " (" + (conNotas * 100 / postulantes.size()) + "%)\n");
-        txtAreaResultado.append("🎓 Con carrera especificada: " + conCarrera + " (" + (conCarrera * 100 / postulantes.size()) + "%)\n\n");
-        
-        // Guardar en base de datos
-        int guardados = 0;
-        int errores = 0;
-        for (Postulante p : postulantes) {
-            if (postulanteDAO.guardar(p)) {
-                guardados++;
-            } else {
-                errores++;
-            }
+        txtAreaResultado.append("✅ Postulantes procesados: " + total + "\n");
+        txtAreaResultado.append("⚠️ Líneas con errores de formato: " + resumen.getLineasConError() + "\n");
+        if (resumen.getFechas() != null) {
+            txtAreaResultado.append("📅 Fechas: " + resumen.getFechas() + "\n");
         }
         
+        // Calidad de datos importados (acumulada durante el streaming)
+        long conDni = resumen.getConDni();
+        long conNotas = resumen.getConNotas();
+        long conCarrera = resumen.getConCarrera();
+        
+        txtAreaResultado.append("📋 Con DNI real: " + conDni + " (" + (conDni * 100 / total) + "%)\n");
+        txtAreaResultado.append("📝 Con notas: " + conNotas + " (" + (conNotas * 100 / total) + "%)\n");
+        txtAreaResultado.append("🎓 Con carrera especificada: " + conCarrera + " (" + (conCarrera * 100 / total) + "%)\n\n");
+        
         txtAreaResultado.append("💾 GUARDADO EN BASE DE DATOS:\n");
-        txtAreaResultado.append("✅ Guardados exitosamente: " + guardados + "\n");
-        txtAreaResultado.append("❌ Errores de guardado: " + errores + "\n\n");
+        txtAreaResultado.append("✅ Guardados exitosamente: " + resumen.getInsertados() + "\n");
+        if (resumen.getActualizados() + resumen.getSinCambios() > 0) {
+            txtAreaResultado.append("🔄 Actualizados: " + resumen.getActualizados() + "\n");
+            txtAreaResultado.append("➖ Sin cambios: " + resumen.getSinCambios() + "\n");
+        }
+        txtAreaResultado.append("⚠️ Duplicados (código o DNI): " + resumen.getDuplicados() + "\n");
+        txtAreaResultado.append("⚠️ Violaciones de restricción: " + resumen.getRestricciones() + "\n");
+        txtAreaResultado.append("❌ Datos inválidos: " + resumen.getInvalidos() + "\n");
+        txtAreaResultado.append("❌ Errores de guardado: " + resumen.getErrores() + "\n");
+        if (resumen.getArchivoRechazos() != null) {
+            txtAreaResultado.append("📄 Filas rechazadas en: " + resumen.getArchivoRechazos() + "\n");
+        }
+        txtAreaResultado.append(String.format("⏱️ %.1f s (%.0f filas/s)\n\n", resumen.getSegundos(), resumen.getFilasPorSegundo()));
         
         // Estadísticas por carrera (solo las más populares)
         txtAreaResultado.append("📈 TOP 5 CARRERAS MÁS DEMANDADAS:\n");
-        postulantes.stream()
-            .filter(p -> p.getOpcion1() != null && !p.getOpcion1().equals("SIN ESPECIFICAR"))
-            .collect(java.util.stream.Collectors.groupingBy(
-                Postulante::getOpcion1,
-                java.util.stream.Collectors.counting()))
-            .entrySet().stream()
+        resumen.getDemandaPorCarrera().entrySet().stream()
             .sorted(java.util.Map.Entry.<String, Long>comparingByValue().reversed())
             .limit(5)
             .forEach(entry -> 
@@ -349,34 +367,22 @@ public class ImportarPanel extends JPanel {
         
         // Estadísticas por modalidad
         txtAreaResultado.append("\n📊 DISTRIBUCIÓN POR MODALIDAD:\n");
-        postulantes.stream()
-            .collect(java.util.stream.Collectors.groupingBy(
-                Postulante::getModalidad,
-                java.util.stream.Collectors.counting()))
+        resumen.getPorModalidad()
             .forEach((modalidad, cantidad) -> 
                 txtAreaResultado.append("   • " + modalidad + ": " + cantidad + " postulantes\n"));
         
         // Resumen de notas
         if (conNotas > 0) {
-            double promedioAC = postulantes.stream()
-                .filter(p -> p.getNotaAC() > 0)
-                .mapToDouble(Postulante::getNotaAC)
-                .average().orElse(0);
-            double promedioCO = postulantes.stream()
-                .filter(p -> p.getNotaCO() > 0)
-                .mapToDouble(Postulante::getNotaCO)
-                .average().orElse(0);
-                
             txtAreaResultado.append(String.format("\n📊 PROMEDIOS DE NOTAS:\n"));
-            txtAreaResultado.append(String.format("   • Aptitud Académica: %.2f\n", promedioAC));
-            txtAreaResultado.append(String.format("   • Conocimientos: %.2f\n", promedioCO));
+            txtAreaResultado.append(String.format("   • Aptitud Académica: %.2f\n", resumen.getPromedioAC()));
+            txtAreaResultado.append(String.format("   • Conocimientos: %.2f\n", resumen.getPromedioCO()));
         }
         
         txtAreaResultado.append("\n🎉 ¡Importación completada exitosamente!\n");
         txtAreaResultado.append("💡 Los campos vacíos fueron rellenados automáticamente con valores por defecto.\n");
         
         // Notificar evento
-        EventBus.getInstance().publicarPostulantesImportados(guardados);
+        EventBus.getInstance().publicarPostulantesImportados(resumen.getInsertados() + resumen.getActualizados());
     }
     
     private void limpiarBaseDatos(ActionEvent e) {
@@ -402,7 +402,7 @@ public class InscripcionPanel extends JPanel {
             if (postulanteDAO.guardar(postulante)) {
                 
                 // 🔄 NOTIFICAR EVENTO - Sincronización automática
-                EventBus.getInstance().publicarPostulanteAgregado();
+                EventBus.getInstance().publicarPostulanteAgregado(postulante);
                 
                 JOptionPane.showMessageDialog(this,
                     "✅ Postulante registrado exitosamente\n\n" +
@@ -442,16 +442,14 @@ public class InscripcionPanel extends JPanel {
     }
     
     private void suscribirseAEventos() {
-        EventBus.getInstance().suscribirCarreras(event -> {
-            SwingUtilities.invokeLater(() -> {
-                if ("CARRERA_AGREGADA".equals(event.getTipo())) {
-                    // Actualizar comboboxes de opciones
-                    actualizarComboBoxCarreras();
+        EventBus.getInstance().suscribir(EventBus.CARRERAS, event -> {
+            if ("CARRERA_AGREGADA".equals(event.getTipo())) {
+                // Actualizar comboboxes de opciones
+                actualizarComboBoxCarreras();
                     
-                    System.out.println("🔄 Carreras actualizadas en Inscripción: " + event.getNombreCarrera());
-                }
-            });
-        });
+                System.out.println("🔄 Carreras actualizadas en Inscripción: " + event.getNombreCarrera());
+            }
+        }, EventBus.EN_HILO_SWING);
     }
     
     /**
@@ -235,6 +235,51 @@ public class MainFrame extends JFrame {
             👨‍💻 Desarrollador: joe-696
             """;
         
+        // Postulantes (estadísticas en memoria, sin consultar la base de datos)
+        util.EstadisticasPostulantes.Instantanea datos = util.EstadisticasPostulantes.getInstance().getInstantanea();
+        StringBuilder postulantes = new StringBuilder();
+        postulantes.append(String.format("""
+            
+            👥 Postulantes: %d
+               Examinados: %d / Ingresantes: %d
+               Puntaje promedio: %.2f (máx. %.2f)
+            """,
+            datos.getTotal(), datos.getExaminados(), datos.getIngresantes(),
+            datos.getNotaPromedio(), datos.getNotaMaxima()));
+        datos.getPorModalidad().forEach((modalidad, cantidad) ->
+            postulantes.append(String.format("   %s: %d\n", modalidad, cantidad)));
+        postulantes.append("   Carreras más solicitadas (1ra / 2da opción):\n");
+        for (String carrera : datos.getCarrerasPorDemanda().stream().limit(5).toList()) {
+            postulantes.append(String.format("   • %s: %d / %d\n", carrera,
+                datos.getPrimeraOpcion(carrera), datos.getSegundaOpcion(carrera)));
+        }
+        estadisticas += postulantes;
+        
+        // Métricas del pool de conexiones
+        util.PoolConexiones.Metricas metricas = util.DatabaseConnection.obtenerMetricasPool();
+        if (metricas != null) {
+            estadisticas += String.format("""
+                
+                🔗 Pool de conexiones:
+                   Activas: %d / Inactivas: %d (máx. %d)
+                   Hilos esperando: %d
+                   Espera promedio: %.2f ms (máx. %.2f ms)
+                   Posibles fugas: %d
+                """,
+                metricas.getActivas(), metricas.getInactivas(), metricas.getMaximo(),
+                metricas.getHilosEsperando(), metricas.getEsperaPromedioMs(),
+                metricas.getEsperaMaximaMs(), metricas.getFugasDetectadas());
+        }
+        
+        // Métricas del bus de eventos (latencia desde la publicación hasta la entrega)
+        estadisticas += "\n📨 Eventos:\n";
+        for (util.EventBus.Tema<?> tema : java.util.List.of(util.EventBus.POSTULANTES, util.EventBus.CARRERAS)) {
+            util.EventBus.Metricas eventos = util.EventBus.getInstance().getMetricas(tema);
+            estadisticas += String.format("   %s: %d publicados, %d entregados (%d agrupados), latencia %.2f ms (máx. %.2f ms)\n",
+                eventos.getTema(), eventos.getPublicados(), eventos.getEntregados(), eventos.getAgrupados(),
+                eventos.getLatenciaPromedioMs(), eventos.getLatenciaMaximaMs());
+        }
+        
         JTextArea textArea = new JTextArea(estadisticas);
         textArea.setEditable(false);
         textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
@@ -0,0 +1,435 @@
+package view;
+
+import dao.PostulanteDAO;
+import model.Fechas;
+import model.Postulante;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Modelo de tabla que pide los postulantes a la base de datos por páginas
+ * - Solo conoce el total de filas del filtro actual; cada página se pide en
+ *   segundo plano (SwingWorker) la primera vez que la tabla pinta alguna de
+ *   sus filas: mientras llega, la fila muestra "Cargando..." y al llegar se
+ *   repintan sus filas (fireTableRowsUpdated)
+ * - Guarda en memoria las últimas páginas usadas (LRU)
+ * - Si conoce el último código de la página anterior usa keyset
+ *   (buscarDespuesDe); si se salta directo a una página lejana, OFFSET
+ * - Las altas y bajas se aplican fila por fila (aplicarCambios): solo se
+ *   descartan las páginas desde la primera fila afectada y la tabla conserva
+ *   la selección y el desplazamiento. Si hay que consultar la posición de
+ *   algún código, la consulta también va en segundo plano
+ * Todos los métodos se llaman desde el hilo de Swing; la base de datos solo
+ * se consulta desde los SwingWorker
+ * @author joe-696
+ */
+public class ModeloTablaPostulantes extends AbstractTableModel {
+    
+    public static final int TAMANO_PAGINA = 200;
+    private static final int MAX_PAGINAS_EN_MEMORIA = 25;
+    // Con más cambios que esto conviene volver a consultar todo
+    public static final int MAX_CAMBIOS_INCREMENTALES = TAMANO_PAGINA;
+    private static final int DESCONOCIDA = -1;
+    private static final int NO_ESTABA = -2;
+    private static final String CARGANDO = "Cargando...";
+    
+    private static final String[] COLUMNAS = {
+        "Código", "Apellidos y Nombres", "DNI", "Primera Opción", "Segunda Opción",
+        "Modalidad", "Estado Académico", "Sexo", "Fecha Inscripción"
+    };
+    
+    private final PostulanteDAO postulanteDAO;
+    
+    private PostulanteDAO.CriterioBusqueda criterio;
+    private int total;
+    
+    // Páginas cargadas, de la menos a la más recientemente usada
+    private final Map<Integer, List<Postulante>> paginas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Postulante>> eldest) {
+            return size() > MAX_PAGINAS_EN_MEMORIA;
+        }
+    };
+    
+    // Último código de cada página ya vista, para pedir la siguiente por keyset
+    private final Map<Integer, String> ultimoCodigoPorPagina = new HashMap<>();
+    
+    // Páginas pedidas que todavía no llegaron
+    private final Set<Integer> paginasPedidas = new HashSet<>();
+    // Cambia cada vez que las filas se corren o se reinicia el filtro: las
+    // respuestas pedidas antes se descartan
+    private int version;
+    
+    // Mientras se consultan posiciones no se piden páginas (sus filas todavía
+    // no incluyen los cambios) y los cambios que llegan esperan su turno
+    private boolean contandoPosiciones;
+    private final Set<Integer> paginasEnEspera = new HashSet<>();
+    private final Deque<List<List<Postulante>>> cambiosEnEspera = new ArrayDeque<>();
+    
+    public ModeloTablaPostulantes(PostulanteDAO postulanteDAO) {
+        this.postulanteDAO = postulanteDAO;
+    }
+    
+    /**
+     * Cambiar el filtro con el total y la primera página ya consultados
+     * (se obtienen fuera del hilo de Swing)
+     */
+    public void reiniciar(PostulanteDAO.CriterioBusqueda criterio, int total, List<Postulante> primeraPagina) {
+        this.criterio = criterio;
+        this.total = total;
+        version++;
+        paginas.clear();
+        ultimoCodigoPorPagina.clear();
+        paginasPedidas.clear();
+        contandoPosiciones = false;
+        paginasEnEspera.clear();
+        cambiosEnEspera.clear();
+        guardarPagina(0, primeraPagina);
+        fireTableDataChanged();
+    }
+    
+    /**
+     * Si hay páginas o posiciones pedidas a la base que todavía no llegaron
+     */
+    public boolean isCargando() {
+        return !paginasPedidas.isEmpty() || contandoPosiciones;
+    }
+    
+    /**
+     * Aplicar altas y bajas que ya están guardadas en la base de datos sin
+     * reiniciar el modelo. Los postulantes que no entran en el filtro se
+     * ignoran. Devuelve false si no se pueden aplicar (modelo sin cargar o
+     * demasiados cambios) y hay que volver a consultar. Si la posición de
+     * algún código hay que consultarla, los cambios se aplican cuando llega
+     * la respuesta; si esa consulta falla, el modelo se recarga solo
+     */
+    public boolean aplicarCambios(List<Postulante> agregados, List<Postulante> eliminados) {
+        if (criterio == null || agregados.size() + eliminados.size() > MAX_CAMBIOS_INCREMENTALES) {
+            return false;
+        }
+        if (contandoPosiciones) {
+            cambiosEnEspera.add(List.of(agregados, eliminados));
+            return true;
+        }
+        
+        TreeMap<String, Boolean> cambios = new TreeMap<>(); // código -> true si es alta
+        for (Postulante p : eliminados) {
+            if (criterio.cumple(p)) cambios.put(p.getCodigo(), false);
+        }
+        for (Postulante p : agregados) {
+            if (criterio.cumple(p)) {
+                // Eliminado y vuelto a agregar en la misma ventana: la fila se queda
+                if (cambios.remove(p.getCodigo()) == null) cambios.put(p.getCodigo(), true);
+            }
+        }
+        
+        // Fila de cada código antes de los cambios, si cae en una página cargada
+        List<String> codigos = new ArrayList<>();
+        List<Boolean> altas = new ArrayList<>();
+        List<Integer> filasAnteriores = new ArrayList<>();
+        List<String> sinPagina = new ArrayList<>();
+        for (Map.Entry<String, Boolean> cambio : cambios.entrySet()) {
+            int fila = filaEnPaginas(cambio.getKey(), cambio.getValue());
+            if (fila == NO_ESTABA) continue;
+            
+            codigos.add(cambio.getKey());
+            altas.add(cambio.getValue());
+            filasAnteriores.add(fila);
+            if (fila == DESCONOCIDA) sinPagina.add(cambio.getKey());
+        }
+        if (codigos.isEmpty()) return true;
+        
+        if (sinPagina.isEmpty()) {
+            aplicarEnFilas(codigos, altas, filasAnteriores, new int[0]);
+        } else {
+            contarPosiciones(codigos, altas, filasAnteriores, sinPagina);
+        }
+        return true;
+    }
+    
+    /**
+     * Consultar en segundo plano la fila de los códigos que no están en las
+     * páginas cargadas y después aplicar los cambios
+     */
+    private void contarPosiciones(List<String> codigos, List<Boolean> altas, List<Integer> filasAnteriores,
+                                  List<String> sinPagina) {
+        PostulanteDAO.CriterioBusqueda criterioConteo = criterio;
+        int versionConteo = ++version; // Las páginas en camino se vuelven a pedir después
+        paginasEnEspera.addAll(paginasPedidas);
+        paginasPedidas.clear();
+        contandoPosiciones = true;
+        
+        new SwingWorker<int[], Void>() {
+            @Override
+            protected int[] doInBackground() {
+                return postulanteDAO.contarAntesDe(criterioConteo, sinPagina);
+            }
+            
+            @Override
+            protected void done() {
+                if (versionConteo != version) return; // Se reinició el filtro
+                
+                int[] contadas;
+                try {
+                    contadas = get();
+                } catch (Exception e) {
+                    contadas = null;
+                }
+                contandoPosiciones = false;
+                if (contadas == null) {
+                    recargar();
+                    return;
+                }
+                
+                aplicarEnFilas(codigos, altas, filasAnteriores, contadas);
+                for (int numero : paginasEnEspera) {
+                    pedirPagina(numero);
+                }
+                paginasEnEspera.clear();
+                while (!contandoPosiciones && !cambiosEnEspera.isEmpty()) {
+                    List<List<Postulante>> cambio = cambiosEnEspera.poll();
+                    if (!aplicarCambios(cambio.get(0), cambio.get(1))) {
+                        recargar();
+                        return;
+                    }
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Insertar/quitar las filas de los cambios (ordenados por código); contadas
+     * trae, en orden, la fila de los que no estaban en páginas cargadas
+     */
+    private void aplicarEnFilas(List<String> codigos, List<Boolean> altas, List<Integer> filasAnteriores,
+                                int[] contadas) {
+        // Recorriendo por código ascendente, cada cambio va en la fila que
+        // tendrá al final: la anterior más las altas menos las bajas previas
+        int[] filas = new int[codigos.size()];
+        int desplazamiento = 0;
+        int siguienteContada = 0;
+        for (int k = 0; k < filas.length; k++) {
+            int anterior = filasAnteriores.get(k);
+            filas[k] = anterior == DESCONOCIDA ? contadas[siguienteContada++] : anterior + desplazamiento;
+            desplazamiento += altas.get(k) ? 1 : -1;
+        }
+        
+        // Las páginas desde la primera fila afectada se vuelven a pedir al pintarse
+        descartarPaginasDesde(filas[0] / TAMANO_PAGINA);
+        for (int k = 0; k < filas.length; k++) {
+            if (altas.get(k)) {
+                total++;
+                fireTableRowsInserted(filas[k], filas[k]);
+            } else {
+                total--;
+                fireTableRowsDeleted(filas[k], filas[k]);
+            }
+        }
+    }
+    
+    /**
+     * Volver a contar y a traer la primera página del filtro actual en segundo plano
+     */
+    private void recargar() {
+        PostulanteDAO.CriterioBusqueda criterioRecarga = criterio;
+        int versionRecarga = ++version;
+        contandoPosiciones = true; // Hasta reiniciar, los cambios esperan
+        
+        new SwingWorker<Void, Void>() {
+            private int totalRecarga;
+            private List<Postulante> primeraPagina;
+            
+            @Override
+            protected Void doInBackground() {
+                totalRecarga = postulanteDAO.contar(criterioRecarga);
+                primeraPagina = postulanteDAO.buscar(criterioRecarga, 0, TAMANO_PAGINA);
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                if (versionRecarga == version) {
+                    reiniciar(criterioRecarga, totalRecarga, primeraPagina);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Fila del código en las páginas cargadas (para una alta, donde se
+     * insertaría). DESCONOCIDA si cae fuera de ellas; NO_ESTABA si es una
+     * baja que la tabla no tenía o una alta que la tabla ya muestra
+     */
+    private int filaEnPaginas(String codigo, boolean alta) {
+        for (Map.Entry<Integer, List<Postulante>> entrada : paginas.entrySet()) {
+            List<Postulante> pagina = entrada.getValue();
+            if (pagina.isEmpty()) continue;
+            
+            String primero = pagina.get(0).getCodigo();
+            String ultimo = pagina.get(pagina.size() - 1).getCodigo();
+            boolean dentro = codigo.compareTo(primero) >= 0 && codigo.compareTo(ultimo) <= 0;
+            // Después del último de una página incompleta: es el final de la tabla
+            boolean alFinal = codigo.compareTo(ultimo) > 0 && pagina.size() < TAMANO_PAGINA;
+            if (!dentro && !alFinal) continue;
+            
+            int indice = buscarCodigo(pagina, codigo);
+            if (indice >= 0 && alta) {
+                return NO_ESTABA; // La página ya se cargó con esta alta
+            }
+            if (indice < 0) {
+                if (!alta) return NO_ESTABA;
+                indice = -indice - 1;
+            }
+            return entrada.getKey() * TAMANO_PAGINA + indice;
+        }
+        return DESCONOCIDA;
+    }
+    
+    private static int buscarCodigo(List<Postulante> pagina, String codigo) {
+        int bajo = 0;
+        int alto = pagina.size() - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int comparacion = pagina.get(medio).getCodigo().compareTo(codigo);
+            if (comparacion < 0) {
+                bajo = medio + 1;
+            } else if (comparacion > 0) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(bajo + 1);
+    }
+    
+    /**
+     * Olvidar las páginas desde la indicada: sus filas se corrieron y se
+     * vuelven a pedir cuando se pinten (las anteriores siguen sirviendo)
+     */
+    private void descartarPaginasDesde(int numero) {
+        paginas.keySet().removeIf(pagina -> pagina >= numero);
+        ultimoCodigoPorPagina.keySet().removeIf(pagina -> pagina >= numero);
+        // Las que están en camino se pidieron con las filas anteriores: se piden otra vez
+        List<Integer> enCamino = new ArrayList<>(paginasPedidas);
+        version++;
+        paginasPedidas.clear();
+        for (int pagina : enCamino) {
+            pedirPagina(pagina);
+        }
+    }
+    
+    /**
+     * Postulante de la fila; null si su página todavía no llegó (se pide en
+     * segundo plano y la fila se repinta al llegar)
+     */
+    public Postulante getPostulante(int fila) {
+        if (fila < 0 || fila >= total) return null;
+        
+        int numero = fila / TAMANO_PAGINA;
+        List<Postulante> pagina = paginas.get(numero);
+        if (pagina == null) {
+            pedirPagina(numero);
+            return null;
+        }
+        int indice = fila % TAMANO_PAGINA;
+        return indice < pagina.size() ? pagina.get(indice) : null;
+    }
+    
+    private void pedirPagina(int numero) {
+        if (contandoPosiciones) {
+            paginasEnEspera.add(numero);
+            return;
+        }
+        if (paginas.containsKey(numero) || !paginasPedidas.add(numero)) return;
+        
+        PostulanteDAO.CriterioBusqueda criterioPagina = criterio;
+        String anterior = ultimoCodigoPorPagina.get(numero - 1);
+        int versionPagina = version;
+        
+        new SwingWorker<List<Postulante>, Void>() {
+            @Override
+            protected List<Postulante> doInBackground() {
+                return anterior != null
+                    ? postulanteDAO.buscarDespuesDe(criterioPagina, anterior, TAMANO_PAGINA)
+                    : postulanteDAO.buscar(criterioPagina, numero * TAMANO_PAGINA, TAMANO_PAGINA);
+            }
+            
+            @Override
+            protected void done() {
+                if (versionPagina != version) return; // Las filas se corrieron: se vuelve a pedir al pintar
+                
+                paginasPedidas.remove(numero);
+                try {
+                    guardarPagina(numero, get());
+                } catch (Exception e) {
+                    System.err.println("❌ Error cargando la página " + numero + ": " + e.getMessage());
+                    return;
+                }
+                int primera = numero * TAMANO_PAGINA;
+                int ultima = Math.min(primera + TAMANO_PAGINA, total) - 1;
+                if (primera <= ultima) {
+                    fireTableRowsUpdated(primera, ultima);
+                }
+            }
+        }.execute();
+    }
+    
+    private void guardarPagina(int numero, List<Postulante> pagina) {
+        paginas.put(numero, pagina);
+        if (!pagina.isEmpty()) {
+            ultimoCodigoPorPagina.put(numero, pagina.get(pagina.size() - 1).getCodigo());
+        }
+    }
+    
+    @Override
+    public int getRowCount() {
+        return total;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNAS[column];
+    }
+    
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Tabla no editable
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        Postulante p = getPostulante(row);
+        if (p == null) {
+            // Página en camino
+            return column == 1 && row < total ? CARGANDO : "";
+        }
+        
+        switch (column) {
+            case 0: return p.getCodigo();
+            case 1: return p.getApellidosNombres();
+            case 2: return p.getDni();
+            case 3: return p.getOpcion1();
+            case 4: return p.getOpcion2();
+            case 5: return p.getModalidad();
+            case 6: return p.getEstadoAcademico();
+            case 7: return p.getSexo();
+            case 8: return Fechas.formatear(p.getInscripcionDia());
+            default: return "";
+        }
+    }
+}
@@ -3,7 +3,6 @@ package view;
 import model.Postulante;
 import dao.PostulanteDAO;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
@@ -12,10 +11,10 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
-import java.text.SimpleDateFormat;
 import java.io.File;
+import util.EstadisticasPostulantes;
 import util.EventBus;
-import util.ExcelUtils;
+import util.ImportadorStreaming;
 
 /**
  * Panel para mostrar lista de postulantes registrados
@@ -23,14 +22,22 @@ import util.ExcelUtils;
  */
 public class RegistroPanel extends JPanel {
     
+    // Espera tras la última tecla antes de consultar la base de datos
+    private static final int RETARDO_BUSQUEDA_MS = 250;
+    // Ventana en la que los eventos de postulantes se juntan en una sola actualización
+    // (se puede cambiar con -Dadmision.eventos.ventanaMs)
+    private static final long VENTANA_EVENTOS_MS = Long.getLong("admision.eventos.ventanaMs", 200);
+    
     private JTable tablaPostulantes;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaPostulantes modeloTabla;
     private JTextField txtBuscar;
     private JComboBox<String> cmbFiltroEstado, cmbFiltroModalidad;
     private JLabel lblTotalPostulantes, lblPostulantesDirectos, lblAlumnosLibres;
     private JButton btnActualizar, btnEliminar, btnExportar, btnImportar;
     private PostulanteDAO postulanteDAO;
-    private List<Postulante> listaPostulantes;
+    private Timer temporizadorBusqueda;
+    // Solo se aplica el resultado de la consulta más reciente
+    private int consultaActual;
     
     public RegistroPanel() {
         this.postulanteDAO = new PostulanteDAO();
@@ -40,6 +47,10 @@ public class RegistroPanel extends JPanel {
         // 🔄 SUSCRIBIRSE A EVENTOS PARA SINCRONIZACIÓN
         suscribirseAEventos();
         
+        // Las tarjetas se actualizan cuando cambian las estadísticas en memoria
+        EstadisticasPostulantes.getInstance().suscribir(() -> SwingUtilities.invokeLater(this::actualizarEstadisticas));
+        actualizarEstadisticas();
+        
         // Cargar datos al inicializar
         actualizarTabla();
     }
@@ -158,18 +169,8 @@ public class RegistroPanel extends JPanel {
     private JPanel createTablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
-        // Crear modelo de tabla
-        String[] columnas = {
-            "Código", "Apellidos y Nombres", "DNI", "Primera Opción", "Segunda Opción",
-            "Modalidad", "Estado Académico", "Sexo", "Fecha Inscripción"
-        };
-        
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Tabla no editable
-            }
-        };
+        // Modelo que carga los postulantes por páginas desde la base de datos
+        modeloTabla = new ModeloTablaPostulantes(postulanteDAO);
         
         tablaPostulantes = new JTable(modeloTabla);
         configurarTabla();
@@ -294,10 +295,12 @@ public class RegistroPanel extends JPanel {
             }
         });
         
-        // Búsqueda en tiempo real
+        // Búsqueda en tiempo real (se consulta cuando se deja de escribir)
+        temporizadorBusqueda = new Timer(RETARDO_BUSQUEDA_MS, e -> filtrarTabla());
+        temporizadorBusqueda.setRepeats(false);
         txtBuscar.addKeyListener(new java.awt.event.KeyAdapter() {
             public void keyReleased(java.awt.event.KeyEvent evt) {
-                filtrarTabla();
+                temporizadorBusqueda.restart();
             }
         });
         
@@ -328,60 +331,68 @@ public class RegistroPanel extends JPanel {
     }
     
     public void actualizarTabla() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                // Cargar datos
-                listaPostulantes = postulanteDAO.obtenerTodos();
-                
-                // Limpiar tabla
-                modeloTabla.setRowCount(0);
+        SwingUtilities.invokeLater(() -> consultar(criterioActual()));
+    }
+    
+    private void filtrarTabla() {
+        consultar(criterioActual());
+    }
+    
+    /**
+     * Filtros de la pantalla convertidos en criterio para el DAO
+     */
+    private PostulanteDAO.CriterioBusqueda criterioActual() {
+        String modalidadSeleccionada = (String) cmbFiltroModalidad.getSelectedItem();
+        String estadoSeleccionado = (String) cmbFiltroEstado.getSelectedItem();
+        
+        return new PostulanteDAO.CriterioBusqueda(
+            txtBuscar.getText(),
+            "Todas".equals(modalidadSeleccionada) ? null : modalidadSeleccionada,
+            "Todos".equals(estadoSeleccionado) ? null : estadoSeleccionado);
+    }
+    
+    /**
+     * Contar y traer la primera página en segundo plano; las demás páginas
+     * las pide el modelo a medida que se muestran
+     */
+    private void consultar(PostulanteDAO.CriterioBusqueda criterio) {
+        int consulta = ++consultaActual;
+        
+        new SwingWorker<Void, Void>() {
+            private int total;
+            private List<Postulante> primeraPagina;
+            
+            @Override
+            protected Void doInBackground() {
+                total = postulanteDAO.contar(criterio);
+                primeraPagina = postulanteDAO.buscar(criterio, 0, ModeloTablaPostulantes.TAMANO_PAGINA);
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                if (consulta != consultaActual) return; // Hay una consulta más reciente
                 
-                // Llenar tabla
-                SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-                for (Postulante p : listaPostulantes) {
-                    Object[] fila = {
-                        p.getCodigo(),
-                        p.getApellidosNombres(),
-                        p.getDni(),
-                        p.getOpcion1(),
-                        p.getOpcion2(),
-                        p.getModalidad(),
-                        p.getEstadoAcademico(),
-                        p.getSexo(),
-                        p.getInscripcion() != null ? sdf.format(p.getInscripcion()) : ""
-                    };
-                    modeloTabla.addRow(fila);
+                try {
+                    get();
+                    modeloTabla.reiniciar(criterio, total, primeraPagina);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(RegistroPanel.this,
+                        "Error cargando datos: " + e.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
                 }
-                
-                // Actualizar estadísticas
-                actualizarEstadisticas();
-                
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this,
-                    "Error cargando datos: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
             }
-        });
+        }.execute();
     }
     
     private void actualizarEstadisticas() {
-        if (listaPostulantes == null) return;
-        
-        int total = listaPostulantes.size();
-        int postulantesDirectos = 0;
-        int alumnosLibres = 0;
-        
-        for (Postulante p : listaPostulantes) {
-            if ("POSTULANTE".equals(p.getEstadoAcademico())) {
-                postulantesDirectos++;
-            } else if ("ALUMNO_LIBRE".equals(p.getEstadoAcademico())) {
-                alumnosLibres++;
-            }
-        }
+        EstadisticasPostulantes.Instantanea estadisticas = EstadisticasPostulantes.getInstance().getInstantanea();
+        int postulantesDirectos = estadisticas.getPorEstadoAcademico("POSTULANTE");
+        int alumnosLibres = estadisticas.getPorEstadoAcademico("ALUMNO_LIBRE");
         
         // Actualizar las tarjetas
-        actualizarStatCard(lblTotalPostulantes, String.valueOf(total));
+        actualizarStatCard(lblTotalPostulantes, String.valueOf(estadisticas.getTotal()));
         actualizarStatCard(lblPostulantesDirectos, String.valueOf(postulantesDirectos));
         actualizarStatCard(lblAlumnosLibres, String.valueOf(alumnosLibres));
     }
@@ -397,48 +408,6 @@ public class RegistroPanel extends JPanel {
         }
     }
     
-    private void filtrarTabla() {
-        // Implementación básica de filtrado
-        String textoBusqueda = txtBuscar.getText().toLowerCase().trim();
-        String modalidadSeleccionada = (String) cmbFiltroModalidad.getSelectedItem();
-        String estadoSeleccionado = (String) cmbFiltroEstado.getSelectedItem();
-        
-        if (listaPostulantes == null) return;
-        
-        // Limpiar tabla
-        modeloTabla.setRowCount(0);
-        
-        // Aplicar filtros
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        for (Postulante p : listaPostulantes) {
-            boolean cumpleFiltroTexto = textoBusqueda.isEmpty() ||
-                p.getCodigo().toLowerCase().contains(textoBusqueda) ||
-                p.getApellidosNombres().toLowerCase().contains(textoBusqueda) ||
-                p.getDni().toLowerCase().contains(textoBusqueda);
-            
-            boolean cumpleFiltroModalidad = "Todas".equals(modalidadSeleccionada) ||
-                modalidadSeleccionada.equals(p.getModalidad());
-            
-            boolean cumpleFiltroEstado = "Todos".equals(estadoSeleccionado) ||
-                estadoSeleccionado.equals(p.getEstadoAcademico());
-            
-            if (cumpleFiltroTexto && cumpleFiltroModalidad && cumpleFiltroEstado) {
-                Object[] fila = {
-                    p.getCodigo(),
-                    p.getApellidosNombres(),
-                    p.getDni(),
-                    p.getOpcion1(),
-                    p.getOpcion2(),
-                    p.getModalidad(),
-                    p.getEstadoAcademico(),
-                    p.getSexo(),
-                    p.getInscripcion() != null ? sdf.format(p.getInscripcion()) : ""
-                };
-                modeloTabla.addRow(fila);
-            }
-        }
-    }
-    
     private void eliminarPostulante() {
         int filaSeleccionada = tablaPostulantes.getSelectedRow();
         if (filaSeleccionada == -1) {
@@ -449,8 +418,11 @@ public class RegistroPanel extends JPanel {
             return;
         }
         
-        String codigo = (String) modeloTabla.getValueAt(filaSeleccionada, 0);
-        String nombre = (String) modeloTabla.getValueAt(filaSeleccionada, 1);
+        Postulante seleccionado = modeloTabla.getPostulante(filaSeleccionada);
+        if (seleccionado == null) return; // Su página todavía se está cargando
+        
+        String codigo = seleccionado.getCodigo();
+        String nombre = seleccionado.getApellidosNombres();
         
         int respuesta = JOptionPane.showConfirmDialog(this,
             "¿Está seguro de eliminar al postulante?\n\n" +
@@ -463,12 +435,19 @@ public class RegistroPanel extends JPanel {
         
         if (respuesta == JOptionPane.YES_OPTION) {
             try {
+                // Datos completos para descontarlo de las estadísticas
+                Postulante eliminado = postulanteDAO.buscarPorCodigo(codigo);
                 if (postulanteDAO.eliminar(codigo)) {
+                    // La tabla quita la fila al recibir el evento
+                    if (eliminado != null) {
+                        EventBus.getInstance().publicarPostulanteEliminado(eliminado);
+                    } else {
+                        actualizarTabla();
+                    }
                     JOptionPane.showMessageDialog(this,
                         "✅ Postulante eliminado exitosamente",
                         "Eliminación Exitosa",
                         JOptionPane.INFORMATION_MESSAGE);
-                    actualizarTabla();
                 } else {
                     JOptionPane.showMessageDialog(this,
                         "❌ Error al eliminar el postulante",
@@ -485,7 +464,7 @@ public class RegistroPanel extends JPanel {
     }
     
     private void exportarDatos() {
-        if (listaPostulantes == null || listaPostulantes.isEmpty()) {
+        if (modeloTabla.getRowCount() == 0) {
             JOptionPane.showMessageDialog(this,
                 "⚠️ No hay datos para exportar",
                 "Sin Datos",
@@ -501,9 +480,9 @@ public class RegistroPanel extends JPanel {
     
     private void verDetallesPostulante() {
         int filaSeleccionada = tablaPostulantes.getSelectedRow();
-        if (filaSeleccionada == -1) return;
+        if (filaSeleccionada == -1 || modeloTabla.getPostulante(filaSeleccionada) == null) return;
         
-        String codigo = (String) modeloTabla.getValueAt(filaSeleccionada, 0);
+        String codigo = modeloTabla.getPostulante(filaSeleccionada).getCodigo();
         Postulante postulante = postulanteDAO.buscarPorCodigo(codigo);
         
         if (postulante != null) {
@@ -615,40 +594,26 @@ public class RegistroPanel extends JPanel {
         
         dialogProgreso.add(panelProgreso);
         
-        // Realizar importación en hilo separado
+        // Realizar importación en hilo separado: lectura y guardado por streaming
         SwingWorker<String, String> worker = new SwingWorker<String, String>() {
             @Override
             protected String doInBackground() throws Exception {
                 publish("Leyendo archivo...");
                 
-                // Importar usando ExcelUtils
-                List<Postulante> postulantesImportados = ExcelUtils.importarPostulantesDesdeExcel(archivo.getAbsolutePath());
+                ImportadorStreaming importador = new ImportadorStreaming(postulanteDAO);
+                ImportadorStreaming.ResumenImportacion resumen = importador.importar(
+                    archivo.getAbsolutePath(), progreso -> publish(progreso.toString()));
                 
-                if (postulantesImportados.isEmpty()) {
+                if (resumen.getFilasLeidas() == 0) {
                     return "No se encontraron datos válidos en el archivo.";
                 }
                 
-                publish("Guardando en base de datos...");
-                
-                // Guardar postulantes en la base de datos
-                int exitosos = 0;
-                int errores = 0;
-                
-                for (Postulante postulante : postulantesImportados) {
-                    try {
-                        if (postulanteDAO.guardar(postulante)) {
-                            exitosos++;
-                        } else {
-                            errores++;
-                        }
-                    } catch (Exception e) {
-                        errores++;
-                        System.err.println("Error guardando postulante " + postulante.getCodigo() + ": " + e.getMessage());
-                    }
-                }
-                
-                return String.format("Importación completada:\n✅ %d postulantes importados exitosamente\n❌ %d errores", 
-                    exitosos, errores);
+                return String.format("Importación completada:\n✅ %d postulantes importados exitosamente\n" +
+                    "⚠️ %d duplicados (código o DNI)\n⚠️ %d violaciones de restricción\n❌ %d con datos inválidos\n" +
+                    "❌ %d errores\n⏱️ %.1f s (%.0f filas/s)%s", 
+                    resumen.getInsertados(), resumen.getDuplicados(), resumen.getRestricciones(), resumen.getInvalidos(),
+                    resumen.getErrores() + resumen.getLineasConError(), resumen.getSegundos(), resumen.getFilasPorSegundo(),
+                    resumen.getArchivoRechazos() != null ? "\n📄 Rechazos: " + resumen.getArchivoRechazos() : "");
             }
             
             @Override
@@ -671,10 +636,7 @@ public class RegistroPanel extends JPanel {
                         "Resultado de Importación",
                         JOptionPane.INFORMATION_MESSAGE);
                     
-                    // Actualizar tabla
-                    actualizarTabla();
-                    
-                    // Notificar otros paneles
+                    // Notificar a los paneles (esta tabla también se actualiza con el evento)
                     EventBus.getInstance().notificarPostulante("POSTULANTES_IMPORTADOS", null);
                     
                 } catch (Exception e) {
@@ -694,20 +656,19 @@ public class RegistroPanel extends JPanel {
      * Suscribirse a eventos para sincronización automática
      */
     private void suscribirseAEventos() {
-        // Escuchar eventos de postulantes
-        EventBus.getInstance().suscribirPostulantes(event -> {
-            SwingUtilities.invokeLater(() -> {
-                switch (event.getTipo()) {
-                    case "POSTULANTE_AGREGADO":
-                        actualizarTabla();
-                        System.out.println("🔄 Tabla actualizada: nuevo postulante agregado");
-                        break;
-                    case "POSTULANTES_IMPORTADOS":
-                        actualizarTabla();
-                        System.out.println("🔄 Tabla actualizada: " + event.getCantidad() + " postulantes importados");
-                        break;
-                }
-            });
-        });
+        // Escuchar eventos de postulantes en el hilo de Swing; las ráfagas
+        // (p. ej. una importación) llegan agrupadas en un solo evento.
+        // Si el evento trae las altas y bajas solo se insertan/quitan esas
+        // filas; si no (importaciones), se vuelve a consultar
+        EventBus.getInstance().suscribirAgrupando(EventBus.POSTULANTES, event -> {
+            if (event.tieneDetalle()
+                    && modeloTabla.aplicarCambios(event.getAgregados(), event.getEliminados())) {
+                System.out.println("🔄 Tabla actualizada: " + event.getAgregados().size() + " alta(s), "
+                    + event.getEliminados().size() + " baja(s)");
+            } else {
+                consultar(criterioActual());
+                System.out.println("🔄 Tabla recargada: " + event.getCantidad() + " postulantes importados/modificados");
+            }
+        }, EventBus.EN_HILO_SWING, VENTANA_EVENTOS_MS, EventBus.PostulanteEvent::combinar);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -3,6 +3,8 @@ package view;
 // Imports específicos primero
 import model.Postulante;
 import dao.PostulanteDAO;
+import util.AlgoritmoAdmision;
+import util.EstadisticasPostulantes;
 import util.ExcelUtils;
 
 // Imports de Java/Swing
@@ -26,7 +28,7 @@ public class ResultadosPanel extends JPanel {
     private DefaultTableModel modeloTabla;
     private JComboBox<String> cmbFiltroEstado;
     private JTextField txtBuscarNombre;
-    private JButton btnProcesarAdmision, btnExportarExcel, btnActualizar;
+    private JButton btnProcesarAdmision, btnExportarExcel, btnExportarIngresantes, btnActualizar;
     private JLabel lblTotalPostulantes, lblIngresantes, lblNoIngresantes;
     private JTextArea txtResumenProceso;
     private PostulanteDAO postulanteDAO;
@@ -38,6 +40,11 @@ public class ResultadosPanel extends JPanel {
             this.resultadosCompletos = new ArrayList<>();
             initComponents();
             cargarResultados();
+            // Las estadísticas se mantienen al día sin volver a cargar la tabla
+            EstadisticasPostulantes.getInstance().suscribir(() -> SwingUtilities.invokeLater(() -> {
+                actualizarEstadisticas();
+                generarResumenProceso();
+            }));
             System.out.println("✅ ResultadosPanel inicializado correctamente");
         } catch (Exception e) {
             System.err.println("❌ Error inicializando ResultadosPanel: " + e.getMessage());
@@ -301,8 +308,16 @@ public class ResultadosPanel extends JPanel {
         btnExportarExcel.setPreferredSize(new Dimension(150, 35));
         btnExportarExcel.addActionListener(e -> exportarResultados());
         
+        btnExportarIngresantes = new JButton("🎓 Ingresantes por carrera");
+        btnExportarIngresantes.setBackground(new Color(39, 174, 96));
+        btnExportarIngresantes.setForeground(Color.WHITE);
+        btnExportarIngresantes.setPreferredSize(new Dimension(210, 35));
+        btnExportarIngresantes.setToolTipText("Procesa la admisión y exporta un .xlsx con una hoja por carrera");
+        btnExportarIngresantes.addActionListener(e -> exportarIngresantesPorCarrera());
+        
         panel.add(btnActualizar);
         panel.add(btnExportarExcel);
+        panel.add(btnExportarIngresantes);
         
         return panel;
     }
@@ -365,24 +380,11 @@ public class ResultadosPanel extends JPanel {
     }
     
     private void actualizarEstadisticas() {
-        int total = 0;
-        int ingresantes = 0;
-        int noIngresantes = 0;
+        EstadisticasPostulantes.Instantanea estadisticas = EstadisticasPostulantes.getInstance().getInstantanea();
         
-        for (Postulante p : resultadosCompletos) {
-            if (p.getNotaFinal() > 0) {
-                total++;
-                if (p.getNotaFinal() >= 11.0) {
-                    ingresantes++;
-                } else {
-                    noIngresantes++;
-                }
-            }
-        }
-        
-        actualizarStatCard(lblTotalPostulantes, String.valueOf(total));
-        actualizarStatCard(lblIngresantes, String.valueOf(ingresantes));
-        actualizarStatCard(lblNoIngresantes, String.valueOf(noIngresantes));
+        actualizarStatCard(lblTotalPostulantes, String.valueOf(estadisticas.getExaminados()));
+        actualizarStatCard(lblIngresantes, String.valueOf(estadisticas.getIngresantes()));
+        actualizarStatCard(lblNoIngresantes, String.valueOf(estadisticas.getNoIngresantes()));
     }
     
     private void actualizarStatCard(JLabel card, String valor) {
@@ -408,28 +410,12 @@ public class ResultadosPanel extends JPanel {
         resumen.append("                    RESUMEN DE RESULTADOS\n");
         resumen.append("═══════════════════════════════════════════════════════════════\n\n");
         
-        // Estadísticas generales
-        int totalExaminados = 0;
-        int ingresantes = 0;
-        double puntajePromedio = 0.0;
-        double puntajeMaximo = 0.0;
-        
-        for (Postulante p : resultadosCompletos) {
-            if (p.getNotaFinal() > 0) {
-                totalExaminados++;
-                puntajePromedio += p.getNotaFinal();
-                if (p.getNotaFinal() > puntajeMaximo) {
-                    puntajeMaximo = p.getNotaFinal();
-                }
-                if (p.getNotaFinal() >= 11.0) {
-                    ingresantes++;
-                }
-            }
-        }
-        
-        if (totalExaminados > 0) {
-            puntajePromedio = puntajePromedio / totalExaminados;
-        }
+        // Estadísticas generales (mantenidas en memoria, sin recorrer los resultados)
+        EstadisticasPostulantes.Instantanea estadisticas = EstadisticasPostulantes.getInstance().getInstantanea();
+        int totalExaminados = estadisticas.getExaminados();
+        int ingresantes = estadisticas.getIngresantes();
+        double puntajePromedio = estadisticas.getNotaPromedio();
+        double puntajeMaximo = estadisticas.getNotaMaxima();
         
         resumen.append("📊 ESTADÍSTICAS GENERALES:\n");
         resumen.append(String.format("   • Total de examinados: %d\n", totalExaminados));
@@ -474,12 +460,12 @@ public class ResultadosPanel extends JPanel {
         
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setSelectedFile(new java.io.File("Resultados_Admision_" +
-            new SimpleDateFormat("yyyyMMdd_HHmmss").format(new java.util.Date()) + ".csv"));
+            new SimpleDateFormat("yyyyMMdd_HHmmss").format(new java.util.Date()) + ".xlsx"));
         
         if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
             String rutaArchivo = fileChooser.getSelectedFile().getAbsolutePath();
-            if (!rutaArchivo.endsWith(".csv")) {
-                rutaArchivo += ".csv";
+            if (!rutaArchivo.endsWith(".csv") && !rutaArchivo.endsWith(".xlsx")) {
+                rutaArchivo += ".xlsx";
             }
             
             if (ExcelUtils.exportarPostulantesAExcel(resultadosCompletos, rutaArchivo)) {
@@ -496,6 +482,65 @@ public class ResultadosPanel extends JPanel {
         }
     }
     
+    /**
+     * Procesar la admisión con los resultados cargados y exportar los
+     * ingresantes a .xlsx: una hoja de resumen y una hoja por carrera
+     */
+    private void exportarIngresantesPorCarrera() {
+        if (resultadosCompletos == null || resultadosCompletos.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                "No hay datos para exportar",
+                "Información",
+                JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setSelectedFile(new java.io.File("Ingresantes_por_Carrera_" +
+            new SimpleDateFormat("yyyyMMdd_HHmmss").format(new java.util.Date()) + ".xlsx"));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        
+        String seleccionada = fileChooser.getSelectedFile().getAbsolutePath();
+        String rutaArchivo = seleccionada.toLowerCase().endsWith(".xlsx") ? seleccionada : seleccionada + ".xlsx";
+        List<Postulante> postulantes = new ArrayList<>(resultadosCompletos);
+        btnExportarIngresantes.setEnabled(false);
+        
+        // El proceso de admisión y la escritura del libro no bloquean la interfaz
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                AlgoritmoAdmision.ResultadoAdmision resultado = new AlgoritmoAdmision().procesarAdmision(postulantes);
+                return ExcelUtils.exportarIngresantesPorCarrera(resultado, rutaArchivo);
+            }
+            
+            @Override
+            protected void done() {
+                btnExportarIngresantes.setEnabled(true);
+                boolean exportado;
+                try {
+                    exportado = get();
+                } catch (Exception e) {
+                    System.err.println("❌ Error procesando la admisión: " + e.getMessage());
+                    exportado = false;
+                }
+                
+                if (exportado) {
+                    JOptionPane.showMessageDialog(ResultadosPanel.this,
+                        "✅ Ingresantes exportados por carrera:\n" + rutaArchivo,
+                        "Exportación Exitosa",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(ResultadosPanel.this,
+                        "❌ Error al exportar los ingresantes",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
     /**
      * Método público para actualizar desde MainFrame
      */